@@ -0,0 +1,56 @@
+#!/usr/bin/env bash
+# Compares the blocking and the reactive read path under many concurrent clients.
+#
+# Requires wrk (https://github.com/wg/wrk) and a packaged jar (mvn clean package -DskipTests).
+# Raise the open file limit first, e.g. ulimit -n 65535.
+#
+# Usage: scripts/benchmark-reactive.sh [connections] [duration]
+set -euo pipefail
+
+CONNECTIONS=${1:-10000}
+DURATION=${2:-30s}
+PORT=${PORT:-8090}
+BASE_URL="http://localhost:${PORT}"
+JAR=$(ls target/loan-api-*.jar | grep -v plain | head -n 1)
+AUTHORIZATION="Authorization: Basic $(printf 'admin:password' | base64)"
+
+# the admission limits would reject most of the load, so they are disabled for the comparison
+ARGS=(--server.port="${PORT}" --auth.token.secret="$(head -c 32 /dev/urandom | base64)" --rate-limit.enabled=false --server.tomcat.max-connections=$(( CONNECTIONS + 2000 )))
+
+run() {
+	local name=$1 profile=$2 accept=$3 pid peak_threads threads
+	java -jar "${JAR}" --spring.profiles.active="${profile}" "${ARGS[@]}" > /dev/null 2>&1 &
+	pid=$!
+	until curl -sf -H "${AUTHORIZATION}" "${BASE_URL}/loans?customerId=100001" > /dev/null; do
+		sleep 0.1
+	done
+
+	# a few loans so that the stream is not empty
+	for _ in $(seq 10); do
+		curl -sf -H "${AUTHORIZATION}" -H "Content-Type: application/json" \
+			-d '{"customerId":100001,"amount":1000,"interestRate":0.2,"numberOfInstallments":6}' \
+			"${BASE_URL}/loans" > /dev/null
+	done
+
+	peak_threads=0
+	(
+		while kill -0 "${pid}" 2> /dev/null; do
+			ps -o nlwp= -p "${pid}" 2> /dev/null | tr -d ' '
+			sleep 0.5
+		done
+	) > "/tmp/loan-api-${name}-threads" &
+
+	echo "== ${name} (${CONNECTIONS} connections, ${DURATION})"
+	wrk -t8 -c"${CONNECTIONS}" -d"${DURATION}" --latency -H "${AUTHORIZATION}" -H "Accept: ${accept}" \
+		"${BASE_URL}/loans?customerId=100001"
+
+	kill "${pid}"
+	wait "${pid}" 2> /dev/null || true
+	for threads in $(cat "/tmp/loan-api-${name}-threads"); do
+		[ "${threads}" -gt "${peak_threads}" ] && peak_threads=${threads}
+	done
+	echo "peak JVM threads: ${peak_threads}"
+}
+
+run blocking default application/json
+run reactive reactive application/x-ndjson
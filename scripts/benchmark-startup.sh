@@ -0,0 +1,48 @@
+#!/usr/bin/env bash
+# Measures the time from starting a container to the first served GET /loans request.
+#
+# Build the images first:
+#   mvn clean package -DskipTests
+#   docker build -t loan-api:jar .
+#   docker build -f Dockerfile.cds -t loan-api:cds .
+#
+# Usage: scripts/benchmark-startup.sh [runs] [image...]
+set -euo pipefail
+
+RUNS=${1:-5}
+shift || true
+IMAGES=("$@")
+if [ ${#IMAGES[@]} -eq 0 ]; then
+	IMAGES=(loan-api:jar loan-api:cds)
+fi
+PORT=${PORT:-8090}
+URL="http://localhost:${PORT}/loans?customerId=100001"
+AUTH_TOKEN_SECRET=${AUTH_TOKEN_SECRET:-$(head -c 32 /dev/urandom | base64)}
+
+now_ms() {
+	date +%s%3N
+}
+
+# prints the milliseconds from docker run to the first successful GET /loans
+measure() {
+	local image=$1 start container
+	start=$(now_ms)
+	container=$(docker run -d --rm -p "${PORT}:8090" -e AUTH_TOKEN_SECRET="${AUTH_TOKEN_SECRET}" "${image}")
+	until curl -sf -u admin:password "${URL}" > /dev/null; do
+		if [ -z "$(docker ps -q --filter "id=${container}")" ]; then
+			echo "container of ${image} exited before serving a request" >&2
+			exit 1
+		fi
+		sleep 0.01
+	done
+	echo $(( $(now_ms) - start ))
+	docker stop -t 1 "${container}" > /dev/null
+}
+
+for image in "${IMAGES[@]}"; do
+	total=0
+	for _ in $(seq "${RUNS}"); do
+		total=$(( total + $(measure "${image}") ))
+	done
+	printf "%-20s first response: %6d ms   (average of %d runs)\n" "${image}" $(( total / RUNS )) "${RUNS}"
+done
@@ -0,0 +1,60 @@
+#!/usr/bin/env bash
+# Compares startup time and memory of the JVM jar and the native executable.
+#
+# Build both first:
+#   mvn clean package -DskipTests && mvn -Pnative -DskipTests native:compile
+#
+# Usage: scripts/compare-startup.sh [runs]
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=${PORT:-8090}
+URL="http://localhost:${PORT}/loans?customerId=100001"
+JAR=$(ls target/loan-api-*.jar | grep -v plain | head -n 1)
+NATIVE=target/loan-api
+AUTH_TOKEN_SECRET=$(head -c 32 /dev/urandom | base64)
+
+now_ms() {
+	date +%s%3N
+}
+
+# starts the given command, waits for the first successful GET /loans and prints
+# "<time to first response ms> <rss after first response kB>"
+measure() {
+	local start pid rss
+	start=$(now_ms)
+	"$@" --server.port="${PORT}" --auth.token.secret="${AUTH_TOKEN_SECRET}" > /dev/null 2>&1 &
+	pid=$!
+	until curl -sf -u admin:password "${URL}" > /dev/null; do
+		if ! kill -0 "${pid}" 2> /dev/null; then
+			echo "application exited before serving a request" >&2
+			exit 1
+		fi
+		sleep 0.01
+	done
+	echo -n "$(( $(now_ms) - start )) "
+	rss=$(ps -o rss= -p "${pid}" | tr -d ' ')
+	echo "${rss}"
+	kill "${pid}"
+	wait "${pid}" 2> /dev/null || true
+}
+
+report() {
+	local name=$1
+	shift
+	local total_ms=0 total_rss=0 result ms rss
+	for _ in $(seq "${RUNS}"); do
+		result=$(measure "$@")
+		ms=${result% *}
+		rss=${result#* }
+		total_ms=$(( total_ms + ms ))
+		total_rss=$(( total_rss + rss ))
+	done
+	printf "%-8s first response: %6d ms   rss: %7d kB   (average of %d runs)\n" \
+		"${name}" $(( total_ms / RUNS )) $(( total_rss / RUNS )) "${RUNS}"
+}
+
+report jvm java -jar "${JAR}"
+if [ -x "${NATIVE}" ]; then
+	report native "${NATIVE}"
+fi
@@ -0,0 +1,58 @@
+package com.ing.loanapi.audit;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import com.ing.loanapi.properties.AuditConfigurationProperties.OverflowPolicy;
+
+/**
+ * Bounded buffer between the request threads recording audit events and the background writer.
+ * When the buffer is full, {@link OverflowPolicy#BLOCK} makes the recording thread wait up to the
+ * configured timeout for the writer to catch up, while {@link OverflowPolicy#DROP} rejects the record
+ * immediately.
+ */
+public class AuditBuffer {
+
+	private final ArrayBlockingQueue<AuditRecord> records;
+	private final OverflowPolicy overflowPolicy;
+	private final long offerTimeoutNanos;
+
+	public AuditBuffer(int capacity, OverflowPolicy overflowPolicy, Duration offerTimeout) {
+		this.records = new ArrayBlockingQueue<>(capacity);
+		this.overflowPolicy = overflowPolicy;
+		this.offerTimeoutNanos = offerTimeout.toNanos();
+	}
+
+	/**
+	 * @return {@code false} if the record could not be buffered and is dropped
+	 */
+	public boolean offer(AuditRecord record) {
+		if (records.offer(record)) {
+			return true;
+		}
+		if (overflowPolicy == OverflowPolicy.DROP) {
+			return false;
+		}
+
+		try {
+			return records.offer(record, offerTimeoutNanos, TimeUnit.NANOSECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	public AuditRecord poll(Duration timeout) throws InterruptedException {
+		return records.poll(timeout.toNanos(), TimeUnit.NANOSECONDS);
+	}
+
+	public int drainTo(Collection<AuditRecord> batch, int maxRecords) {
+		return records.drainTo(batch, maxRecords);
+	}
+
+	public int size() {
+		return records.size();
+	}
+}
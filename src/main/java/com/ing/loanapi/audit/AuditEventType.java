@@ -0,0 +1,7 @@
+package com.ing.loanapi.audit;
+
+public enum AuditEventType {
+	CREDIT_LIMIT_USED,
+	CREDIT_LIMIT_RETURNED,
+	INSTALLMENT_PAID
+}
@@ -0,0 +1,13 @@
+package com.ing.loanapi.audit;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record AuditRecord(
+		AuditEventType type,
+		Long customerId,
+		Long loanId,
+		Long installmentId,
+		BigDecimal amount,
+		Instant occurredAt) {
+}
@@ -0,0 +1,103 @@
+package com.ing.loanapi.audit;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.context.SmartLifecycle;
+
+import com.ing.loanapi.repository.AuditEventRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Background thread draining the {@link AuditBuffer} and batch-inserting the records. The writer
+ * starts before and stops after the web server, so records of in-flight requests are flushed on
+ * shutdown.
+ */
+@Slf4j
+public class AuditWriter implements SmartLifecycle {
+
+	private final AuditBuffer auditBuffer;
+	private final AuditEventRepository auditEventRepository;
+	private final MeterRegistry meterRegistry;
+	private final int batchSize;
+	private final Duration flushInterval;
+
+	private volatile boolean running;
+	private Thread thread;
+
+	public AuditWriter(AuditBuffer auditBuffer, AuditEventRepository auditEventRepository, MeterRegistry meterRegistry,
+			int batchSize, Duration flushInterval) {
+		this.auditBuffer = auditBuffer;
+		this.auditEventRepository = auditEventRepository;
+		this.meterRegistry = meterRegistry;
+		this.batchSize = batchSize;
+		this.flushInterval = flushInterval;
+	}
+
+	@Override
+	public void start() {
+		running = true;
+		thread = new Thread(this::run, "audit-writer");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	@Override
+	public void stop() {
+		running = false;
+		try {
+			thread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	@Override
+	public int getPhase() {
+		// web server lifecycles run in lower phases than the default one
+		return DEFAULT_PHASE - 4096;
+	}
+
+	private void run() {
+		final var batch = new ArrayList<AuditRecord>(batchSize);
+		while (running) {
+			try {
+				final var first = auditBuffer.poll(flushInterval);
+				if (first == null) {
+					continue;
+				}
+				batch.add(first);
+				auditBuffer.drainTo(batch, batchSize - 1);
+				write(batch);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+
+		// flush on shutdown
+		while (auditBuffer.drainTo(batch, batchSize) > 0) {
+			write(batch);
+		}
+	}
+
+	private void write(List<AuditRecord> batch) {
+		try {
+			auditEventRepository.insertAll(batch);
+			meterRegistry.counter("audit.events.written").increment(batch.size());
+		} catch (Exception e) {
+			meterRegistry.counter("audit.events.failed").increment(batch.size());
+			log.error("Could not write {} audit events", batch.size(), e);
+		} finally {
+			batch.clear();
+		}
+	}
+}
@@ -0,0 +1,27 @@
+package com.ing.loanapi.authorization;
+
+/**
+ * Who may call an endpoint annotated with {@link Authorize}.
+ */
+public enum Access {
+
+	/**
+	 * Any authenticated user.
+	 */
+	AUTHENTICATED,
+
+	/**
+	 * Users with the {@code ADMIN} role.
+	 */
+	ADMIN,
+
+	/**
+	 * Admins, and the customer whose id is the value of {@link Authorize#parameter()}.
+	 */
+	ADMIN_OR_CUSTOMER,
+
+	/**
+	 * Admins, and the customer owning the loan whose id is the value of {@link Authorize#parameter()}.
+	 */
+	ADMIN_OR_LOAN_OWNER
+}
@@ -0,0 +1,166 @@
+package com.ing.loanapi.authorization;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.ing.loanapi.exception.AccessForbiddenException;
+import com.ing.loanapi.service.LoanOwnershipService;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Enforces the {@link Authorize} annotations of the handler methods. The annotation of a handler method
+ * is compiled on its first request into a plain Java check, which reads the customer or loan id straight
+ * from the path variables or request parameters, so no expression is parsed or evaluated per request.
+ * Handler methods without the annotation are denied.
+ */
+public class AuthorizationInterceptor implements AsyncHandlerInterceptor {
+
+	private static final String ADMIN_AUTHORITY = "ROLE_ADMIN";
+	// carries no request specific data nor a stack trace, so a single instance can be thrown by every denial
+	private static final AccessForbiddenException DENIED = new AccessForbiddenException();
+	private static final ParameterNameDiscoverer PARAMETER_NAME_DISCOVERER = new DefaultParameterNameDiscoverer();
+	private static final AuthorizationRule DENY_ALL = (authentication, request) -> false;
+
+	private final LoanOwnershipService loanOwnershipService;
+	private final Map<Method, AuthorizationRule> rules = new ConcurrentHashMap<>();
+	private final SecurityContextHolderStrategy securityContextHolderStrategy = SecurityContextHolder.getContextHolderStrategy();
+
+	public AuthorizationInterceptor(LoanOwnershipService loanOwnershipService) {
+		this.loanOwnershipService = loanOwnershipService;
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		// the async dispatch of a streamed response was authorized by its initial dispatch
+		if (request.getDispatcherType() == DispatcherType.ASYNC || !(handler instanceof HandlerMethod handlerMethod)) {
+			return true;
+		}
+
+		final var rule = rules.computeIfAbsent(handlerMethod.getMethod(), method -> compile(handlerMethod));
+		final var authentication = securityContextHolderStrategy.getContext().getAuthentication();
+		if (!isAuthenticated(authentication) || !rule.isGranted(authentication, request)) {
+			throw DENIED;
+		}
+		return true;
+	}
+
+	/**
+	 * Turns the annotation of the handler method into its check.
+	 *
+	 * @throws IllegalStateException if the annotation refers to a parameter the handler method does not have
+	 */
+	AuthorizationRule compile(HandlerMethod handlerMethod) {
+		final var authorize = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(), Authorize.class);
+		if (authorize == null) {
+			return DENY_ALL;
+		}
+
+		return switch (authorize.value()) {
+			case AUTHENTICATED -> (authentication, request) -> true;
+			case ADMIN -> (authentication, request) -> isAdmin(authentication);
+			case ADMIN_OR_CUSTOMER -> {
+				final var customerId = idParameter(handlerMethod, authorize.parameter());
+				yield (authentication, request) -> isAdmin(authentication)
+						|| isSameId(customerId.apply(request), authentication.getName());
+			}
+			case ADMIN_OR_LOAN_OWNER -> {
+				final var loanId = idParameter(handlerMethod, authorize.parameter());
+				yield (authentication, request) -> {
+					if (isAdmin(authentication)) {
+						return true;
+					}
+					final var id = parseId(loanId.apply(request));
+					return id != null && loanOwnershipService.isLoanOwnedBy(id, authentication.getName());
+				};
+			}
+		};
+	}
+
+	private static boolean isAuthenticated(Authentication authentication) {
+		return authentication != null && authentication.isAuthenticated() && !(authentication instanceof AnonymousAuthenticationToken);
+	}
+
+	private static boolean isAdmin(Authentication authentication) {
+		for (GrantedAuthority authority : authentication.getAuthorities()) {
+			if (ADMIN_AUTHORITY.equals(authority.getAuthority())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Same as comparing the id with {@code toString()}, as {@code authentication.name == #customerId.toString()} did.
+	 */
+	private static boolean isSameId(String value, String name) {
+		final var id = parseId(value);
+		return id != null && Long.toString(id).equals(name);
+	}
+
+	private static Long parseId(String value) {
+		if (value == null) {
+			return null;
+		}
+		try {
+			return Long.valueOf(value.trim());
+		} catch (NumberFormatException e) {
+			// not bindable to the handler's id parameter either
+			return null;
+		}
+	}
+
+	/**
+	 * @return reader of the named id from the path variables or the request parameters, whichever the
+	 * handler method binds it from
+	 */
+	@SuppressWarnings("unchecked")
+	private static Function<HttpServletRequest, String> idParameter(HandlerMethod handlerMethod, String name) {
+		for (MethodParameter parameter : handlerMethod.getMethodParameters()) {
+			parameter.initParameterNameDiscovery(PARAMETER_NAME_DISCOVERER);
+			final var pathVariable = parameter.getParameterAnnotation(PathVariable.class);
+			if (pathVariable != null && name.equals(bindingName(pathVariable.name(), parameter))) {
+				return request -> {
+					final var variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+					return variables == null ? null : variables.get(name);
+				};
+			}
+			final var requestParam = parameter.getParameterAnnotation(RequestParam.class);
+			if (requestParam != null && name.equals(bindingName(requestParam.name(), parameter))) {
+				return request -> request.getParameter(name);
+			}
+		}
+		throw new IllegalStateException("@Authorize of " + handlerMethod + " refers to parameter '" + name
+				+ "', which is not a path variable or request parameter of the method");
+	}
+
+	private static String bindingName(String annotatedName, MethodParameter parameter) {
+		return StringUtils.hasText(annotatedName) ? annotatedName : parameter.getParameterName();
+	}
+
+	@FunctionalInterface
+	interface AuthorizationRule {
+
+		boolean isGranted(Authentication authentication, HttpServletRequest request);
+	}
+}
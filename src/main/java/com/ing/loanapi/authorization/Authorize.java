@@ -0,0 +1,25 @@
+package com.ing.loanapi.authorization;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Restricts a handler method to the users granted by {@link #value()}, checked by the
+ * {@link AuthorizationInterceptor} before the request body is read.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Authorize {
+
+	Access value();
+
+	/**
+	 * Name of the path variable or request parameter holding the customer or loan id the access is checked
+	 * against, required by {@link Access#ADMIN_OR_CUSTOMER} and {@link Access#ADMIN_OR_LOAN_OWNER}.
+	 */
+	String parameter() default "";
+}
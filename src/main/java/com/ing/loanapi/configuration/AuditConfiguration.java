@@ -0,0 +1,40 @@
+package com.ing.loanapi.configuration;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.ing.loanapi.audit.AuditBuffer;
+import com.ing.loanapi.audit.AuditWriter;
+import com.ing.loanapi.properties.AuditConfigurationProperties;
+import com.ing.loanapi.repository.AuditEventRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@EnableConfigurationProperties(AuditConfigurationProperties.class)
+public class AuditConfiguration {
+
+	@Bean
+	public AuditBuffer auditBuffer(AuditConfigurationProperties auditConfigurationProperties, MeterRegistry meterRegistry) {
+		final var buffer = auditConfigurationProperties.buffer();
+		final var auditBuffer = new AuditBuffer(buffer.capacity(), buffer.overflowPolicy(), buffer.offerTimeout());
+
+		Gauge.builder("audit.buffer.size", auditBuffer, AuditBuffer::size)
+				.register(meterRegistry);
+
+		return auditBuffer;
+	}
+
+	@Bean
+	public AuditWriter auditWriter(
+			AuditBuffer auditBuffer,
+			AuditEventRepository auditEventRepository,
+			AuditConfigurationProperties auditConfigurationProperties,
+			MeterRegistry meterRegistry) {
+
+		final var writer = auditConfigurationProperties.writer();
+		return new AuditWriter(auditBuffer, auditEventRepository, meterRegistry, writer.batchSize(), writer.flushInterval());
+	}
+}
@@ -0,0 +1,48 @@
+package com.ing.loanapi.configuration;
+
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.ing.loanapi.credit.CreditDeltaCoalescer;
+import com.ing.loanapi.credit.CreditLedger;
+import com.ing.loanapi.properties.CreditConfigurationProperties;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@EnableConfigurationProperties(CreditConfigurationProperties.class)
+public class CreditConfiguration {
+
+	@Bean
+	public CreditLedger creditLedger(CreditConfigurationProperties creditConfigurationProperties) {
+		return new CreditLedger(creditConfigurationProperties.ledger().enabled());
+	}
+
+	@Bean
+	public CreditDeltaCoalescer creditDeltaCoalescer(
+			CreditConfigurationProperties creditConfigurationProperties,
+			DataSourceProperties dataSourceProperties,
+			MeterRegistry meterRegistry) {
+
+		final var coalescing = creditConfigurationProperties.coalescing();
+		if (!coalescing.enabled()) {
+			return new CreditDeltaCoalescer(false, null, meterRegistry, coalescing.maxBatchSize(), coalescing.timeout());
+		}
+
+		// not exposed as a bean, which would replace the auto-configured data source
+		final var dataSource = dataSourceProperties.initializeDataSourceBuilder()
+				.type(HikariDataSource.class)
+				.build();
+		dataSource.setPoolName("credit-coalescer");
+		dataSource.setMaximumPoolSize(1);
+
+		final var coalescer = new CreditDeltaCoalescer(true, dataSource, meterRegistry, coalescing.maxBatchSize(), coalescing.timeout());
+		Gauge.builder("credit.coalescing.queue.size", coalescer, CreditDeltaCoalescer::getQueueSize)
+				.register(meterRegistry);
+		return coalescer;
+	}
+}
@@ -0,0 +1,85 @@
+package com.ing.loanapi.configuration;
+
+import java.util.Objects;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.ing.loanapi.id.SnowflakeIdGenerator;
+import com.ing.loanapi.id.SnowflakeIdentifierGenerator;
+import com.ing.loanapi.properties.IdConfigurationProperties;
+import com.ing.loanapi.sharding.ShardRouter;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(IdConfigurationProperties.class)
+public class IdConfiguration {
+
+	private static final String IN_MEMORY_DATABASE_URL_PREFIX = "jdbc:h2:mem:";
+
+	private static final String MAX_ID_QUERY = """
+			SELECT GREATEST(
+			    COALESCE((SELECT MAX(ID) FROM CUSTOMER), 0),
+			    COALESCE((SELECT MAX(ID) FROM LOAN), 0),
+			    COALESCE((SELECT MAX(ID) FROM LOAN_INSTALLMENT), 0),
+			    COALESCE((SELECT MAX(LOAN_ID) FROM LOAN_ARCHIVE), 0),
+			    COALESCE((SELECT MAX(ID) FROM LOAN_INSTALLMENT_ARCHIVE), 0))
+			""";
+
+	/**
+	 * Two instances with the same node id hand out the same ids, so the node id has to be given unless the
+	 * database is in memory and therefore not shared with any other instance.
+	 */
+	@Bean
+	public SnowflakeIdGenerator snowflakeIdGenerator(
+			ShardRouter shardRouter,
+			IdConfigurationProperties idConfigurationProperties,
+			DataSourceProperties dataSourceProperties) {
+
+		var nodeId = idConfigurationProperties.nodeId();
+		if (Objects.isNull(nodeId)) {
+			final var url = dataSourceProperties.determineUrl();
+			if (Objects.isNull(url) || !url.startsWith(IN_MEMORY_DATABASE_URL_PREFIX)) {
+				throw new IllegalStateException("id.node-id must be set to an id unique among the instances sharing " + url);
+			}
+			nodeId = 0;
+		}
+		return new SnowflakeIdGenerator(shardRouter, nodeId, System::currentTimeMillis);
+	}
+
+	/**
+	 * Seeds every shard with the largest id stored on it once the migrations ran, so a restarted instance
+	 * never hands out an id it handed out before, whatever the clock of the machine says.
+	 */
+	@Bean
+	public SmartInitializingSingleton snowflakeIdGeneratorSeeder(
+			SnowflakeIdGenerator snowflakeIdGenerator,
+			ShardRouter shardRouter,
+			JdbcTemplate jdbcTemplate) {
+
+		return () -> {
+			for (var shard = 0; shard < shardRouter.getShardCount(); shard++) {
+				try (var binding = shardRouter.bind(shard)) {
+					final var maxId = jdbcTemplate.queryForObject(MAX_ID_QUERY, Long.class);
+					log.info("Seeding ids of shard {} after {}", shard, maxId);
+					snowflakeIdGenerator.seed(shard, maxId);
+				}
+			}
+		};
+	}
+
+	/**
+	 * Hands the generator to the {@code @SnowflakeId} entity ids.
+	 */
+	@Bean
+	public HibernatePropertiesCustomizer snowflakeIdGeneratorCustomizer(SnowflakeIdGenerator snowflakeIdGenerator) {
+		return hibernateProperties -> hibernateProperties.put(SnowflakeIdentifierGenerator.GENERATOR_SETTING, snowflakeIdGenerator);
+	}
+}
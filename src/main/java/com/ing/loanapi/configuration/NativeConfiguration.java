@@ -0,0 +1,58 @@
+package com.ing.loanapi.configuration;
+
+import java.util.stream.Stream;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import com.ing.loanapi.dto.AuditEventDto;
+import com.ing.loanapi.dto.CustomerDto;
+import com.ing.loanapi.dto.DueInstallmentDto;
+import com.ing.loanapi.dto.ErrorDto;
+import com.ing.loanapi.dto.LoanDto;
+import com.ing.loanapi.dto.LoanInstallmentDto;
+import com.ing.loanapi.dto.LoanPaymentResultDto;
+import com.ing.loanapi.dto.command.CreateLoanCommand;
+import com.ing.loanapi.dto.command.PayLoanCommand;
+import com.ing.loanapi.event.LoanCompletedEvent;
+import com.ing.loanapi.event.LoanCreatedEvent;
+import com.ing.loanapi.event.LoanInstallmentsPaidEvent;
+import com.ing.loanapi.id.SnowflakeIdentifierGenerator;
+import com.ing.loanapi.outbox.OutboxMessage;
+
+/**
+ * Reflection hints for the native image. Controllers, entities, MapStruct mappers and
+ * {@code @ConfigurationProperties} records are covered by Spring AOT; what is left are the types
+ * serialized with Jackson outside of controller signatures and the id generator Hibernate instantiates.
+ */
+@Configuration
+@ImportRuntimeHints(NativeConfiguration.LoanApiRuntimeHints.class)
+public class NativeConfiguration {
+
+	static class LoanApiRuntimeHints implements RuntimeHintsRegistrar {
+
+		private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+		@Override
+		public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+			Stream.of(
+							// exception handler bodies and DTOs
+							ErrorDto.class, CustomerDto.class, LoanDto.class, LoanInstallmentDto.class,
+							LoanPaymentResultDto.class, AuditEventDto.class,
+							CreateLoanCommand.class, PayLoanCommand.class,
+							// written one by one to the streamed body of CollectionController
+							DueInstallmentDto.class,
+							// outbox payloads
+							LoanCreatedEvent.class, LoanInstallmentsPaidEvent.class, LoanCompletedEvent.class,
+							OutboxMessage.class)
+					.forEach(type -> bindingRegistrar.registerReflectionHints(hints.reflection(), type));
+
+			// created by Hibernate for @SnowflakeId
+			hints.reflection().registerType(SnowflakeIdentifierGenerator.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+		}
+	}
+}
@@ -2,6 +2,7 @@ package com.ing.loanapi.configuration;
 
 import static io.swagger.v3.oas.annotations.enums.SecuritySchemeType.HTTP;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -10,7 +11,9 @@ import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Info;
 
 @Configuration
+@ConditionalOnProperty(name = "springdoc.api-docs.enabled", matchIfMissing = true)
 @SecurityScheme(name = "basic", type = HTTP, scheme = "basic")
+@SecurityScheme(name = "bearer", type = HTTP, scheme = "bearer")
 public class OpenApiConfiguration {
 
 	@Bean
@@ -0,0 +1,29 @@
+package com.ing.loanapi.configuration;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ing.loanapi.outbox.FileOutboxSink;
+import com.ing.loanapi.outbox.InMemoryOutboxSink;
+import com.ing.loanapi.outbox.LoggingOutboxSink;
+import com.ing.loanapi.outbox.OutboxSink;
+import com.ing.loanapi.properties.OutboxConfigurationProperties;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(OutboxConfigurationProperties.class)
+public class OutboxConfiguration {
+
+	@Bean
+	public OutboxSink outboxSink(OutboxConfigurationProperties outboxConfigurationProperties, ObjectMapper objectMapper) {
+		final var sink = outboxConfigurationProperties.sink();
+		return switch (sink.type()) {
+			case LOG -> new LoggingOutboxSink();
+			case FILE -> new FileOutboxSink(sink.filePath(), objectMapper);
+			case IN_MEMORY -> new InMemoryOutboxSink();
+		};
+	}
+}
@@ -0,0 +1,50 @@
+package com.ing.loanapi.configuration;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import com.ing.loanapi.properties.ReactiveConfigurationProperties;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+
+/**
+ * R2DBC access for the reactive read path. The connection factory is configured here rather than by
+ * Boot's R2DBC auto-configuration, which is excluded so that its reactive transaction manager does not
+ * compete with the JPA one used by all writes.
+ */
+@Configuration
+@Profile("reactive")
+@EnableConfigurationProperties(ReactiveConfigurationProperties.class)
+public class ReactiveConfiguration {
+
+	@Bean(destroyMethod = "dispose")
+	public ConnectionPool r2dbcConnectionPool(ReactiveConfigurationProperties reactiveConfigurationProperties) {
+		final var r2dbc = reactiveConfigurationProperties.r2dbc();
+		final var options = ConnectionFactoryOptions.parse(r2dbc.url())
+				.mutate()
+				.option(ConnectionFactoryOptions.USER, r2dbc.username())
+				.option(ConnectionFactoryOptions.PASSWORD, r2dbc.password())
+				.build();
+
+		final var pool = r2dbc.pool();
+		final var configuration = ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+				.name("r2dbc")
+				.initialSize(pool.initialSize())
+				.maxSize(pool.maxSize())
+				.maxAcquireTime(pool.maxAcquireTime())
+				.build();
+
+		return new ConnectionPool(configuration);
+	}
+
+	@Bean
+	public DatabaseClient databaseClient(ConnectionPool r2dbcConnectionPool) {
+		return DatabaseClient.create(r2dbcConnectionPool);
+	}
+}
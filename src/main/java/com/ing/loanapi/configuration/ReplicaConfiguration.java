@@ -0,0 +1,82 @@
+package com.ing.loanapi.configuration;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.ing.loanapi.properties.ReplicaConfigurationProperties;
+import com.ing.loanapi.replica.ReplicaLagMonitor;
+import com.ing.loanapi.replica.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Sends read-only transactions to a replica. The data source used by JPA, JDBC and Flyway hands out
+ * connections that are bound to a pool only on their first statement, once the transaction has marked
+ * them read-only; read-only connections come from the replica, all the others from the primary. Both
+ * pools are beans, so their {@code hikaricp.connections} metrics are tagged with their pool name.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "replica", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaConfigurationProperties.class)
+public class ReplicaConfiguration {
+
+	/**
+	 * Bound to {@code spring.datasource.hikari} like the auto-configured pool it replaces.
+	 */
+	@Bean
+	@ConfigurationProperties("spring.datasource.hikari")
+	public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+		final var dataSource = dataSourceProperties.initializeDataSourceBuilder()
+				.type(HikariDataSource.class)
+				.build();
+		dataSource.setPoolName("primary");
+		return dataSource;
+	}
+
+	@Bean
+	public HikariDataSource replicaDataSource(ReplicaConfigurationProperties replicaConfigurationProperties) {
+		final var dataSource = DataSourceBuilder.create()
+				.type(HikariDataSource.class)
+				.url(replicaConfigurationProperties.url())
+				.username(replicaConfigurationProperties.username())
+				.password(replicaConfigurationProperties.password())
+				.build();
+		dataSource.setPoolName("replica");
+		dataSource.setMaximumPoolSize(replicaConfigurationProperties.maximumPoolSize());
+		dataSource.setReadOnly(true);
+		return dataSource;
+	}
+
+	@Bean
+	public ReplicaLagMonitor replicaLagMonitor(
+			HikariDataSource replicaDataSource,
+			ReplicaConfigurationProperties replicaConfigurationProperties,
+			MeterRegistry meterRegistry) {
+
+		final var lag = replicaConfigurationProperties.lag();
+		return new ReplicaLagMonitor(replicaDataSource, lag.query(), lag.max(), meterRegistry);
+	}
+
+	@Bean
+	@Primary
+	public DataSource dataSource(
+			HikariDataSource primaryDataSource,
+			HikariDataSource replicaDataSource,
+			ReplicaLagMonitor replicaLagMonitor,
+			MeterRegistry meterRegistry) {
+
+		final var dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+		dataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagMonitor, meterRegistry));
+		return dataSource;
+	}
+}
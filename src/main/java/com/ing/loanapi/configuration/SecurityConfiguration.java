@@ -2,65 +2,135 @@ package com.ing.loanapi.configuration;
 
 import static org.springframework.security.config.Customizer.withDefaults;
 
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.Base64;
+
+import org.springframework.boot.ApplicationRunner;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer;
-import org.springframework.security.core.userdetails.User;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.util.StringUtils;
 
 import com.ing.loanapi.properties.AuthenticationConfigurationProperties;
+import com.ing.loanapi.service.UserAccountService;
+import com.ing.loanapi.token.AccessTokenCodec;
+import com.ing.loanapi.token.BearerTokenAuthenticationFilter;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Configuration
 @EnableWebSecurity
 @RequiredArgsConstructor
 @EnableConfigurationProperties(AuthenticationConfigurationProperties.class)
-@EnableMethodSecurity
 public class SecurityConfiguration {
 
+	private static final String DEV_PROFILE = "dev";
+	/**
+	 * Length of the HMAC-SHA256 output, below which the key weakens the signature.
+	 */
+	private static final int MIN_SECRET_LENGTH = 32;
+
+	private static final RequestMatcher TOKEN_ENDPOINT = AntPathRequestMatcher.antMatcher(HttpMethod.POST, "/auth/tokens");
+
 	@Bean
-	public SecurityFilterChain filterChain(HttpSecurity httpSecurity) throws Exception {
+	public SecurityFilterChain filterChain(
+			HttpSecurity httpSecurity,
+			AccessTokenCodec accessTokenCodec,
+			MeterRegistry meterRegistry) throws Exception {
+
 		httpSecurity.csrf(AbstractHttpConfigurer::disable)
+				.sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
 				.headers(headers -> headers.frameOptions(HeadersConfigurer.FrameOptionsConfig::disable))
 				.authorizeHttpRequests(requests -> requests
 						.requestMatchers("/swagger-ui/**", "/swagger-ui.html").permitAll()
 						.requestMatchers("/v3/api-docs/**").permitAll()
+						.requestMatchers("/openapi/**").permitAll()
 						.requestMatchers("/h2-console/**").permitAll()
 						.requestMatchers("/loans/**").authenticated()
+						.requestMatchers("/admin/**").hasRole("ADMIN")
+						.requestMatchers("/actuator/health").permitAll()
+						// metrics reveal the load and the state of the instance
+						.requestMatchers("/actuator/**").hasRole("ADMIN")
+						// tokens are only issued for a password, never for another token
+						.requestMatchers(TOKEN_ENDPOINT).authenticated()
 						.anyRequest().denyAll())
+				.addFilterBefore(new BearerTokenAuthenticationFilter(accessTokenCodec, TOKEN_ENDPOINT, meterRegistry),
+						BasicAuthenticationFilter.class)
 				.httpBasic(withDefaults());
 
 		return httpSecurity.build();
 	}
 
+	/**
+	 * Imports the users of {@code auth.basic.users} into the user store, which is what existing
+	 * deployments start from when moving their users to the database.
+	 */
 	@Bean
-	public InMemoryUserDetailsManager userDetailsService(
-			PasswordEncoder passwordEncoder,
+	public ApplicationRunner userImport(
+			UserAccountService userAccountService,
 			AuthenticationConfigurationProperties authenticationConfigurationProperties) {
 
-		final var users = authenticationConfigurationProperties.basic().users().stream()
-				.map(user -> User.builder()
-						.username(user.username())
-						.password(passwordEncoder.encode(user.password()))
-						.roles(user.roles())
-						.build())
-				.toArray(UserDetails[]::new);
+		return arguments -> {
+			final var basic = authenticationConfigurationProperties.basic();
+			if (basic != null && basic.users() != null) {
+				userAccountService.importUsers(basic.users());
+			}
+		};
+	}
 
-		return new InMemoryUserDetailsManager(users);
+	/**
+	 * Tokens signed with a key generated on startup are only valid on this instance until it stops, which
+	 * is only acceptable in the {@code dev} profile.
+	 */
+	@Bean
+	public AccessTokenCodec accessTokenCodec(
+			AuthenticationConfigurationProperties authenticationConfigurationProperties,
+			Environment environment,
+			Clock clock) {
+
+		final var secret = authenticationConfigurationProperties.token().secret();
+		if (!StringUtils.hasText(secret)) {
+			if (!environment.acceptsProfiles(Profiles.of(DEV_PROFILE))) {
+				throw new IllegalStateException("auth.token.secret must be set outside the " + DEV_PROFILE + " profile!");
+			}
+			log.warn("auth.token.secret is not set, access tokens are only valid on this instance until it stops");
+			final var randomSecret = new byte[MIN_SECRET_LENGTH];
+			new SecureRandom().nextBytes(randomSecret);
+			return new AccessTokenCodec(randomSecret, clock);
+		}
+
+		final var key = Base64.getDecoder().decode(secret);
+		if (key.length < MIN_SECRET_LENGTH) {
+			throw new IllegalStateException("auth.token.secret must be at least " + MIN_SECRET_LENGTH + " bytes long, got " + key.length);
+		}
+		return new AccessTokenCodec(key, clock);
+	}
+
+	@Bean
+	public Clock clock() {
+		return Clock.systemUTC();
 	}
 
 	@Bean
-	public PasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+	public PasswordEncoder passwordEncoder(AuthenticationConfigurationProperties authenticationConfigurationProperties) {
+		return new BCryptPasswordEncoder(authenticationConfigurationProperties.password().bcryptStrength());
 	}
 }
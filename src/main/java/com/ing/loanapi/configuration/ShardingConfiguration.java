@@ -0,0 +1,124 @@
+package com.ing.loanapi.configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.ing.loanapi.properties.ShardingConfigurationProperties;
+import com.ing.loanapi.sharding.ShardMigrationStrategy;
+import com.ing.loanapi.sharding.ShardRouter;
+import com.ing.loanapi.sharding.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@EnableConfigurationProperties(ShardingConfigurationProperties.class)
+public class ShardingConfiguration {
+
+	/**
+	 * Routes everything to shard 0 unless sharding is enabled, so the services bind shards either way.
+	 */
+	@Bean
+	public ShardRouter shardRouter(ShardingConfigurationProperties shardingConfigurationProperties) {
+		return new ShardRouter(shardingConfigurationProperties.shardCount());
+	}
+
+	/**
+	 * Replaces the auto-configured data source with one routing to the shard bound by the services. Shard 0
+	 * is {@code spring.datasource}; its pool and the pools of the other shards report their
+	 * {@code hikaricp.connections} metrics tagged with {@code pool=shard-<n>}.
+	 */
+	@Configuration
+	@ConditionalOnProperty(prefix = "sharding", name = "enabled", havingValue = "true")
+	static class ShardDataSourceConfiguration {
+
+		@Bean
+		public ShardRoutingDataSource shardRoutingDataSource(
+				ShardRouter shardRouter,
+				ShardingConfigurationProperties shardingConfigurationProperties,
+				DataSourceProperties dataSourceProperties,
+				Environment environment,
+				MeterRegistry meterRegistry) {
+
+			checkSupportedFeatures(environment);
+
+			final var binder = Binder.get(environment);
+			final var metricsTrackerFactory = new MicrometerMetricsTrackerFactory(meterRegistry);
+			final var shardDataSources = new ArrayList<HikariDataSource>(shardRouter.getShardCount());
+			shardDataSources.add(bindPoolProperties(binder, dataSourceProperties.initializeDataSourceBuilder()
+					.type(HikariDataSource.class)
+					.build()));
+			for (final var shard : Objects.requireNonNullElse(shardingConfigurationProperties.shards(), List.<ShardingConfigurationProperties.Shard>of())) {
+				final var dataSource = bindPoolProperties(binder, DataSourceBuilder.create()
+						.type(HikariDataSource.class)
+						.url(shard.url())
+						.username(shard.username())
+						.password(shard.password())
+						.build());
+				if (shard.maximumPoolSize() > 0) {
+					dataSource.setMaximumPoolSize(shard.maximumPoolSize());
+				}
+				shardDataSources.add(dataSource);
+			}
+			for (var shard = 0; shard < shardDataSources.size(); shard++) {
+				shardDataSources.get(shard).setPoolName("shard-" + shard);
+				shardDataSources.get(shard).setMetricsTrackerFactory(metricsTrackerFactory);
+			}
+
+			return new ShardRoutingDataSource(shardRouter, shardDataSources);
+		}
+
+		@Bean
+		@Primary
+		public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+			return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+		}
+
+		@Bean
+		public ShardMigrationStrategy shardMigrationStrategy(ShardRouter shardRouter, ShardRoutingDataSource shardRoutingDataSource) {
+			return new ShardMigrationStrategy(shardRouter, shardRoutingDataSource);
+		}
+
+		/**
+		 * Applies {@code spring.datasource.hikari} to a shard pool, as Spring Boot does for the pool it
+		 * auto-configures; the {@code maximum-pool-size} of a shard takes precedence.
+		 */
+		private static HikariDataSource bindPoolProperties(Binder binder, HikariDataSource dataSource) {
+			binder.bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+			return dataSource;
+		}
+
+		/**
+		 * These features keep customer rows or loans in a single database of their own.
+		 */
+		private static void checkSupportedFeatures(Environment environment) {
+			if (environment.getProperty("replica.enabled", Boolean.class, false)) {
+				throw new IllegalStateException("Sharding cannot be combined with replica.enabled!");
+			}
+			if (environment.getProperty("credit.ledger.enabled", Boolean.class, false)
+					|| environment.getProperty("credit.coalescing.enabled", Boolean.class, false)) {
+				throw new IllegalStateException("Sharding cannot be combined with credit.ledger.enabled or credit.coalescing.enabled!");
+			}
+			if (environment.acceptsProfiles(Profiles.of("reactive"))) {
+				throw new IllegalStateException("Sharding cannot be combined with the reactive profile!");
+			}
+		}
+	}
+}
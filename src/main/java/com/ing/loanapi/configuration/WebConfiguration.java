@@ -0,0 +1,67 @@
+package com.ing.loanapi.configuration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.ing.loanapi.authorization.AuthorizationInterceptor;
+import com.ing.loanapi.properties.RateLimitConfigurationProperties;
+import com.ing.loanapi.ratelimit.RateLimitInterceptor;
+import com.ing.loanapi.service.LoanOwnershipService;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+
+@Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(RateLimitConfigurationProperties.class)
+public class WebConfiguration implements WebMvcConfigurer {
+
+	private final ObjectProvider<RateLimitInterceptor> rateLimitInterceptor;
+	private final ObjectProvider<AuthorizationInterceptor> authorizationInterceptor;
+
+	@Bean
+	@ConditionalOnProperty(prefix = "rate-limit", name = "enabled", havingValue = "true")
+	public RateLimitInterceptor rateLimitInterceptor(RateLimitConfigurationProperties rateLimitConfigurationProperties, MeterRegistry meterRegistry) {
+		final var interceptor = new RateLimitInterceptor(rateLimitConfigurationProperties, meterRegistry);
+
+		Gauge.builder("rate-limit.requests.in-flight", interceptor, RateLimitInterceptor::getRequestsInFlight)
+				.register(meterRegistry);
+
+		return interceptor;
+	}
+
+	/**
+	 * Enforces the {@link com.ing.loanapi.authorization.Authorize} annotations of the controllers, after the
+	 * rate limit so rejected requests do not look up loan owners.
+	 */
+	@Bean
+	public AuthorizationInterceptor authorizationInterceptor(LoanOwnershipService loanOwnershipService) {
+		return new AuthorizationInterceptor(loanOwnershipService);
+	}
+
+	/**
+	 * Serves {@code application/cbor} to clients asking for it, with the same Jackson configuration as JSON.
+	 * Amounts are written as binary decimals instead of digit strings.
+	 */
+	@Bean
+	public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+		return new MappingJackson2CborHttpMessageConverter(objectMapperBuilder.factory(new CBORFactory()).build());
+	}
+
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		rateLimitInterceptor.ifAvailable(interceptor -> registry.addInterceptor(interceptor)
+				.addPathPatterns("/loans/**"));
+		registry.addInterceptor(authorizationInterceptor.getObject())
+				.addPathPatterns("/loans/**", "/admin/**", "/auth/**");
+	}
+}
@@ -0,0 +1,41 @@
+package com.ing.loanapi.controller;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ing.loanapi.authorization.Access;
+import com.ing.loanapi.authorization.Authorize;
+import com.ing.loanapi.dto.AccessTokenDto;
+import com.ing.loanapi.service.AccessTokenService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/auth/tokens")
+@RequiredArgsConstructor
+@Tag(name = "Authentication")
+@SecurityRequirement(name = "basic")
+public class AccessTokenController {
+
+	private final AccessTokenService accessTokenService;
+
+	@PostMapping
+	@Authorize(Access.AUTHENTICATED)
+	@Operation(summary = "Issue an access token", description = "Issues a bearer token to be used instead of the password until it expires")
+	@ApiResponse(responseCode = "200", description = "Successfully issued the access token",
+			content = {@Content(mediaType = APPLICATION_JSON_VALUE, schema = @Schema(implementation = AccessTokenDto.class))})
+	@ApiResponse(responseCode = "401", description = "Username or password is wrong", content = @Content)
+	public AccessTokenDto issueAccessToken(Authentication authentication) {
+		return accessTokenService.issueToken(authentication);
+	}
+}
@@ -0,0 +1,82 @@
+package com.ing.loanapi.controller;
+
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ing.loanapi.authorization.Access;
+import com.ing.loanapi.authorization.Authorize;
+import com.ing.loanapi.dto.DueInstallmentDto;
+import com.ing.loanapi.exception.InvalidInstallmentQueryException;
+import com.ing.loanapi.service.CollectionService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Streams the due installments of all customers as newline-delimited JSON. Installments are written
+ * chunk by chunk as they are read, so a page is never held in memory as a whole.
+ */
+@RestController
+@RequestMapping("/admin/installments")
+@RequiredArgsConstructor
+@Tag(name = "Administration")
+@SecurityRequirement(name = "basic")
+@SecurityRequirement(name = "bearer")
+public class CollectionController {
+
+	private final CollectionService collectionService;
+	private final ObjectMapper objectMapper;
+
+	@GetMapping(produces = APPLICATION_NDJSON_VALUE)
+	@Authorize(Access.ADMIN)
+	@Operation(summary = "Stream installments due in a date range across all customers",
+			description = "Installments are ordered by due date and id. A page holding limit installments may be followed by another one,"
+					+ " which is requested with the due date and id of its last installment as afterDueDate and afterId.")
+	@ApiResponse(responseCode = "200", description = "Installments are streamed",
+			content = {@Content(mediaType = APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = DueInstallmentDto.class))})
+	@ApiResponse(responseCode = "400", description = "Invalid date range or page provided", content = @Content)
+	public ResponseEntity<StreamingResponseBody> streamDueInstallments(
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(description = "Latest due date, inclusive") LocalDate dueTo,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(description = "Earliest due date, inclusive; all overdue installments if not given") LocalDate dueFrom,
+			@RequestParam(defaultValue = "false") @Parameter(description = "Whether to list paid installments instead of unpaid ones") boolean paid,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(description = "Due date of the last installment of the previous page") LocalDate afterDueDate,
+			@RequestParam(required = false) @Parameter(description = "Id of the last installment of the previous page") Long afterId,
+			@RequestParam(required = false) @Parameter(description = "Maximum number of installments of the page") Integer limit)
+			throws InvalidInstallmentQueryException {
+
+		final var query = collectionService.createQuery(paid, dueFrom, dueTo, afterDueDate, afterId, limit);
+		final var writer = objectMapper.writerFor(DueInstallmentDto.class);
+
+		final StreamingResponseBody body = outputStream -> collectionService.streamDueInstallments(query, installment -> {
+			try {
+				outputStream.write(writer.writeValueAsBytes(installment));
+				outputStream.write('\n');
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+
+		return ResponseEntity.ok()
+				.contentType(APPLICATION_NDJSON)
+				.body(body);
+	}
+}
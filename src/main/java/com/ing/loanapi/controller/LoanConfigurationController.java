@@ -0,0 +1,55 @@
+package com.ing.loanapi.controller;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ing.loanapi.authorization.Access;
+import com.ing.loanapi.authorization.Authorize;
+import com.ing.loanapi.dto.LoanConfigurationDto;
+import com.ing.loanapi.exception.InvalidLoanConfigurationException;
+import com.ing.loanapi.properties.LoanConfigurationProperties;
+import com.ing.loanapi.service.LoanConfigurationService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/admin/loan-configuration")
+@RequiredArgsConstructor
+@Tag(name = "Administration")
+@SecurityRequirement(name = "basic")
+@SecurityRequirement(name = "bearer")
+public class LoanConfigurationController {
+
+	private final LoanConfigurationService loanConfigurationService;
+
+	@GetMapping
+	@Authorize(Access.ADMIN)
+	@Operation(summary = "Get the loan rules in effect")
+	@ApiResponse(responseCode = "200", description = "Successfully retrieved the loan rules",
+			content = {@Content(mediaType = APPLICATION_JSON_VALUE, schema = @Schema(implementation = LoanConfigurationDto.class))})
+	public LoanConfigurationDto getLoanConfiguration() {
+		return loanConfigurationService.getConfiguration();
+	}
+
+	@PutMapping
+	@Authorize(Access.ADMIN)
+	@Operation(summary = "Replace the loan rules", description = "Puts the given loan rules in effect for the requests starting afterwards, without a restart")
+	@ApiResponse(responseCode = "200", description = "Successfully replaced the loan rules",
+			content = {@Content(mediaType = APPLICATION_JSON_VALUE, schema = @Schema(implementation = LoanConfigurationDto.class))})
+	@ApiResponse(responseCode = "400", description = "Invalid loan rules provided", content = @Content)
+	public LoanConfigurationDto updateLoanConfiguration(@RequestBody LoanConfigurationProperties configuration)
+			throws InvalidLoanConfigurationException {
+		return loanConfigurationService.updateConfiguration(configuration);
+	}
+}
@@ -4,7 +4,6 @@ import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
 import java.util.List;
 
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -14,17 +13,27 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.ing.loanapi.authorization.Access;
+import com.ing.loanapi.authorization.Authorize;
+import com.ing.loanapi.dto.AuditEventDto;
 import com.ing.loanapi.dto.LoanDto;
 import com.ing.loanapi.dto.LoanInstallmentDto;
 import com.ing.loanapi.dto.LoanPaymentResultDto;
+import com.ing.loanapi.dto.LoanPayoffQuoteDto;
+import com.ing.loanapi.dto.LoanSimulationDto;
 import com.ing.loanapi.dto.command.CreateLoanCommand;
 import com.ing.loanapi.dto.command.PayLoanCommand;
+import com.ing.loanapi.dto.command.SimulateLoanCommand;
 import com.ing.loanapi.exception.BusinessException;
 import com.ing.loanapi.exception.CustomerNotFoundException;
 import com.ing.loanapi.exception.LoanNotFoundException;
+import com.ing.loanapi.service.AuditService;
 import com.ing.loanapi.service.LoanService;
+import com.ing.loanapi.service.LoanSimulationService;
+import com.ing.loanapi.validation.LoanRuleValidator;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -39,22 +48,29 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 @Tag(name = "Loans")
 @SecurityRequirement(name = "basic")
+@SecurityRequirement(name = "bearer")
 public class LoanController {
 
 	private final LoanService loanService;
+	private final AuditService auditService;
+	private final LoanSimulationService loanSimulationService;
+	private final LoanRuleValidator loanRuleValidator;
 
 	@GetMapping
-	@PreAuthorize("hasRole('ADMIN') or authentication.name == #customerId.toString()")
+	@Authorize(value = Access.ADMIN_OR_CUSTOMER, parameter = "customerId")
 	@Operation(summary = "Get loans of a customer")
 	@ApiResponse(responseCode = "200", description = "Customer exists and successfully retrieved loans",
 			content = {@Content(mediaType = APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = LoanDto.class)))})
 	@ApiResponse(responseCode = "404", description = "Customer is not found", content = @Content)
-	public List<LoanDto> getLoans(@RequestParam Long customerId) throws CustomerNotFoundException {
-		return loanService.findLoansOfCustomer(customerId);
+	public List<LoanDto> getLoans(
+			@RequestParam Long customerId,
+			@RequestParam(defaultValue = "false") @Parameter(description = "Whether to include paid loans moved to the archive") boolean includeArchived)
+			throws CustomerNotFoundException {
+		return loanService.findLoansOfCustomer(customerId, includeArchived);
 	}
 
 	@GetMapping("/{loanId}/installments")
-	@PreAuthorize("hasRole('ADMIN') or @loanOwnershipService.isLoanOwnedBy(#loanId, authentication.name)")
+	@Authorize(value = Access.ADMIN_OR_LOAN_OWNER, parameter = "loanId")
 	@Operation(summary = "Get installments of a loan")
 	@ApiResponse(responseCode = "200", description = "Loan exists and successfully retrieved installments",
 			content = {@Content(mediaType = APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = LoanInstallmentDto.class)))})
@@ -64,7 +80,7 @@ public class LoanController {
 	}
 
 	@PostMapping
-	@PreAuthorize("hasRole('ADMIN')")
+	@Authorize(Access.ADMIN)
 	@Validated
 	@Operation(summary = "Create a loan")
 	@ApiResponse(responseCode = "200", description = "Successfully created the loan",
@@ -74,11 +90,25 @@ public class LoanController {
 	@ApiResponse(responseCode = "422", description = "Invalid interest rate provided", content = @Content)
 	@ApiResponse(responseCode = "404", description = "Customer not found", content = @Content)
 	public LoanDto createLoan(@RequestBody @Valid CreateLoanCommand createLoanCommand) throws BusinessException {
+		// rejects invalid commands before the service opens a transaction
+		loanRuleValidator.validate(createLoanCommand);
 		return loanService.createLoan(createLoanCommand);
 	}
 
+	@PostMapping("/simulations")
+	@Authorize(Access.AUTHENTICATED)
+	@Validated
+	@Operation(summary = "Simulate a loan", description = "Quotes the installments for every combination of the given interest rates and numbers of installments without creating a loan")
+	@ApiResponse(responseCode = "200", description = "Successfully simulated the loan",
+			content = {@Content(mediaType = APPLICATION_JSON_VALUE, schema = @Schema(implementation = LoanSimulationDto.class))})
+	@ApiResponse(responseCode = "422", description = "Invalid number of installments provided", content = @Content)
+	@ApiResponse(responseCode = "409", description = "Invalid interest rate provided", content = @Content)
+	public LoanSimulationDto simulateLoan(@RequestBody @Valid SimulateLoanCommand simulateLoanCommand) throws BusinessException {
+		return loanSimulationService.simulate(simulateLoanCommand);
+	}
+
 	@PostMapping("/{loanId}/payments")
-	@PreAuthorize("hasRole('ADMIN') or @loanOwnershipService.isLoanOwnedBy(#loanId, authentication.name)")
+	@Authorize(value = Access.ADMIN_OR_LOAN_OWNER, parameter = "loanId")
 	@Validated
 	@Operation(summary = "Pay loan installments")
 	@ApiResponse(responseCode = "200", description = "Successfully paid the loan installments",
@@ -89,4 +119,35 @@ public class LoanController {
 		return loanService.payLoan(loanId, payLoanCommand);
 	}
 
+	@GetMapping("/{loanId}/payoff-quote")
+	@Authorize(value = Access.ADMIN_OR_LOAN_OWNER, parameter = "loanId")
+	@Operation(summary = "Get payoff quote of a loan", description = "Amount to pay all the unpaid installments of the loan today, with rewards and penalties applied")
+	@ApiResponse(responseCode = "200", description = "Successfully quoted the payoff",
+			content = {@Content(mediaType = APPLICATION_JSON_VALUE, schema = @Schema(implementation = LoanPayoffQuoteDto.class))})
+	@ApiResponse(responseCode = "409", description = "All the installments of the loan are already paid", content = @Content)
+	@ApiResponse(responseCode = "404", description = "Loan not found", content = @Content)
+	public LoanPayoffQuoteDto getLoanPayoffQuote(@PathVariable Long loanId) throws BusinessException {
+		return loanService.quotePayoff(loanId);
+	}
+
+	@PostMapping("/{loanId}/payoff")
+	@Authorize(value = Access.ADMIN_OR_LOAN_OWNER, parameter = "loanId")
+	@Operation(summary = "Pay off a loan", description = "Pays all the unpaid installments of the loan at once for the amount of the payoff quote")
+	@ApiResponse(responseCode = "200", description = "Successfully paid off the loan",
+			content = {@Content(mediaType = APPLICATION_JSON_VALUE, schema = @Schema(implementation = LoanPaymentResultDto.class))})
+	@ApiResponse(responseCode = "409", description = "All the installments of the loan are already paid, or a concurrent payment changed them", content = @Content)
+	@ApiResponse(responseCode = "404", description = "Loan not found", content = @Content)
+	public LoanPaymentResultDto payOffLoan(@PathVariable Long loanId) throws BusinessException {
+		return loanService.payOff(loanId);
+	}
+
+	@GetMapping("/{loanId}/audit-events")
+	@Authorize(value = Access.ADMIN_OR_LOAN_OWNER, parameter = "loanId")
+	@Operation(summary = "Get audit history of a loan", description = "Audit events are written asynchronously, so the latest money movements may appear with a short delay")
+	@ApiResponse(responseCode = "200", description = "Successfully retrieved the audit history",
+			content = {@Content(mediaType = APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = AuditEventDto.class)))})
+	public List<AuditEventDto> getLoanAuditEvents(@PathVariable Long loanId) {
+		return auditService.findAuditEventsOfLoan(loanId);
+	}
+
 }
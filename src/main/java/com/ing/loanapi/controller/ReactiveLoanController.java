@@ -0,0 +1,68 @@
+package com.ing.loanapi.controller;
+
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ing.loanapi.authorization.Access;
+import com.ing.loanapi.authorization.Authorize;
+import com.ing.loanapi.dto.LoanDto;
+import com.ing.loanapi.dto.LoanInstallmentDto;
+import com.ing.loanapi.service.ReactiveLoanService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Streams the same loan reads as {@link LoanController} as newline-delimited JSON when the client accepts
+ * {@code application/x-ndjson}. The request thread is released while rows are fetched over R2DBC, and
+ * rows are only fetched as fast as the client consumes them.
+ */
+@RestController
+@RequestMapping("/loans")
+@Profile("reactive")
+@RequiredArgsConstructor
+@Tag(name = "Loans")
+@SecurityRequirement(name = "basic")
+@SecurityRequirement(name = "bearer")
+public class ReactiveLoanController {
+
+	private final ReactiveLoanService reactiveLoanService;
+
+	@GetMapping(produces = APPLICATION_NDJSON_VALUE)
+	@Authorize(value = Access.ADMIN_OR_CUSTOMER, parameter = "customerId")
+	@Operation(summary = "Stream loans of a customer")
+	@ApiResponse(responseCode = "200", description = "Customer exists and loans are streamed",
+			content = {@Content(mediaType = APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = LoanDto.class))})
+	@ApiResponse(responseCode = "404", description = "Customer is not found", content = @Content)
+	public Mono<ResponseEntity<Flux<LoanDto>>> streamLoans(@RequestParam Long customerId,
+			@RequestParam(defaultValue = "false") @Parameter(description = "Whether to include paid loans moved to the archive") boolean includeArchived) {
+		return reactiveLoanService.findLoansOfCustomer(customerId, includeArchived)
+				.map(ResponseEntity::ok);
+	}
+
+	@GetMapping(path = "/{loanId}/installments", produces = APPLICATION_NDJSON_VALUE)
+	@Authorize(value = Access.ADMIN_OR_LOAN_OWNER, parameter = "loanId")
+	@Operation(summary = "Stream installments of a loan")
+	@ApiResponse(responseCode = "200", description = "Loan exists and installments are streamed",
+			content = {@Content(mediaType = APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = LoanInstallmentDto.class))})
+	@ApiResponse(responseCode = "404", description = "Loan is not found", content = @Content)
+	public Mono<ResponseEntity<Flux<LoanInstallmentDto>>> streamLoanInstallments(@PathVariable Long loanId) {
+		return reactiveLoanService.findInstallmentsOfLoan(loanId)
+				.map(ResponseEntity::ok);
+	}
+}
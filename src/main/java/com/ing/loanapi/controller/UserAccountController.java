@@ -0,0 +1,40 @@
+package com.ing.loanapi.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ing.loanapi.authorization.Access;
+import com.ing.loanapi.authorization.Authorize;
+import com.ing.loanapi.exception.UserNotFoundException;
+import com.ing.loanapi.service.UserAccountService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/admin/users")
+@RequiredArgsConstructor
+@Tag(name = "Administration")
+@SecurityRequirement(name = "basic")
+@SecurityRequirement(name = "bearer")
+public class UserAccountController {
+
+	private final UserAccountService userAccountService;
+
+	@PostMapping("/{username}/disable")
+	@Authorize(Access.ADMIN)
+	@Operation(summary = "Disable a user", description = "The user cannot authenticate with a password any more, access tokens issued before stay valid until they expire")
+	@ApiResponse(responseCode = "204", description = "Successfully disabled the user", content = @Content)
+	@ApiResponse(responseCode = "404", description = "User not found", content = @Content)
+	public ResponseEntity<Void> disableUser(@PathVariable String username) throws UserNotFoundException {
+		userAccountService.disableUser(username);
+		return ResponseEntity.noContent().build();
+	}
+}
@@ -0,0 +1,56 @@
+package com.ing.loanapi.credit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.Getter;
+
+/**
+ * In-memory credit position of a single customer. Reservations and releases are lock-free
+ * compare-and-set loops on the used amount, so concurrent loans of the same customer never
+ * block each other and can never exceed the credit limit.
+ */
+public class CreditAccount {
+
+	@Getter
+	private final Long customerId;
+	@Getter
+	private final String name;
+	@Getter
+	private final String surname;
+	@Getter
+	private final long creditLimitCents;
+	private final AtomicLong usedCents;
+
+	public CreditAccount(Long customerId, String name, String surname, long creditLimitCents, long usedCents) {
+		this.customerId = customerId;
+		this.name = name;
+		this.surname = surname;
+		this.creditLimitCents = creditLimitCents;
+		this.usedCents = new AtomicLong(usedCents);
+	}
+
+	public boolean tryReserve(long cents) {
+		while (true) {
+			final var used = usedCents.get();
+			if (creditLimitCents - used < cents) {
+				return false;
+			}
+			if (usedCents.compareAndSet(used, used + cents)) {
+				return true;
+			}
+		}
+	}
+
+	public void release(long cents) {
+		while (true) {
+			final var used = usedCents.get();
+			if (usedCents.compareAndSet(used, Math.max(0, used - cents))) {
+				return;
+			}
+		}
+	}
+
+	public long getUsedCents() {
+		return usedCents.get();
+	}
+}
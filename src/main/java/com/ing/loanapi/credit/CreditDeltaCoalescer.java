@@ -0,0 +1,306 @@
+package com.ing.loanapi.credit;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.DatabaseMetaData;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.sql.DataSource;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ing.loanapi.exception.CustomerNotFoundException;
+import com.ing.loanapi.exception.InsufficientCreditLimitException;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Merges concurrent credit deltas into group commits, so a customer with many concurrent loans takes
+ * the lock on its {@code CUSTOMER} row once per batch instead of once per request. A single writer
+ * thread drains the queued deltas, applies them in arrival order on top of the locked rows and writes
+ * one {@code UPDATE} per customer in a single transaction. Each caller waits on its own future, which
+ * completes with the amount applied for it or with the reason it was rejected.
+ * <p>
+ * Deltas are committed independently of the callers' transactions, so callers revert them by
+ * submitting the opposite delta when their transaction rolls back. The writer uses its own data
+ * source, since callers wait for the group commit while holding connections of the main pool.
+ * <p>
+ * If the instance stops before a caller's transaction commits or reverts its delta, the delta stays
+ * committed and the customer keeps less credit limit than its loans use, until the used credit limits are
+ * reconciled on startup with {@code credit.coalescing.reconcile-on-startup}.
+ */
+@Slf4j
+public class CreditDeltaCoalescer implements SmartLifecycle {
+
+	private final boolean enabled;
+	private final DataSource dataSource;
+	private final MeterRegistry meterRegistry;
+	private final int maxBatchSize;
+	private final Duration timeout;
+	private final LinkedBlockingQueue<PendingDelta> queue = new LinkedBlockingQueue<>();
+
+	private JdbcTemplate jdbcTemplate;
+	private TransactionTemplate transactionTemplate;
+	private String selectForUpdate;
+	private DistributionSummary batchSizeSummary;
+
+	private volatile boolean running;
+	private volatile boolean stopped;
+	private Thread thread;
+
+	public CreditDeltaCoalescer(boolean enabled, DataSource dataSource, MeterRegistry meterRegistry, int maxBatchSize,
+			Duration timeout) {
+		this.enabled = enabled;
+		this.dataSource = dataSource;
+		this.meterRegistry = meterRegistry;
+		this.maxBatchSize = maxBatchSize;
+		this.timeout = timeout;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public int getQueueSize() {
+		return queue.size();
+	}
+
+	/**
+	 * Queues the delta for the next group commit.
+	 *
+	 * @param checkLimit whether a positive delta must be rejected if it exceeds the available credit limit
+	 */
+	public CompletableFuture<CreditDeltaResult> submit(Long customerId, long deltaCents, boolean checkLimit) {
+		final var delta = new PendingDelta(customerId, deltaCents, checkLimit, new CompletableFuture<>());
+		if (stopped) {
+			delta.future().completeExceptionally(new IllegalStateException("Credit delta coalescer is stopped!"));
+			return delta.future();
+		}
+
+		queue.add(delta);
+		return delta.future();
+	}
+
+	/**
+	 * Queues the delta and waits until it is committed. A delta that is committed only after the caller
+	 * stopped waiting is reverted right away.
+	 */
+	public CreditDeltaResult apply(Long customerId, long deltaCents, boolean checkLimit) throws CustomerNotFoundException, InsufficientCreditLimitException {
+		final var future = submit(customerId, deltaCents, checkLimit);
+		try {
+			return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof CustomerNotFoundException cause) {
+				throw cause;
+			}
+			if (e.getCause() instanceof InsufficientCreditLimitException cause) {
+				throw cause;
+			}
+			throw new IllegalStateException("Could not update credit limit of customer " + customerId, e.getCause());
+		} catch (TimeoutException e) {
+			revertWhenCommitted(future);
+			throw new IllegalStateException("Credit limit update of customer " + customerId + " timed out", e);
+		} catch (InterruptedException e) {
+			revertWhenCommitted(future);
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while updating credit limit of customer " + customerId, e);
+		}
+	}
+
+	/**
+	 * Queues the opposite of an applied delta, without checking the credit limit.
+	 */
+	public void revert(CreditDeltaResult result) {
+		if (result.appliedCents() != 0) {
+			submit(result.customerId(), -result.appliedCents(), false);
+		}
+	}
+
+	@Override
+	public void start() {
+		if (!enabled) {
+			return;
+		}
+
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+		selectForUpdate = "SELECT NAME, SURNAME, CREDIT_LIMIT, USED_CREDIT_LIMIT FROM CUSTOMER WHERE ID = ? " + rowLockClause();
+		batchSizeSummary = DistributionSummary.builder("credit.coalescing.batch.size")
+				.register(meterRegistry);
+
+		running = true;
+		thread = new Thread(this::run, "credit-delta-coalescer");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	@Override
+	public void stop() {
+		running = false;
+		try {
+			thread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		// the pool is created for the coalescer alone
+		if (dataSource instanceof Closeable closeable) {
+			try {
+				closeable.close();
+			} catch (IOException e) {
+				log.warn("Could not close credit delta coalescer data source", e);
+			}
+		}
+	}
+
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	@Override
+	public int getPhase() {
+		// web server lifecycles run in lower phases than the default one
+		return DEFAULT_PHASE - 4096;
+	}
+
+	private void run() {
+		final var batch = new ArrayList<PendingDelta>(maxBatchSize);
+		while (running) {
+			try {
+				final var first = queue.poll(100, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					continue;
+				}
+				batch.add(first);
+				queue.drainTo(batch, maxBatchSize - 1);
+				commit(batch);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+
+		// commit deltas queued before shutdown and reject the ones queued afterwards
+		stopped = true;
+		while (queue.drainTo(batch, maxBatchSize) > 0) {
+			commit(batch);
+		}
+	}
+
+	private void commit(List<PendingDelta> batch) {
+		// rows are locked in id order, so concurrent writers cannot deadlock on them
+		final var deltasByCustomer = new TreeMap<Long, List<PendingDelta>>();
+		batch.forEach(delta -> deltasByCustomer.computeIfAbsent(delta.customerId(), id -> new ArrayList<>()).add(delta));
+
+		final var outcomes = new ArrayList<Runnable>(batch.size());
+		try {
+			transactionTemplate.executeWithoutResult(status -> {
+				final var updates = new ArrayList<Object[]>(deltasByCustomer.size());
+				deltasByCustomer.forEach((customerId, deltas) -> {
+					final var usedCents = applyAll(customerId, deltas, outcomes);
+					if (usedCents != null) {
+						updates.add(new Object[] { CreditLedger.fromCents(usedCents), customerId });
+					}
+				});
+				jdbcTemplate.batchUpdate("UPDATE CUSTOMER SET USED_CREDIT_LIMIT = ? WHERE ID = ?", updates);
+			});
+		} catch (Exception e) {
+			meterRegistry.counter("credit.coalescing.failures").increment();
+			log.error("Could not commit {} credit deltas", batch.size(), e);
+			batch.forEach(delta -> delta.future().completeExceptionally(e));
+			batch.clear();
+			return;
+		}
+
+		// callers resume only after the commit
+		outcomes.forEach(Runnable::run);
+		meterRegistry.counter("credit.coalescing.commits").increment();
+		meterRegistry.counter("credit.coalescing.deltas").increment(batch.size());
+		batchSizeSummary.record(batch.size());
+		batch.clear();
+	}
+
+	/**
+	 * Applies the deltas of a customer in arrival order on top of its locked row.
+	 *
+	 * @return the resulting used credit limit, or {@code null} if the row does not need to be updated
+	 */
+	private Long applyAll(Long customerId, List<PendingDelta> deltas, List<Runnable> outcomes) {
+		final var rows = jdbcTemplate.query(
+				selectForUpdate,
+				(rs, rowNum) -> new CreditAccount(customerId, rs.getString("NAME"), rs.getString("SURNAME"),
+						CreditLedger.toCents(rs.getBigDecimal("CREDIT_LIMIT")),
+						CreditLedger.toCents(rs.getBigDecimal("USED_CREDIT_LIMIT"))),
+				customerId);
+		if (rows.isEmpty()) {
+			deltas.forEach(delta -> outcomes.add(() -> delta.future().completeExceptionally(new CustomerNotFoundException(customerId))));
+			return null;
+		}
+
+		final var account = rows.get(0);
+		final var initialUsedCents = account.getUsedCents();
+		var usedCents = initialUsedCents;
+		for (final var delta : deltas) {
+			final long appliedCents;
+			if (delta.deltaCents() >= 0) {
+				if (delta.checkLimit() && usedCents + delta.deltaCents() > account.getCreditLimitCents()) {
+					outcomes.add(() -> delta.future().completeExceptionally(new InsufficientCreditLimitException()));
+					continue;
+				}
+				appliedCents = delta.deltaCents();
+			}
+			else {
+				// the used credit limit never goes below zero
+				appliedCents = -Math.min(usedCents, -delta.deltaCents());
+			}
+
+			usedCents += appliedCents;
+			final var result = new CreditDeltaResult(customerId, account.getName(), account.getSurname(),
+					account.getCreditLimitCents(), usedCents, appliedCents);
+			outcomes.add(() -> delta.future().complete(result));
+		}
+		return usedCents == initialUsedCents ? null : usedCents;
+	}
+
+	/**
+	 * PostgreSQL locks the row without blocking inserts of rows referencing the customer, such as its loans,
+	 * with {@code FOR NO KEY UPDATE}, since the key of the row is not changed. Other databases, H2 among them,
+	 * only know {@code FOR UPDATE}.
+	 */
+	private String rowLockClause() {
+		try {
+			final var productName = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+			return "PostgreSQL".equals(productName) ? "FOR NO KEY UPDATE" : "FOR UPDATE";
+		} catch (MetaDataAccessException e) {
+			log.warn("Could not determine the database of the credit delta coalescer, locking rows with FOR UPDATE", e);
+			return "FOR UPDATE";
+		}
+	}
+
+	private void revertWhenCommitted(CompletableFuture<CreditDeltaResult> future) {
+		future.thenAccept(this::revert);
+	}
+
+	private record PendingDelta(
+			Long customerId,
+			long deltaCents,
+			boolean checkLimit,
+			CompletableFuture<CreditDeltaResult> future) {
+	}
+}
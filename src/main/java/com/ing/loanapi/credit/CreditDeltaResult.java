@@ -0,0 +1,16 @@
+package com.ing.loanapi.credit;
+
+/**
+ * Credit position of a customer right after a coalesced delta was applied.
+ *
+ * @param appliedCents the part of the requested delta that was applied, which is smaller than
+ *                     requested only for releases exceeding the used credit limit
+ */
+public record CreditDeltaResult(
+		Long customerId,
+		String name,
+		String surname,
+		long creditLimitCents,
+		long usedCents,
+		long appliedCents) {
+}
@@ -0,0 +1,80 @@
+package com.ing.loanapi.credit;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory ledger of customer credit positions, used to make credit admission decisions without
+ * touching the {@code CUSTOMER} row. Committed changes are accumulated per customer as pending deltas
+ * and written behind to the database in batches.
+ * <p>
+ * The ledger is authoritative only when a single application instance serves all writes.
+ */
+public class CreditLedger {
+
+	private final boolean enabled;
+	private final ConcurrentHashMap<Long, CreditAccount> accounts = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<Long, AtomicLong> pendingDeltas = new ConcurrentHashMap<>();
+
+	public CreditLedger(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public CreditAccount findAccount(Long customerId) {
+		return accounts.get(customerId);
+	}
+
+	/**
+	 * @return the account already present in the ledger for the customer, or the given one
+	 */
+	public CreditAccount loadIfAbsent(CreditAccount account) {
+		final var existing = accounts.putIfAbsent(account.getCustomerId(), account);
+		return existing == null ? account : existing;
+	}
+
+	public void load(CreditAccount account) {
+		accounts.put(account.getCustomerId(), account);
+	}
+
+	public void addPendingDelta(Long customerId, long deltaCents) {
+		pendingDeltas.computeIfAbsent(customerId, id -> new AtomicLong())
+				.addAndGet(deltaCents);
+	}
+
+	/**
+	 * Atomically takes the accumulated deltas of all customers, leaving them at zero.
+	 */
+	public Map<Long, Long> drainPendingDeltas() {
+		final var drained = new HashMap<Long, Long>();
+		pendingDeltas.forEach((customerId, delta) -> {
+			final var value = delta.getAndSet(0);
+			if (value != 0) {
+				drained.put(customerId, value);
+			}
+		});
+		return drained;
+	}
+
+	/**
+	 * Puts back deltas that could not be written, so they are retried with the next write.
+	 */
+	public void restorePendingDeltas(Map<Long, Long> deltas) {
+		deltas.forEach(this::addPendingDelta);
+	}
+
+	public static long toCents(BigDecimal amount) {
+		return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+	}
+
+	public static BigDecimal fromCents(long cents) {
+		return BigDecimal.valueOf(cents, 2);
+	}
+}
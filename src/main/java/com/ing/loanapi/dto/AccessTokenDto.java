@@ -0,0 +1,7 @@
+package com.ing.loanapi.dto;
+
+public record AccessTokenDto(
+		String accessToken,
+		String tokenType,
+		long expiresIn) {
+}
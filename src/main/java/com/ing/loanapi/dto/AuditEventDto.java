@@ -0,0 +1,16 @@
+package com.ing.loanapi.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import com.ing.loanapi.audit.AuditEventType;
+
+public record AuditEventDto(
+		Long id,
+		AuditEventType type,
+		Long customerId,
+		Long loanId,
+		Long installmentId,
+		BigDecimal amount,
+		Instant occurredAt) {
+}
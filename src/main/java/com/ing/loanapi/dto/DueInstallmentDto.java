@@ -0,0 +1,14 @@
+package com.ing.loanapi.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record DueInstallmentDto(
+		Long id,
+		Long loanId,
+		Long customerId,
+		BigDecimal amount,
+		BigDecimal paidAmount,
+		LocalDate dueDate,
+		Boolean paid) {
+}
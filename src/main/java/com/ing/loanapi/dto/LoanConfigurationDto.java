@@ -0,0 +1,8 @@
+package com.ing.loanapi.dto;
+
+import com.ing.loanapi.properties.LoanConfigurationProperties;
+
+public record LoanConfigurationDto(
+		String version,
+		LoanConfigurationProperties configuration) {
+}
@@ -0,0 +1,12 @@
+package com.ing.loanapi.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record LoanPayoffQuoteDto(
+		Long loanId,
+		LocalDate quoteDate,
+		int numberOfInstallments,
+		BigDecimal outstandingAmount,
+		BigDecimal payoffAmount) {
+}
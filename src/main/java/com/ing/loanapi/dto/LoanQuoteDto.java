@@ -0,0 +1,11 @@
+package com.ing.loanapi.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record LoanQuoteDto(
+		double interestRate,
+		short numberOfInstallments,
+		BigDecimal totalPaymentAmount,
+		List<BigDecimal> installmentAmounts) {
+}
@@ -0,0 +1,12 @@
+package com.ing.loanapi.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.ing.loanapi.schedule.InterestModel;
+
+public record LoanSimulationDto(
+		BigDecimal amount,
+		InterestModel interestModel,
+		List<LoanQuoteDto> quotes) {
+}
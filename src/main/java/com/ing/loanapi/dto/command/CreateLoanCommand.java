@@ -2,6 +2,9 @@ package com.ing.loanapi.dto.command;
 
 import java.math.BigDecimal;
 
+import com.ing.loanapi.schedule.InterestModel;
+
+import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 
@@ -11,6 +14,8 @@ public record CreateLoanCommand(
 
 		@NotNull(message = "amount is required")
 		@Positive(message = "amount must be a positive number")
+		// the largest amount a loan can store, which also keeps the schedule calculation in cents within a long
+		@DecimalMax(value = "9999999999.99", message = "amount cannot exceed 9999999999.99")
 		BigDecimal amount,
 
 		@NotNull(message = "interestRate is required")
@@ -19,6 +24,13 @@ public record CreateLoanCommand(
 
 		@NotNull(message = "numberOfInstallments is required")
 		@Positive(message = "numberOfInstallments must be a positive integer")
-		Short numberOfInstallments
+		Short numberOfInstallments,
+
+		// optional, FLAT if omitted
+		InterestModel interestModel
 ) {
+
+	public CreateLoanCommand(Long customerId, BigDecimal amount, Double interestRate, Short numberOfInstallments) {
+		this(customerId, amount, interestRate, numberOfInstallments, InterestModel.FLAT);
+	}
 }
@@ -0,0 +1,32 @@
+package com.ing.loanapi.dto.command;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.ing.loanapi.schedule.InterestModel;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+public record SimulateLoanCommand(
+		@NotNull(message = "amount is required")
+		@Positive(message = "amount must be a positive number")
+		// same bound as CreateLoanCommand, keeps the schedule calculation in cents within a long
+		@DecimalMax(value = "9999999999.99", message = "amount cannot exceed 9999999999.99")
+		BigDecimal amount,
+
+		@NotEmpty(message = "interestRates is required")
+		@Size(max = 50, message = "interestRates cannot have more than 50 elements")
+		List<@NotNull @Positive Double> interestRates,
+
+		// optional, all allowed numbers of installments if omitted
+		@Size(max = 50, message = "numberOfInstallments cannot have more than 50 elements")
+		List<@NotNull @Positive Short> numberOfInstallments,
+
+		// optional, FLAT if omitted
+		InterestModel interestModel
+) {
+}
@@ -2,10 +2,10 @@ package com.ing.loanapi.entity;
 
 import java.math.BigDecimal;
 
+import com.ing.loanapi.id.SnowflakeId;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import lombok.Getter;
@@ -18,7 +18,7 @@ import lombok.Setter;
 public class Customer {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@SnowflakeId
 	@Column(nullable = false, unique = true)
 	private Long id;
 
@@ -4,11 +4,11 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
+import com.ing.loanapi.id.SnowflakeId;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -30,7 +30,7 @@ import lombok.Setter;
 public class Loan {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@SnowflakeId
 	@Column(nullable = false, unique = true)
 	private Long id;
 
@@ -50,6 +50,12 @@ public class Loan {
 	@Column(nullable = false)
 	private LocalDate createDate;
 
+	/**
+	 * Version of the loan rules the loan was created under.
+	 */
+	@Column
+	private String configurationVersion;
+
 	@OneToMany(mappedBy = "loan", cascade = CascadeType.PERSIST)
 	private List<LoanInstallment> installments;
 
@@ -3,10 +3,10 @@ package com.ing.loanapi.entity;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
+import com.ing.loanapi.id.SnowflakeId;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -28,7 +28,7 @@ import lombok.With;
 public class LoanInstallment {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@SnowflakeId
 	@Column(nullable = false, unique = true)
 	private Long id;
 
@@ -0,0 +1,50 @@
+package com.ing.loanapi.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+public class OutboxEvent {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(nullable = false, unique = true)
+	private Long id;
+
+	@Column(nullable = false)
+	private Long aggregateId;
+
+	@Column(nullable = false)
+	private String eventType;
+
+	@Column(nullable = false)
+	private String payload;
+
+	@Column(nullable = false)
+	private Instant occurredAt;
+
+	@Column(nullable = false)
+	@Builder.Default
+	private Boolean published = Boolean.FALSE;
+
+	@Column
+	private Instant publishedAt;
+}
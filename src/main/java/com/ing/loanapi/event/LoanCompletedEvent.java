@@ -0,0 +1,14 @@
+package com.ing.loanapi.event;
+
+import java.time.LocalDate;
+
+public record LoanCompletedEvent(
+		Long loanId,
+		Long customerId,
+		LocalDate completionDate) implements LoanEvent {
+
+	@Override
+	public LoanEventType type() {
+		return LoanEventType.LOAN_COMPLETED;
+	}
+}
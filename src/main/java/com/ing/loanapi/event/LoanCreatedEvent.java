@@ -0,0 +1,19 @@
+package com.ing.loanapi.event;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record LoanCreatedEvent(
+		Long loanId,
+		Long customerId,
+		BigDecimal loanAmount,
+		BigDecimal totalPaymentAmount,
+		Short numberOfInstallments,
+		LocalDate createDate,
+		String configurationVersion) implements LoanEvent {
+
+	@Override
+	public LoanEventType type() {
+		return LoanEventType.LOAN_CREATED;
+	}
+}
@@ -0,0 +1,14 @@
+package com.ing.loanapi.event;
+
+/**
+ * Domain event of the loan lifecycle. Events are keyed by {@link #loanId()} so consumers
+ * receive the events of a single loan in the order they occurred.
+ */
+public sealed interface LoanEvent permits LoanCreatedEvent, LoanInstallmentsPaidEvent, LoanCompletedEvent {
+
+	Long loanId();
+
+	Long customerId();
+
+	LoanEventType type();
+}
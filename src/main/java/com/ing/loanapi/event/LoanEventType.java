@@ -0,0 +1,7 @@
+package com.ing.loanapi.event;
+
+public enum LoanEventType {
+	LOAN_CREATED,
+	LOAN_INSTALLMENTS_PAID,
+	LOAN_COMPLETED
+}
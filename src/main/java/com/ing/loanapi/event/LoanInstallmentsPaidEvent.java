@@ -0,0 +1,17 @@
+package com.ing.loanapi.event;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record LoanInstallmentsPaidEvent(
+		Long loanId,
+		Long customerId,
+		int numberOfInstallmentsPaid,
+		BigDecimal totalPaidAmount,
+		LocalDate paymentDate) implements LoanEvent {
+
+	@Override
+	public LoanEventType type() {
+		return LoanEventType.LOAN_INSTALLMENTS_PAID;
+	}
+}
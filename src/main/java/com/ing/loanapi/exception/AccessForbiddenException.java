@@ -0,0 +1,25 @@
+package com.ing.loanapi.exception;
+
+import org.springframework.http.HttpStatus;
+
+import com.ing.loanapi.dto.ErrorDto;
+
+public class AccessForbiddenException extends BusinessException {
+
+	private static final String MESSAGE = "You are not authorized to access this resource.";
+	private static final String CODE = "FORBIDDEN";
+	private static final ErrorDto ERROR = new ErrorDto(HttpStatus.FORBIDDEN.value(), CODE, MESSAGE);
+
+	public AccessForbiddenException(Throwable cause) {
+		super(MESSAGE, cause, CODE, HttpStatus.FORBIDDEN);
+	}
+
+	public AccessForbiddenException() {
+		this(null);
+	}
+
+	@Override
+	public ErrorDto toErrorDto() {
+		return ERROR;
+	}
+}
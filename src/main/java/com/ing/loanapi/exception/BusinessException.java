@@ -2,8 +2,15 @@ package com.ing.loanapi.exception;
 
 import org.springframework.http.HttpStatus;
 
+import com.ing.loanapi.dto.ErrorDto;
+
 import lombok.Getter;
 
+/**
+ * Base of the expected failures, which are reported to the client instead of being logged. Unless they
+ * wrap a cause, business exceptions are created without a stack trace and suppressed exceptions, since
+ * filling in the stack trace is the most expensive part of rejecting a request.
+ */
 @Getter
 public abstract class BusinessException extends Exception {
 
@@ -11,20 +18,27 @@ public abstract class BusinessException extends Exception {
 	private final HttpStatus status;
 
 	public BusinessException(String message, Throwable cause, String code, HttpStatus status) {
-		super(message, cause);
-		this.code = code;
-		this.status = status;
+		this(message, cause, code, status, cause != null);
 	}
 
 	public BusinessException(String message, String code, HttpStatus status) {
-		super(message);
-		this.code = code;
-		this.status = status;
+		this(message, null, code, status);
 	}
 
 	public BusinessException(Throwable cause, String code, HttpStatus status) {
-		super(cause);
+		this(cause == null ? null : cause.toString(), cause, code, status);
+	}
+
+	protected BusinessException(String message, Throwable cause, String code, HttpStatus status, boolean writableStackTrace) {
+		super(message, cause, writableStackTrace, writableStackTrace);
 		this.code = code;
 		this.status = status;
 	}
+
+	/**
+	 * @return the response body reporting this exception, which exceptions with a fixed message share
+	 */
+	public ErrorDto toErrorDto() {
+		return new ErrorDto(status.value(), code, getMessage());
+	}
 }
@@ -0,0 +1,25 @@
+package com.ing.loanapi.exception;
+
+import org.springframework.http.HttpStatus;
+
+import com.ing.loanapi.dto.ErrorDto;
+
+public class ConcurrentLoanPaymentException extends BusinessException {
+
+	private static final String MESSAGE = "The installments of the loan were changed by a concurrent payment, please retry!";
+	private static final String CODE = "CONCURRENT_LOAN_PAYMENT";
+	private static final ErrorDto ERROR = new ErrorDto(HttpStatus.CONFLICT.value(), CODE, MESSAGE);
+
+	public ConcurrentLoanPaymentException(Throwable cause) {
+		super(MESSAGE, cause, CODE, HttpStatus.CONFLICT);
+	}
+
+	public ConcurrentLoanPaymentException() {
+		this(null);
+	}
+
+	@Override
+	public ErrorDto toErrorDto() {
+		return ERROR;
+	}
+}
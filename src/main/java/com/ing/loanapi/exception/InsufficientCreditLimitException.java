@@ -2,10 +2,13 @@ package com.ing.loanapi.exception;
 
 import org.springframework.http.HttpStatus;
 
+import com.ing.loanapi.dto.ErrorDto;
+
 public class InsufficientCreditLimitException extends BusinessException {
 
 	private static final String MESSAGE = "Credit limit of the customer is not sufficient to perform this transaction!";
 	private static final String CODE = "INSUFFICIENT_CREDIT_LIMIT";
+	private static final ErrorDto ERROR = new ErrorDto(HttpStatus.CONFLICT.value(), CODE, MESSAGE);
 
 	public InsufficientCreditLimitException(Throwable cause) {
 		super(MESSAGE, cause, CODE, HttpStatus.CONFLICT);
@@ -14,4 +17,9 @@ public class InsufficientCreditLimitException extends BusinessException {
 	public InsufficientCreditLimitException() {
 		this(null);
 	}
+
+	@Override
+	public ErrorDto toErrorDto() {
+		return ERROR;
+	}
 }
@@ -0,0 +1,15 @@
+package com.ing.loanapi.exception;
+
+import java.text.MessageFormat;
+
+import org.springframework.http.HttpStatus;
+
+public class InvalidInstallmentQueryException extends BusinessException {
+
+	private static final String MESSAGE_PATTERN = "Invalid installment query: {0}";
+	private static final String CODE = "INVALID_INSTALLMENT_QUERY";
+
+	public InvalidInstallmentQueryException(String reason) {
+		super(MessageFormat.format(MESSAGE_PATTERN, reason), CODE, HttpStatus.BAD_REQUEST);
+	}
+}
@@ -0,0 +1,19 @@
+package com.ing.loanapi.exception;
+
+import java.text.MessageFormat;
+
+import org.springframework.http.HttpStatus;
+
+public class InvalidLoanConfigurationException extends BusinessException {
+
+	private static final String MESSAGE_PATTERN = "Invalid loan configuration: {0}";
+	private static final String CODE = "INVALID_LOAN_CONFIGURATION";
+
+	public InvalidLoanConfigurationException(String reason, Throwable cause) {
+		super(MessageFormat.format(MESSAGE_PATTERN, reason), cause, CODE, HttpStatus.BAD_REQUEST);
+	}
+
+	public InvalidLoanConfigurationException(String reason) {
+		this(reason, null);
+	}
+}
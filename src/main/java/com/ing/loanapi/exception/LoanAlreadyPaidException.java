@@ -2,10 +2,13 @@ package com.ing.loanapi.exception;
 
 import org.springframework.http.HttpStatus;
 
+import com.ing.loanapi.dto.ErrorDto;
+
 public class LoanAlreadyPaidException extends BusinessException {
 
 	private static final String MESSAGE = "The loan is already paid!";
 	private static final String CODE = "LOAN_ALREADY_PAID";
+	private static final ErrorDto ERROR = new ErrorDto(HttpStatus.CONFLICT.value(), CODE, MESSAGE);
 
 	public LoanAlreadyPaidException(Throwable cause) {
 		super(MESSAGE, cause, CODE, HttpStatus.CONFLICT);
@@ -14,4 +17,9 @@ public class LoanAlreadyPaidException extends BusinessException {
 	public LoanAlreadyPaidException() {
 		this(null);
 	}
+
+	@Override
+	public ErrorDto toErrorDto() {
+		return ERROR;
+	}
 }
@@ -0,0 +1,25 @@
+package com.ing.loanapi.exception;
+
+import org.springframework.http.HttpStatus;
+
+import com.ing.loanapi.dto.ErrorDto;
+
+public class TooManyRequestsException extends BusinessException {
+
+	private static final String MESSAGE = "Too many requests, please try again later!";
+	private static final String CODE = "TOO_MANY_REQUESTS";
+	private static final ErrorDto ERROR = new ErrorDto(HttpStatus.TOO_MANY_REQUESTS.value(), CODE, MESSAGE);
+
+	public TooManyRequestsException(Throwable cause) {
+		super(MESSAGE, cause, CODE, HttpStatus.TOO_MANY_REQUESTS);
+	}
+
+	public TooManyRequestsException() {
+		this(null);
+	}
+
+	@Override
+	public ErrorDto toErrorDto() {
+		return ERROR;
+	}
+}
@@ -0,0 +1,19 @@
+package com.ing.loanapi.exception;
+
+import java.text.MessageFormat;
+
+import org.springframework.http.HttpStatus;
+
+public class UserNotFoundException extends BusinessException {
+
+	private static final String MESSAGE_PATTERN = "User {0} is not found!";
+	private static final String CODE = "USER_NOT_FOUND";
+
+	public UserNotFoundException(String username, Throwable cause) {
+		super(MessageFormat.format(MESSAGE_PATTERN, username), cause, CODE, HttpStatus.NOT_FOUND);
+	}
+
+	public UserNotFoundException(String username) {
+		this(username, null);
+	}
+}
@@ -0,0 +1,20 @@
+package com.ing.loanapi.id;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * Marks an entity id assigned by the {@link SnowflakeIdGenerator} when the entity is persisted, on the
+ * shard bound at that time. Unlike identity columns, the id is known before the insert, so inserts can
+ * be batched.
+ */
+@IdGeneratorType(SnowflakeIdentifierGenerator.class)
+@Retention(RUNTIME)
+@Target(FIELD)
+public @interface SnowflakeId {
+}
@@ -0,0 +1,113 @@
+package com.ing.loanapi.id;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import com.ing.loanapi.sharding.ShardRouter;
+
+/**
+ * Hands out time-ordered 64-bit ids without asking the database. An id is made of the milliseconds since
+ * {@link #EPOCH} (41 bits, enough until 2094), the node id of the instance (10 bits) and a sequence within
+ * the millisecond (12 bits), so instances with different node ids never hand out the same id.
+ * <p>
+ * Each shard has a sequence of its own, stepping by the shard count and starting where the id falls on the
+ * shard, so {@code id % shardCount} is the shard of the id like {@link ShardRouter#shardOfLoan} expects.
+ * The state of a shard is a single atomic long updated by compare-and-set, no thread ever waits for
+ * another. Once the sequence of a millisecond is used up, or while the clock is behind the last id, ids
+ * continue from the next millisecond instead of waiting for the clock, so ids keep increasing and may
+ * run a little ahead of the clock under bursts. A restarted instance starts after the ids already stored
+ * once {@link #seed} is called with them, even if the clock of the machine went back in between.
+ */
+public class SnowflakeIdGenerator {
+
+	public static final Instant EPOCH = Instant.parse("2025-01-01T00:00:00Z");
+
+	static final int NODE_BITS = 10;
+	static final int SEQUENCE_BITS = 12;
+	public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+	private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+	private final ShardRouter shardRouter;
+	private final long nodeId;
+	private final LongSupplier clock;
+	private final int shardCount;
+	/**
+	 * Per shard, the timestamp and sequence of the last id, as {@code timestamp << SEQUENCE_BITS | sequence}.
+	 */
+	private final AtomicLong[] lastIds;
+
+	/**
+	 * @param clock current time in epoch milliseconds
+	 */
+	public SnowflakeIdGenerator(ShardRouter shardRouter, int nodeId, LongSupplier clock) {
+		if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+			throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ", got " + nodeId);
+		}
+		if (shardRouter.getShardCount() > SEQUENCE_MASK + 1) {
+			throw new IllegalArgumentException("At most " + (SEQUENCE_MASK + 1) + " shards are supported!");
+		}
+		this.shardRouter = shardRouter;
+		this.nodeId = nodeId;
+		this.clock = clock;
+		this.shardCount = shardRouter.getShardCount();
+		this.lastIds = new AtomicLong[shardCount];
+		for (var shard = 0; shard < shardCount; shard++) {
+			lastIds[shard] = new AtomicLong();
+		}
+	}
+
+	/**
+	 * @return the next id of the shard bound to the current thread
+	 */
+	public long nextId() {
+		return nextId(shardRouter.getCurrentShard());
+	}
+
+	public long nextId(int shard) {
+		final var lastId = lastIds[shard];
+		final var now = clock.getAsLong() - EPOCH.toEpochMilli();
+		while (true) {
+			final var last = lastId.get();
+			final var lastTimestamp = last >>> SEQUENCE_BITS;
+
+			var timestamp = now;
+			var sequence = 0L;
+			if (now > lastTimestamp) {
+				sequence = firstSequence(timestamp, shard);
+			}
+			else {
+				timestamp = lastTimestamp;
+				sequence = (last & SEQUENCE_MASK) + shardCount;
+				if (sequence > SEQUENCE_MASK) {
+					timestamp++;
+					sequence = firstSequence(timestamp, shard);
+				}
+			}
+
+			if (lastId.compareAndSet(last, timestamp << SEQUENCE_BITS | sequence)) {
+				return prefix(timestamp) | sequence;
+			}
+		}
+	}
+
+	/**
+	 * Makes the shard continue after the millisecond of an id handed out before, by this node or any other.
+	 * Seeding with an id older than the ids already handed out changes nothing.
+	 */
+	public void seed(int shard, long lastId) {
+		final var seeded = (lastId >>> (NODE_BITS + SEQUENCE_BITS)) << SEQUENCE_BITS | SEQUENCE_MASK;
+		lastIds[shard].accumulateAndGet(seeded, Math::max);
+	}
+
+	/**
+	 * @return the first sequence of the millisecond giving an id of the shard
+	 */
+	private long firstSequence(long timestamp, int shard) {
+		return Math.floorMod(shard - prefix(timestamp), (long) shardCount);
+	}
+
+	private long prefix(long timestamp) {
+		return timestamp << (NODE_BITS + SEQUENCE_BITS) | nodeId << SEQUENCE_BITS;
+	}
+}
@@ -0,0 +1,35 @@
+package com.ing.loanapi.id;
+
+import java.lang.reflect.Member;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+/**
+ * Hibernate side of {@link SnowflakeId}. Hibernate creates the generator itself, so the
+ * {@link SnowflakeIdGenerator} bean is passed in through the {@value #GENERATOR_SETTING} setting.
+ */
+public class SnowflakeIdentifierGenerator implements IdentifierGenerator {
+
+	public static final String GENERATOR_SETTING = "loan-api.snowflake-id-generator";
+
+	private final SnowflakeIdGenerator snowflakeIdGenerator;
+
+	public SnowflakeIdentifierGenerator(SnowflakeId config, Member idMember, CustomIdGeneratorCreationContext context) {
+		final var generator = context.getServiceRegistry()
+				.getService(ConfigurationService.class)
+				.getSettings()
+				.get(GENERATOR_SETTING);
+		if (!(generator instanceof SnowflakeIdGenerator snowflakeIdGenerator)) {
+			throw new IllegalStateException("No SnowflakeIdGenerator in the " + GENERATOR_SETTING + " setting!");
+		}
+		this.snowflakeIdGenerator = snowflakeIdGenerator;
+	}
+
+	@Override
+	public Object generate(SharedSessionContractImplementor session, Object object) {
+		return snowflakeIdGenerator.nextId();
+	}
+}
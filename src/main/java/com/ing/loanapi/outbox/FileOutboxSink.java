@@ -0,0 +1,34 @@
+package com.ing.loanapi.outbox;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Appends each relayed message as a single JSON line to the configured file.
+ */
+@RequiredArgsConstructor
+public class FileOutboxSink implements OutboxSink {
+
+	private final Path filePath;
+	private final ObjectMapper objectMapper;
+
+	@Override
+	public synchronized void publish(List<OutboxMessage> messages) throws IOException {
+		final var lines = new StringBuilder();
+		for (var message : messages) {
+			lines.append(objectMapper.writeValueAsString(message)).append(System.lineSeparator());
+		}
+
+		// one write per batch
+		Files.writeString(filePath, lines, StandardCharsets.UTF_8,
+				StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+	}
+}
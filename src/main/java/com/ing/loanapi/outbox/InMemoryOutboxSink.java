@@ -0,0 +1,22 @@
+package com.ing.loanapi.outbox;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+public class InMemoryOutboxSink implements OutboxSink {
+
+	private final ConcurrentLinkedQueue<OutboxMessage> messages = new ConcurrentLinkedQueue<>();
+
+	@Override
+	public void publish(List<OutboxMessage> messages) {
+		this.messages.addAll(messages);
+	}
+
+	public List<OutboxMessage> getMessages() {
+		return List.copyOf(messages);
+	}
+
+	public void clear() {
+		messages.clear();
+	}
+}
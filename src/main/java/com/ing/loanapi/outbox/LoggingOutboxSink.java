@@ -0,0 +1,15 @@
+package com.ing.loanapi.outbox;
+
+import java.util.List;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class LoggingOutboxSink implements OutboxSink {
+
+	@Override
+	public void publish(List<OutboxMessage> messages) {
+		messages.forEach(message -> log.info("Loan event {} [{}] for loan {}: {}",
+				message.id(), message.type(), message.key(), message.payload()));
+	}
+}
@@ -0,0 +1,11 @@
+package com.ing.loanapi.outbox;
+
+import java.time.Instant;
+
+public record OutboxMessage(
+		Long id,
+		Long key,
+		String type,
+		String payload,
+		Instant occurredAt) {
+}
@@ -0,0 +1,13 @@
+package com.ing.loanapi.outbox;
+
+import java.util.List;
+
+/**
+ * Destination of the events relayed from the outbox, standing in for a message broker.
+ * Messages are handed over in outbox order; a sink either accepts the whole batch or throws,
+ * in which case the batch is retried on the next relay run.
+ */
+public interface OutboxSink {
+
+	void publish(List<OutboxMessage> messages) throws Exception;
+}
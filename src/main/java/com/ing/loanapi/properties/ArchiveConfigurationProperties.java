@@ -0,0 +1,14 @@
+package com.ing.loanapi.properties;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "archive")
+public record ArchiveConfigurationProperties(
+		boolean enabled,
+		Duration paidLoanAge,
+		int chunkSize,
+		int maxChunksPerRun,
+		Duration interval) {
+}
@@ -0,0 +1,27 @@
+package com.ing.loanapi.properties;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "audit")
+public record AuditConfigurationProperties(
+		Buffer buffer,
+		Writer writer) {
+
+	public record Buffer(
+			int capacity,
+			OverflowPolicy overflowPolicy,
+			Duration offerTimeout) {
+	}
+
+	public record Writer(
+			int batchSize,
+			Duration flushInterval) {
+	}
+
+	public enum OverflowPolicy {
+		BLOCK,
+		DROP
+	}
+}
@@ -1,15 +1,44 @@
 package com.ing.loanapi.properties;
 
+import java.time.Duration;
 import java.util.List;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 @ConfigurationProperties(prefix = "auth")
-public record AuthenticationConfigurationProperties(BasicAuthentication basic) {
+public record AuthenticationConfigurationProperties(
+		BasicAuthentication basic,
+		Password password,
+		UserCache userCache,
+		Token token) {
 
+	/**
+	 * @param users users imported into the user store on startup, unless an account with the same username exists
+	 */
 	public record BasicAuthentication(List<User> users) {
 
 		public record User(String username, String password, String[] roles) {
 		}
 	}
+
+	/**
+	 * @param bcryptStrength log2 of the BCrypt rounds, hashes of a lower strength are upgraded on the next login
+	 */
+	public record Password(int bcryptStrength) {
+	}
+
+	public record UserCache(
+			long maxSize,
+			Duration expireAfterWrite) {
+	}
+
+	/**
+	 * @param secret base64 encoded HMAC key of at least 32 bytes shared by all the instances, required
+	 * outside the {@code dev} profile, where a random key is generated on startup if it is not set
+	 * @param ttl validity of an issued access token
+	 */
+	public record Token(
+			String secret,
+			Duration ttl) {
+	}
 }
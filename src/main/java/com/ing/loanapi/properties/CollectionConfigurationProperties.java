@@ -0,0 +1,10 @@
+package com.ing.loanapi.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "collection")
+public record CollectionConfigurationProperties(
+		int defaultPageSize,
+		int maxPageSize,
+		int chunkSize) {
+}
@@ -0,0 +1,28 @@
+package com.ing.loanapi.properties;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "credit")
+public record CreditConfigurationProperties(
+		Ledger ledger,
+		Coalescing coalescing) {
+
+	public record Ledger(
+			boolean enabled,
+			Duration writeBehindInterval) {
+	}
+
+	/**
+	 * @param reconcileOnStartup whether the used credit limits are corrected to the outstanding amounts of
+	 *                           the unpaid loans on startup, which is only safe while no other instance
+	 *                           changes credit limits
+	 */
+	public record Coalescing(
+			boolean enabled,
+			int maxBatchSize,
+			Duration timeout,
+			boolean reconcileOnStartup) {
+	}
+}
@@ -0,0 +1,12 @@
+package com.ing.loanapi.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * @param nodeId id of the running instance, unique among the instances sharing the databases; may only be
+ *               left out with an in-memory database, which no other instance can share
+ */
+@ConfigurationProperties(prefix = "id")
+public record IdConfigurationProperties(
+		Integer nodeId) {
+}
@@ -5,13 +5,22 @@ import java.util.Set;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+/**
+ * Every value is boxed, so a value left out of a configuration binds to {@code null} and is rejected by
+ * {@link com.ing.loanapi.validation.LoanRules#compile} instead of silently becoming zero.
+ *
+ * @param interestRate       range of the {@code FLAT} interest rate, charged once on the whole amount
+ * @param annualInterestRate range of the {@code ANNUITY} and {@code REDUCING_BALANCE} interest rate, charged
+ *                           monthly on the remaining balance at a twelfth of the rate
+ */
 @ConfigurationProperties(prefix = "loan")
 public record LoanConfigurationProperties(
 		InterestRate interestRate,
+		InterestRate annualInterestRate,
 		Installment installment,
-		short paymentInAdvanceMaxMonths,
-		double rewardPerDay,
-		double penaltyPerDay,
+		Short paymentInAdvanceMaxMonths,
+		Double rewardPerDay,
+		Double penaltyPerDay,
 		BigDecimal minLoanAmount) {
 
 	public record InterestRate(
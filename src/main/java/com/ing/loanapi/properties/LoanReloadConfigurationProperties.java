@@ -0,0 +1,12 @@
+package com.ing.loanapi.properties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "loan-reload")
+public record LoanReloadConfigurationProperties(
+		Path file,
+		Duration interval) {
+}
@@ -0,0 +1,28 @@
+package com.ing.loanapi.properties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "outbox")
+public record OutboxConfigurationProperties(
+		Relay relay,
+		Sink sink) {
+
+	public record Relay(
+			int batchSize,
+			Duration pollInterval) {
+	}
+
+	public record Sink(
+			SinkType type,
+			Path filePath) {
+	}
+
+	public enum SinkType {
+		LOG,
+		FILE,
+		IN_MEMORY
+	}
+}
@@ -0,0 +1,26 @@
+package com.ing.loanapi.properties;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "rate-limit")
+public record RateLimitConfigurationProperties(
+		boolean enabled,
+		PerPrincipal perPrincipal,
+		Global global) {
+
+	/**
+	 * @param maxPrincipals number of principals whose buckets are kept at most
+	 */
+	public record PerPrincipal(
+			int capacity,
+			int refillTokens,
+			Duration refillPeriod,
+			long maxPrincipals) {
+	}
+
+	public record Global(
+			int maxConcurrentRequests) {
+	}
+}
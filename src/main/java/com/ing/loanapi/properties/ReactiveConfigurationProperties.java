@@ -0,0 +1,23 @@
+package com.ing.loanapi.properties;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "reactive")
+public record ReactiveConfigurationProperties(
+		R2dbc r2dbc) {
+
+	public record R2dbc(
+			String url,
+			String username,
+			String password,
+			Pool pool) {
+	}
+
+	public record Pool(
+			int initialSize,
+			int maxSize,
+			Duration maxAcquireTime) {
+	}
+}
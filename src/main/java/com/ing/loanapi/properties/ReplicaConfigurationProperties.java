@@ -0,0 +1,25 @@
+package com.ing.loanapi.properties;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "replica")
+public record ReplicaConfigurationProperties(
+		boolean enabled,
+		String url,
+		String username,
+		String password,
+		int maximumPoolSize,
+		Lag lag) {
+
+	/**
+	 * @param query returns the replication delay of the replica in seconds, only checks that the replica
+	 *              answers if not set
+	 */
+	public record Lag(
+			String query,
+			Duration max,
+			Duration checkInterval) {
+	}
+}
@@ -0,0 +1,28 @@
+package com.ing.loanapi.properties;
+
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * @param shards databases added to {@code spring.datasource}, which is shard 0
+ */
+@ConfigurationProperties(prefix = "sharding")
+public record ShardingConfigurationProperties(
+		boolean enabled,
+		List<Shard> shards) {
+
+	public int shardCount() {
+		return enabled && shards != null ? 1 + shards.size() : 1;
+	}
+
+	/**
+	 * @param maximumPoolSize size of the pool of the shard, the Hikari default if not set
+	 */
+	public record Shard(
+			String url,
+			String username,
+			String password,
+			int maximumPoolSize) {
+	}
+}
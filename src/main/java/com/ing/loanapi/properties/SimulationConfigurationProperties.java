@@ -0,0 +1,9 @@
+package com.ing.loanapi.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "simulation")
+public record SimulationConfigurationProperties(
+		long cacheMaxSize,
+		int parallelThreshold) {
+}
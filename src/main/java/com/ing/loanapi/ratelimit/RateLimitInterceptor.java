@@ -0,0 +1,94 @@
+package com.ing.loanapi.ratelimit;
+
+import java.util.concurrent.Semaphore;
+
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ing.loanapi.exception.TooManyRequestsException;
+import com.ing.loanapi.properties.RateLimitConfigurationProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Admits a request only if its principal has a token left in its bucket and the number of requests
+ * in flight is below the global limit. Rejected requests fail fast with {@link TooManyRequestsException}
+ * before they take a database connection.
+ * <p>
+ * Buckets are kept for at most {@code rate-limit.per-principal.max-principals} principals, and dropped once
+ * idle for as long as an empty bucket takes to fill up again, at which point a new full bucket admits the
+ * same requests. Only a principal evicted for the size bound gets its tokens back early.
+ */
+public class RateLimitInterceptor implements AsyncHandlerInterceptor {
+
+	private static final String PERMIT_ATTRIBUTE = RateLimitInterceptor.class.getName() + ".PERMIT";
+	// stackless and without a cause, so a single instance can be thrown by every rejection
+	private static final TooManyRequestsException REJECTION = new TooManyRequestsException();
+
+	private final RateLimitConfigurationProperties.PerPrincipal perPrincipal;
+	private final Cache<String, TokenBucket> buckets;
+	private final int maxConcurrentRequests;
+	private final Semaphore concurrencyPermits;
+	private final Counter principalRejections;
+	private final Counter concurrencyRejections;
+
+	public RateLimitInterceptor(RateLimitConfigurationProperties rateLimitConfigurationProperties, MeterRegistry meterRegistry) {
+		this.perPrincipal = rateLimitConfigurationProperties.perPrincipal();
+		final var refillsToFull = (perPrincipal.capacity() + perPrincipal.refillTokens() - 1) / perPrincipal.refillTokens();
+		this.buckets = Caffeine.newBuilder()
+				.maximumSize(perPrincipal.maxPrincipals())
+				.expireAfterAccess(perPrincipal.refillPeriod().multipliedBy(refillsToFull))
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, buckets, "rate-limit.buckets");
+
+		this.maxConcurrentRequests = rateLimitConfigurationProperties.global().maxConcurrentRequests();
+		this.concurrencyPermits = new Semaphore(maxConcurrentRequests);
+		this.principalRejections = meterRegistry.counter("rate-limit.rejections", "reason", "principal");
+		this.concurrencyRejections = meterRegistry.counter("rate-limit.rejections", "reason", "concurrency");
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws TooManyRequestsException {
+		// the async dispatch of a streamed response is still covered by the permit of its initial dispatch
+		if (request.getDispatcherType() == DispatcherType.ASYNC) {
+			return true;
+		}
+
+		final var principal = request.getUserPrincipal();
+		if (principal != null && !bucketOf(principal.getName()).tryConsume()) {
+			principalRejections.increment();
+			throw REJECTION;
+		}
+
+		if (!concurrencyPermits.tryAcquire()) {
+			concurrencyRejections.increment();
+			throw REJECTION;
+		}
+		request.setAttribute(PERMIT_ATTRIBUTE, Boolean.TRUE);
+		return true;
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+		if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+			request.removeAttribute(PERMIT_ATTRIBUTE);
+			concurrencyPermits.release();
+		}
+	}
+
+	public int getRequestsInFlight() {
+		return maxConcurrentRequests - concurrencyPermits.availablePermits();
+	}
+
+	private TokenBucket bucketOf(String principalName) {
+		return buckets.get(principalName, name -> new TokenBucket(
+				perPrincipal.capacity(), perPrincipal.refillTokens(), perPrincipal.refillPeriod(), System::nanoTime));
+	}
+}
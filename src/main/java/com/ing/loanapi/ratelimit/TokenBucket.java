@@ -0,0 +1,47 @@
+package com.ing.loanapi.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket refilled continuously at {@code refillTokens} per {@code refillPeriod}, up to
+ * {@code capacity} tokens. The bucket state is an immutable snapshot swapped with compare-and-set,
+ * so concurrent requests of the same principal never block each other.
+ */
+public class TokenBucket {
+
+	private final double capacity;
+	private final double tokensPerNano;
+	private final LongSupplier nanoClock;
+	private final AtomicReference<State> state;
+
+	public TokenBucket(int capacity, int refillTokens, Duration refillPeriod, LongSupplier nanoClock) {
+		this.capacity = capacity;
+		this.tokensPerNano = (double) refillTokens / refillPeriod.toNanos();
+		this.nanoClock = nanoClock;
+		this.state = new AtomicReference<>(new State(capacity, nanoClock.getAsLong()));
+	}
+
+	public boolean tryConsume() {
+		final var now = nanoClock.getAsLong();
+		while (true) {
+			final var current = state.get();
+			final var elapsed = Math.max(0, now - current.refilledAt());
+			final var tokens = Math.min(capacity, current.tokens() + elapsed * tokensPerNano);
+			if (tokens < 1) {
+				return false;
+			}
+			if (state.compareAndSet(current, new State(tokens - 1, Math.max(now, current.refilledAt())))) {
+				return true;
+			}
+		}
+	}
+
+	public double getAvailableTokens() {
+		return state.get().tokens();
+	}
+
+	private record State(double tokens, long refilledAt) {
+	}
+}
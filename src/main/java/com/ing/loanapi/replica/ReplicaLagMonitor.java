@@ -0,0 +1,85 @@
+package com.ing.loanapi.replica;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.StringUtils;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Decides whether read-only transactions may use the replica. The replica is polled for its replication
+ * delay and taken out of use while the delay exceeds the configured maximum or the replica does not
+ * answer, so reads never see data older than the maximum delay. The replica is not used until its
+ * first check succeeds.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+	private final JdbcTemplate jdbcTemplate;
+	private final String lagQuery;
+	private final double maxLagSeconds;
+
+	private volatile boolean replicaUsable;
+	private volatile double lagSeconds = Double.NaN;
+
+	public ReplicaLagMonitor(DataSource replicaDataSource, String lagQuery, Duration maxLag, MeterRegistry meterRegistry) {
+		this.jdbcTemplate = new JdbcTemplate(replicaDataSource);
+		this.lagQuery = lagQuery;
+		this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+
+		Gauge.builder("replica.lag", this, ReplicaLagMonitor::getLagSeconds)
+				.baseUnit("seconds")
+				.register(meterRegistry);
+		Gauge.builder("replica.usable", this, monitor -> monitor.isReplicaUsable() ? 1 : 0)
+				.register(meterRegistry);
+	}
+
+	public boolean isReplicaUsable() {
+		return replicaUsable;
+	}
+
+	/**
+	 * @return the replication delay found by the last check, {@code NaN} if the replica did not answer
+	 */
+	public double getLagSeconds() {
+		return lagSeconds;
+	}
+
+	@Scheduled(fixedDelayString = "${replica.lag.check-interval}")
+	public void check() {
+		boolean usable;
+		try {
+			final var lag = StringUtils.hasText(lagQuery)
+					? jdbcTemplate.queryForObject(lagQuery, Double.class)
+					: pingReplica();
+			lagSeconds = lag == null ? 0 : lag;
+			usable = lagSeconds <= maxLagSeconds;
+		} catch (DataAccessException e) {
+			lagSeconds = Double.NaN;
+			usable = false;
+			log.debug("Replica lag check failed", e);
+		}
+
+		if (usable != replicaUsable) {
+			if (usable) {
+				log.info("Replica is back in use with a lag of {} seconds", lagSeconds);
+			}
+			else {
+				log.warn("Replica is taken out of use with a lag of {} seconds, reads go to the primary", lagSeconds);
+			}
+		}
+		replicaUsable = usable;
+	}
+
+	private Double pingReplica() {
+		jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+		return 0.0;
+	}
+}
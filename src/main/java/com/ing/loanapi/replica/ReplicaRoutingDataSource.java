@@ -0,0 +1,55 @@
+package com.ing.loanapi.replica;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Source of the connections of read-only transactions, which are taken from the replica while the
+ * {@link ReplicaLagMonitor} allows it and from the primary otherwise.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+	private final ReplicaLagMonitor replicaLagMonitor;
+	private final Counter replicaConnections;
+	private final Counter primaryConnections;
+
+	public ReplicaRoutingDataSource(DataSource primaryDataSource, DataSource replicaDataSource, ReplicaLagMonitor replicaLagMonitor,
+			MeterRegistry meterRegistry) {
+
+		this.replicaLagMonitor = replicaLagMonitor;
+		this.replicaConnections = meterRegistry.counter("datasource.read-only.connections", "target", Target.REPLICA.tag);
+		this.primaryConnections = meterRegistry.counter("datasource.read-only.connections", "target", Target.PRIMARY.tag);
+
+		setTargetDataSources(Map.of(Target.PRIMARY, primaryDataSource, Target.REPLICA, replicaDataSource));
+		setDefaultTargetDataSource(primaryDataSource);
+		afterPropertiesSet();
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		if (replicaLagMonitor.isReplicaUsable()) {
+			replicaConnections.increment();
+			return Target.REPLICA;
+		}
+		primaryConnections.increment();
+		return Target.PRIMARY;
+	}
+
+	private enum Target {
+
+		PRIMARY("primary"),
+		REPLICA("replica");
+
+		private final String tag;
+
+		Target(String tag) {
+			this.tag = tag;
+		}
+	}
+}
@@ -0,0 +1,60 @@
+package com.ing.loanapi.repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import com.ing.loanapi.audit.AuditEventType;
+import com.ing.loanapi.audit.AuditRecord;
+import com.ing.loanapi.dto.AuditEventDto;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Append-only access to {@code AUDIT_EVENT}; audit events are never updated or deleted.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AuditEventRepository {
+
+	private static final RowMapper<AuditEventDto> AUDIT_EVENT_ROW_MAPPER = (rs, rowNum) -> new AuditEventDto(
+			rs.getLong("ID"),
+			AuditEventType.valueOf(rs.getString("EVENT_TYPE")),
+			rs.getLong("CUSTOMER_ID"),
+			rs.getObject("LOAN_ID", Long.class),
+			rs.getObject("INSTALLMENT_ID", Long.class),
+			rs.getBigDecimal("AMOUNT"),
+			rs.getTimestamp("OCCURRED_AT").toInstant());
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+
+	public void insertAll(List<AuditRecord> records) {
+		final var parameters = records.stream()
+				.map(record -> new MapSqlParameterSource()
+						.addValue("eventType", record.type().name())
+						.addValue("customerId", record.customerId())
+						.addValue("loanId", record.loanId())
+						.addValue("installmentId", record.installmentId())
+						.addValue("amount", record.amount())
+						.addValue("occurredAt", Timestamp.from(record.occurredAt())))
+				.toArray(SqlParameterSource[]::new);
+
+		jdbcTemplate.batchUpdate("""
+				INSERT INTO AUDIT_EVENT (EVENT_TYPE, CUSTOMER_ID, LOAN_ID, INSTALLMENT_ID, AMOUNT, OCCURRED_AT)
+				VALUES (:eventType, :customerId, :loanId, :installmentId, :amount, :occurredAt)
+				""", parameters);
+	}
+
+	public List<AuditEventDto> findByLoanId(Long loanId) {
+		return jdbcTemplate.query(
+				"SELECT ID, EVENT_TYPE, CUSTOMER_ID, LOAN_ID, INSTALLMENT_ID, AMOUNT, OCCURRED_AT FROM AUDIT_EVENT WHERE LOAN_ID = :loanId ORDER BY ID",
+				Map.of("loanId", loanId),
+				AUDIT_EVENT_ROW_MAPPER);
+	}
+}
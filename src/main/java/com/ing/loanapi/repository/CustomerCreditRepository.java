@@ -0,0 +1,76 @@
+package com.ing.loanapi.repository;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+@Repository
+@RequiredArgsConstructor
+public class CustomerCreditRepository {
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+
+	/**
+	 * Streams the credit position of every customer together with the outstanding amount of its unpaid loans,
+	 * which is what the used credit limit is expected to be.
+	 */
+	public void forEachCreditPosition(Consumer<CreditPosition> consumer) {
+		jdbcTemplate.query("""
+				SELECT C.ID, C.NAME, C.SURNAME, C.CREDIT_LIMIT, C.USED_CREDIT_LIMIT,
+				       COALESCE((SELECT SUM(S.OUTSTANDING_AMOUNT) FROM LOAN_SUMMARY S
+				                 WHERE S.CUSTOMER_ID = C.ID AND S.PAID = FALSE), 0) AS OUTSTANDING_AMOUNT
+				FROM CUSTOMER C
+				""", (RowCallbackHandler) rs -> {
+			consumer.accept(new CreditPosition(
+					rs.getLong("ID"),
+					rs.getString("NAME"),
+					rs.getString("SURNAME"),
+					rs.getBigDecimal("CREDIT_LIMIT"),
+					rs.getBigDecimal("USED_CREDIT_LIMIT"),
+					rs.getBigDecimal("OUTSTANDING_AMOUNT")));
+		});
+	}
+
+	public void setUsedCreditLimits(Map<Long, BigDecimal> usedCreditLimits) {
+		final var parameters = usedCreditLimits.entrySet().stream()
+				.map(entry -> new MapSqlParameterSource()
+						.addValue("customerId", entry.getKey())
+						.addValue("usedCreditLimit", entry.getValue()))
+				.toArray(SqlParameterSource[]::new);
+
+		jdbcTemplate.batchUpdate("UPDATE CUSTOMER SET USED_CREDIT_LIMIT = :usedCreditLimit WHERE ID = :customerId", parameters);
+	}
+
+	/**
+	 * Adds the given deltas to the used credit limits in one batch. The deltas are relative, so the update
+	 * does not need to read the rows first.
+	 */
+	public void addToUsedCreditLimits(Map<Long, BigDecimal> deltas) {
+		final var parameters = deltas.entrySet().stream()
+				.map(entry -> new MapSqlParameterSource()
+						.addValue("customerId", entry.getKey())
+						.addValue("delta", entry.getValue()))
+				.toArray(SqlParameterSource[]::new);
+
+		jdbcTemplate.batchUpdate(
+				"UPDATE CUSTOMER SET USED_CREDIT_LIMIT = GREATEST(USED_CREDIT_LIMIT + :delta, 0) WHERE ID = :customerId",
+				parameters);
+	}
+
+	public record CreditPosition(
+			Long customerId,
+			String name,
+			String surname,
+			BigDecimal creditLimit,
+			BigDecimal usedCreditLimit,
+			BigDecimal outstandingAmount) {
+	}
+}
@@ -0,0 +1,79 @@
+package com.ing.loanapi.repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Moves fully paid loans out of the hot {@code LOAN}, {@code LOAN_INSTALLMENT} and {@code LOAN_SUMMARY}
+ * tables into {@code LOAN_ARCHIVE} and {@code LOAN_INSTALLMENT_ARCHIVE}. All the statements of a chunk must
+ * run in the same transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LoanArchiveRepository {
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+
+	/**
+	 * @return ids of paid loans without any installment paid on or after the cutoff date, in id order
+	 */
+	public List<Long> findArchivableLoanIds(LocalDate cutoffDate, int limit) {
+		final var parameters = new MapSqlParameterSource()
+				.addValue("cutoffDate", cutoffDate)
+				.addValue("limit", limit);
+
+		return jdbcTemplate.queryForList("""
+				SELECT L.ID FROM LOAN L
+				WHERE L.PAID = TRUE
+				  AND NOT EXISTS (SELECT 1 FROM LOAN_INSTALLMENT I WHERE I.LOAN_ID = L.ID AND I.PAYMENT_DATE >= :cutoffDate)
+				ORDER BY L.ID
+				LIMIT :limit
+				""", parameters, Long.class);
+	}
+
+	/**
+	 * @return number of archived installments
+	 */
+	public int archive(List<Long> loanIds, Instant archivedAt) {
+		final var parameters = new MapSqlParameterSource()
+				.addValue("loanIds", loanIds)
+				.addValue("archivedAt", Timestamp.from(archivedAt));
+
+		jdbcTemplate.update("""
+				INSERT INTO LOAN_ARCHIVE (LOAN_ID, CUSTOMER_ID, LOAN_AMOUNT, NUMBER_OF_INSTALLMENTS, CREATE_DATE, CONFIGURATION_VERSION, ARCHIVED_AT)
+				SELECT ID, CUSTOMER_ID, LOAN_AMOUNT, NUMBER_OF_INSTALLMENTS, CREATE_DATE, CONFIGURATION_VERSION, :archivedAt
+				FROM LOAN WHERE ID IN (:loanIds)
+				""", parameters);
+		final var installments = jdbcTemplate.update("""
+				INSERT INTO LOAN_INSTALLMENT_ARCHIVE (ID, LOAN_ID, AMOUNT, PAID_AMOUNT, DUE_DATE, PAYMENT_DATE, PAID)
+				SELECT ID, LOAN_ID, AMOUNT, PAID_AMOUNT, DUE_DATE, PAYMENT_DATE, PAID
+				FROM LOAN_INSTALLMENT WHERE LOAN_ID IN (:loanIds)
+				""", parameters);
+
+		jdbcTemplate.update("DELETE FROM LOAN_INSTALLMENT WHERE LOAN_ID IN (:loanIds)", parameters);
+		jdbcTemplate.update("DELETE FROM LOAN_SUMMARY WHERE LOAN_ID IN (:loanIds)", parameters);
+		jdbcTemplate.update("DELETE FROM LOAN WHERE ID IN (:loanIds)", parameters);
+		return installments;
+	}
+
+	public long countLoans() {
+		return count("LOAN");
+	}
+
+	public long countInstallments() {
+		return count("LOAN_INSTALLMENT");
+	}
+
+	private long count(String table) {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Map.of(), Long.class);
+	}
+}
@@ -0,0 +1,100 @@
+package com.ing.loanapi.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Projections and bulk writes used to pay off a loan without hydrating the loan and its installments.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LoanPayoffRepository {
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+
+	/**
+	 * Locks the loan row until the end of the transaction, so that concurrent payments of the loan
+	 * are serialized behind the payoff.
+	 */
+	public Optional<LoanState> lockLoan(Long loanId) {
+		return jdbcTemplate.query(
+						"SELECT ID, CUSTOMER_ID, PAID FROM LOAN WHERE ID = :loanId FOR UPDATE",
+						Map.of("loanId", loanId),
+						(rs, rowNum) -> new LoanState(rs.getLong("ID"), rs.getLong("CUSTOMER_ID"), rs.getBoolean("PAID")))
+				.stream()
+				.findFirst();
+	}
+
+	public Optional<LoanState> findLoan(Long loanId) {
+		return jdbcTemplate.query(
+						"SELECT LOAN_ID, CUSTOMER_ID, PAID FROM LOAN_SUMMARY WHERE LOAN_ID = :loanId",
+						Map.of("loanId", loanId),
+						(rs, rowNum) -> new LoanState(rs.getLong("LOAN_ID"), rs.getLong("CUSTOMER_ID"), rs.getBoolean("PAID")))
+				.stream()
+				.findFirst();
+	}
+
+	public List<UnpaidInstallment> findUnpaidInstallments(Long loanId) {
+		return jdbcTemplate.query(
+				"SELECT ID, AMOUNT, DUE_DATE FROM LOAN_INSTALLMENT WHERE LOAN_ID = :loanId AND PAID = FALSE ORDER BY DUE_DATE, ID",
+				Map.of("loanId", loanId),
+				(rs, rowNum) -> new UnpaidInstallment(rs.getLong("ID"), rs.getBigDecimal("AMOUNT"), rs.getDate("DUE_DATE").toLocalDate()));
+	}
+
+	/**
+	 * Marks all the given installments paid with their paid amounts in a single statement.
+	 *
+	 * @return number of installments updated, lower than the given ones if some were paid meanwhile
+	 */
+	public int payInstallments(Long loanId, List<PaidInstallment> installments, LocalDate paymentDate) {
+		final var parameters = new MapSqlParameterSource()
+				.addValue("loanId", loanId)
+				.addValue("paymentDate", paymentDate)
+				.addValue("ids", installments.stream().map(PaidInstallment::id).toList());
+
+		final var paidAmountCase = new StringBuilder("CASE ID");
+		for (var i = 0; i < installments.size(); i++) {
+			paidAmountCase.append(" WHEN :id").append(i).append(" THEN :paidAmount").append(i);
+			parameters.addValue("id" + i, installments.get(i).id());
+			parameters.addValue("paidAmount" + i, installments.get(i).paidAmount());
+		}
+		paidAmountCase.append(" END");
+
+		return jdbcTemplate.update("""
+				UPDATE LOAN_INSTALLMENT
+				SET PAID = TRUE, PAYMENT_DATE = :paymentDate, PAID_AMOUNT = %s
+				WHERE LOAN_ID = :loanId AND PAID = FALSE AND ID IN (:ids)
+				""".formatted(paidAmountCase), parameters);
+	}
+
+	public void markLoanPaid(Long loanId) {
+		jdbcTemplate.update("UPDATE LOAN SET PAID = TRUE WHERE ID = :loanId", Map.of("loanId", loanId));
+	}
+
+	public record LoanState(
+			Long loanId,
+			Long customerId,
+			boolean paid) {
+	}
+
+	public record UnpaidInstallment(
+			Long id,
+			BigDecimal amount,
+			LocalDate dueDate) {
+	}
+
+	public record PaidInstallment(
+			Long id,
+			BigDecimal amount,
+			BigDecimal paidAmount) {
+	}
+}
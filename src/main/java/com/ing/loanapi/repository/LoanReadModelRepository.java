@@ -0,0 +1,227 @@
+package com.ing.loanapi.repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.ing.loanapi.dto.DueInstallmentDto;
+import com.ing.loanapi.dto.LoanDto;
+import com.ing.loanapi.dto.LoanInstallmentDto;
+import com.ing.loanapi.properties.CollectionConfigurationProperties;
+
+/**
+ * Read side of the loans. Loan listings are served from the denormalized {@code LOAN_SUMMARY} table and
+ * installments are projected straight from {@code LOAN_INSTALLMENT}, without hydrating JPA entities.
+ * Writes to {@code LOAN_SUMMARY} must happen in the same transaction as the corresponding loan writes.
+ */
+@Repository
+public class LoanReadModelRepository {
+
+	private static final String LOAN_COLUMNS = "LOAN_ID, CUSTOMER_ID, LOAN_AMOUNT, NUMBER_OF_INSTALLMENTS, PAID, CREATE_DATE";
+	private static final String ARCHIVED_LOAN_COLUMNS = "LOAN_ID, CUSTOMER_ID, LOAN_AMOUNT, NUMBER_OF_INSTALLMENTS, TRUE AS PAID, CAST(CREATE_DATE AS DATE) AS CREATE_DATE";
+	private static final String INSTALLMENT_COLUMNS = "ID, LOAN_ID, AMOUNT, PAID_AMOUNT, DUE_DATE, PAYMENT_DATE, PAID";
+
+	private static final RowMapper<LoanDto> LOAN_ROW_MAPPER = (rs, rowNum) -> new LoanDto(
+			rs.getLong("LOAN_ID"),
+			rs.getLong("CUSTOMER_ID"),
+			rs.getBigDecimal("LOAN_AMOUNT"),
+			rs.getShort("NUMBER_OF_INSTALLMENTS"),
+			rs.getBoolean("PAID"),
+			toLocalDate(rs, "CREATE_DATE"));
+
+	private static final RowMapper<LoanInstallmentDto> INSTALLMENT_ROW_MAPPER = (rs, rowNum) -> new LoanInstallmentDto(
+			rs.getLong("ID"),
+			rs.getLong("LOAN_ID"),
+			rs.getBigDecimal("AMOUNT"),
+			rs.getBigDecimal("PAID_AMOUNT"),
+			toLocalDate(rs, "DUE_DATE"),
+			toLocalDate(rs, "PAYMENT_DATE"),
+			rs.getBoolean("PAID"));
+
+	private static final RowMapper<DueInstallmentDto> DUE_INSTALLMENT_ROW_MAPPER = (rs, rowNum) -> new DueInstallmentDto(
+			rs.getLong("ID"),
+			rs.getLong("LOAN_ID"),
+			rs.getLong("CUSTOMER_ID"),
+			rs.getBigDecimal("AMOUNT"),
+			rs.getBigDecimal("PAID_AMOUNT"),
+			toLocalDate(rs, "DUE_DATE"),
+			rs.getBoolean("PAID"));
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+	private final NamedParameterJdbcTemplate scanJdbcTemplate;
+
+	public LoanReadModelRepository(NamedParameterJdbcTemplate jdbcTemplate, CollectionConfigurationProperties collectionConfigurationProperties) {
+		this.jdbcTemplate = jdbcTemplate;
+
+		final var scanJdbcTemplate = new JdbcTemplate(jdbcTemplate.getJdbcTemplate().getDataSource());
+		scanJdbcTemplate.setFetchSize(collectionConfigurationProperties.chunkSize());
+		this.scanJdbcTemplate = new NamedParameterJdbcTemplate(scanJdbcTemplate);
+	}
+
+	public List<LoanDto> findLoansByCustomerId(Long customerId) {
+		return jdbcTemplate.query(
+				"SELECT " + LOAN_COLUMNS + " FROM LOAN_SUMMARY WHERE CUSTOMER_ID = :customerId ORDER BY LOAN_ID",
+				Map.of("customerId", customerId),
+				LOAN_ROW_MAPPER);
+	}
+
+	/**
+	 * Loans of the customer including the ones moved to {@code LOAN_ARCHIVE}, in id order.
+	 */
+	public List<LoanDto> findLoansByCustomerIdIncludingArchived(Long customerId) {
+		return jdbcTemplate.query(
+				"SELECT " + LOAN_COLUMNS + " FROM LOAN_SUMMARY WHERE CUSTOMER_ID = :customerId"
+						+ " UNION ALL SELECT " + ARCHIVED_LOAN_COLUMNS + " FROM LOAN_ARCHIVE WHERE CUSTOMER_ID = :customerId"
+						+ " ORDER BY LOAN_ID",
+				Map.of("customerId", customerId),
+				LOAN_ROW_MAPPER);
+	}
+
+	public Optional<LoanDto> findLoanById(Long loanId) {
+		return jdbcTemplate.query(
+						"SELECT " + LOAN_COLUMNS + " FROM LOAN_SUMMARY WHERE LOAN_ID = :loanId",
+						Map.of("loanId", loanId),
+						LOAN_ROW_MAPPER)
+				.stream()
+				.findFirst();
+	}
+
+	public Optional<LoanDto> findArchivedLoanById(Long loanId) {
+		return jdbcTemplate.query(
+						"SELECT " + ARCHIVED_LOAN_COLUMNS + " FROM LOAN_ARCHIVE WHERE LOAN_ID = :loanId",
+						Map.of("loanId", loanId),
+						LOAN_ROW_MAPPER)
+				.stream()
+				.findFirst();
+	}
+
+	public List<LoanInstallmentDto> findInstallmentsByLoanId(Long loanId) {
+		return jdbcTemplate.query(
+				"SELECT " + INSTALLMENT_COLUMNS + " FROM LOAN_INSTALLMENT WHERE LOAN_ID = :loanId ORDER BY DUE_DATE, ID",
+				Map.of("loanId", loanId),
+				INSTALLMENT_ROW_MAPPER);
+	}
+
+	public List<LoanInstallmentDto> findArchivedInstallmentsByLoanId(Long loanId) {
+		return jdbcTemplate.query(
+				"SELECT " + INSTALLMENT_COLUMNS + " FROM LOAN_INSTALLMENT_ARCHIVE WHERE LOAN_ID = :loanId ORDER BY DUE_DATE, ID",
+				Map.of("loanId", loanId),
+				INSTALLMENT_ROW_MAPPER);
+	}
+
+	/**
+	 * Reads up to {@code limit} installments matching the query, in due date and id order. Pages resume
+	 * after the last installment of the previous page instead of skipping an offset, so each page is a range
+	 * scan of {@code IDX_LOAN_INSTALLMENT_PAID_DUE_DATE} no matter how deep it is. Installments moved to the
+	 * archive are paid and not included. Rows are fetched {@code collection.chunk-size} at a time rather than
+	 * by the default of the driver, which only applies within a transaction on some databases.
+	 */
+	public List<DueInstallmentDto> findDueInstallments(DueInstallmentQuery query) {
+		final var sql = new StringBuilder("""
+				SELECT I.ID, I.LOAN_ID, L.CUSTOMER_ID, I.AMOUNT, I.PAID_AMOUNT, I.DUE_DATE, I.PAID
+				FROM LOAN_INSTALLMENT I JOIN LOAN L ON L.ID = I.LOAN_ID
+				WHERE I.PAID = :paid AND I.DUE_DATE <= :dueTo
+				""");
+		final var parameters = new MapSqlParameterSource()
+				.addValue("paid", query.paid())
+				.addValue("dueTo", query.dueTo())
+				.addValue("limit", query.limit());
+		if (query.dueFrom() != null) {
+			sql.append(" AND I.DUE_DATE >= :dueFrom");
+			parameters.addValue("dueFrom", query.dueFrom());
+		}
+		if (query.afterDueDate() != null) {
+			sql.append(" AND (I.DUE_DATE > :afterDueDate OR (I.DUE_DATE = :afterDueDate AND I.ID > :afterId))");
+			parameters.addValue("afterDueDate", query.afterDueDate())
+					.addValue("afterId", query.afterId());
+		}
+		sql.append(" ORDER BY I.DUE_DATE, I.ID LIMIT :limit");
+
+		return scanJdbcTemplate.query(sql.toString(), parameters, DUE_INSTALLMENT_ROW_MAPPER);
+	}
+
+	public void insertLoanSummary(LoanDto loan, BigDecimal outstandingAmount, LocalDate nextDueDate) {
+		final var parameters = new MapSqlParameterSource()
+				.addValue("loanId", loan.id())
+				.addValue("customerId", loan.customerId())
+				.addValue("loanAmount", loan.loanAmount())
+				.addValue("numberOfInstallments", loan.numberOfInstallments())
+				.addValue("paid", loan.paid())
+				.addValue("createDate", loan.createDate())
+				.addValue("outstandingAmount", outstandingAmount)
+				.addValue("nextDueDate", nextDueDate);
+
+		jdbcTemplate.update("""
+				INSERT INTO LOAN_SUMMARY (LOAN_ID, CUSTOMER_ID, LOAN_AMOUNT, NUMBER_OF_INSTALLMENTS, PAID, CREATE_DATE,
+				                          PAID_INSTALLMENTS, REMAINING_INSTALLMENTS, OUTSTANDING_AMOUNT, NEXT_DUE_DATE)
+				VALUES (:loanId, :customerId, :loanAmount, :numberOfInstallments, :paid, :createDate,
+				        0, :numberOfInstallments, :outstandingAmount, :nextDueDate)
+				""", parameters);
+	}
+
+	/**
+	 * @param numberOfInstallmentsPaid number of installments paid by this payment
+	 * @param paidDebtAmount           debt covered by this payment, excluding rewards and penalties
+	 * @param nextDueDate              due date of the earliest installment left unpaid, {@code null} if none
+	 */
+	public void applyPayment(Long loanId, int numberOfInstallmentsPaid, BigDecimal paidDebtAmount, LocalDate nextDueDate, boolean loanPaid) {
+		final var parameters = new MapSqlParameterSource()
+				.addValue("loanId", loanId)
+				.addValue("numberOfInstallmentsPaid", numberOfInstallmentsPaid)
+				.addValue("paidDebtAmount", paidDebtAmount)
+				.addValue("nextDueDate", nextDueDate)
+				.addValue("paid", loanPaid);
+
+		jdbcTemplate.update("""
+				UPDATE LOAN_SUMMARY
+				SET PAID_INSTALLMENTS = PAID_INSTALLMENTS + :numberOfInstallmentsPaid,
+				    REMAINING_INSTALLMENTS = REMAINING_INSTALLMENTS - :numberOfInstallmentsPaid,
+				    OUTSTANDING_AMOUNT = OUTSTANDING_AMOUNT - :paidDebtAmount,
+				    NEXT_DUE_DATE = :nextDueDate,
+				    PAID = :paid
+				WHERE LOAN_ID = :loanId
+				""", parameters);
+	}
+
+	private static LocalDate toLocalDate(ResultSet rs, String column) throws SQLException {
+		final Date date = rs.getDate(column);
+		return date == null ? null : date.toLocalDate();
+	}
+
+	/**
+	 * @param dueFrom      earliest due date, {@code null} to include every overdue installment
+	 * @param dueTo        latest due date
+	 * @param afterDueDate due date of the last installment of the previous page, {@code null} for the first page
+	 * @param afterId      id of the last installment of the previous page
+	 */
+	public record DueInstallmentQuery(
+			boolean paid,
+			LocalDate dueFrom,
+			LocalDate dueTo,
+			LocalDate afterDueDate,
+			Long afterId,
+			int limit) {
+
+		/**
+		 * The same query, resuming after the given installment.
+		 */
+		public DueInstallmentQuery after(DueInstallmentDto installment, int limit) {
+			return new DueInstallmentQuery(paid, dueFrom, dueTo, installment.dueDate(), installment.id(), limit);
+		}
+
+		public DueInstallmentQuery withLimit(int limit) {
+			return new DueInstallmentQuery(paid, dueFrom, dueTo, afterDueDate, afterId, limit);
+		}
+	}
+}
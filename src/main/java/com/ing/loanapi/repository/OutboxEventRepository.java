@@ -0,0 +1,21 @@
+package com.ing.loanapi.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.ing.loanapi.entity.OutboxEvent;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+	List<OutboxEvent> findByPublishedFalseOrderByIdAsc(Pageable pageable);
+
+	@Modifying
+	@Query("update OutboxEvent e set e.published = true, e.publishedAt = :publishedAt where e.id in :ids")
+	int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") Instant publishedAt);
+}
@@ -0,0 +1,103 @@
+package com.ing.loanapi.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.ing.loanapi.dto.LoanDto;
+import com.ing.loanapi.dto.LoanInstallmentDto;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of the read queries of {@link LoanReadModelRepository}. Rows are emitted as
+ * the subscriber requests them, so a slow client slows down the fetch instead of buffering the result.
+ */
+@Repository
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveLoanReadModelRepository {
+
+	private static final String LOAN_COLUMNS = "LOAN_ID, CUSTOMER_ID, LOAN_AMOUNT, NUMBER_OF_INSTALLMENTS, PAID, CREATE_DATE";
+	private static final String ARCHIVED_LOAN_COLUMNS = "LOAN_ID, CUSTOMER_ID, LOAN_AMOUNT, NUMBER_OF_INSTALLMENTS, TRUE AS PAID, CAST(CREATE_DATE AS DATE) AS CREATE_DATE";
+	private static final String INSTALLMENT_COLUMNS = "ID, LOAN_ID, AMOUNT, PAID_AMOUNT, DUE_DATE, PAYMENT_DATE, PAID";
+
+	private final DatabaseClient databaseClient;
+
+	public Mono<Boolean> existsCustomerById(Long customerId) {
+		return databaseClient.sql("SELECT 1 FROM CUSTOMER WHERE ID = :customerId")
+				.bind("customerId", customerId)
+				.fetch()
+				.first()
+				.hasElement();
+	}
+
+	public Mono<Boolean> existsLoanById(Long loanId) {
+		return databaseClient.sql("SELECT 1 FROM LOAN_SUMMARY WHERE LOAN_ID = :loanId")
+				.bind("loanId", loanId)
+				.fetch()
+				.first()
+				.hasElement();
+	}
+
+	public Mono<Boolean> existsArchivedLoanById(Long loanId) {
+		return databaseClient.sql("SELECT 1 FROM LOAN_ARCHIVE WHERE LOAN_ID = :loanId")
+				.bind("loanId", loanId)
+				.fetch()
+				.first()
+				.hasElement();
+	}
+
+	public Flux<LoanDto> findLoansByCustomerId(Long customerId) {
+		return findLoans("SELECT " + LOAN_COLUMNS + " FROM LOAN_SUMMARY WHERE CUSTOMER_ID = :customerId ORDER BY LOAN_ID", customerId);
+	}
+
+	/**
+	 * Loans of the customer including the ones moved to {@code LOAN_ARCHIVE}, in id order.
+	 */
+	public Flux<LoanDto> findLoansByCustomerIdIncludingArchived(Long customerId) {
+		return findLoans("SELECT " + LOAN_COLUMNS + " FROM LOAN_SUMMARY WHERE CUSTOMER_ID = :customerId"
+				+ " UNION ALL SELECT " + ARCHIVED_LOAN_COLUMNS + " FROM LOAN_ARCHIVE WHERE CUSTOMER_ID = :customerId"
+				+ " ORDER BY LOAN_ID", customerId);
+	}
+
+	public Flux<LoanInstallmentDto> findInstallmentsByLoanId(Long loanId) {
+		return findInstallments("SELECT " + INSTALLMENT_COLUMNS + " FROM LOAN_INSTALLMENT WHERE LOAN_ID = :loanId ORDER BY DUE_DATE, ID", loanId);
+	}
+
+	public Flux<LoanInstallmentDto> findArchivedInstallmentsByLoanId(Long loanId) {
+		return findInstallments("SELECT " + INSTALLMENT_COLUMNS + " FROM LOAN_INSTALLMENT_ARCHIVE WHERE LOAN_ID = :loanId ORDER BY DUE_DATE, ID", loanId);
+	}
+
+	private Flux<LoanDto> findLoans(String sql, Long customerId) {
+		return databaseClient.sql(sql)
+				.bind("customerId", customerId)
+				.map(row -> new LoanDto(
+						row.get("LOAN_ID", Long.class),
+						row.get("CUSTOMER_ID", Long.class),
+						row.get("LOAN_AMOUNT", BigDecimal.class),
+						row.get("NUMBER_OF_INSTALLMENTS", Short.class),
+						row.get("PAID", Boolean.class),
+						row.get("CREATE_DATE", LocalDate.class)))
+				.all();
+	}
+
+	private Flux<LoanInstallmentDto> findInstallments(String sql, Long loanId) {
+		return databaseClient.sql(sql)
+				.bind("loanId", loanId)
+				.map(row -> new LoanInstallmentDto(
+						row.get("ID", Long.class),
+						row.get("LOAN_ID", Long.class),
+						row.get("AMOUNT", BigDecimal.class),
+						row.get("PAID_AMOUNT", BigDecimal.class),
+						row.get("DUE_DATE", LocalDate.class),
+						row.get("PAYMENT_DATE", LocalDate.class),
+						row.get("PAID", Boolean.class)))
+				.all();
+	}
+}
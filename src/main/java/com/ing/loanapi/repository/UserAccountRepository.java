@@ -0,0 +1,100 @@
+package com.ing.loanapi.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Credentials and roles of the users, kept in {@code USER_ACCOUNT} and {@code USER_ROLE}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserAccountRepository {
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+
+	/**
+	 * Reads the account together with its roles in a single primary key lookup.
+	 */
+	public Optional<UserAccount> findByUsername(String username) {
+		final var rows = jdbcTemplate.queryForList("""
+				SELECT A.USERNAME, A.PASSWORD_HASH, A.CUSTOMER_ID, A.ENABLED, R.ROLE
+				FROM USER_ACCOUNT A LEFT JOIN USER_ROLE R ON R.USERNAME = A.USERNAME
+				WHERE A.USERNAME = :username
+				""", Map.of("username", username));
+		if (rows.isEmpty()) {
+			return Optional.empty();
+		}
+
+		final var row = rows.get(0);
+		final var roles = new ArrayList<String>(rows.size());
+		rows.forEach(roleRow -> {
+			if (roleRow.get("ROLE") != null) {
+				roles.add((String) roleRow.get("ROLE"));
+			}
+		});
+		final var customerId = (Number) row.get("CUSTOMER_ID");
+		return Optional.of(new UserAccount(
+				(String) row.get("USERNAME"),
+				(String) row.get("PASSWORD_HASH"),
+				customerId == null ? null : customerId.longValue(),
+				(Boolean) row.get("ENABLED"),
+				List.copyOf(roles)));
+	}
+
+	public boolean existsByUsername(String username) {
+		return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) > 0 FROM USER_ACCOUNT WHERE USERNAME = :username", Map.of("username", username), Boolean.class));
+	}
+
+	public void insert(UserAccount account) {
+		jdbcTemplate.update("""
+				INSERT INTO USER_ACCOUNT (USERNAME, PASSWORD_HASH, CUSTOMER_ID, ENABLED)
+				VALUES (:username, :passwordHash, :customerId, :enabled)
+				""", new MapSqlParameterSource()
+				.addValue("username", account.username())
+				.addValue("passwordHash", account.passwordHash())
+				.addValue("customerId", account.customerId())
+				.addValue("enabled", account.enabled()));
+
+		final var roles = account.roles().stream()
+				.map(role -> new MapSqlParameterSource()
+						.addValue("username", account.username())
+						.addValue("role", role))
+				.toArray(SqlParameterSource[]::new);
+		jdbcTemplate.batchUpdate("INSERT INTO USER_ROLE (USERNAME, ROLE) VALUES (:username, :role)", roles);
+	}
+
+	public void updatePasswordHash(String username, String passwordHash) {
+		jdbcTemplate.update("UPDATE USER_ACCOUNT SET PASSWORD_HASH = :passwordHash WHERE USERNAME = :username",
+				Map.of("username", username, "passwordHash", passwordHash));
+	}
+
+	/**
+	 * @return whether the account exists
+	 */
+	public boolean disable(String username) {
+		return jdbcTemplate.update("UPDATE USER_ACCOUNT SET ENABLED = FALSE WHERE USERNAME = :username",
+				Map.of("username", username)) > 0;
+	}
+
+	/**
+	 * @param customerId customer the user logs in for, {@code null} for bank employees
+	 * @param roles roles without the {@code ROLE_} prefix
+	 */
+	public record UserAccount(
+			String username,
+			String passwordHash,
+			Long customerId,
+			boolean enabled,
+			List<String> roles) {
+	}
+}
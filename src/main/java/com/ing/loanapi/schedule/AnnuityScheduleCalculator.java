@@ -0,0 +1,37 @@
+package com.ing.loanapi.schedule;
+
+import org.springframework.stereotype.Component;
+
+@Component
+public class AnnuityScheduleCalculator implements ScheduleCalculator {
+
+	@Override
+	public InterestModel interestModel() {
+		return InterestModel.ANNUITY;
+	}
+
+	@Override
+	public long calculate(long principalCents, double interestRate, long[] installmentCents) {
+		final var numberOfInstallments = installmentCents.length;
+		final var monthlyRate = interestRate / ScheduleMath.MONTHS_PER_YEAR;
+		final var paymentCents = monthlyRate == 0
+				? ScheduleMath.divideHalfUp(principalCents, numberOfInstallments)
+				: Math.round(principalCents * monthlyRate / (1 - Math.pow(1 + monthlyRate, -numberOfInstallments)));
+
+		var balanceCents = principalCents;
+		var totalCents = 0L;
+		for (var i = 0; i < numberOfInstallments; i++) {
+			final var interestCents = Math.round(balanceCents * monthlyRate);
+			// the last installment settles whatever the rounded payments left over
+			final var installment = i == numberOfInstallments - 1
+					? balanceCents + interestCents
+					: paymentCents;
+
+			balanceCents -= installment - interestCents;
+			installmentCents[i] = installment;
+			totalCents += installment;
+		}
+
+		return totalCents;
+	}
+}
@@ -0,0 +1,31 @@
+package com.ing.loanapi.schedule;
+
+import org.springframework.stereotype.Component;
+
+@Component
+public class FlatScheduleCalculator implements ScheduleCalculator {
+
+	// interest rates are configured with a few decimals, so this scale keeps them exact
+	private static final long RATE_SCALE = 1_000_000L;
+
+	@Override
+	public InterestModel interestModel() {
+		return InterestModel.FLAT;
+	}
+
+	@Override
+	public long calculate(long principalCents, double interestRate, long[] installmentCents) {
+		final var scaledRate = Math.round(interestRate * RATE_SCALE);
+		final var totalCents = principalCents + ScheduleMath.divideHalfUp(Math.multiplyExact(principalCents, scaledRate), RATE_SCALE);
+
+		final var numberOfInstallments = installmentCents.length;
+		final var centsPerInstallment = ScheduleMath.divideHalfUp(totalCents, numberOfInstallments);
+		for (var i = 0; i < numberOfInstallments - 1; i++) {
+			installmentCents[i] = centsPerInstallment;
+		}
+		// avoid under or over payment due to rounding
+		installmentCents[numberOfInstallments - 1] = totalCents - centsPerInstallment * (numberOfInstallments - 1);
+
+		return totalCents;
+	}
+}
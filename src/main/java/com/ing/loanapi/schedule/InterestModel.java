@@ -0,0 +1,16 @@
+package com.ing.loanapi.schedule;
+
+public enum InterestModel {
+	/**
+	 * Interest rate applies once to the whole amount, the total is split evenly across installments.
+	 */
+	FLAT,
+	/**
+	 * Equal installments of a declining balance, interest rate is annual and charged monthly.
+	 */
+	ANNUITY,
+	/**
+	 * Equal principal parts plus the interest of the remaining balance, interest rate is annual and charged monthly.
+	 */
+	REDUCING_BALANCE
+}
@@ -0,0 +1,35 @@
+package com.ing.loanapi.schedule;
+
+import org.springframework.stereotype.Component;
+
+@Component
+public class ReducingBalanceScheduleCalculator implements ScheduleCalculator {
+
+	@Override
+	public InterestModel interestModel() {
+		return InterestModel.REDUCING_BALANCE;
+	}
+
+	@Override
+	public long calculate(long principalCents, double interestRate, long[] installmentCents) {
+		final var numberOfInstallments = installmentCents.length;
+		final var monthlyRate = interestRate / ScheduleMath.MONTHS_PER_YEAR;
+		final var principalPartCents = ScheduleMath.divideHalfUp(principalCents, numberOfInstallments);
+
+		var balanceCents = principalCents;
+		var totalCents = 0L;
+		for (var i = 0; i < numberOfInstallments; i++) {
+			final var interestCents = Math.round(balanceCents * monthlyRate);
+			// avoid under or over payment of the principal due to rounding
+			final var principalPart = i == numberOfInstallments - 1
+					? balanceCents
+					: principalPartCents;
+
+			balanceCents -= principalPart;
+			installmentCents[i] = principalPart + interestCents;
+			totalCents += installmentCents[i];
+		}
+
+		return totalCents;
+	}
+}
@@ -0,0 +1,23 @@
+package com.ing.loanapi.schedule;
+
+import java.math.BigDecimal;
+
+/**
+ * Installment amounts of a loan in cents, in due date order.
+ */
+public record Schedule(
+		long totalCents,
+		long[] installmentCents) {
+
+	public BigDecimal totalAmount() {
+		return BigDecimal.valueOf(totalCents, 2);
+	}
+
+	public BigDecimal installmentAmount(int index) {
+		return BigDecimal.valueOf(installmentCents[index], 2);
+	}
+
+	public int numberOfInstallments() {
+		return installmentCents.length;
+	}
+}
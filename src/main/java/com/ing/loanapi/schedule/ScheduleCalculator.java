@@ -0,0 +1,18 @@
+package com.ing.loanapi.schedule;
+
+/**
+ * Computes the installment amounts of a loan in cents. Implementations work on primitives only and
+ * write into the array given by the caller, so that a schedule costs a single allocation.
+ */
+public interface ScheduleCalculator {
+
+	InterestModel interestModel();
+
+	/**
+	 * @param principalCents   loan amount in cents
+	 * @param interestRate     interest rate as interpreted by the {@link #interestModel()}
+	 * @param installmentCents receives the amount of each installment in cents, its length is the number of installments
+	 * @return total payment amount in cents, which is exactly the sum of the installments
+	 */
+	long calculate(long principalCents, double interestRate, long[] installmentCents);
+}
@@ -0,0 +1,35 @@
+package com.ing.loanapi.schedule;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.EnumMap;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Dispatches schedule calculations to the {@link ScheduleCalculator} registered for each
+ * {@link InterestModel}. New models are plugged in by declaring another calculator bean.
+ */
+@Component
+public class ScheduleEngine {
+
+	private final EnumMap<InterestModel, ScheduleCalculator> calculators = new EnumMap<>(InterestModel.class);
+
+	public ScheduleEngine(List<ScheduleCalculator> calculators) {
+		calculators.forEach(calculator -> this.calculators.put(calculator.interestModel(), calculator));
+	}
+
+	public Schedule calculate(InterestModel interestModel, BigDecimal amount, double interestRate, int numberOfInstallments) {
+		final var calculator = calculators.get(interestModel);
+		if (calculator == null) {
+			throw new IllegalArgumentException("No schedule calculator for interest model " + interestModel);
+		}
+
+		final var principalCents = amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+		final var installmentCents = new long[numberOfInstallments];
+		final var totalCents = calculator.calculate(principalCents, interestRate, installmentCents);
+
+		return new Schedule(totalCents, installmentCents);
+	}
+}
@@ -0,0 +1,17 @@
+package com.ing.loanapi.schedule;
+
+final class ScheduleMath {
+
+	static final int MONTHS_PER_YEAR = 12;
+
+	private ScheduleMath() {
+	}
+
+	/**
+	 * Integer division of non-negative numbers rounding half up, like {@link java.math.RoundingMode#HALF_UP}.
+	 */
+	static long divideHalfUp(long dividend, long divisor) {
+		final var quotient = dividend / divisor;
+		return (dividend % divisor) * 2 >= divisor ? quotient + 1 : quotient;
+	}
+}
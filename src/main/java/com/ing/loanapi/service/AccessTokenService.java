@@ -0,0 +1,55 @@
+package com.ing.loanapi.service;
+
+import java.time.Clock;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+
+import com.ing.loanapi.dto.AccessTokenDto;
+import com.ing.loanapi.properties.AuthenticationConfigurationProperties;
+import com.ing.loanapi.token.AccessTokenCodec;
+import com.ing.loanapi.token.AccessTokenCodec.AccessToken;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Issues access tokens to users who authenticated with their password, so their following requests
+ * are verified with a MAC instead of a password hash.
+ */
+@Service
+public class AccessTokenService {
+
+	private static final String TOKEN_TYPE = "Bearer";
+
+	private final AccessTokenCodec accessTokenCodec;
+	private final AuthenticationConfigurationProperties.Token token;
+	private final Clock clock;
+	private final Counter issuedTokens;
+
+	public AccessTokenService(
+			AccessTokenCodec accessTokenCodec,
+			AuthenticationConfigurationProperties authenticationConfigurationProperties,
+			Clock clock,
+			MeterRegistry meterRegistry) {
+
+		this.accessTokenCodec = accessTokenCodec;
+		this.token = authenticationConfigurationProperties.token();
+		this.clock = clock;
+		this.issuedTokens = meterRegistry.counter("auth.tokens.issued");
+	}
+
+	public AccessTokenDto issueToken(Authentication authentication) {
+		final var authorities = authentication.getAuthorities().stream()
+				.map(GrantedAuthority::getAuthority)
+				.toList();
+		final var expiresAt = clock.instant().plus(token.ttl());
+
+		issuedTokens.increment();
+		return new AccessTokenDto(
+				accessTokenCodec.encode(new AccessToken(authentication.getName(), authorities, expiresAt)),
+				TOKEN_TYPE,
+				token.ttl().toSeconds());
+	}
+}
@@ -0,0 +1,57 @@
+package com.ing.loanapi.service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.ing.loanapi.audit.AuditBuffer;
+import com.ing.loanapi.audit.AuditEventType;
+import com.ing.loanapi.audit.AuditRecord;
+import com.ing.loanapi.dto.AuditEventDto;
+import com.ing.loanapi.repository.AuditEventRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class AuditService {
+
+	private final AuditBuffer auditBuffer;
+	private final AuditEventRepository auditEventRepository;
+	private final MeterRegistry meterRegistry;
+
+	/**
+	 * Records an audit event without touching the database on the calling thread. Inside a transaction,
+	 * the event is buffered only once the transaction commits.
+	 */
+	public void record(AuditEventType type, Long customerId, Long loanId, Long installmentId, BigDecimal amount) {
+		final var record = new AuditRecord(type, customerId, loanId, installmentId, amount, Instant.now());
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					buffer(record);
+				}
+			});
+		}
+		else {
+			buffer(record);
+		}
+	}
+
+	public List<AuditEventDto> findAuditEventsOfLoan(Long loanId) {
+		return auditEventRepository.findByLoanId(loanId);
+	}
+
+	private void buffer(AuditRecord record) {
+		if (!auditBuffer.offer(record)) {
+			meterRegistry.counter("audit.events.dropped").increment();
+		}
+	}
+}
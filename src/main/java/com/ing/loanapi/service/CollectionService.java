@@ -0,0 +1,162 @@
+package com.ing.loanapi.service;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ing.loanapi.dto.DueInstallmentDto;
+import com.ing.loanapi.exception.InvalidInstallmentQueryException;
+import com.ing.loanapi.properties.CollectionConfigurationProperties;
+import com.ing.loanapi.repository.LoanReadModelRepository;
+import com.ing.loanapi.repository.LoanReadModelRepository.DueInstallmentQuery;
+import com.ing.loanapi.sharding.ShardRouter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Lists the installments due in a date range across all customers, for the collections team. Results
+ * are paged by the due date and id of the last installment read, so scanning millions of installments
+ * costs the same per page from the first page to the last. With several shards, every shard is scanned
+ * for the page and the rows are merged in due date and id order, which ids unique across the shards allow.
+ * Shards are read in chunks, so memory and connection hold time are bounded by the chunk, not the page.
+ */
+@Service
+@EnableConfigurationProperties(CollectionConfigurationProperties.class)
+public class CollectionService {
+
+	private static final Comparator<ShardHead> SHARD_HEAD_ORDER = Comparator
+			.comparing((ShardHead head) -> head.installment().dueDate())
+			.thenComparing(head -> head.installment().id());
+
+	private final LoanReadModelRepository loanReadModelRepository;
+	private final CollectionConfigurationProperties collectionConfigurationProperties;
+	private final MeterRegistry meterRegistry;
+	private final ShardRouter shardRouter;
+	private final TransactionTemplate readOnlyTransactionTemplate;
+
+	public CollectionService(
+			LoanReadModelRepository loanReadModelRepository,
+			CollectionConfigurationProperties collectionConfigurationProperties,
+			PlatformTransactionManager transactionManager,
+			MeterRegistry meterRegistry,
+			ShardRouter shardRouter) {
+
+		this.loanReadModelRepository = loanReadModelRepository;
+		this.collectionConfigurationProperties = collectionConfigurationProperties;
+		this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+		this.readOnlyTransactionTemplate.setReadOnly(true);
+		this.meterRegistry = meterRegistry;
+		this.shardRouter = shardRouter;
+	}
+
+	/**
+	 * Checks the parameters of a page before anything is streamed.
+	 *
+	 * @param limit maximum number of installments of the page, {@code null} for {@code collection.default-page-size}
+	 */
+	public DueInstallmentQuery createQuery(boolean paid, LocalDate dueFrom, LocalDate dueTo, LocalDate afterDueDate, Long afterId, Integer limit)
+			throws InvalidInstallmentQueryException {
+
+		if (Objects.nonNull(dueFrom) && dueFrom.isAfter(dueTo)) {
+			throw new InvalidInstallmentQueryException("dueFrom must not be after dueTo");
+		}
+		if (Objects.isNull(afterDueDate) != Objects.isNull(afterId)) {
+			throw new InvalidInstallmentQueryException("afterDueDate and afterId must be given together");
+		}
+
+		final var pageSize = Objects.isNull(limit) ? collectionConfigurationProperties.defaultPageSize() : limit;
+		if (pageSize < 1 || pageSize > collectionConfigurationProperties.maxPageSize()) {
+			throw new InvalidInstallmentQueryException("limit must be between 1 and " + collectionConfigurationProperties.maxPageSize());
+		}
+
+		return new DueInstallmentQuery(paid, dueFrom, dueTo, afterDueDate, afterId, pageSize);
+	}
+
+	/**
+	 * Hands the installments of the page to the consumer in due date and id order. Every shard is read
+	 * {@code collection.chunk-size} installments at a time, each chunk in a read-only transaction of its
+	 * own, so no connection is held while the consumer writes to a slow client.
+	 */
+	public void streamDueInstallments(DueInstallmentQuery query, Consumer<DueInstallmentDto> consumer) {
+		final var heads = new PriorityQueue<ShardHead>(shardRouter.getShardCount(), SHARD_HEAD_ORDER);
+		var count = 0L;
+		try {
+			for (var shard = 0; shard < shardRouter.getShardCount(); shard++) {
+				offerNext(heads, new ShardCursor(shard, query));
+			}
+
+			while (count < query.limit() && !heads.isEmpty()) {
+				final var head = heads.poll();
+				consumer.accept(head.installment());
+				count++;
+				offerNext(heads, head.cursor());
+			}
+		} finally {
+			meterRegistry.counter("collection.installments.streamed").increment(count);
+		}
+	}
+
+	private static void offerNext(PriorityQueue<ShardHead> heads, ShardCursor cursor) {
+		final var installment = cursor.next();
+		if (Objects.nonNull(installment)) {
+			heads.offer(new ShardHead(installment, cursor));
+		}
+	}
+
+	/**
+	 * Next installment of a shard and the cursor of the ones after it.
+	 */
+	private record ShardHead(DueInstallmentDto installment, ShardCursor cursor) {
+	}
+
+	/**
+	 * Reads the installments of a shard chunk by chunk, resuming each chunk after the last installment of
+	 * the previous one. A shard contributes at most a page.
+	 */
+	private class ShardCursor {
+
+		private final int shard;
+		private DueInstallmentQuery query;
+		private int remaining;
+		private Iterator<DueInstallmentDto> chunk = Collections.emptyIterator();
+		private boolean exhausted;
+
+		ShardCursor(int shard, DueInstallmentQuery query) {
+			this.shard = shard;
+			this.query = query;
+			this.remaining = query.limit();
+		}
+
+		DueInstallmentDto next() {
+			if (!chunk.hasNext() && !exhausted) {
+				readChunk();
+			}
+			return chunk.hasNext() ? chunk.next() : null;
+		}
+
+		private void readChunk() {
+			final var chunkQuery = query.withLimit(Math.min(collectionConfigurationProperties.chunkSize(), remaining));
+			final List<DueInstallmentDto> installments;
+			try (var binding = shardRouter.bind(shard)) {
+				installments = readOnlyTransactionTemplate.execute(status -> loanReadModelRepository.findDueInstallments(chunkQuery));
+			}
+
+			remaining -= installments.size();
+			exhausted = installments.size() < chunkQuery.limit() || remaining == 0;
+			if (!installments.isEmpty()) {
+				query = query.after(installments.get(installments.size() - 1), remaining);
+			}
+			chunk = installments.iterator();
+		}
+	}
+}
@@ -0,0 +1,99 @@
+package com.ing.loanapi.service;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.ing.loanapi.credit.CreditAccount;
+import com.ing.loanapi.credit.CreditLedger;
+import com.ing.loanapi.properties.CreditConfigurationProperties;
+import com.ing.loanapi.repository.CustomerCreditRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CreditLedgerSyncService {
+
+	private final CreditLedger creditLedger;
+	private final CreditConfigurationProperties creditConfigurationProperties;
+	private final CustomerCreditRepository customerCreditRepository;
+	private final MeterRegistry meterRegistry;
+
+	/**
+	 * Reconciles the used credit limit of every customer with the outstanding amount of its unpaid loans,
+	 * corrects the drifted ones in the database and loads the reconciled positions into the ledger. With
+	 * write coalescing instead of the ledger, the used credit limits are only corrected, before the
+	 * coalescer takes its first change.
+	 */
+	@PostConstruct
+	public void reconcileAndLoad() {
+		final var coalescing = creditConfigurationProperties.coalescing();
+		if (!creditLedger.isEnabled() && !(coalescing.enabled() && coalescing.reconcileOnStartup())) {
+			return;
+		}
+
+		final var corrections = new HashMap<Long, BigDecimal>();
+		customerCreditRepository.forEachCreditPosition(position -> {
+			if (position.usedCreditLimit().compareTo(position.outstandingAmount()) != 0) {
+				log.warn("Used credit limit of customer {} is {} but outstanding amount is {}, correcting",
+						position.customerId(), position.usedCreditLimit(), position.outstandingAmount());
+				corrections.put(position.customerId(), position.outstandingAmount());
+			}
+			if (creditLedger.isEnabled()) {
+				creditLedger.load(new CreditAccount(position.customerId(), position.name(), position.surname(),
+						CreditLedger.toCents(position.creditLimit()), CreditLedger.toCents(position.outstandingAmount())));
+			}
+		});
+
+		if (!corrections.isEmpty()) {
+			customerCreditRepository.setUsedCreditLimits(corrections);
+		}
+		meterRegistry.counter("credit.ledger.reconciliation.corrections").increment(corrections.size());
+	}
+
+	/**
+	 * Writes the committed credit changes accumulated since the last flush to the database. Deltas that
+	 * cannot be written are put back to the ledger and retried with the next flush.
+	 *
+	 * @return number of customers updated
+	 */
+	@Scheduled(fixedDelayString = "${credit.ledger.write-behind-interval}")
+	public int flush() {
+		if (!creditLedger.isEnabled()) {
+			return 0;
+		}
+
+		final var deltas = creditLedger.drainPendingDeltas();
+		if (deltas.isEmpty()) {
+			return 0;
+		}
+
+		try {
+			customerCreditRepository.addToUsedCreditLimits(deltas.entrySet().stream()
+					.collect(Collectors.toMap(Map.Entry::getKey, entry -> CreditLedger.fromCents(entry.getValue()))));
+		} catch (RuntimeException e) {
+			creditLedger.restorePendingDeltas(deltas);
+			meterRegistry.counter("credit.ledger.flush.failures").increment();
+			log.warn("Could not write credit changes of {} customers, will retry", deltas.size(), e);
+			return 0;
+		}
+
+		meterRegistry.counter("credit.ledger.customers.flushed").increment(deltas.size());
+		return deltas.size();
+	}
+
+	@PreDestroy
+	public void flushOnShutdown() {
+		flush();
+	}
+}
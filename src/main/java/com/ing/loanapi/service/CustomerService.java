@@ -2,10 +2,17 @@ package com.ing.loanapi.service;
 
 import java.math.BigDecimal;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.ing.loanapi.credit.CreditAccount;
+import com.ing.loanapi.credit.CreditDeltaCoalescer;
+import com.ing.loanapi.credit.CreditDeltaResult;
+import com.ing.loanapi.credit.CreditLedger;
 import com.ing.loanapi.dto.CustomerDto;
 import com.ing.loanapi.exception.BusinessException;
 import com.ing.loanapi.exception.CustomerNotFoundException;
@@ -22,12 +29,23 @@ public class CustomerService {
 
 	private final CustomerRepository customerRepository;
 	private final CustomerMapper customerMapper;
+	private final CreditLedger creditLedger;
+	private final CreditDeltaCoalescer creditDeltaCoalescer;
 
 	@Transactional(readOnly = true)
 	public CustomerDto findCustomerById(Long id) throws CustomerNotFoundException {
 		final var customer = customerRepository.findById(id)
 				.orElseThrow(() -> new CustomerNotFoundException(id));
-		return customerMapper.mapToCustomerDto(customer);
+		final var customerDto = customerMapper.mapToCustomerDto(customer);
+
+		if (creditLedger.isEnabled()) {
+			// the database lags behind the ledger until pending deltas are written
+			final var account = creditLedger.findAccount(id);
+			if (account != null) {
+				return toCustomerDto(account);
+			}
+		}
+		return customerDto;
 	}
 
 	public CustomerDto useCreditLimit(Long customerId, BigDecimal creditLimitToUse) throws CustomerNotFoundException, InsufficientCreditLimitException {
@@ -35,6 +53,13 @@ public class CustomerService {
 			throw new IllegalArgumentException("Credit limit to use must be greater than zero!");
 		}
 
+		if (creditLedger.isEnabled()) {
+			return useLedgerCreditLimit(customerId, creditLimitToUse);
+		}
+		if (creditDeltaCoalescer.isEnabled()) {
+			return applyCoalescedDelta(customerId, CreditLedger.toCents(creditLimitToUse), true);
+		}
+
 		final var customer = customerRepository.findById(customerId)
 				.orElseThrow(() -> new CustomerNotFoundException(customerId));
 		if (customer.getCreditLimit().subtract(customer.getUsedCreditLimit()).compareTo(creditLimitToUse) < 0) {
@@ -51,6 +76,13 @@ public class CustomerService {
 			throw new IllegalArgumentException("Credit limit to return must be greater than zero!");
 		}
 
+		if (creditLedger.isEnabled()) {
+			return returnLedgerCreditLimit(customerId, creditLimitToReturn);
+		}
+		if (creditDeltaCoalescer.isEnabled()) {
+			return returnCoalescedCreditLimit(customerId, creditLimitToReturn);
+		}
+
 		final var customer = customerRepository.findById(customerId)
 				.orElseThrow(() -> new CustomerNotFoundException(customerId));
 
@@ -58,4 +90,104 @@ public class CustomerService {
 		final var savedCustomer = customerRepository.save(customer);
 		return customerMapper.mapToCustomerDto(savedCustomer);
 	}
+
+	private CustomerDto useLedgerCreditLimit(Long customerId, BigDecimal creditLimitToUse) throws CustomerNotFoundException, InsufficientCreditLimitException {
+		final var account = findLedgerAccount(customerId);
+		final var cents = CreditLedger.toCents(creditLimitToUse);
+		if (!account.tryReserve(cents)) {
+			throw new InsufficientCreditLimitException();
+		}
+
+		// keep the reservation only if the loan is committed
+		onCompletion(committed -> {
+			if (committed) {
+				creditLedger.addPendingDelta(customerId, cents);
+			}
+			else {
+				account.release(cents);
+			}
+		});
+		return toCustomerDto(account);
+	}
+
+	private CustomerDto returnLedgerCreditLimit(Long customerId, BigDecimal creditLimitToReturn) throws CustomerNotFoundException {
+		final var account = findLedgerAccount(customerId);
+		final var cents = CreditLedger.toCents(creditLimitToReturn);
+
+		onCompletion(committed -> {
+			if (committed) {
+				account.release(cents);
+				creditLedger.addPendingDelta(customerId, -cents);
+			}
+		});
+		return toCustomerDto(account);
+	}
+
+	private CustomerDto returnCoalescedCreditLimit(Long customerId, BigDecimal creditLimitToReturn) throws CustomerNotFoundException {
+		try {
+			return applyCoalescedDelta(customerId, -CreditLedger.toCents(creditLimitToReturn), false);
+		} catch (InsufficientCreditLimitException e) {
+			// releases are not checked against the credit limit
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private CustomerDto applyCoalescedDelta(Long customerId, long deltaCents, boolean checkLimit) throws CustomerNotFoundException, InsufficientCreditLimitException {
+		final var result = creditDeltaCoalescer.apply(customerId, deltaCents, checkLimit);
+
+		// the delta is committed with its group, so it is reverted if the caller's transaction is not
+		onCompletion(committed -> {
+			if (!committed) {
+				creditDeltaCoalescer.revert(result);
+			}
+		});
+		return toCustomerDto(result);
+	}
+
+	private CreditAccount findLedgerAccount(Long customerId) throws CustomerNotFoundException {
+		final var account = creditLedger.findAccount(customerId);
+		if (account != null) {
+			return account;
+		}
+
+		// customer created after the ledger was warmed up
+		final var customer = customerRepository.findById(customerId)
+				.orElseThrow(() -> new CustomerNotFoundException(customerId));
+		return creditLedger.loadIfAbsent(new CreditAccount(customer.getId(), customer.getName(), customer.getSurname(),
+				CreditLedger.toCents(customer.getCreditLimit()), CreditLedger.toCents(customer.getUsedCreditLimit())));
+	}
+
+	private static void onCompletion(Consumer<Boolean> callback) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			callback.accept(true);
+			return;
+		}
+
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				callback.accept(status == STATUS_COMMITTED);
+			}
+		});
+	}
+
+	private static CustomerDto toCustomerDto(CreditAccount account) {
+		return CustomerDto.builder()
+				.id(account.getCustomerId())
+				.name(account.getName())
+				.surname(account.getSurname())
+				.creditLimit(CreditLedger.fromCents(account.getCreditLimitCents()))
+				.usedCreditLimit(CreditLedger.fromCents(account.getUsedCents()))
+				.build();
+	}
+
+	private static CustomerDto toCustomerDto(CreditDeltaResult result) {
+		return CustomerDto.builder()
+				.id(result.customerId())
+				.name(result.name())
+				.surname(result.surname())
+				.creditLimit(CreditLedger.fromCents(result.creditLimitCents()))
+				.usedCreditLimit(CreditLedger.fromCents(result.usedCents()))
+				.build();
+	}
 }
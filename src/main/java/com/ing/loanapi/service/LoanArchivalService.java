@@ -0,0 +1,137 @@
+package com.ing.loanapi.service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ing.loanapi.properties.ArchiveConfigurationProperties;
+import com.ing.loanapi.repository.LoanArchiveRepository;
+import com.ing.loanapi.sharding.ShardRouter;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves loans paid longer than {@code archive.paid-loan-age} ago to the archive tables, so the hot tables
+ * and their indexes only grow with the active loans. Loans are moved in chunks, each in a transaction of its
+ * own, which keeps the locks short and lets a run stop at any chunk boundary.
+ */
+@Slf4j
+@Service
+@EnableConfigurationProperties(ArchiveConfigurationProperties.class)
+public class LoanArchivalService {
+
+	private final LoanArchiveRepository loanArchiveRepository;
+	private final ArchiveConfigurationProperties archiveConfigurationProperties;
+	private final TransactionTemplate transactionTemplate;
+	private final MeterRegistry meterRegistry;
+	private final ShardRouter shardRouter;
+	private final AtomicLong hotLoans = new AtomicLong();
+	private final AtomicLong hotInstallments = new AtomicLong();
+
+	public LoanArchivalService(
+			LoanArchiveRepository loanArchiveRepository,
+			ArchiveConfigurationProperties archiveConfigurationProperties,
+			PlatformTransactionManager transactionManager,
+			MeterRegistry meterRegistry,
+			ShardRouter shardRouter) {
+
+		this.loanArchiveRepository = loanArchiveRepository;
+		this.archiveConfigurationProperties = archiveConfigurationProperties;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.meterRegistry = meterRegistry;
+		this.shardRouter = shardRouter;
+
+		// counted by the archival runs rather than on every scrape
+		Gauge.builder("loans.hot.rows", hotLoans, AtomicLong::get)
+				.tag("table", "LOAN")
+				.register(meterRegistry);
+		Gauge.builder("loans.hot.rows", hotInstallments, AtomicLong::get)
+				.tag("table", "LOAN_INSTALLMENT")
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Archives up to {@code archive.max-chunks-per-run} chunks of loans on every shard, then refreshes the hot
+	 * table sizes.
+	 *
+	 * @return number of archived loans
+	 */
+	@Scheduled(fixedDelayString = "${archive.interval}")
+	public int archivePaidLoans() {
+		if (!archiveConfigurationProperties.enabled()) {
+			return 0;
+		}
+
+		final var cutoffDate = LocalDate.now().minusDays(archiveConfigurationProperties.paidLoanAge().toDays());
+		var archived = 0;
+		var loans = 0L;
+		var installments = 0L;
+		for (var shard = 0; shard < shardRouter.getShardCount(); shard++) {
+			try (var binding = shardRouter.bind(shard)) {
+				archived += archiveShard(cutoffDate);
+				loans += loanArchiveRepository.countLoans();
+				installments += loanArchiveRepository.countInstallments();
+			}
+		}
+
+		hotLoans.set(loans);
+		hotInstallments.set(installments);
+		if (archived > 0) {
+			log.info("Archived {} loans paid before {}", archived, cutoffDate);
+		}
+		return archived;
+	}
+
+	/**
+	 * Archives up to {@code archive.max-chunks-per-run} chunks of loans of the shard bound to the current thread.
+	 */
+	private int archiveShard(LocalDate cutoffDate) {
+		var archived = 0;
+		for (var chunk = 0; chunk < archiveConfigurationProperties.maxChunksPerRun(); chunk++) {
+			final int archivedInChunk;
+			try {
+				archivedInChunk = archiveChunk(cutoffDate);
+			} catch (Exception e) {
+				meterRegistry.counter("archive.failures").increment();
+				log.error("Could not archive paid loans, will retry with the next run", e);
+				break;
+			}
+
+			archived += archivedInChunk;
+			if (archivedInChunk < archiveConfigurationProperties.chunkSize()) {
+				break;
+			}
+		}
+		return archived;
+	}
+
+	private int archiveChunk(LocalDate cutoffDate) {
+		final var sample = Timer.start(meterRegistry);
+		final var chunk = transactionTemplate.execute(status -> {
+			final var loanIds = loanArchiveRepository.findArchivableLoanIds(cutoffDate, archiveConfigurationProperties.chunkSize());
+			if (loanIds.isEmpty()) {
+				return new ArchivedChunk(0, 0);
+			}
+			return new ArchivedChunk(loanIds.size(), loanArchiveRepository.archive(loanIds, Instant.now()));
+		});
+		sample.stop(meterRegistry.timer("archive.chunk"));
+
+		meterRegistry.counter("archive.loans.archived").increment(chunk.loans());
+		meterRegistry.counter("archive.installments.archived").increment(chunk.installments());
+		return chunk.loans();
+	}
+
+	private record ArchivedChunk(
+			int loans,
+			int installments) {
+	}
+}
@@ -0,0 +1,98 @@
+package com.ing.loanapi.service;
+
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.util.Objects;
+
+import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.ing.loanapi.dto.LoanConfigurationDto;
+import com.ing.loanapi.exception.InvalidLoanConfigurationException;
+import com.ing.loanapi.properties.LoanConfigurationProperties;
+import com.ing.loanapi.properties.LoanReloadConfigurationProperties;
+import com.ing.loanapi.validation.LoanRuleValidator;
+import com.ing.loanapi.validation.LoanRules;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Replaces the loan rules at runtime, without restarting the instance. Rules are replaced either through
+ * the admin API or by changing the YAML file at {@code loan-reload.file}, which holds a complete
+ * {@code loan} block in the format of {@code application.yml}. The file is polled for modifications and
+ * applied on startup if it exists; a file that cannot be read or holds invalid rules is logged and
+ * ignored, leaving the rules in effect untouched.
+ */
+@Slf4j
+@Service
+@EnableConfigurationProperties(LoanReloadConfigurationProperties.class)
+public class LoanConfigurationService {
+
+	private final LoanRuleValidator loanRuleValidator;
+	private final LoanReloadConfigurationProperties loanReloadConfigurationProperties;
+	private final MeterRegistry meterRegistry;
+
+	private FileTime lastModifiedTime;
+
+	public LoanConfigurationService(
+			LoanRuleValidator loanRuleValidator,
+			LoanReloadConfigurationProperties loanReloadConfigurationProperties,
+			MeterRegistry meterRegistry) {
+
+		this.loanRuleValidator = loanRuleValidator;
+		this.loanReloadConfigurationProperties = loanReloadConfigurationProperties;
+		this.meterRegistry = meterRegistry;
+	}
+
+	public LoanConfigurationDto getConfiguration() {
+		return toLoanConfigurationDto(loanRuleValidator.getRules());
+	}
+
+	public LoanConfigurationDto updateConfiguration(LoanConfigurationProperties configuration) throws InvalidLoanConfigurationException {
+		return toLoanConfigurationDto(loanRuleValidator.update(configuration));
+	}
+
+	/**
+	 * Applies the configuration file if it was modified since the last poll.
+	 *
+	 * @return whether the file was applied
+	 */
+	@Scheduled(fixedDelayString = "${loan-reload.interval}")
+	public synchronized boolean reloadIfModified() {
+		final var file = loanReloadConfigurationProperties.file();
+		if (Objects.isNull(file) || !Files.isRegularFile(file)) {
+			return false;
+		}
+
+		try {
+			final var modifiedTime = Files.getLastModifiedTime(file);
+			if (modifiedTime.equals(lastModifiedTime)) {
+				return false;
+			}
+			// a broken file is not retried until it changes again
+			lastModifiedTime = modifiedTime;
+
+			final var properties = new YamlPropertiesFactoryBean();
+			properties.setResources(new FileSystemResource(file));
+			final var configuration = new Binder(new MapConfigurationPropertySource(properties.getObject()))
+					.bind("loan", LoanConfigurationProperties.class)
+					.orElseThrow(() -> new InvalidLoanConfigurationException("no loan block in " + file));
+			loanRuleValidator.update(configuration);
+			return true;
+		} catch (Exception e) {
+			meterRegistry.counter("loan.configuration.reload.failures").increment();
+			log.error("Could not reload loan configuration from {}, keeping the rules in effect", file, e);
+			return false;
+		}
+	}
+
+	private static LoanConfigurationDto toLoanConfigurationDto(LoanRules rules) {
+		return new LoanConfigurationDto(rules.getVersion(), rules.getConfiguration());
+	}
+}
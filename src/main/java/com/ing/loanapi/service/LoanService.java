@@ -9,20 +9,27 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
 
-import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
+import com.ing.loanapi.audit.AuditEventType;
 import com.ing.loanapi.dto.LoanDto;
 import com.ing.loanapi.dto.LoanInstallmentDto;
 import com.ing.loanapi.dto.LoanPaymentResultDto;
+import com.ing.loanapi.dto.LoanPayoffQuoteDto;
 import com.ing.loanapi.dto.command.CreateLoanCommand;
 import com.ing.loanapi.dto.command.PayLoanCommand;
 import com.ing.loanapi.entity.Loan;
 import com.ing.loanapi.entity.LoanInstallment;
+import com.ing.loanapi.event.LoanCompletedEvent;
+import com.ing.loanapi.event.LoanCreatedEvent;
+import com.ing.loanapi.event.LoanInstallmentsPaidEvent;
 import com.ing.loanapi.exception.BusinessException;
+import com.ing.loanapi.exception.ConcurrentLoanPaymentException;
 import com.ing.loanapi.exception.CustomerNotFoundException;
 import com.ing.loanapi.exception.InsufficientCreditLimitException;
 import com.ing.loanapi.exception.InvalidInterestRateException;
@@ -31,108 +38,128 @@ import com.ing.loanapi.exception.LoanAlreadyPaidException;
 import com.ing.loanapi.exception.LoanAmountTooLowException;
 import com.ing.loanapi.exception.LoanNotFoundException;
 import com.ing.loanapi.mapper.CustomerMapper;
-import com.ing.loanapi.mapper.LoanInstallmentMapper;
 import com.ing.loanapi.mapper.LoanMapper;
-import com.ing.loanapi.properties.LoanConfigurationProperties;
+import com.ing.loanapi.repository.LoanPayoffRepository;
+import com.ing.loanapi.repository.LoanPayoffRepository.PaidInstallment;
+import com.ing.loanapi.repository.LoanPayoffRepository.UnpaidInstallment;
+import com.ing.loanapi.repository.LoanReadModelRepository;
 import com.ing.loanapi.repository.LoanRepository;
+import com.ing.loanapi.schedule.InterestModel;
+import com.ing.loanapi.schedule.Schedule;
+import com.ing.loanapi.schedule.ScheduleEngine;
+import com.ing.loanapi.sharding.ShardRouter;
+import com.ing.loanapi.validation.LoanRuleValidator;
+import com.ing.loanapi.validation.LoanRules;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
 @Service
-@EnableConfigurationProperties(LoanConfigurationProperties.class)
 @RequiredArgsConstructor
 @Transactional(rollbackFor = BusinessException.class)
 public class LoanService {
 
 	private final CustomerService customerService;
 	private final LoanRepository loanRepository;
+	private final LoanReadModelRepository loanReadModelRepository;
 	private final LoanMapper loanMapper;
 	private final CustomerMapper customerMapper;
-	private final LoanInstallmentMapper loanInstallmentMapper;
-	private final LoanConfigurationProperties loanConfigurationProperties;
+	private final OutboxService outboxService;
+	private final AuditService auditService;
+	private final ScheduleEngine scheduleEngine;
+	private final LoanPayoffRepository loanPayoffRepository;
+	private final LoanRuleValidator loanRuleValidator;
+	private final ShardRouter shardRouter;
 
 	@Transactional(readOnly = true)
 	public List<LoanDto> findLoansOfCustomer(Long customerId) throws CustomerNotFoundException {
-		final var customer = customerService.findCustomerById(customerId);
-		final var loans = loanRepository.findByCustomerId(customer.id());
-		return loans.stream()
-				.map(loanMapper::mapToLoanDto)
-				.toList();
+		return findLoansOfCustomer(customerId, false);
 	}
 
 	@Transactional(readOnly = true)
-	public List<LoanInstallmentDto> findInstallmentsOfLoan(Long loanId) throws LoanNotFoundException {
-		final var loan = loanRepository.findById(loanId)
-				.orElseThrow(() -> new LoanNotFoundException(loanId));
+	public List<LoanDto> findLoansOfCustomer(Long customerId, boolean includeArchived) throws CustomerNotFoundException {
+		try (var shard = shardRouter.bindCustomer(customerId)) {
+			final var customer = customerService.findCustomerById(customerId);
+			if (includeArchived) {
+				return loanReadModelRepository.findLoansByCustomerIdIncludingArchived(customer.id());
+			}
+			return loanReadModelRepository.findLoansByCustomerId(customer.id());
+		}
+	}
 
-		final var installments = loan.getInstallments();
-		return installments.stream()
-				.map(loanInstallmentMapper::mapToLoanInstallmentDto)
-				.toList();
+	@Transactional(readOnly = true)
+	public List<LoanInstallmentDto> findInstallmentsOfLoan(Long loanId) throws LoanNotFoundException {
+		try (var shard = shardRouter.bindLoan(loanId)) {
+			var installments = loanReadModelRepository.findInstallmentsByLoanId(loanId);
+			if (installments.isEmpty()) {
+				installments = loanReadModelRepository.findArchivedInstallmentsByLoanId(loanId);
+			}
+			// every loan has at least one installment
+			if (installments.isEmpty()) {
+				throw new LoanNotFoundException(loanId);
+			}
+			return installments;
+		}
 	}
 
 	@Transactional(readOnly = true)
 	public LoanDto findLoanById(Long loanId) throws LoanNotFoundException {
-		final var loan = loanRepository.findById(loanId)
-				.orElseThrow(() -> new LoanNotFoundException(loanId));
-		return loanMapper.mapToLoanDto(loan);
+		try (var shard = shardRouter.bindLoan(loanId)) {
+			return loanReadModelRepository.findLoanById(loanId)
+					.or(() -> loanReadModelRepository.findArchivedLoanById(loanId))
+					.orElseThrow(() -> new LoanNotFoundException(loanId));
+		}
 	}
 
 	@Validated
 	public LoanDto createLoan(@Valid CreateLoanCommand command) throws CustomerNotFoundException,
 			InvalidNumberOfInstallmentsException, InsufficientCreditLimitException, InvalidInterestRateException, LoanAmountTooLowException {
-		if (command.amount().compareTo(loanConfigurationProperties.minLoanAmount()) < 0) {
-			throw new LoanAmountTooLowException(loanConfigurationProperties.minLoanAmount());
-		}
-
-		final var loanDate = LocalDate.now();
-
-		final var customerId = command.customerId();
-		final var amount = command.amount();
-		final var interestRate = command.interestRate();
-		final var numberOfInstallments = command.numberOfInstallments();
+		try (var shard = shardRouter.bindCustomer(command.customerId())) {
+			// already checked by the controller, repeated for the other callers
+			final var rules = loanRuleValidator.validate(command);
+
+			final var loanDate = LocalDate.now();
+
+			final var customerId = command.customerId();
+			final var amount = command.amount();
+			final var interestRate = command.interestRate();
+			final var numberOfInstallments = command.numberOfInstallments();
+
+			final var interestModel = Objects.requireNonNullElse(command.interestModel(), InterestModel.FLAT);
+			final var schedule = scheduleEngine.calculate(interestModel, amount, interestRate, numberOfInstallments);
+			final var totalPaymentAmount = schedule.totalAmount();
+			final var customer = customerService.useCreditLimit(customerId, totalPaymentAmount);
+
+			final var loan = Loan.builder()
+					.customer(customerMapper.mapToCustomer(customer))
+					.loanAmount(amount)
+					.numberOfInstallments(numberOfInstallments)
+					.createDate(loanDate)
+					.configurationVersion(rules.getVersion())
+					.build();
 
-		final var allowedNumberOfInstallments = loanConfigurationProperties.installment().values();
-		final var minInterestRate = loanConfigurationProperties.interestRate().min();
-		final var maxInterestRate = loanConfigurationProperties.interestRate().max();
+			final var installments = this.buildInstallments(loanDate, schedule);
+			loan.setInstallments(installments);
 
-		if (!allowedNumberOfInstallments.contains(numberOfInstallments)) {
-			throw new InvalidNumberOfInstallmentsException(numberOfInstallments);
-		}
+			final var savedLoan = loanRepository.save(loan);
+			final var loanDto = loanMapper.mapToLoanDto(savedLoan);
+			loanReadModelRepository.insertLoanSummary(loanDto, totalPaymentAmount, installments.get(0).getDueDate());
+			auditService.record(AuditEventType.CREDIT_LIMIT_USED, customerId, savedLoan.getId(), null, totalPaymentAmount);
+			outboxService.append(new LoanCreatedEvent(
+					savedLoan.getId(), customerId, amount, totalPaymentAmount, numberOfInstallments, loanDate, rules.getVersion()));
 
-		if (interestRate < minInterestRate || interestRate > maxInterestRate) {
-			throw new InvalidInterestRateException(interestRate);
+			return loanDto;
 		}
-
-		final var totalPaymentAmount = amount.multiply(BigDecimal.ONE.add(BigDecimal.valueOf(interestRate)));
-		final var customer = customerService.useCreditLimit(customerId, totalPaymentAmount);
-
-		final var paymentAmountPerInstallment = totalPaymentAmount.divide(BigDecimal.valueOf(numberOfInstallments), 2, RoundingMode.HALF_UP);
-
-		final var loan = Loan.builder()
-				.customer(customerMapper.mapToCustomer(customer))
-				.loanAmount(amount)
-				.numberOfInstallments(numberOfInstallments)
-				.createDate(loanDate)
-				.build();
-
-		final var installments = this.buildInstallments(loanDate, paymentAmountPerInstallment, totalPaymentAmount, numberOfInstallments);
-		loan.setInstallments(installments);
-
-		final var savedLoan = loanRepository.save(loan);
-		return loanMapper.mapToLoanDto(savedLoan);
 	}
 
-	private List<LoanInstallment> buildInstallments(LocalDate loanDate, BigDecimal paymentAmountPerInstallment, BigDecimal totalPaymentAmount, Short numberOfInstallments) {
-		final var installments = new ArrayList<LoanInstallment>();
+	private List<LoanInstallment> buildInstallments(LocalDate loanDate, Schedule schedule) {
+		final var numberOfInstallments = schedule.numberOfInstallments();
+		final var installments = new ArrayList<LoanInstallment>(numberOfInstallments);
 
 		var previousPaymentDate = loanDate;
 
 		for (int i = 0; i < numberOfInstallments; i++) {
-			final var paymentAmount = i == numberOfInstallments - 1
-					? totalPaymentAmount.subtract(paymentAmountPerInstallment.multiply(BigDecimal.valueOf(numberOfInstallments - 1)))
-					: paymentAmountPerInstallment; // avoid under or over payment due to rounding
+			final var paymentAmount = schedule.installmentAmount(i);
 			final var paymentDate = previousPaymentDate.with(TemporalAdjusters.firstDayOfNextMonth());
 
 			final var installment = LoanInstallment.builder()
@@ -149,53 +176,161 @@ public class LoanService {
 
 	@Validated
 	public LoanPaymentResultDto payLoan(Long loanId, @Valid PayLoanCommand command) throws LoanNotFoundException, LoanAlreadyPaidException {
-		final var paymentAmount = command.paymentAmount();
-		final var paymentDate = LocalDate.now();
+		try (var shard = shardRouter.bindLoan(loanId)) {
+			final var paymentAmount = command.paymentAmount();
+			final var paymentDate = LocalDate.now();
+
+			// taken before the installments are read, so the payment waits for a payoff of the loan in progress
+			loanPayoffRepository.lockLoan(loanId);
+			final var loan = loanRepository.findById(loanId).orElse(null);
+			if (loan == null) {
+				throw loanNotFound(loanId);
+			}
+
+			if (Boolean.TRUE.equals(loan.getPaid())) {
+				throw new LoanAlreadyPaidException();
+			}
 
-		final var loan = loanRepository.findById(loanId)
-				.orElseThrow(() -> new LoanNotFoundException(loanId));
+			final var unpaidInstallments = loan.getInstallments().stream()
+					.filter(installment -> Boolean.FALSE.equals(installment.getPaid()))
+					.toList();
 
-		if (Boolean.TRUE.equals(loan.getPaid())) {
-			throw new LoanAlreadyPaidException();
+			final var installmentsToPay = findInstallmentsToPay(loanRuleValidator.getRules(), paymentDate, unpaidInstallments, paymentAmount);
+			installmentsToPay.forEach(installment -> {
+				installment.setPaid(Boolean.TRUE);
+				installment.setPaymentDate(paymentDate);
+			});
+
+			final var allInstallmentsOfLoanPaid = installmentsToPay.size() == unpaidInstallments.size();
+			if (allInstallmentsOfLoanPaid) {
+				loan.setPaid(Boolean.TRUE);
+			}
+
+			final var savedLoan = loanRepository.save(loan);
+			final var customerId = savedLoan.getCustomer().getId();
+			installmentsToPay.forEach(installment -> auditService.record(
+					AuditEventType.INSTALLMENT_PAID, customerId, loanId, installment.getId(), installment.getPaidAmount()));
+
+			final var paidAmount = installmentsToPay.stream()
+					.map(LoanInstallment::getPaidAmount)
+					.reduce(BigDecimal.ZERO, BigDecimal::add);
+
+			if (paidAmount.compareTo(BigDecimal.ZERO) > 0) {
+				// actual debt amount without rewards / penalties
+				final var paidDebtAmount = installmentsToPay.stream()
+						.map(LoanInstallment::getAmount)
+						.reduce(BigDecimal.ZERO, BigDecimal::add);
+				try {
+					customerService.returnCreditLimit(customerId, paidDebtAmount);
+				} catch (CustomerNotFoundException e) {
+					// this should not happen
+					throw new RuntimeException("Customer not found! Possibly a data inconsistency!", e);
+				}
+				auditService.record(AuditEventType.CREDIT_LIMIT_RETURNED, customerId, loanId, null, paidDebtAmount);
+
+				// earliest installment left unpaid after this payment
+				final var nextDueDate = allInstallmentsOfLoanPaid
+						? null
+						: unpaidInstallments.stream()
+								.filter(installment -> Boolean.FALSE.equals(installment.getPaid()))
+								.map(LoanInstallment::getDueDate)
+								.min(Comparator.naturalOrder())
+								.orElse(null);
+				loanReadModelRepository.applyPayment(loanId, installmentsToPay.size(), paidDebtAmount, nextDueDate, allInstallmentsOfLoanPaid);
+			}
+
+			if (!installmentsToPay.isEmpty()) {
+				outboxService.append(new LoanInstallmentsPaidEvent(loanId, customerId, installmentsToPay.size(), paidAmount, paymentDate));
+			}
+			if (allInstallmentsOfLoanPaid) {
+				outboxService.append(new LoanCompletedEvent(loanId, customerId, paymentDate));
+			}
+
+			return new LoanPaymentResultDto((short) installmentsToPay.size(), paidAmount, allInstallmentsOfLoanPaid);
 		}
+	}
 
-		final var unpaidInstallments = loan.getInstallments().stream()
-				.filter(installment -> Boolean.FALSE.equals(installment.getPaid()))
-				.toList();
+	@Transactional(readOnly = true)
+	public LoanPayoffQuoteDto quotePayoff(Long loanId) throws LoanNotFoundException, LoanAlreadyPaidException {
+		try (var shard = shardRouter.bindLoan(loanId)) {
+			final var loan = loanPayoffRepository.findLoan(loanId).orElse(null);
+			if (loan == null) {
+				throw loanNotFound(loanId);
+			}
+			if (loan.paid()) {
+				throw new LoanAlreadyPaidException();
+			}
 
-		final var installmentsToPay = findInstallmentsToPay(paymentDate, unpaidInstallments, paymentAmount);
-		installmentsToPay.forEach(installment -> {
-			installment.setPaid(Boolean.TRUE);
-			installment.setPaymentDate(paymentDate);
-		});
+			final var quoteDate = LocalDate.now();
+			final var payoff = calculatePayoff(loanRuleValidator.getRules(), quoteDate, loanPayoffRepository.findUnpaidInstallments(loanId));
 
-		final var allInstallmentsOfLoanPaid = installmentsToPay.size() == unpaidInstallments.size();
-		if (allInstallmentsOfLoanPaid) {
-			loan.setPaid(Boolean.TRUE);
+			return new LoanPayoffQuoteDto(loanId, quoteDate, payoff.size(),
+					sum(payoff, PaidInstallment::amount), sum(payoff, PaidInstallment::paidAmount));
 		}
+	}
 
-		final var savedLoan = loanRepository.save(loan);
-		final var paidAmount = installmentsToPay.stream()
-				.map(LoanInstallment::getPaidAmount)
-				.reduce(BigDecimal.ZERO, BigDecimal::add);
+	/**
+	 * Pays all unpaid installments of the loan at once for the amount quoted by {@link #quotePayoff(Long)}.
+	 */
+	public LoanPaymentResultDto payOff(Long loanId) throws LoanNotFoundException, LoanAlreadyPaidException, ConcurrentLoanPaymentException {
+		try (var shard = shardRouter.bindLoan(loanId)) {
+			final var paymentDate = LocalDate.now();
 
-		if (paidAmount.compareTo(BigDecimal.ZERO) > 0) {
+			final var loan = loanPayoffRepository.lockLoan(loanId).orElse(null);
+			if (loan == null) {
+				throw loanNotFound(loanId);
+			}
+			final var payoff = loan.paid()
+					? List.<PaidInstallment>of()
+					: calculatePayoff(loanRuleValidator.getRules(), paymentDate, loanPayoffRepository.findUnpaidInstallments(loanId));
+			if (payoff.isEmpty()) {
+				throw new LoanAlreadyPaidException();
+			}
+
+			final var updatedInstallments = loanPayoffRepository.payInstallments(loanId, payoff, paymentDate);
+			if (updatedInstallments != payoff.size()) {
+				// an installment was paid by a payment not holding the loan lock, roll back and let the caller retry
+				throw new ConcurrentLoanPaymentException();
+			}
+			loanPayoffRepository.markLoanPaid(loanId);
+
+			final var customerId = loan.customerId();
+			payoff.forEach(installment -> auditService.record(
+					AuditEventType.INSTALLMENT_PAID, customerId, loanId, installment.id(), installment.paidAmount()));
+
+			final var paidAmount = sum(payoff, PaidInstallment::paidAmount);
 			// actual debt amount without rewards / penalties
-			final var paidDebtAmount = installmentsToPay.stream()
-					.map(LoanInstallment::getAmount)
-					.reduce(BigDecimal.ZERO, BigDecimal::add);
+			final var paidDebtAmount = sum(payoff, PaidInstallment::amount);
 			try {
-				customerService.returnCreditLimit(savedLoan.getCustomer().getId(), paidDebtAmount);
+				customerService.returnCreditLimit(customerId, paidDebtAmount);
 			} catch (CustomerNotFoundException e) {
 				// this should not happen
 				throw new RuntimeException("Customer not found! Possibly a data inconsistency!", e);
 			}
+			auditService.record(AuditEventType.CREDIT_LIMIT_RETURNED, customerId, loanId, null, paidDebtAmount);
+			loanReadModelRepository.applyPayment(loanId, payoff.size(), paidDebtAmount, null, true);
+
+			outboxService.append(new LoanInstallmentsPaidEvent(loanId, customerId, payoff.size(), paidAmount, paymentDate));
+			outboxService.append(new LoanCompletedEvent(loanId, customerId, paymentDate));
+
+			return new LoanPaymentResultDto(payoff.size(), paidAmount, true);
 		}
+	}
 
-		return new LoanPaymentResultDto((short) installmentsToPay.size(), paidAmount, allInstallmentsOfLoanPaid);
+	/**
+	 * Only paid loans are moved to the archive, so a loan found there is reported as paid, as it was before
+	 * it was archived.
+	 *
+	 * @throws LoanAlreadyPaidException if the loan is archived
+	 */
+	private LoanNotFoundException loanNotFound(Long loanId) throws LoanAlreadyPaidException {
+		if (loanReadModelRepository.findArchivedLoanById(loanId).isPresent()) {
+			throw new LoanAlreadyPaidException();
+		}
+		return new LoanNotFoundException(loanId);
 	}
 
-	private List<LoanInstallment> findInstallmentsToPay(LocalDate paymentDate, List<LoanInstallment> unpaidInstallments, BigDecimal paymentAmount) {
+	private List<LoanInstallment> findInstallmentsToPay(LoanRules rules, LocalDate paymentDate, List<LoanInstallment> unpaidInstallments, BigDecimal paymentAmount) {
 		final var firstDayOfCurrentMonth = paymentDate.withDayOfMonth(1);
 		final var installmentsToPay = new ArrayList<LoanInstallment>();
 		// make sure earliest installments come first
@@ -205,27 +340,11 @@ public class LoanService {
 		var remainingAmount = paymentAmount;
 
 		for (var installment : sortedInstallments) {
-			final var dayDifference = ChronoUnit.DAYS.between(paymentDate, installment.getDueDate());
-			final var installmentAmount = installment.getAmount();
-			final BigDecimal installmentPaymentAmount;
-
-			if (dayDifference > 0) {
-				final var reward = BigDecimal.valueOf(loanConfigurationProperties.rewardPerDay())
-						.multiply(BigDecimal.valueOf(dayDifference));
-				installmentPaymentAmount = installmentAmount.subtract(reward).setScale(2, RoundingMode.UP);
-			}
-			else if (dayDifference < 0) {
-				final var penalty = BigDecimal.valueOf(loanConfigurationProperties.penaltyPerDay())
-						.multiply(BigDecimal.valueOf(dayDifference).abs());
-				installmentPaymentAmount = installmentAmount.add(penalty).setScale(2, RoundingMode.DOWN);
-			}
-			else {
-				installmentPaymentAmount = installmentAmount;
-			}
+			final var installmentPaymentAmount = calculatePaymentAmount(rules, paymentDate, installment.getAmount(), installment.getDueDate());
 
 			final var monthDiff = ChronoUnit.MONTHS.between(firstDayOfCurrentMonth, installment.getDueDate());
 			if (remainingAmount.compareTo(installmentPaymentAmount) < 0
-					|| monthDiff > loanConfigurationProperties.paymentInAdvanceMaxMonths()) {
+					|| monthDiff > rules.getPaymentInAdvanceMaxMonths()) {
 				break;
 			}
 
@@ -236,4 +355,43 @@ public class LoanService {
 
 		return Collections.unmodifiableList(installmentsToPay);
 	}
+
+	/**
+	 * @return amount to pay for an installment on the payment date, with the reward for paying before
+	 * the due date subtracted or the penalty for paying after it added
+	 */
+	private BigDecimal calculatePaymentAmount(LoanRules rules, LocalDate paymentDate, BigDecimal installmentAmount, LocalDate dueDate) {
+		final var dayDifference = ChronoUnit.DAYS.between(paymentDate, dueDate);
+
+		if (dayDifference > 0) {
+			final var reward = BigDecimal.valueOf(rules.getRewardPerDay())
+					.multiply(BigDecimal.valueOf(dayDifference));
+			return installmentAmount.subtract(reward).setScale(2, RoundingMode.UP);
+		}
+		else if (dayDifference < 0) {
+			final var penalty = BigDecimal.valueOf(rules.getPenaltyPerDay())
+					.multiply(BigDecimal.valueOf(dayDifference).abs());
+			return installmentAmount.add(penalty).setScale(2, RoundingMode.DOWN);
+		}
+		return installmentAmount;
+	}
+
+	private static BigDecimal sum(List<PaidInstallment> installments, Function<PaidInstallment, BigDecimal> amount) {
+		return installments.stream()
+				.map(amount)
+				.reduce(BigDecimal.ZERO, BigDecimal::add);
+	}
+
+	/**
+	 * Prices every unpaid installment for the payment date in a single pass, ignoring the limit on
+	 * paying in advance.
+	 */
+	private List<PaidInstallment> calculatePayoff(LoanRules rules, LocalDate paymentDate, List<UnpaidInstallment> unpaidInstallments) {
+		final var paidInstallments = new ArrayList<PaidInstallment>(unpaidInstallments.size());
+		for (var installment : unpaidInstallments) {
+			paidInstallments.add(new PaidInstallment(installment.id(), installment.amount(),
+					calculatePaymentAmount(rules, paymentDate, installment.amount(), installment.dueDate())));
+		}
+		return paidInstallments;
+	}
 }
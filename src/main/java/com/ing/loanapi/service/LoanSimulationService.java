@@ -0,0 +1,114 @@
+package com.ing.loanapi.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ing.loanapi.dto.LoanQuoteDto;
+import com.ing.loanapi.dto.LoanSimulationDto;
+import com.ing.loanapi.dto.command.SimulateLoanCommand;
+import com.ing.loanapi.exception.InvalidInterestRateException;
+import com.ing.loanapi.exception.InvalidNumberOfInstallmentsException;
+import com.ing.loanapi.exception.LoanAmountTooLowException;
+import com.ing.loanapi.properties.SimulationConfigurationProperties;
+import com.ing.loanapi.schedule.InterestModel;
+import com.ing.loanapi.schedule.ScheduleEngine;
+import com.ing.loanapi.validation.LoanRuleValidator;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Quotes the installments a loan would have for a grid of interest rates and numbers of installments,
+ * applying the same validations and schedule calculation as loan creation but without touching the
+ * database or the credit limit of any customer. Quotes are pure functions of their inputs and are
+ * memoized in a bounded cache.
+ */
+@Service
+@EnableConfigurationProperties(SimulationConfigurationProperties.class)
+public class LoanSimulationService {
+
+	private final ScheduleEngine scheduleEngine;
+	private final LoanRuleValidator loanRuleValidator;
+	private final int parallelThreshold;
+	private final Cache<QuoteKey, LoanQuoteDto> quotes;
+
+	public LoanSimulationService(
+			ScheduleEngine scheduleEngine,
+			LoanRuleValidator loanRuleValidator,
+			SimulationConfigurationProperties simulationConfigurationProperties,
+			MeterRegistry meterRegistry) {
+
+		this.scheduleEngine = scheduleEngine;
+		this.loanRuleValidator = loanRuleValidator;
+		this.parallelThreshold = simulationConfigurationProperties.parallelThreshold();
+		this.quotes = Caffeine.newBuilder()
+				.maximumSize(simulationConfigurationProperties.cacheMaxSize())
+				.recordStats()
+				.build();
+
+		CaffeineCacheMetrics.monitor(meterRegistry, quotes, "loan.simulation.quotes");
+	}
+
+	public LoanSimulationDto simulate(SimulateLoanCommand command) throws LoanAmountTooLowException,
+			InvalidInterestRateException, InvalidNumberOfInstallmentsException {
+		final var rules = loanRuleValidator.getRules();
+		final var interestModel = Objects.requireNonNullElse(command.interestModel(), InterestModel.FLAT);
+		loanRuleValidator.validateAmount(rules, command.amount());
+		for (var interestRate : command.interestRates()) {
+			loanRuleValidator.validateInterestRate(rules, interestModel, interestRate);
+		}
+
+		final var numberOfInstallments = Objects.isNull(command.numberOfInstallments())
+				? rules.getSortedAllowedNumberOfInstallments()
+				: command.numberOfInstallments();
+		for (var installments : numberOfInstallments) {
+			loanRuleValidator.validateNumberOfInstallments(rules, installments);
+		}
+
+		final var amountCents = command.amount().setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+
+		final var grid = new ArrayList<QuoteKey>(command.interestRates().size() * numberOfInstallments.size());
+		for (var interestRate : command.interestRates()) {
+			for (var installments : numberOfInstallments) {
+				grid.add(new QuoteKey(interestModel, amountCents, interestRate, installments));
+			}
+		}
+
+		// small grids are cheaper to compute on the request thread than to fork
+		final var stream = grid.size() >= parallelThreshold ? grid.parallelStream() : grid.stream();
+		final var loanQuotes = stream
+				.map(key -> quotes.get(key, this::quote))
+				.sorted(Comparator.comparingDouble(LoanQuoteDto::interestRate)
+						.thenComparingInt(LoanQuoteDto::numberOfInstallments))
+				.toList();
+
+		return new LoanSimulationDto(command.amount(), interestModel, loanQuotes);
+	}
+
+	private LoanQuoteDto quote(QuoteKey key) {
+		final var schedule = scheduleEngine.calculate(
+				key.interestModel(), BigDecimal.valueOf(key.amountCents(), 2), key.interestRate(), key.numberOfInstallments());
+
+		final var installmentAmounts = Arrays.stream(schedule.installmentCents())
+				.mapToObj(cents -> BigDecimal.valueOf(cents, 2))
+				.toList();
+		return new LoanQuoteDto(key.interestRate(), key.numberOfInstallments(), schedule.totalAmount(), installmentAmounts);
+	}
+
+	private record QuoteKey(
+			InterestModel interestModel,
+			long amountCents,
+			double interestRate,
+			short numberOfInstallments) {
+	}
+}
@@ -0,0 +1,80 @@
+package com.ing.loanapi.service;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ing.loanapi.entity.OutboxEvent;
+import com.ing.loanapi.outbox.OutboxMessage;
+import com.ing.loanapi.outbox.OutboxSink;
+import com.ing.loanapi.properties.OutboxConfigurationProperties;
+import com.ing.loanapi.repository.OutboxEventRepository;
+import com.ing.loanapi.sharding.ShardRouter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxRelayService {
+
+	private final OutboxEventRepository outboxEventRepository;
+	private final OutboxSink outboxSink;
+	private final OutboxConfigurationProperties outboxConfigurationProperties;
+	private final MeterRegistry meterRegistry;
+	private final ShardRouter shardRouter;
+	private final AtomicInteger nextShard = new AtomicInteger();
+
+	/**
+	 * Publishes the oldest unpublished events to the sink in a single batch. Events are read in
+	 * insertion order and a batch is either published as a whole or retried as a whole, which keeps
+	 * the events of each loan in order. Delivery is at-least-once: a batch published right before
+	 * a failed commit is published again. Events are written to the shard of their loan, and each run relays
+	 * the events of the next shard in turn.
+	 *
+	 * @return number of events published
+	 */
+	@Scheduled(fixedDelayString = "${outbox.relay.poll-interval}")
+	@Transactional
+	public int relayBatch() {
+		final var shard = Math.floorMod(nextShard.getAndIncrement(), shardRouter.getShardCount());
+		try (var binding = shardRouter.bind(shard)) {
+			final var batchSize = outboxConfigurationProperties.relay().batchSize();
+			final var events = outboxEventRepository.findByPublishedFalseOrderByIdAsc(PageRequest.ofSize(batchSize));
+			if (events.isEmpty()) {
+				return 0;
+			}
+
+			final var messages = events.stream()
+					.map(event -> new OutboxMessage(event.getId(), event.getAggregateId(), event.getEventType(), event.getPayload(), event.getOccurredAt()))
+					.toList();
+
+			final var startTime = System.nanoTime();
+			try {
+				outboxSink.publish(messages);
+			} catch (Exception e) {
+				meterRegistry.counter("outbox.relay.failures").increment();
+				log.warn("Could not publish {} outbox events, will retry", messages.size(), e);
+				return 0;
+			}
+			meterRegistry.timer("outbox.relay.publish").record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+
+			final var ids = events.stream()
+					.map(OutboxEvent::getId)
+					.toList();
+			outboxEventRepository.markPublished(ids, Instant.now());
+
+			meterRegistry.counter("outbox.events.published").increment(ids.size());
+			meterRegistry.summary("outbox.relay.batch.size").record(ids.size());
+
+			return ids.size();
+		}
+	}
+}
@@ -0,0 +1,46 @@
+package com.ing.loanapi.service;
+
+import java.time.Instant;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ing.loanapi.entity.OutboxEvent;
+import com.ing.loanapi.event.LoanEvent;
+import com.ing.loanapi.repository.OutboxEventRepository;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+	private final OutboxEventRepository outboxEventRepository;
+	private final ObjectMapper objectMapper;
+
+	/**
+	 * Stores the event in the outbox as part of the caller's transaction, so the event is
+	 * relayed if and only if the state change that produced it is committed.
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void append(LoanEvent event) {
+		final String payload;
+		try {
+			payload = objectMapper.writeValueAsString(event);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Loan event could not be serialized!", e);
+		}
+
+		final var outboxEvent = OutboxEvent.builder()
+				.aggregateId(event.loanId())
+				.eventType(event.type().name())
+				.payload(payload)
+				.occurredAt(Instant.now())
+				.build();
+
+		outboxEventRepository.save(outboxEvent);
+	}
+}
@@ -0,0 +1,49 @@
+package com.ing.loanapi.service;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import com.ing.loanapi.dto.LoanDto;
+import com.ing.loanapi.dto.LoanInstallmentDto;
+import com.ing.loanapi.exception.CustomerNotFoundException;
+import com.ing.loanapi.exception.LoanNotFoundException;
+import com.ing.loanapi.repository.ReactiveLoanReadModelRepository;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive read path of the loans. Lookups resolve to the stream of results only after the parent
+ * entity is known to exist, so that a missing one is still reported as 404 before the streamed
+ * response is committed.
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveLoanService {
+
+	private final ReactiveLoanReadModelRepository reactiveLoanReadModelRepository;
+
+	public Mono<Flux<LoanDto>> findLoansOfCustomer(Long customerId, boolean includeArchived) {
+		return reactiveLoanReadModelRepository.existsCustomerById(customerId)
+				.flatMap(exists -> exists
+						? Mono.just(includeArchived
+								? reactiveLoanReadModelRepository.findLoansByCustomerIdIncludingArchived(customerId)
+								: reactiveLoanReadModelRepository.findLoansByCustomerId(customerId))
+						: Mono.error(new CustomerNotFoundException(customerId)));
+	}
+
+	/**
+	 * Installments of a loan moved to the archive are streamed from the archive.
+	 */
+	public Mono<Flux<LoanInstallmentDto>> findInstallmentsOfLoan(Long loanId) {
+		return reactiveLoanReadModelRepository.existsLoanById(loanId)
+				.flatMap(exists -> exists
+						? Mono.just(reactiveLoanReadModelRepository.findInstallmentsByLoanId(loanId))
+						: reactiveLoanReadModelRepository.existsArchivedLoanById(loanId)
+								.flatMap(archived -> archived
+										? Mono.just(reactiveLoanReadModelRepository.findArchivedInstallmentsByLoanId(loanId))
+										: Mono.error(new LoanNotFoundException(loanId))));
+	}
+}
@@ -0,0 +1,127 @@
+package com.ing.loanapi.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ing.loanapi.exception.UserNotFoundException;
+import com.ing.loanapi.properties.AuthenticationConfigurationProperties;
+import com.ing.loanapi.repository.UserAccountRepository;
+import com.ing.loanapi.repository.UserAccountRepository.UserAccount;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Loads users from the user store for authentication, through a bounded cache of the accounts. Only the
+ * immutable account rows are cached, and a new {@link UserDetails} is built on every lookup, since the
+ * authentication manager erases the password of the user details it was given. Unknown usernames are not
+ * cached, so accounts created in the store can log in right away.
+ * <p>
+ * Passwords hashed with a lower BCrypt strength than {@code auth.password.bcrypt-strength} are hashed
+ * again on the next successful login, so the cost can be raised without resetting any password.
+ */
+@Slf4j
+@Service
+public class UserAccountService implements UserDetailsService, UserDetailsPasswordService {
+
+	private static final String CUSTOMER_ROLE = "CUSTOMER";
+
+	private final UserAccountRepository userAccountRepository;
+	private final PasswordEncoder passwordEncoder;
+	private final Cache<String, UserAccount> accounts;
+
+	public UserAccountService(
+			UserAccountRepository userAccountRepository,
+			PasswordEncoder passwordEncoder,
+			AuthenticationConfigurationProperties authenticationConfigurationProperties,
+			MeterRegistry meterRegistry) {
+
+		this.userAccountRepository = userAccountRepository;
+		this.passwordEncoder = passwordEncoder;
+		final var userCache = authenticationConfigurationProperties.userCache();
+		this.accounts = Caffeine.newBuilder()
+				.maximumSize(userCache.maxSize())
+				.expireAfterWrite(userCache.expireAfterWrite())
+				.recordStats()
+				.build();
+
+		CaffeineCacheMetrics.monitor(meterRegistry, accounts, "auth.user.accounts");
+	}
+
+	@Override
+	public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+		final var account = accounts.get(username, key -> userAccountRepository.findByUsername(key).orElse(null));
+		if (Objects.isNull(account)) {
+			throw new UsernameNotFoundException("User " + username + " is not found!");
+		}
+
+		return User.withUsername(account.username())
+				.password(account.passwordHash())
+				.disabled(!account.enabled())
+				.roles(account.roles().toArray(String[]::new))
+				.build();
+	}
+
+	@Override
+	public UserDetails updatePassword(UserDetails user, String newPassword) {
+		userAccountRepository.updatePasswordHash(user.getUsername(), newPassword);
+		accounts.invalidate(user.getUsername());
+
+		return User.withUserDetails(user)
+				.password(newPassword)
+				.build();
+	}
+
+	/**
+	 * Disables the account in the store and then drops it from the cache, so the user cannot log in any more
+	 * on this instance right away, instead of once {@code auth.user-cache.expire-after-write} elapsed. The
+	 * update commits before the eviction, a concurrent lookup cannot cache the account as it was.
+	 */
+	public void disableUser(String username) throws UserNotFoundException {
+		final var disabled = userAccountRepository.disable(username);
+		accounts.invalidate(username);
+		if (!disabled) {
+			throw new UserNotFoundException(username);
+		}
+	}
+
+	/**
+	 * Creates the accounts of the given users that do not exist in the store yet. Users with the customer
+	 * role are linked to the customer with their username as id.
+	 *
+	 * @return number of created accounts
+	 */
+	@Transactional
+	public int importUsers(List<AuthenticationConfigurationProperties.BasicAuthentication.User> users) {
+		var imported = 0;
+		for (var user : users) {
+			if (userAccountRepository.existsByUsername(user.username())) {
+				continue;
+			}
+
+			final var roles = Arrays.asList(user.roles());
+			final var customerId = roles.contains(CUSTOMER_ROLE) ? Long.valueOf(user.username()) : null;
+			userAccountRepository.insert(new UserAccount(
+					user.username(), passwordEncoder.encode(user.password()), customerId, true, List.copyOf(roles)));
+			imported++;
+		}
+
+		if (imported > 0) {
+			log.info("Imported {} users into the user store", imported);
+		}
+		return imported;
+	}
+}
@@ -0,0 +1,85 @@
+package com.ing.loanapi.sharding;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Applies the migrations of shard 0 to every shard and then moves the id sequence of the outbox events of
+ * each shard to the ids of the shard, starting above the largest id the shard already used, so that event
+ * ids are unique across the shards. The sequences are aligned on every startup, so shards can be added to a
+ * deployment without events yet. Customer, loan and installment ids are assigned by the
+ * {@link com.ing.loanapi.id.SnowflakeIdGenerator}, which keeps them on their shard itself.
+ * <p>
+ * The customers seeded by {@code V1__loans_base.sql} are inserted on every shard, so each shard keeps only
+ * the ones living on it. Users stay on shard 0 while their customers may live on another shard, so the
+ * foreign key from {@code USER_ACCOUNT} to {@code CUSTOMER} is dropped there once there is more than one shard.
+ */
+@Slf4j
+public class ShardMigrationStrategy implements FlywayMigrationStrategy {
+
+	private static final List<Long> SEEDED_CUSTOMER_IDS = List.of(100001L, 100002L, 100003L);
+
+	private final ShardRouter shardRouter;
+	private final ShardRoutingDataSource shardRoutingDataSource;
+
+	public ShardMigrationStrategy(ShardRouter shardRouter, ShardRoutingDataSource shardRoutingDataSource) {
+		this.shardRouter = shardRouter;
+		this.shardRoutingDataSource = shardRoutingDataSource;
+	}
+
+	@Override
+	public void migrate(Flyway flyway) {
+		for (var shard = 0; shard < shardRouter.getShardCount(); shard++) {
+			final var dataSource = shardRoutingDataSource.getShardDataSource(shard);
+			Flyway.configure()
+					.configuration(flyway.getConfiguration())
+					.dataSource(dataSource)
+					.load()
+					.migrate();
+
+			final var jdbcTemplate = new JdbcTemplate(dataSource);
+			if (shard == 0 && shardRouter.getShardCount() > 1) {
+				dropUserCustomerForeignKey(jdbcTemplate);
+			}
+			for (final var customerId : SEEDED_CUSTOMER_IDS) {
+				if (shardRouter.shardOfCustomer(customerId) != shard) {
+					jdbcTemplate.update("DELETE FROM CUSTOMER WHERE ID = ?", customerId);
+				}
+			}
+
+			final var lastEventId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(ID), 0) FROM OUTBOX_EVENT", Long.class);
+			final var nextEventId = shardRouter.firstIdAfter(lastEventId, shard);
+			jdbcTemplate.execute("ALTER TABLE OUTBOX_EVENT ALTER COLUMN ID RESTART WITH " + nextEventId
+					+ " SET INCREMENT BY " + shardRouter.getShardCount());
+
+			log.info("Migrated shard {}, next outbox event id is {}", shard, nextEventId);
+		}
+	}
+
+	private static void dropUserCustomerForeignKey(JdbcTemplate jdbcTemplate) {
+		final var foreignKeys = jdbcTemplate.execute((ConnectionCallback<List<String>>) connection -> {
+			final var metaData = connection.getMetaData();
+			final var table = metaData.storesLowerCaseIdentifiers() ? "user_account" : "USER_ACCOUNT";
+			final var names = new ArrayList<String>();
+			try (var keys = metaData.getImportedKeys(connection.getCatalog(), connection.getSchema(), table)) {
+				while (keys.next()) {
+					if ("CUSTOMER".equalsIgnoreCase(keys.getString("PKTABLE_NAME"))) {
+						names.add(keys.getString("FK_NAME"));
+					}
+				}
+			}
+			return names;
+		});
+		for (final var foreignKey : foreignKeys) {
+			jdbcTemplate.execute("ALTER TABLE USER_ACCOUNT DROP CONSTRAINT " + foreignKey);
+			log.info("Dropped foreign key {} from USER_ACCOUNT to CUSTOMER, customers are spread across the shards", foreignKey);
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package com.ing.loanapi.sharding;
+
+/**
+ * Maps customers and loans to the shard holding them and binds the shard of the current thread. A customer
+ * lives on shard {@code customerId % shardCount}, together with its loans and their installments, and loan
+ * ids are handed out per shard so that {@code loanId % shardCount} is the shard of the loan as well. Loans
+ * are thereby found without a lookup. Code running without a bound shard uses shard 0, which also holds the
+ * tables that are not split by customer.
+ * <p>
+ * The shard count must not change once loans are created, since the ids of the existing loans encode it.
+ */
+public class ShardRouter {
+
+	private static final ThreadLocal<Integer> CURRENT_SHARD = new ThreadLocal<>();
+
+	private final int shardCount;
+
+	public ShardRouter(int shardCount) {
+		if (shardCount < 1) {
+			throw new IllegalArgumentException("Shard count must be at least 1!");
+		}
+		this.shardCount = shardCount;
+	}
+
+	public int getShardCount() {
+		return shardCount;
+	}
+
+	/**
+	 * @return the shard bound to the current thread, 0 if none is bound
+	 */
+	public int getCurrentShard() {
+		final var shard = CURRENT_SHARD.get();
+		return shard == null ? 0 : shard;
+	}
+
+	public int shardOfCustomer(Long customerId) {
+		return (int) Math.floorMod(customerId, (long) shardCount);
+	}
+
+	public int shardOfLoan(Long loanId) {
+		return (int) Math.floorMod(loanId, (long) shardCount);
+	}
+
+	/**
+	 * Binds the shard to the current thread until the returned binding is closed, which restores the shard
+	 * bound before. A transaction started before the binding still uses the shard, as long as it has not
+	 * run any statement yet.
+	 */
+	public Binding bind(int shard) {
+		if (shard < 0 || shard >= shardCount) {
+			throw new IllegalArgumentException("Shard " + shard + " does not exist, there are " + shardCount + " shards!");
+		}
+
+		final var previousShard = CURRENT_SHARD.get();
+		CURRENT_SHARD.set(shard);
+		return () -> {
+			if (previousShard == null) {
+				CURRENT_SHARD.remove();
+			}
+			else {
+				CURRENT_SHARD.set(previousShard);
+			}
+		};
+	}
+
+	public Binding bindCustomer(Long customerId) {
+		return bind(shardOfCustomer(customerId));
+	}
+
+	public Binding bindLoan(Long loanId) {
+		return bind(shardOfLoan(loanId));
+	}
+
+	/**
+	 * @return the first id of the shard above the given id, for the tables whose ids encode their shard
+	 */
+	public long firstIdAfter(long id, int shard) {
+		final var candidate = id + 1;
+		return candidate + Math.floorMod(shard - candidate, (long) shardCount);
+	}
+
+	@FunctionalInterface
+	public interface Binding extends AutoCloseable {
+
+		@Override
+		void close();
+	}
+}
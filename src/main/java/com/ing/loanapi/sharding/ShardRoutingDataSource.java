@@ -0,0 +1,52 @@
+package com.ing.loanapi.sharding;
+
+import java.util.HashMap;
+import java.util.List;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Hands out connections of the shard bound to the current thread by the {@link ShardRouter}. Wrapped in a
+ * lazy connection proxy, so that a transaction takes its connection only on its first statement, after
+ * the service has bound the shard of the customer or loan it works on.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+	private final ShardRouter shardRouter;
+	private final List<HikariDataSource> shardDataSources;
+
+	/**
+	 * @param shardDataSources pools of the shards, in shard order
+	 */
+	public ShardRoutingDataSource(ShardRouter shardRouter, List<HikariDataSource> shardDataSources) {
+		if (shardDataSources.size() != shardRouter.getShardCount()) {
+			throw new IllegalArgumentException("Expected " + shardRouter.getShardCount() + " shard data sources, got " + shardDataSources.size());
+		}
+		this.shardRouter = shardRouter;
+		this.shardDataSources = List.copyOf(shardDataSources);
+
+		final var targetDataSources = new HashMap<Object, Object>();
+		for (var shard = 0; shard < shardDataSources.size(); shard++) {
+			targetDataSources.put(shard, shardDataSources.get(shard));
+		}
+		setTargetDataSources(targetDataSources);
+		setDefaultTargetDataSource(shardDataSources.get(0));
+		afterPropertiesSet();
+	}
+
+	public HikariDataSource getShardDataSource(int shard) {
+		return shardDataSources.get(shard);
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		return shardRouter.getCurrentShard();
+	}
+
+	@Override
+	public void close() {
+		shardDataSources.forEach(HikariDataSource::close);
+	}
+}
@@ -0,0 +1,87 @@
+package com.ing.loanapi.token;
+
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.http.HttpHeaders.WWW_AUTHENTICATE;
+
+import java.io.IOException;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Authenticates requests carrying an {@code Authorization: Bearer} header with the access token in it.
+ * The principal is the username of the token, so {@code authentication.name} is the customer id for
+ * customers, exactly as with basic authentication. Requests with an invalid or expired token are
+ * rejected with {@code 401}, requests without a bearer token are left to the other authentication filters.
+ */
+public class BearerTokenAuthenticationFilter extends OncePerRequestFilter {
+
+	private static final String BEARER_PREFIX = "Bearer ";
+	private static final String INVALID_TOKEN_CHALLENGE = "Bearer error=\"invalid_token\"";
+
+	private final AccessTokenCodec accessTokenCodec;
+	private final RequestMatcher ignoredRequests;
+	private final Counter rejections;
+	private final SecurityContextHolderStrategy securityContextHolderStrategy = SecurityContextHolder.getContextHolderStrategy();
+
+	/**
+	 * @param ignoredRequests requests to leave to the other authentication filters even if they carry a token
+	 */
+	public BearerTokenAuthenticationFilter(AccessTokenCodec accessTokenCodec, RequestMatcher ignoredRequests, MeterRegistry meterRegistry) {
+		this.accessTokenCodec = accessTokenCodec;
+		this.ignoredRequests = ignoredRequests;
+		this.rejections = meterRegistry.counter("auth.token.rejections");
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return ignoredRequests.matches(request);
+	}
+
+	/**
+	 * The authentication is not kept between dispatches, so the token is verified again when a streamed
+	 * response is dispatched back to the servlet container.
+	 */
+	@Override
+	protected boolean shouldNotFilterAsyncDispatch() {
+		return false;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		final var header = request.getHeader(AUTHORIZATION);
+		if (header == null || !header.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+
+		final var token = accessTokenCodec.decode(header.substring(BEARER_PREFIX.length()).trim());
+		if (token.isEmpty()) {
+			rejections.increment();
+			response.setHeader(WWW_AUTHENTICATE, INVALID_TOKEN_CHALLENGE);
+			response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+			return;
+		}
+
+		final var authorities = token.get().authorities().stream()
+				.map(SimpleGrantedAuthority::new)
+				.toList();
+		final var context = securityContextHolderStrategy.createEmptyContext();
+		context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(token.get().username(), null, authorities));
+		securityContextHolderStrategy.setContext(context);
+
+		filterChain.doFilter(request, response);
+	}
+}
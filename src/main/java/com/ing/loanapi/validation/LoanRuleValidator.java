@@ -0,0 +1,137 @@
+package com.ing.loanapi.validation;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import com.ing.loanapi.dto.command.CreateLoanCommand;
+import com.ing.loanapi.exception.InvalidInterestRateException;
+import com.ing.loanapi.exception.InvalidLoanConfigurationException;
+import com.ing.loanapi.exception.InvalidNumberOfInstallmentsException;
+import com.ing.loanapi.exception.LoanAmountTooLowException;
+import com.ing.loanapi.properties.LoanConfigurationProperties;
+import com.ing.loanapi.schedule.InterestModel;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Checks loan commands against the current {@link LoanRules}. The rules are compiled once per
+ * configuration into primitives and a bitset of the allowed numbers of installments, so accepting a
+ * command does not allocate; the boxed {@code numberOfInstallments} and {@code interestRate} of the
+ * command are unboxed once each to be compared with them. Controllers run the checks before calling the
+ * transactional services, so an invalid command is rejected without opening a transaction or taking a
+ * database connection.
+ * <p>
+ * The rules start from {@link LoanConfigurationProperties} and can be replaced at runtime with
+ * {@link #update(LoanConfigurationProperties)}. A replacement is compiled and checked before it is
+ * swapped in atomically, so readers see either the previous or the new rules as a whole.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(LoanConfigurationProperties.class)
+public class LoanRuleValidator {
+
+	private final AtomicReference<LoanRules> rules;
+	private final Counter amountRejections;
+	private final Counter numberOfInstallmentsRejections;
+	private final Counter interestRateRejections;
+	private final Counter configurationUpdates;
+
+	public LoanRuleValidator(LoanConfigurationProperties loanConfigurationProperties, MeterRegistry meterRegistry) {
+		try {
+			this.rules = new AtomicReference<>(LoanRules.compile(loanConfigurationProperties));
+		} catch (InvalidLoanConfigurationException e) {
+			throw new IllegalStateException(e.getMessage(), e);
+		}
+
+		this.amountRejections = meterRegistry.counter("loan.validation.rejections", "rule", "amount");
+		this.numberOfInstallmentsRejections = meterRegistry.counter("loan.validation.rejections", "rule", "number-of-installments");
+		this.interestRateRejections = meterRegistry.counter("loan.validation.rejections", "rule", "interest-rate");
+		this.configurationUpdates = meterRegistry.counter("loan.configuration.updates");
+	}
+
+	/**
+	 * @return the rules in effect, to be read once per operation
+	 */
+	public LoanRules getRules() {
+		return rules.get();
+	}
+
+	/**
+	 * Compiles the configuration and puts it in effect for the operations starting afterwards.
+	 *
+	 * @return the rules in effect after the update
+	 */
+	public LoanRules update(LoanConfigurationProperties loanConfigurationProperties) throws InvalidLoanConfigurationException {
+		final var updated = LoanRules.compile(loanConfigurationProperties);
+		final var previous = rules.getAndSet(updated);
+		if (!previous.getVersion().equals(updated.getVersion())) {
+			configurationUpdates.increment();
+			log.info("Loan configuration updated from version {} to {}: {}", previous.getVersion(), updated.getVersion(),
+					loanConfigurationProperties);
+		}
+		return updated;
+	}
+
+	/**
+	 * @return the rules the command was validated against
+	 */
+	public LoanRules validate(CreateLoanCommand command) throws LoanAmountTooLowException,
+			InvalidNumberOfInstallmentsException, InvalidInterestRateException {
+		final var current = rules.get();
+		validateAmount(current, command.amount());
+		validateNumberOfInstallments(current, command.numberOfInstallments());
+		validateInterestRate(current, Objects.requireNonNullElse(command.interestModel(), InterestModel.FLAT), command.interestRate());
+		return current;
+	}
+
+	public void validateAmount(BigDecimal amount) throws LoanAmountTooLowException {
+		validateAmount(rules.get(), amount);
+	}
+
+	public void validateAmount(LoanRules rules, BigDecimal amount) throws LoanAmountTooLowException {
+		if (amount.compareTo(rules.getMinLoanAmount()) < 0) {
+			amountRejections.increment();
+			throw new LoanAmountTooLowException(rules.getMinLoanAmount());
+		}
+	}
+
+	public void validateNumberOfInstallments(int numberOfInstallments) throws InvalidNumberOfInstallmentsException {
+		validateNumberOfInstallments(rules.get(), numberOfInstallments);
+	}
+
+	public void validateNumberOfInstallments(LoanRules rules, int numberOfInstallments) throws InvalidNumberOfInstallmentsException {
+		if (!rules.isAllowedNumberOfInstallments(numberOfInstallments)) {
+			numberOfInstallmentsRejections.increment();
+			throw new InvalidNumberOfInstallmentsException(numberOfInstallments);
+		}
+	}
+
+	public void validateInterestRate(InterestModel interestModel, double interestRate) throws InvalidInterestRateException {
+		validateInterestRate(rules.get(), interestModel, interestRate);
+	}
+
+	public void validateInterestRate(LoanRules rules, InterestModel interestModel, double interestRate) throws InvalidInterestRateException {
+		if (!rules.isAllowedInterestRate(interestModel, interestRate)) {
+			interestRateRejections.increment();
+			throw new InvalidInterestRateException(interestRate);
+		}
+	}
+
+	public boolean isAllowedNumberOfInstallments(int numberOfInstallments) {
+		return rules.get().isAllowedNumberOfInstallments(numberOfInstallments);
+	}
+
+	/**
+	 * @return the allowed numbers of installments in ascending order
+	 */
+	public List<Short> getAllowedNumberOfInstallments() {
+		return rules.get().getSortedAllowedNumberOfInstallments();
+	}
+}
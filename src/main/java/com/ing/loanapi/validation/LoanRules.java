@@ -0,0 +1,152 @@
+package com.ing.loanapi.validation;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import com.ing.loanapi.exception.InvalidLoanConfigurationException;
+import com.ing.loanapi.properties.LoanConfigurationProperties;
+import com.ing.loanapi.schedule.InterestModel;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Immutable snapshot of the loan rules, compiled from a {@link LoanConfigurationProperties} into
+ * primitives and a bitset of the allowed numbers of installments. An operation reads the snapshot once
+ * and uses it throughout, so a configuration swapped in meanwhile never mixes with the one it started with.
+ * <p>
+ * The version is a fingerprint of the rule values, so every instance running the same rules reports the
+ * same version, across restarts as well.
+ */
+@Getter
+public final class LoanRules {
+
+	private static final int VERSION_BYTES = 6;
+
+	private final String version;
+	private final LoanConfigurationProperties configuration;
+	private final BigDecimal minLoanAmount;
+	private final double minInterestRate;
+	private final double maxInterestRate;
+	private final double minAnnualInterestRate;
+	private final double maxAnnualInterestRate;
+	private final short paymentInAdvanceMaxMonths;
+	private final double rewardPerDay;
+	private final double penaltyPerDay;
+	@Getter(AccessLevel.NONE)
+	private final long[] allowedNumberOfInstallments;
+	/**
+	 * Allowed numbers of installments in ascending order.
+	 */
+	private final List<Short> sortedAllowedNumberOfInstallments;
+
+	private LoanRules(LoanConfigurationProperties configuration, List<Short> sortedAllowedNumberOfInstallments) {
+		this.configuration = configuration;
+		this.minLoanAmount = configuration.minLoanAmount();
+		this.minInterestRate = configuration.interestRate().min();
+		this.maxInterestRate = configuration.interestRate().max();
+		this.minAnnualInterestRate = configuration.annualInterestRate().min();
+		this.maxAnnualInterestRate = configuration.annualInterestRate().max();
+		this.paymentInAdvanceMaxMonths = configuration.paymentInAdvanceMaxMonths();
+		this.rewardPerDay = configuration.rewardPerDay();
+		this.penaltyPerDay = configuration.penaltyPerDay();
+
+		this.sortedAllowedNumberOfInstallments = sortedAllowedNumberOfInstallments;
+		final var maxNumberOfInstallments = sortedAllowedNumberOfInstallments.get(sortedAllowedNumberOfInstallments.size() - 1);
+		this.allowedNumberOfInstallments = new long[(maxNumberOfInstallments >> 6) + 1];
+		for (var numberOfInstallments : sortedAllowedNumberOfInstallments) {
+			allowedNumberOfInstallments[numberOfInstallments >> 6] |= 1L << numberOfInstallments;
+		}
+
+		this.version = fingerprint(this);
+	}
+
+	/**
+	 * Checks the configuration and compiles it into rules.
+	 */
+	public static LoanRules compile(LoanConfigurationProperties configuration) throws InvalidLoanConfigurationException {
+		if (configuration == null) {
+			throw new InvalidLoanConfigurationException("configuration is missing");
+		}
+
+		checkInterestRate(configuration.interestRate(), "interest rate");
+		checkInterestRate(configuration.annualInterestRate(), "annual interest rate");
+
+		final var installment = configuration.installment();
+		if (installment == null || installment.values() == null || installment.values().isEmpty()) {
+			throw new InvalidLoanConfigurationException("allowed numbers of installments are missing");
+		}
+		final var sortedAllowedNumberOfInstallments = installment.values().stream()
+				.filter(Objects::nonNull)
+				.sorted()
+				.toList();
+		if (sortedAllowedNumberOfInstallments.size() != installment.values().size() || sortedAllowedNumberOfInstallments.get(0) <= 0) {
+			throw new InvalidLoanConfigurationException("allowed numbers of installments must be positive");
+		}
+
+		if (configuration.paymentInAdvanceMaxMonths() == null || configuration.paymentInAdvanceMaxMonths() < 0) {
+			throw new InvalidLoanConfigurationException("payment in advance max months cannot be missing or negative");
+		}
+		if (configuration.rewardPerDay() == null || configuration.penaltyPerDay() == null) {
+			throw new InvalidLoanConfigurationException("reward and penalty per day are missing");
+		}
+		if (!(configuration.rewardPerDay() >= 0 && Double.isFinite(configuration.rewardPerDay()))
+				|| !(configuration.penaltyPerDay() >= 0 && Double.isFinite(configuration.penaltyPerDay()))) {
+			throw new InvalidLoanConfigurationException("reward and penalty per day cannot be negative");
+		}
+		if (configuration.minLoanAmount() == null || configuration.minLoanAmount().signum() < 0) {
+			throw new InvalidLoanConfigurationException("min loan amount cannot be missing or negative");
+		}
+
+		return new LoanRules(configuration, sortedAllowedNumberOfInstallments);
+	}
+
+	private static void checkInterestRate(LoanConfigurationProperties.InterestRate interestRate, String name) throws InvalidLoanConfigurationException {
+		if (interestRate == null || interestRate.min() == null || interestRate.max() == null) {
+			throw new InvalidLoanConfigurationException(name + " bounds are missing");
+		}
+		if (!(interestRate.min() >= 0 && interestRate.min() <= interestRate.max() && Double.isFinite(interestRate.max()))) {
+			throw new InvalidLoanConfigurationException(name + " bounds must satisfy 0 <= min <= max");
+		}
+	}
+
+	/**
+	 * A {@code FLAT} rate is charged once on the whole amount, while the rate of the other models is annual,
+	 * so each is checked against a range of its own.
+	 */
+	public boolean isAllowedInterestRate(InterestModel interestModel, double interestRate) {
+		return interestModel == InterestModel.FLAT
+				? interestRate >= minInterestRate && interestRate <= maxInterestRate
+				: interestRate >= minAnnualInterestRate && interestRate <= maxAnnualInterestRate;
+	}
+
+	public boolean isAllowedNumberOfInstallments(int numberOfInstallments) {
+		final var word = numberOfInstallments >> 6;
+		return numberOfInstallments >= 0 && word < allowedNumberOfInstallments.length
+				&& (allowedNumberOfInstallments[word] & (1L << numberOfInstallments)) != 0;
+	}
+
+	private static String fingerprint(LoanRules rules) {
+		final var canonical = String.join(";",
+				"minLoanAmount=" + rules.minLoanAmount.stripTrailingZeros().toPlainString(),
+				"interestRate=" + rules.minInterestRate + ".." + rules.maxInterestRate,
+				"annualInterestRate=" + rules.minAnnualInterestRate + ".." + rules.maxAnnualInterestRate,
+				"installments=" + rules.sortedAllowedNumberOfInstallments.stream().map(String::valueOf).collect(Collectors.joining(",")),
+				"paymentInAdvanceMaxMonths=" + rules.paymentInAdvanceMaxMonths,
+				"rewardPerDay=" + rules.rewardPerDay,
+				"penaltyPerDay=" + rules.penaltyPerDay);
+		try {
+			final var digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+			return HexFormat.of().formatHex(digest, 0, VERSION_BYTES);
+		} catch (NoSuchAlgorithmException e) {
+			// every Java platform is required to support SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+}
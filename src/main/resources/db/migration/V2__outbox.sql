@@ -0,0 +1,14 @@
+-- Version: 2 Transactional outbox for loan lifecycle events
+-- OUTBOX_EVENT table
+CREATE TABLE OUTBOX_EVENT (
+    ID BIGINT PRIMARY KEY AUTO_INCREMENT,
+    AGGREGATE_ID BIGINT NOT NULL,
+    EVENT_TYPE VARCHAR(50) NOT NULL,
+    PAYLOAD VARCHAR(4000) NOT NULL,
+    OCCURRED_AT TIMESTAMP NOT NULL,
+    PUBLISHED BOOLEAN NOT NULL DEFAULT FALSE,
+    PUBLISHED_AT TIMESTAMP
+);
+
+-- relay polls unpublished events in insertion order
+CREATE INDEX IDX_OUTBOX_EVENT_UNPUBLISHED ON OUTBOX_EVENT (PUBLISHED, ID);
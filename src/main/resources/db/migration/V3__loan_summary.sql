@@ -0,0 +1,31 @@
+-- Version: 3 Denormalized read model of loans
+-- LOAN_SUMMARY table, maintained in the same transaction as LOAN / LOAN_INSTALLMENT writes
+CREATE TABLE LOAN_SUMMARY (
+    LOAN_ID BIGINT PRIMARY KEY,
+    CUSTOMER_ID BIGINT NOT NULL,
+    LOAN_AMOUNT DECIMAL(12, 2) NOT NULL,
+    NUMBER_OF_INSTALLMENTS SMALLINT NOT NULL,
+    PAID BOOLEAN NOT NULL DEFAULT FALSE,
+    CREATE_DATE DATE NOT NULL,
+    PAID_INSTALLMENTS SMALLINT NOT NULL DEFAULT 0,
+    REMAINING_INSTALLMENTS SMALLINT NOT NULL,
+    OUTSTANDING_AMOUNT DECIMAL(12, 2) NOT NULL,
+    NEXT_DUE_DATE DATE
+);
+
+CREATE INDEX IDX_LOAN_SUMMARY_CUSTOMER_ID ON LOAN_SUMMARY (CUSTOMER_ID, LOAN_ID);
+
+-- installments are always read per loan
+CREATE INDEX IDX_LOAN_INSTALLMENT_LOAN_ID ON LOAN_INSTALLMENT (LOAN_ID, DUE_DATE);
+
+-- backfill existing loans
+INSERT INTO LOAN_SUMMARY (LOAN_ID, CUSTOMER_ID, LOAN_AMOUNT, NUMBER_OF_INSTALLMENTS, PAID, CREATE_DATE,
+                          PAID_INSTALLMENTS, REMAINING_INSTALLMENTS, OUTSTANDING_AMOUNT, NEXT_DUE_DATE)
+SELECT L.ID, L.CUSTOMER_ID, L.LOAN_AMOUNT, L.NUMBER_OF_INSTALLMENTS, L.PAID, CAST(L.CREATE_DATE AS DATE),
+       COUNT(CASE WHEN I.PAID = TRUE THEN 1 END),
+       COUNT(CASE WHEN I.PAID = FALSE THEN 1 END),
+       COALESCE(SUM(CASE WHEN I.PAID = FALSE THEN I.AMOUNT END), 0),
+       MIN(CASE WHEN I.PAID = FALSE THEN I.DUE_DATE END)
+FROM LOAN L
+LEFT JOIN LOAN_INSTALLMENT I ON I.LOAN_ID = L.ID
+GROUP BY L.ID, L.CUSTOMER_ID, L.LOAN_AMOUNT, L.NUMBER_OF_INSTALLMENTS, L.PAID, L.CREATE_DATE;
@@ -0,0 +1,13 @@
+-- Version: 4 Append-only audit trail of money movements
+-- AUDIT_EVENT table
+CREATE TABLE AUDIT_EVENT (
+    ID BIGINT PRIMARY KEY AUTO_INCREMENT,
+    EVENT_TYPE VARCHAR(50) NOT NULL,
+    CUSTOMER_ID BIGINT NOT NULL,
+    LOAN_ID BIGINT,
+    INSTALLMENT_ID BIGINT,
+    AMOUNT DECIMAL(12, 2) NOT NULL,
+    OCCURRED_AT TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IDX_AUDIT_EVENT_LOAN_ID ON AUDIT_EVENT (LOAN_ID, ID);
@@ -0,0 +1,28 @@
+-- Version: 5 Archive of fully paid loans
+-- LOAN_ARCHIVE table, rows are moved here from LOAN / LOAN_SUMMARY
+CREATE TABLE LOAN_ARCHIVE (
+    LOAN_ID BIGINT PRIMARY KEY,
+    CUSTOMER_ID BIGINT NOT NULL,
+    LOAN_AMOUNT DECIMAL(12, 2) NOT NULL,
+    NUMBER_OF_INSTALLMENTS SMALLINT NOT NULL,
+    CREATE_DATE TIMESTAMP NOT NULL,
+    ARCHIVED_AT TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IDX_LOAN_ARCHIVE_CUSTOMER_ID ON LOAN_ARCHIVE (CUSTOMER_ID, LOAN_ID);
+
+-- LOAN_INSTALLMENT_ARCHIVE table, rows are moved here from LOAN_INSTALLMENT
+CREATE TABLE LOAN_INSTALLMENT_ARCHIVE (
+    ID BIGINT PRIMARY KEY,
+    LOAN_ID BIGINT NOT NULL,
+    AMOUNT DECIMAL(12, 2) NOT NULL,
+    PAID_AMOUNT DECIMAL(12, 2) NOT NULL,
+    DUE_DATE DATE NOT NULL,
+    PAYMENT_DATE DATE,
+    PAID BOOLEAN NOT NULL
+);
+
+CREATE INDEX IDX_LOAN_INSTALLMENT_ARCHIVE_LOAN_ID ON LOAN_INSTALLMENT_ARCHIVE (LOAN_ID, DUE_DATE);
+
+-- archival job looks up paid loans in id order
+CREATE INDEX IDX_LOAN_PAID ON LOAN (PAID, ID);
@@ -0,0 +1,5 @@
+-- Version: 6 Loan rules version of loans
+-- CONFIGURATION_VERSION column, empty for the loans created before loan rules were versioned
+ALTER TABLE LOAN ADD COLUMN CONFIGURATION_VERSION VARCHAR(12);
+
+ALTER TABLE LOAN_ARCHIVE ADD COLUMN CONFIGURATION_VERSION VARCHAR(12);
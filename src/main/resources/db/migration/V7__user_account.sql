@@ -0,0 +1,17 @@
+-- Version: 7 Credentials of the users
+-- USER_ACCOUNT table, customers log in with their customer number as username
+CREATE TABLE USER_ACCOUNT (
+    USERNAME VARCHAR(100) PRIMARY KEY,
+    PASSWORD_HASH VARCHAR(100) NOT NULL,
+    CUSTOMER_ID INT REFERENCES CUSTOMER(ID),
+    ENABLED BOOLEAN NOT NULL DEFAULT TRUE
+);
+
+CREATE UNIQUE INDEX IDX_USER_ACCOUNT_CUSTOMER_ID ON USER_ACCOUNT (CUSTOMER_ID);
+
+-- USER_ROLE table
+CREATE TABLE USER_ROLE (
+    USERNAME VARCHAR(100) NOT NULL REFERENCES USER_ACCOUNT(USERNAME),
+    ROLE VARCHAR(50) NOT NULL,
+    PRIMARY KEY (USERNAME, ROLE)
+);
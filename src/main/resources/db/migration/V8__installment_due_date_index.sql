@@ -0,0 +1,3 @@
+-- Version: 8 Due date index of the installments
+-- collections scan unpaid installments across all loans in due date order, resuming after the last row read
+CREATE INDEX IDX_LOAN_INSTALLMENT_PAID_DUE_DATE ON LOAN_INSTALLMENT (PAID, DUE_DATE, ID);
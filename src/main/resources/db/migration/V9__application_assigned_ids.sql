@@ -0,0 +1,6 @@
+-- Version: 9 Ids of customers, loans and installments are assigned by the application
+-- 64-bit time-ordered ids do not fit the INT columns of V1
+ALTER TABLE CUSTOMER ALTER COLUMN ID SET DATA TYPE BIGINT;
+ALTER TABLE LOAN ALTER COLUMN ID SET DATA TYPE BIGINT;
+ALTER TABLE LOAN ALTER COLUMN CUSTOMER_ID SET DATA TYPE BIGINT;
+ALTER TABLE USER_ACCOUNT ALTER COLUMN CUSTOMER_ID SET DATA TYPE BIGINT;
@@ -0,0 +1,47 @@
+package com.ing.loanapi;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * In-memory H2 databases with the schema of the application, built by its own Flyway migrations so that
+ * tests and benchmarks run against the tables production has, seed data included. A database is emptied
+ * and migrated again every time it is requested, so each test starts from the same state.
+ */
+public final class TestDatabases {
+
+	private TestDatabases() {
+	}
+
+	public static DriverManagerDataSource migrated(String name) {
+		return migrate(new DriverManagerDataSource(url(name), "sa", ""));
+	}
+
+	public static HikariDataSource migratedPool(String name, int maximumPoolSize) {
+		final var dataSource = new HikariDataSource();
+		dataSource.setJdbcUrl(url(name));
+		dataSource.setUsername("sa");
+		dataSource.setPoolName(name);
+		dataSource.setMaximumPoolSize(maximumPoolSize);
+		return migrate(dataSource);
+	}
+
+	private static <T extends DataSource> T migrate(T dataSource) {
+		final var flyway = Flyway.configure()
+				.dataSource(dataSource)
+				.locations("classpath:db/migration")
+				.cleanDisabled(false)
+				.load();
+		flyway.clean();
+		flyway.migrate();
+		return dataSource;
+	}
+
+	private static String url(String name) {
+		return "jdbc:h2:mem:" + name + ";LOCK_TIMEOUT=30000;DB_CLOSE_DELAY=-1";
+	}
+}
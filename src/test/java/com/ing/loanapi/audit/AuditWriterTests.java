@@ -0,0 +1,56 @@
+package com.ing.loanapi.audit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.ing.loanapi.properties.AuditConfigurationProperties.OverflowPolicy;
+import com.ing.loanapi.repository.AuditEventRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuditWriter Tests")
+public class AuditWriterTests {
+
+	@Mock
+	private AuditEventRepository auditEventRepository;
+
+	@Test
+	@DisplayName("Given buffered records, stop should flush all of them in batches before returning")
+	void givenBufferedRecords_stop_shouldFlushAllInBatches() {
+		final var written = new ArrayList<List<AuditRecord>>();
+		doAnswer(invocation -> {
+			written.add(List.copyOf(invocation.getArgument(0)));
+			return null;
+		}).when(auditEventRepository).insertAll(anyList());
+
+		final var auditBuffer = new AuditBuffer(100, OverflowPolicy.BLOCK, Duration.ofMillis(10));
+		final var auditWriter = new AuditWriter(auditBuffer, auditEventRepository, new SimpleMeterRegistry(), 10, Duration.ofMillis(50));
+
+		for (long i = 0; i < 25; i++) {
+			auditBuffer.offer(new AuditRecord(AuditEventType.INSTALLMENT_PAID, 100001L, 1L, i, BigDecimal.TEN, Instant.now()));
+		}
+
+		auditWriter.start();
+		auditWriter.stop();
+
+		// assertions
+		assertEquals(0, auditBuffer.size());
+		assertEquals(25, written.stream().mapToInt(List::size).sum());
+		written.forEach(batch -> assertTrue(batch.size() <= 10));
+	}
+}
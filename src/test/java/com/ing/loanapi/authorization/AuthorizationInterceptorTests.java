@@ -0,0 +1,231 @@
+package com.ing.loanapi.authorization;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.ing.loanapi.controller.LoanController;
+import com.ing.loanapi.exception.AccessForbiddenException;
+import com.ing.loanapi.service.LoanOwnershipService;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuthorizationInterceptor tests")
+public class AuthorizationInterceptorTests {
+
+	@Mock
+	LoanOwnershipService loanOwnershipService;
+
+	private AuthorizationInterceptor authorizationInterceptor;
+
+	@BeforeEach
+	void setUp() {
+		authorizationInterceptor = new AuthorizationInterceptor(loanOwnershipService);
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Nested
+	@DisplayName("ADMIN_OR_CUSTOMER Tests")
+	class AdminOrCustomerTests {
+
+		@Test
+		@DisplayName("Given customer asking for own loans, preHandle should grant access")
+		void givenOwnCustomerId_preHandle_shouldGrant() throws Exception {
+			authenticate("100001", "ROLE_CUSTOMER");
+			final var request = new MockHttpServletRequest("GET", "/loans");
+			request.setParameter("customerId", "100001");
+
+			// assertions
+			assertDoesNotThrow(() -> authorizationInterceptor.preHandle(request, new MockHttpServletResponse(), handler("getLoans")));
+		}
+
+		@Test
+		@DisplayName("Given customer asking for loans of another customer, preHandle should deny access")
+		void givenOtherCustomerId_preHandle_shouldDeny() throws Exception {
+			authenticate("100001", "ROLE_CUSTOMER");
+			final var request = new MockHttpServletRequest("GET", "/loans");
+			request.setParameter("customerId", "100002");
+
+			// assertions
+			assertThrows(AccessForbiddenException.class,
+					() -> authorizationInterceptor.preHandle(request, new MockHttpServletResponse(), handler("getLoans")));
+		}
+
+		@Test
+		@DisplayName("Given admin, preHandle should grant access to loans of any customer")
+		void givenAdmin_preHandle_shouldGrant() throws Exception {
+			authenticate("admin", "ROLE_ADMIN");
+			final var request = new MockHttpServletRequest("GET", "/loans");
+			request.setParameter("customerId", "100002");
+
+			// assertions
+			assertDoesNotThrow(() -> authorizationInterceptor.preHandle(request, new MockHttpServletResponse(), handler("getLoans")));
+		}
+	}
+
+	@Nested
+	@DisplayName("ADMIN_OR_LOAN_OWNER Tests")
+	class AdminOrLoanOwnerTests {
+
+		@Test
+		@DisplayName("Given owner of the loan, preHandle should grant access")
+		void givenLoanOwner_preHandle_shouldGrant() throws Exception {
+			authenticate("100001", "ROLE_CUSTOMER");
+			when(loanOwnershipService.isLoanOwnedBy(7L, "100001"))
+					.thenReturn(true);
+
+			// assertions
+			assertDoesNotThrow(() -> authorizationInterceptor.preHandle(loanRequest("7"), new MockHttpServletResponse(), handler("getLoanInstallments")));
+		}
+
+		@Test
+		@DisplayName("Given customer not owning the loan, preHandle should deny access")
+		void givenNotLoanOwner_preHandle_shouldDeny() throws Exception {
+			authenticate("100002", "ROLE_CUSTOMER");
+			when(loanOwnershipService.isLoanOwnedBy(7L, "100002"))
+					.thenReturn(false);
+
+			// assertions
+			assertThrows(AccessForbiddenException.class,
+					() -> authorizationInterceptor.preHandle(loanRequest("7"), new MockHttpServletResponse(), handler("getLoanInstallments")));
+		}
+
+		@Test
+		@DisplayName("Given admin, preHandle should grant access without looking up the owner")
+		void givenAdmin_preHandle_shouldGrantWithoutLookup() throws Exception {
+			authenticate("admin", "ROLE_ADMIN");
+
+			// assertions
+			assertDoesNotThrow(() -> authorizationInterceptor.preHandle(loanRequest("7"), new MockHttpServletResponse(), handler("getLoanInstallments")));
+			verify(loanOwnershipService, never()).isLoanOwnedBy(anyLong(), anyString());
+		}
+
+		@Test
+		@DisplayName("Given loan id that is not a number, preHandle should deny access")
+		void givenInvalidLoanId_preHandle_shouldDeny() throws Exception {
+			authenticate("100001", "ROLE_CUSTOMER");
+
+			// assertions
+			assertThrows(AccessForbiddenException.class,
+					() -> authorizationInterceptor.preHandle(loanRequest("abc"), new MockHttpServletResponse(), handler("getLoanInstallments")));
+		}
+	}
+
+	@Test
+	@DisplayName("Given customer, preHandle should deny admin only endpoints")
+	void givenCustomer_preHandle_shouldDenyAdminOnly() throws Exception {
+		authenticate("100001", "ROLE_CUSTOMER");
+
+		// assertions
+		assertThrows(AccessForbiddenException.class,
+				() -> authorizationInterceptor.preHandle(new MockHttpServletRequest("POST", "/loans"), new MockHttpServletResponse(), handler("createLoan")));
+	}
+
+	@Test
+	@DisplayName("Given handler method without @Authorize, preHandle should deny access")
+	void givenUnannotatedHandler_preHandle_shouldDeny() throws Exception {
+		authenticate("admin", "ROLE_ADMIN");
+		final var handler = new HandlerMethod(new UnannotatedController(), UnannotatedController.class.getMethod("get"));
+
+		// assertions
+		assertThrows(AccessForbiddenException.class,
+				() -> authorizationInterceptor.preHandle(new MockHttpServletRequest("GET", "/loans"), new MockHttpServletResponse(), handler));
+	}
+
+	@Test
+	@DisplayName("Given repeated denials, preHandle should throw the same exception without stack trace and suppressed exceptions")
+	void givenRepeatedDenials_preHandle_shouldThrowSharedStacklessException() throws Exception {
+		authenticate("100001", "ROLE_CUSTOMER");
+		final var first = assertThrows(AccessForbiddenException.class,
+				() -> authorizationInterceptor.preHandle(new MockHttpServletRequest("POST", "/loans"), new MockHttpServletResponse(), handler("createLoan")));
+		first.addSuppressed(new IllegalStateException());
+		final var second = assertThrows(AccessForbiddenException.class,
+				() -> authorizationInterceptor.preHandle(new MockHttpServletRequest("POST", "/loans"), new MockHttpServletResponse(), handler("createLoan")));
+
+		// assertions
+		assertSame(first, second);
+		assertEquals(0, second.getStackTrace().length);
+		assertEquals(0, second.getSuppressed().length);
+	}
+
+	@Test
+	@DisplayName("Given @Authorize referring to a missing parameter, compile should fail")
+	void givenMissingParameter_compile_shouldFail() throws Exception {
+		final var handler = new HandlerMethod(new UnannotatedController(), UnannotatedController.class.getMethod("getWithMissingParameter", Long.class));
+
+		// assertions
+		assertThrows(IllegalStateException.class, () -> authorizationInterceptor.compile(handler));
+	}
+
+	@Test
+	@DisplayName("Given every loan endpoint, compile should find the parameters of its @Authorize")
+	void givenLoanEndpoints_compile_shouldResolveParameters() {
+		// assertions
+		Arrays.stream(LoanController.class.getDeclaredMethods())
+				.filter(method -> method.isAnnotationPresent(Authorize.class))
+				.forEach(method -> assertDoesNotThrow(() -> authorizationInterceptor.compile(new HandlerMethod(new Object(), method))));
+	}
+
+	private static void authenticate(String username, String... authorities) {
+		SecurityContextHolder.getContext().setAuthentication(
+				UsernamePasswordAuthenticationToken.authenticated(username, null, AuthorityUtils.createAuthorityList(authorities)));
+	}
+
+	private static MockHttpServletRequest loanRequest(String loanId) {
+		final var request = new MockHttpServletRequest("GET", "/loans/" + loanId + "/installments");
+		request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("loanId", loanId));
+		return request;
+	}
+
+	private static HandlerMethod handler(String name) {
+		final var method = Arrays.stream(LoanController.class.getDeclaredMethods())
+				.filter(candidate -> candidate.getName().equals(name))
+				.findFirst()
+				.orElseThrow();
+		return new HandlerMethod(new Object(), method);
+	}
+
+	static class UnannotatedController {
+
+		@GetMapping
+		public String get() {
+			return "";
+		}
+
+		@GetMapping("/{loanId}")
+		@Authorize(value = Access.ADMIN_OR_LOAN_OWNER, parameter = "id")
+		public String getWithMissingParameter(@PathVariable Long loanId) {
+			return "";
+		}
+	}
+}
@@ -0,0 +1,98 @@
+package com.ing.loanapi.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+
+import com.ing.loanapi.token.AccessTokenCodec;
+import com.ing.loanapi.token.AccessTokenCodec.AccessToken;
+import com.ing.loanapi.token.BearerTokenAuthenticationFilter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+
+/**
+ * Authentication cost per request of basic authentication, which verifies the BCrypt hash of the
+ * password on every request, and of a bearer token, which verifies an HMAC. Both run through their
+ * servlet filters with the user already loaded, so only the credential check differs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthenticationOverheadBenchmark {
+
+	private static final FilterChain NO_OP_CHAIN = (request, response) -> SecurityContextHolder.clearContext();
+
+	@Param({"10", "12"})
+	private int bcryptStrength;
+
+	private BasicAuthenticationFilter basicFilter;
+	private BearerTokenAuthenticationFilter bearerFilter;
+	private String basicHeader;
+	private String bearerHeader;
+
+	@Setup
+	public void setUp() {
+		final var passwordEncoder = new BCryptPasswordEncoder(bcryptStrength);
+		final var userDetailsService = new InMemoryUserDetailsManager(User.withUsername("100001")
+				.password(passwordEncoder.encode("password"))
+				.roles("CUSTOMER")
+				.build());
+		final var authenticationProvider = new DaoAuthenticationProvider(passwordEncoder);
+		authenticationProvider.setUserDetailsService(userDetailsService);
+		basicFilter = new BasicAuthenticationFilter(new ProviderManager(authenticationProvider));
+		basicHeader = "Basic " + Base64.getEncoder().encodeToString("100001:password".getBytes(StandardCharsets.UTF_8));
+
+		final var clock = Clock.systemUTC();
+		final var accessTokenCodec = new AccessTokenCodec("0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.US_ASCII), clock);
+		bearerFilter = new BearerTokenAuthenticationFilter(accessTokenCodec, request -> false, new SimpleMeterRegistry());
+		bearerHeader = "Bearer " + accessTokenCodec.encode(
+				new AccessToken("100001", List.of("ROLE_CUSTOMER"), clock.instant().plus(Duration.ofHours(1))));
+	}
+
+	@Benchmark
+	public MockHttpServletResponse basic() throws Exception {
+		return authenticate(basicFilter, basicHeader);
+	}
+
+	@Benchmark
+	public MockHttpServletResponse bearer() throws Exception {
+		return authenticate(bearerFilter, bearerHeader);
+	}
+
+	private static MockHttpServletResponse authenticate(Filter filter, String authorization) throws Exception {
+		final var request = new MockHttpServletRequest("GET", "/loans");
+		request.addHeader("Authorization", authorization);
+		final var response = new MockHttpServletResponse();
+		filter.doFilter(request, response, NO_OP_CHAIN);
+		return response;
+	}
+}
@@ -0,0 +1,143 @@
+package com.ing.loanapi.benchmark;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.util.SimpleMethodInvocation;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.ing.loanapi.authorization.AuthorizationInterceptor;
+import com.ing.loanapi.controller.LoanController;
+import com.ing.loanapi.service.LoanOwnershipService;
+
+/**
+ * Authorization cost per request of a customer reading its own loans ({@code customer}) or the
+ * installments of its own loan ({@code loanOwner}). {@code spel} evaluates the {@code @PreAuthorize}
+ * expressions the endpoints used to have through the method security authorization manager, while
+ * {@code compiled} runs the {@link AuthorizationInterceptor} over the endpoints' {@code @Authorize}
+ * annotations. The ownership lookup is stubbed on both sides, so only the decision itself is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthorizationBenchmark {
+
+	@Param({"customer", "loanOwner"})
+	private String endpoint;
+
+	private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+	private Supplier<Authentication> authentication;
+	private PreAuthorizeAuthorizationManager authorizationManager;
+	private SimpleMethodInvocation invocation;
+	private AuthorizationInterceptor authorizationInterceptor;
+	private MockHttpServletRequest request;
+	private HandlerMethod handlerMethod;
+	private StaticApplicationContext applicationContext;
+
+	@Setup
+	public void setUp() throws Exception {
+		final var customer = UsernamePasswordAuthenticationToken.authenticated("100001", null,
+				AuthorityUtils.createAuthorityList("ROLE_CUSTOMER"));
+		authentication = () -> customer;
+		// setup and the measured calls are not guaranteed to share a thread
+		SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+		SecurityContextHolder.getContext().setAuthentication(customer);
+
+		final var loanOwnershipService = new LoanOwnershipService(null) {
+
+			@Override
+			public boolean isLoanOwnedBy(Long loanId, String username) {
+				return true;
+			}
+		};
+
+		applicationContext = new StaticApplicationContext();
+		applicationContext.getBeanFactory().registerSingleton("loanOwnershipService", loanOwnershipService);
+		applicationContext.refresh();
+		final var expressionHandler = new DefaultMethodSecurityExpressionHandler();
+		expressionHandler.setApplicationContext(applicationContext);
+		authorizationManager = new PreAuthorizeAuthorizationManager();
+		authorizationManager.setExpressionHandler(expressionHandler);
+
+		authorizationInterceptor = new AuthorizationInterceptor(loanOwnershipService);
+		request = new MockHttpServletRequest();
+		if ("customer".equals(endpoint)) {
+			invocation = new SimpleMethodInvocation(new SpelEndpoints(), SpelEndpoints.class.getMethod("getLoans", Long.class), 100001L);
+			handlerMethod = handlerMethod("getLoans");
+			request.setParameter("customerId", "100001");
+		}
+		else {
+			invocation = new SimpleMethodInvocation(new SpelEndpoints(), SpelEndpoints.class.getMethod("getLoanInstallments", Long.class), 1L);
+			handlerMethod = handlerMethod("getLoanInstallments");
+			request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("loanId", "1"));
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		SecurityContextHolder.clearContext();
+		applicationContext.close();
+	}
+
+	@Benchmark
+	public AuthorizationResult spel() {
+		return authorizationManager.authorize(authentication, invocation);
+	}
+
+	@Benchmark
+	public boolean compiled() {
+		return authorizationInterceptor.preHandle(request, response, handlerMethod);
+	}
+
+	private static HandlerMethod handlerMethod(String name) {
+		final var method = Arrays.stream(LoanController.class.getDeclaredMethods())
+				.filter(candidate -> candidate.getName().equals(name))
+				.findFirst()
+				.orElseThrow();
+		return new HandlerMethod(new Object(), method);
+	}
+
+	/**
+	 * The expressions of the endpoints before they were replaced with {@code @Authorize}.
+	 */
+	public static class SpelEndpoints {
+
+		@PreAuthorize("hasRole('ADMIN') or authentication.name == #customerId.toString()")
+		public void getLoans(Long customerId) {
+		}
+
+		@PreAuthorize("hasRole('ADMIN') or @loanOwnershipService.isLoanOwnedBy(#loanId, authentication.name)")
+		public void getLoanInstallments(Long loanId) {
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package com.ing.loanapi.benchmark;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ing.loanapi.TestDatabases;
+import com.ing.loanapi.credit.CreditDeltaCoalescer;
+import com.ing.loanapi.credit.CreditDeltaResult;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Credit limit updates of concurrent requests spread over {@code customers} rows. {@code rowPerRequest}
+ * locks and updates the row in a transaction of its own, like the default path does, while
+ * {@code coalesced} goes through the {@link CreditDeltaCoalescer}. With a single customer, every
+ * request of the first contends for the same row lock.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(64)
+@Fork(1)
+public class CreditContentionBenchmark {
+
+	@Param({"1", "16"})
+	private int customers;
+
+	private HikariDataSource dataSource;
+	private JdbcTemplate jdbcTemplate;
+	private TransactionTemplate transactionTemplate;
+	private CreditDeltaCoalescer coalescer;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		dataSource = TestDatabases.migratedPool("credit-contention", 64);
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+		// the largest limit the column holds, never used up within a run
+		for (var i = 0; i < customers; i++) {
+			jdbcTemplate.update("""
+					MERGE INTO CUSTOMER (ID, NAME, SURNAME, CREDIT_LIMIT, USED_CREDIT_LIMIT) KEY (ID)
+					VALUES (?, 'John', 'Doe', 9999999999.99, 0.00)
+					""", 100001L + i);
+		}
+
+		// closed by the coalescer when it stops
+		final var coalescerDataSource = new HikariDataSource();
+		coalescerDataSource.setJdbcUrl(dataSource.getJdbcUrl());
+		coalescerDataSource.setUsername("sa");
+		coalescerDataSource.setPoolName("credit-contention-coalescer");
+		coalescerDataSource.setMaximumPoolSize(1);
+		coalescer = new CreditDeltaCoalescer(true, coalescerDataSource, new SimpleMeterRegistry(), 256, Duration.ofSeconds(30));
+		coalescer.start();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		coalescer.stop();
+		dataSource.close();
+	}
+
+	@Benchmark
+	public Integer rowPerRequest() {
+		final var customerId = nextCustomerId();
+		return transactionTemplate.execute(status -> {
+			jdbcTemplate.queryForObject("SELECT USED_CREDIT_LIMIT FROM CUSTOMER WHERE ID = ? FOR UPDATE", BigDecimal.class, customerId);
+			return jdbcTemplate.update("UPDATE CUSTOMER SET USED_CREDIT_LIMIT = USED_CREDIT_LIMIT + 1.00 WHERE ID = ?", customerId);
+		});
+	}
+
+	@Benchmark
+	public CreditDeltaResult coalesced() throws Exception {
+		return coalescer.apply(nextCustomerId(), 100L, true);
+	}
+
+	private long nextCustomerId() {
+		return 100001L + ThreadLocalRandom.current().nextInt(customers);
+	}
+}
@@ -0,0 +1,126 @@
+package com.ing.loanapi.benchmark;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ing.loanapi.TestDatabases;
+import com.ing.loanapi.id.SnowflakeIdGenerator;
+import com.ing.loanapi.sharding.ShardRouter;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Inserting a loan with its installments, one transaction per loan. {@code identity} lets the database
+ * assign the ids and reads each one back after its insert, the way {@code GenerationType.IDENTITY} makes
+ * Hibernate insert row by row, while {@code snowflake} assigns the ids up front with the
+ * {@link SnowflakeIdGenerator} and sends the installments in one batch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class IdInsertBenchmark {
+
+	private static final String INSERT_LOAN = "INSERT INTO LOAN (ID, CUSTOMER_ID, LOAN_AMOUNT, NUMBER_OF_INSTALLMENTS, CREATE_DATE) VALUES (?, 100001, 12000.00, ?, ?)";
+	private static final String INSERT_INSTALLMENT = "INSERT INTO LOAN_INSTALLMENT (ID, LOAN_ID, AMOUNT, DUE_DATE) VALUES (?, ?, 1000.00, ?)";
+
+	@Param({"6", "24"})
+	private int installments;
+
+	private HikariDataSource dataSource;
+	private JdbcTemplate jdbcTemplate;
+	private TransactionTemplate transactionTemplate;
+	private SnowflakeIdGenerator idGenerator;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		dataSource = TestDatabases.migratedPool("id-insert", 8);
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+		idGenerator = new SnowflakeIdGenerator(new ShardRouter(1), 0, System::currentTimeMillis);
+
+		// identity ids start far above the snowflake ids of the other benchmark
+		jdbcTemplate.execute("ALTER TABLE LOAN ALTER COLUMN ID RESTART WITH " + Long.MAX_VALUE / 2);
+		jdbcTemplate.execute("ALTER TABLE LOAN_INSTALLMENT ALTER COLUMN ID RESTART WITH " + Long.MAX_VALUE / 2);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		dataSource.close();
+	}
+
+	@Benchmark
+	public Long identity() {
+		return transactionTemplate.execute(status -> {
+			final var today = LocalDate.now();
+			final var loanId = insertReturningId(
+					"INSERT INTO LOAN (CUSTOMER_ID, LOAN_AMOUNT, NUMBER_OF_INSTALLMENTS, CREATE_DATE) VALUES (100001, 12000.00, ?, ?)",
+					installments, today.atStartOfDay());
+			for (var i = 0; i < installments; i++) {
+				insertReturningId("INSERT INTO LOAN_INSTALLMENT (LOAN_ID, AMOUNT, DUE_DATE) VALUES (?, 1000.00, ?)",
+						loanId, today.plusMonths(i + 1));
+			}
+			return loanId;
+		});
+	}
+
+	@Benchmark
+	public Long snowflake() {
+		return transactionTemplate.execute(status -> {
+			final var today = LocalDate.now();
+			final var loanId = idGenerator.nextId();
+			jdbcTemplate.update(INSERT_LOAN, loanId, installments, today.atStartOfDay());
+			jdbcTemplate.batchUpdate(INSERT_INSTALLMENT, new BatchPreparedStatementSetter() {
+				@Override
+				public void setValues(PreparedStatement statement, int i) throws SQLException {
+					statement.setLong(1, idGenerator.nextId());
+					statement.setLong(2, loanId);
+					statement.setObject(3, today.plusMonths(i + 1));
+				}
+
+				@Override
+				public int getBatchSize() {
+					return installments;
+				}
+			});
+			return loanId;
+		});
+	}
+
+	private Long insertReturningId(String sql, Object... parameters) {
+		final var keyHolder = new GeneratedKeyHolder();
+		jdbcTemplate.update(connection -> {
+			final var statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+			for (var i = 0; i < parameters.length; i++) {
+				statement.setObject(i + 1, parameters[i]);
+			}
+			return statement;
+		}, keyHolder);
+		return keyHolder.getKey().longValue();
+	}
+}
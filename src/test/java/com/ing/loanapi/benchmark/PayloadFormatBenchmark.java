@@ -0,0 +1,84 @@
+package com.ing.loanapi.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.ing.loanapi.dto.LoanInstallmentDto;
+
+/**
+ * Serialization cost of an installment list in JSON and CBOR, with the object mappers configured the
+ * way the message converters are. The payload sizes of both formats are printed during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayloadFormatBenchmark {
+
+	private static final TypeReference<List<LoanInstallmentDto>> INSTALLMENTS = new TypeReference<>() {
+	};
+
+	@Param({"JSON", "CBOR"})
+	private String format;
+
+	@Param({"24", "10000"})
+	private int installments;
+
+	private ObjectMapper objectMapper;
+	private List<LoanInstallmentDto> payload;
+	private byte[] serialized;
+
+	@Setup
+	public void setUp() throws Exception {
+		// dates as strings, like the auto-configured builder
+		final var builder = Jackson2ObjectMapperBuilder.json()
+				.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+		objectMapper = "CBOR".equals(format)
+				? builder.factory(new CBORFactory()).build()
+				: builder.build();
+
+		payload = new ArrayList<>(installments);
+		final var firstDueDate = LocalDate.of(2025, 1, 1);
+		for (var i = 0; i < installments; i++) {
+			final var paid = i % 3 == 0;
+			final var amount = new BigDecimal("5208.33");
+			payload.add(new LoanInstallmentDto((long) i + 1, (long) i / 24 + 1, amount, paid ? amount : BigDecimal.ZERO,
+					firstDueDate.plusMonths(i % 24), paid ? firstDueDate.plusMonths(i % 24).minusDays(3) : null, paid));
+		}
+
+		serialized = objectMapper.writeValueAsBytes(payload);
+		System.out.printf("%n%s payload of %d installments: %d bytes%n", format, installments, serialized.length);
+	}
+
+	@Benchmark
+	public byte[] serialize() throws Exception {
+		return objectMapper.writeValueAsBytes(payload);
+	}
+
+	@Benchmark
+	public List<LoanInstallmentDto> deserialize() throws Exception {
+		return objectMapper.readValue(serialized, INSTALLMENTS);
+	}
+}
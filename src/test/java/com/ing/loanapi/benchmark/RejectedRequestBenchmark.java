@@ -0,0 +1,87 @@
+package com.ing.loanapi.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.ing.loanapi.advice.ControllerExceptionHandler;
+import com.ing.loanapi.dto.ErrorDto;
+import com.ing.loanapi.exception.BusinessException;
+import com.ing.loanapi.exception.InsufficientCreditLimitException;
+
+/**
+ * Cost of rejecting a request with a business exception thrown {@code depth} frames below the exception
+ * handler, which is roughly where a service method runs in a servlet request. {@code traced} fills in the
+ * stack trace and builds the response body, as every rejection did before, {@code stackless} creates a
+ * stackless exception answered with its shared body and {@code preallocated} throws a single shared instance.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RejectedRequestBenchmark {
+
+	private static final InsufficientCreditLimitException PREALLOCATED = new InsufficientCreditLimitException();
+
+	@Param({"20", "150"})
+	private int depth;
+
+	private final ControllerExceptionHandler handler = new ControllerExceptionHandler();
+
+	@Benchmark
+	public ResponseEntity<ErrorDto> traced() {
+		return reject(() -> new TracedException());
+	}
+
+	@Benchmark
+	public ResponseEntity<ErrorDto> stackless() {
+		return reject(InsufficientCreditLimitException::new);
+	}
+
+	@Benchmark
+	public ResponseEntity<ErrorDto> preallocated() {
+		return reject(() -> PREALLOCATED);
+	}
+
+	private ResponseEntity<ErrorDto> reject(ExceptionFactory factory) {
+		try {
+			throwAt(depth, factory);
+			throw new IllegalStateException();
+		} catch (BusinessException e) {
+			return handler.handleBusinessException(e);
+		}
+	}
+
+	private static void throwAt(int depth, ExceptionFactory factory) throws BusinessException {
+		if (depth == 0) {
+			throw factory.create();
+		}
+		throwAt(depth - 1, factory);
+	}
+
+	@FunctionalInterface
+	private interface ExceptionFactory {
+		BusinessException create();
+	}
+
+	private static class TracedException extends BusinessException {
+
+		TracedException() {
+			super("Credit limit of the customer is not sufficient to perform this transaction!", null,
+					"INSUFFICIENT_CREDIT_LIMIT", HttpStatus.CONFLICT, true);
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package com.ing.loanapi.benchmark;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ing.loanapi.schedule.AnnuityScheduleCalculator;
+import com.ing.loanapi.schedule.FlatScheduleCalculator;
+import com.ing.loanapi.schedule.InterestModel;
+import com.ing.loanapi.schedule.ReducingBalanceScheduleCalculator;
+import com.ing.loanapi.schedule.Schedule;
+import com.ing.loanapi.schedule.ScheduleCalculator;
+import com.ing.loanapi.schedule.ScheduleEngine;
+
+/**
+ * Schedule generation per interest model. {@code kernel} measures the calculator alone on a reused
+ * array, {@code engine} the full path taken by loan creation, including the amount conversion and
+ * the schedule allocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScheduleCalculatorBenchmark {
+
+	@Param({"FLAT", "ANNUITY", "REDUCING_BALANCE"})
+	private InterestModel interestModel;
+
+	@Param({"12", "24"})
+	private int numberOfInstallments;
+
+	private final BigDecimal amount = new BigDecimal("125000.50");
+	private final double interestRate = 0.35;
+
+	private ScheduleEngine scheduleEngine;
+	private ScheduleCalculator calculator;
+	private long[] installmentCents;
+
+	@Setup
+	public void setUp() {
+		final var calculators = List.<ScheduleCalculator>of(
+				new FlatScheduleCalculator(), new AnnuityScheduleCalculator(), new ReducingBalanceScheduleCalculator());
+		scheduleEngine = new ScheduleEngine(calculators);
+		calculator = calculators.stream()
+				.filter(candidate -> candidate.interestModel() == interestModel)
+				.findFirst()
+				.orElseThrow();
+		installmentCents = new long[numberOfInstallments];
+	}
+
+	@Benchmark
+	public long kernel() {
+		return calculator.calculate(12_500_050L, interestRate, installmentCents);
+	}
+
+	@Benchmark
+	public Schedule engine() {
+		return scheduleEngine.calculate(interestModel, amount, interestRate, numberOfInstallments);
+	}
+}
@@ -0,0 +1,148 @@
+package com.ing.loanapi.benchmark;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.ing.loanapi.TestDatabases;
+import com.ing.loanapi.properties.AuthenticationConfigurationProperties;
+import com.ing.loanapi.repository.UserAccountRepository;
+import com.ing.loanapi.service.UserAccountService;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * User lookups against a store of a million accounts. {@code store} reads every lookup from the database,
+ * while {@code cached} goes through the cache of {@link UserAccountService}. {@code authenticate} runs the
+ * whole authentication of a request with a password, the cached lookup and the BCrypt verification at the
+ * strength of {@code auth.password.bcrypt-strength}, to show the share of the lookup in it. A tenth of
+ * the users make nine tenths of the lookups, like the active customers of a day do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class UserLookupBenchmark {
+
+	private static final int USERS = 1_000_000;
+	private static final int BATCH_SIZE = 10_000;
+
+	@Param({"100000"})
+	private long cacheMaxSize;
+
+	// auth.password.bcrypt-strength of application.yml
+	@Param({"10"})
+	private int bcryptStrength;
+
+	private HikariDataSource dataSource;
+	private UserAccountRepository userAccountRepository;
+	private UserAccountService userAccountService;
+	private AuthenticationProvider authenticationProvider;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		dataSource = TestDatabases.migratedPool("user-lookup", 16);
+		final var jdbcTemplate = new JdbcTemplate(dataSource);
+
+		// hashing a million passwords would take hours, every user shares one hash
+		final var passwordEncoder = new BCryptPasswordEncoder(bcryptStrength);
+		final var passwordHash = passwordEncoder.encode("password");
+		final var customers = new ArrayList<Object[]>(BATCH_SIZE);
+		final var accounts = new ArrayList<Object[]>(BATCH_SIZE);
+		final var roles = new ArrayList<Object[]>(BATCH_SIZE);
+		for (var i = 0; i < USERS; i++) {
+			final var customerId = 100001L + i;
+			final var username = String.valueOf(customerId);
+			// the first customers are created by the migrations
+			if (customerId > 100003L) {
+				customers.add(new Object[] { customerId });
+			}
+			accounts.add(new Object[] { username, passwordHash, customerId });
+			roles.add(new Object[] { username, "CUSTOMER" });
+			if (accounts.size() == BATCH_SIZE) {
+				insert(jdbcTemplate, customers, accounts, roles);
+			}
+		}
+		insert(jdbcTemplate, customers, accounts, roles);
+
+		userAccountRepository = new UserAccountRepository(new NamedParameterJdbcTemplate(dataSource));
+		final var properties = new AuthenticationConfigurationProperties(null,
+				new AuthenticationConfigurationProperties.Password(bcryptStrength),
+				new AuthenticationConfigurationProperties.UserCache(cacheMaxSize, Duration.ofMinutes(5)),
+				null);
+		userAccountService = new UserAccountService(userAccountRepository, passwordEncoder, properties, new SimpleMeterRegistry());
+
+		// what Spring Boot builds from the user details service and password encoder of the application
+		final var daoAuthenticationProvider = new DaoAuthenticationProvider(passwordEncoder);
+		daoAuthenticationProvider.setUserDetailsService(userAccountService);
+		daoAuthenticationProvider.setUserDetailsPasswordService(userAccountService);
+		authenticationProvider = daoAuthenticationProvider;
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		dataSource.close();
+	}
+
+	@Benchmark
+	public UserAccountRepository.UserAccount store() {
+		return userAccountRepository.findByUsername(nextUsername()).orElseThrow();
+	}
+
+	@Benchmark
+	public UserDetails cached() {
+		return userAccountService.loadUserByUsername(nextUsername());
+	}
+
+	@Benchmark
+	public Authentication authenticate() {
+		return authenticationProvider.authenticate(
+				UsernamePasswordAuthenticationToken.unauthenticated(nextUsername(), "password"));
+	}
+
+	private static String nextUsername() {
+		final var random = ThreadLocalRandom.current();
+		final var user = random.nextInt(10) == 0
+				? random.nextInt(USERS)
+				: random.nextInt(USERS / 10);
+		return String.valueOf(100001 + user);
+	}
+
+	private static void insert(JdbcTemplate jdbcTemplate, List<Object[]> customers, List<Object[]> accounts, List<Object[]> roles) {
+		jdbcTemplate.batchUpdate("INSERT INTO CUSTOMER (ID, NAME, SURNAME, CREDIT_LIMIT) VALUES (?, 'John', 'Doe', 10000.00)", customers);
+		jdbcTemplate.batchUpdate("INSERT INTO USER_ACCOUNT (USERNAME, PASSWORD_HASH, CUSTOMER_ID) VALUES (?, ?, ?)", accounts);
+		jdbcTemplate.batchUpdate("INSERT INTO USER_ROLE (USERNAME, ROLE) VALUES (?, ?)", roles);
+		customers.clear();
+		accounts.clear();
+		roles.clear();
+	}
+}
@@ -0,0 +1,112 @@
+package com.ing.loanapi.controller;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.ing.loanapi.dto.LoanDto;
+import com.ing.loanapi.dto.command.CreateLoanCommand;
+import com.ing.loanapi.exception.BusinessException;
+import com.ing.loanapi.exception.InvalidInterestRateException;
+import com.ing.loanapi.exception.InvalidNumberOfInstallmentsException;
+import com.ing.loanapi.exception.LoanAmountTooLowException;
+import com.ing.loanapi.properties.LoanConfigurationProperties;
+import com.ing.loanapi.service.AuditService;
+import com.ing.loanapi.service.LoanService;
+import com.ing.loanapi.service.LoanSimulationService;
+import com.ing.loanapi.validation.LoanRuleValidator;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LoanController tests")
+public class LoanControllerTests {
+
+	@InjectMocks
+	LoanController loanController;
+
+	// the rejection tests only verify that this mock is never called; that no database connection is taken
+	// follows from LoanService being where the transaction starts, which these tests do not check
+	@Mock
+	LoanService loanService;
+
+	@Mock
+	AuditService auditService;
+
+	@Mock
+	LoanSimulationService loanSimulationService;
+
+	@Spy
+	LoanRuleValidator loanRuleValidator = new LoanRuleValidator(new LoanConfigurationProperties(
+			new LoanConfigurationProperties.InterestRate(0.1, 0.5),
+			new LoanConfigurationProperties.InterestRate(0.1, 0.5),
+			new LoanConfigurationProperties.Installment(Set.of((short) 6, (short) 9, (short) 12, (short) 24)),
+			(short) 3, 0.001, 0.001, new BigDecimal("1000")), new SimpleMeterRegistry());
+
+	@Nested
+	@DisplayName("createLoan tests")
+	class CreateLoanTests {
+
+		@Test
+		@DisplayName("Given amount lower than minimum, createLoan should reject command without calling the loan service")
+		void givenAmountTooLow_createLoan_shouldRejectBeforeService() throws BusinessException {
+			final var command = new CreateLoanCommand(100001L, new BigDecimal("999"), 0.2, (short) 12);
+
+			// assertions
+			assertThrows(LoanAmountTooLowException.class, () -> loanController.createLoan(command));
+
+			verify(loanService, never()).createLoan(any());
+		}
+
+		@Test
+		@DisplayName("Given not allowed number of installments, createLoan should reject command without calling the loan service")
+		void givenNotAllowedInstallments_createLoan_shouldRejectBeforeService() throws BusinessException {
+			final var command = new CreateLoanCommand(100001L, new BigDecimal("10000"), 0.2, (short) 7);
+
+			// assertions
+			assertThrows(InvalidNumberOfInstallmentsException.class, () -> loanController.createLoan(command));
+
+			verify(loanService, never()).createLoan(any());
+		}
+
+		@Test
+		@DisplayName("Given interest rate out of range, createLoan should reject command without calling the loan service")
+		void givenInterestRateOutOfRange_createLoan_shouldRejectBeforeService() throws BusinessException {
+			final var command = new CreateLoanCommand(100001L, new BigDecimal("10000"), 0.9, (short) 12);
+
+			// assertions
+			assertThrows(InvalidInterestRateException.class, () -> loanController.createLoan(command));
+
+			verify(loanService, never()).createLoan(any());
+		}
+
+		@Test
+		@DisplayName("Given valid command, createLoan should delegate to the service")
+		void givenValidCommand_createLoan_shouldDelegateToService() throws BusinessException {
+			final var command = new CreateLoanCommand(100001L, new BigDecimal("10000"), 0.2, (short) 12);
+			final var loanDto = new LoanDto(1L, 100001L, new BigDecimal("10000"), (short) 12, false, LocalDate.now());
+
+			when(loanService.createLoan(command))
+					.thenReturn(loanDto);
+
+			// assertions
+			assertSame(loanDto, loanController.createLoan(command));
+		}
+	}
+}
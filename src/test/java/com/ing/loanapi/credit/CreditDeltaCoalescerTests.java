@@ -0,0 +1,139 @@
+package com.ing.loanapi.credit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.ing.loanapi.TestDatabases;
+import com.ing.loanapi.exception.CustomerNotFoundException;
+import com.ing.loanapi.exception.InsufficientCreditLimitException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("CreditDeltaCoalescer tests")
+public class CreditDeltaCoalescerTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private JdbcTemplate jdbcTemplate;
+	private CreditDeltaCoalescer coalescer;
+
+	@BeforeEach
+	void setUp() {
+		final var dataSource = TestDatabases.migrated("credit-coalescer-tests");
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.update("UPDATE CUSTOMER SET CREDIT_LIMIT = 500.00, USED_CREDIT_LIMIT = 0.00 WHERE ID = 100001");
+		jdbcTemplate.update("UPDATE CUSTOMER SET CREDIT_LIMIT = 1000.00, USED_CREDIT_LIMIT = 300.00 WHERE ID = 100002");
+
+		coalescer = new CreditDeltaCoalescer(true, dataSource, meterRegistry, 256, Duration.ofSeconds(5));
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (coalescer.isRunning()) {
+			coalescer.stop();
+		}
+	}
+
+	@Test
+	@DisplayName("Given deltas queued together, coalescer should apply them in order in one commit and reject the exceeding one")
+	void givenQueuedDeltas_coalescer_shouldApplyThemInOneCommit() throws Exception {
+		final var first = coalescer.submit(100001L, 30_000L, true);
+		final var second = coalescer.submit(100001L, 30_000L, true);
+		final var third = coalescer.submit(100001L, 20_000L, true);
+		final var release = coalescer.submit(100002L, -50_000L, false);
+		final var missing = coalescer.submit(999999L, 100L, true);
+
+		coalescer.start();
+
+		// assertions
+		assertEquals(30_000L, first.get(5, TimeUnit.SECONDS).usedCents());
+		final var exception = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+		assertInstanceOf(InsufficientCreditLimitException.class, exception.getCause());
+		assertEquals(50_000L, third.get(5, TimeUnit.SECONDS).usedCents());
+
+		// releases are clamped at zero
+		assertEquals(-30_000L, release.get(5, TimeUnit.SECONDS).appliedCents());
+		assertEquals(0L, release.get().usedCents());
+
+		final var notFound = assertThrows(ExecutionException.class, () -> missing.get(5, TimeUnit.SECONDS));
+		assertInstanceOf(CustomerNotFoundException.class, notFound.getCause());
+
+		assertEquals(new BigDecimal("500.00"), usedCreditLimit(100001L));
+		assertEquals(new BigDecimal("0.00"), usedCreditLimit(100002L));
+		assertEquals(1.0, meterRegistry.counter("credit.coalescing.commits").count());
+		assertEquals(5.0, meterRegistry.counter("credit.coalescing.deltas").count());
+	}
+
+	@Test
+	@DisplayName("Given applied delta, revert should restore used credit limit")
+	void givenAppliedDelta_revert_shouldRestoreUsedCreditLimit() throws Exception {
+		coalescer.start();
+
+		final var result = coalescer.apply(100002L, 20_000L, true);
+		coalescer.revert(result);
+		coalescer.apply(100002L, 0L, false);
+
+		// assertions
+		assertEquals(50_000L, result.usedCents());
+		assertEquals(new BigDecimal("300.00"), usedCreditLimit(100002L));
+	}
+
+	@Test
+	@DisplayName("Given concurrent reservations exceeding the limit, coalescer should never exceed the credit limit")
+	void givenConcurrentReservations_coalescer_shouldNotExceedCreditLimit() throws Exception {
+		coalescer.start();
+
+		final var threads = 16;
+		final var reservationsPerThread = 25;
+		final var executor = Executors.newFixedThreadPool(threads);
+		final var start = new CountDownLatch(1);
+		final var results = new ArrayList<Future<Integer>>();
+		for (var i = 0; i < threads; i++) {
+			results.add(executor.submit(() -> {
+				start.await();
+				var accepted = 0;
+				for (var j = 0; j < reservationsPerThread; j++) {
+					try {
+						coalescer.apply(100001L, 200L, true);
+						accepted++;
+					} catch (InsufficientCreditLimitException e) {
+						// expected once the limit is used up
+					}
+				}
+				return accepted;
+			}));
+		}
+		start.countDown();
+
+		var accepted = 0;
+		for (final var result : results) {
+			accepted += result.get(30, TimeUnit.SECONDS);
+		}
+		executor.shutdown();
+
+		// assertions
+		assertEquals(250, accepted);
+		assertEquals(new BigDecimal("500.00"), usedCreditLimit(100001L));
+		assertEquals(threads * reservationsPerThread, (int) meterRegistry.counter("credit.coalescing.deltas").count());
+	}
+
+	private BigDecimal usedCreditLimit(Long customerId) {
+		return jdbcTemplate.queryForObject("SELECT USED_CREDIT_LIMIT FROM CUSTOMER WHERE ID = ?", BigDecimal.class, customerId);
+	}
+}
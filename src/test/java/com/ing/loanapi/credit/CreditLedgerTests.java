@@ -0,0 +1,140 @@
+package com.ing.loanapi.credit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("CreditLedger tests")
+public class CreditLedgerTests {
+
+	@Test
+	@DisplayName("Given reservation exceeding available limit, tryReserve should reject it and keep used amount")
+	void givenReservationExceedingLimit_tryReserve_shouldReject() {
+		final var account = new CreditAccount(100001L, "John", "Doe", 10_000L, 9_000L);
+
+		// assertions
+		assertFalse(account.tryReserve(1_001L));
+		assertTrue(account.tryReserve(1_000L));
+		assertEquals(10_000L, account.getUsedCents());
+	}
+
+	@Test
+	@DisplayName("Given drained deltas, restorePendingDeltas should add them to deltas recorded meanwhile")
+	void givenDrainedDeltas_restorePendingDeltas_shouldMergeWithNewDeltas() {
+		final var ledger = new CreditLedger(true);
+		ledger.addPendingDelta(100001L, 500L);
+		ledger.addPendingDelta(100002L, -200L);
+
+		final var drained = ledger.drainPendingDeltas();
+		ledger.addPendingDelta(100001L, 100L);
+		ledger.restorePendingDeltas(drained);
+
+		// assertions
+		assertEquals(Map.of(100001L, 500L, 100002L, -200L), drained);
+		assertEquals(Map.of(100001L, 600L, 100002L, -200L), ledger.drainPendingDeltas());
+		assertTrue(ledger.drainPendingDeltas().isEmpty());
+	}
+
+	@Test
+	@DisplayName("Given concurrent reservations and releases, ledger should never exceed credit limit and deltas should add up")
+	void givenConcurrentReservationsAndReleases_ledger_shouldStayConsistent() throws Exception {
+		final var threads = 16;
+		final var operationsPerThread = 20_000;
+		final var creditLimitCents = 1_000_000L;
+
+		final var ledger = new CreditLedger(true);
+		final var accounts = new ArrayList<CreditAccount>();
+		for (var customerId = 1L; customerId <= 4; customerId++) {
+			accounts.add(ledger.loadIfAbsent(new CreditAccount(customerId, "Customer", String.valueOf(customerId), creditLimitCents, 0L)));
+		}
+
+		final var expectedUsed = new AtomicLong[accounts.size()];
+		for (var i = 0; i < expectedUsed.length; i++) {
+			expectedUsed[i] = new AtomicLong();
+		}
+		final var drainedTotal = new AtomicLong();
+		final var limitExceeded = new AtomicLong();
+		final var running = new AtomicBoolean(true);
+
+		final var start = new CountDownLatch(1);
+		final var executor = Executors.newFixedThreadPool(threads + 1);
+		try {
+			final var futures = new ArrayList<Future<?>>();
+			for (var t = 0; t < threads; t++) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					final var random = ThreadLocalRandom.current();
+					for (var i = 0; i < operationsPerThread; i++) {
+						final var index = random.nextInt(accounts.size());
+						final var account = accounts.get(index);
+						final var cents = 1 + random.nextLong(50_000L);
+						if (account.tryReserve(cents)) {
+							expectedUsed[index].addAndGet(cents);
+							ledger.addPendingDelta(account.getCustomerId(), cents);
+							// release only what was reserved, so the used amount never clamps at zero
+							if (random.nextBoolean()) {
+								account.release(cents);
+								expectedUsed[index].addAndGet(-cents);
+								ledger.addPendingDelta(account.getCustomerId(), -cents);
+							}
+						}
+						if (account.getUsedCents() > creditLimitCents) {
+							limitExceeded.incrementAndGet();
+						}
+					}
+					return null;
+				}));
+			}
+			// a concurrent writer draining deltas like the write-behind flush does
+			final var flusher = executor.submit(() -> {
+				start.await();
+				while (running.get()) {
+					ledger.drainPendingDeltas().values().forEach(drainedTotal::addAndGet);
+				}
+				return null;
+			});
+
+			start.countDown();
+			for (final var future : futures) {
+				future.get();
+			}
+			running.set(false);
+			flusher.get();
+		} finally {
+			executor.shutdownNow();
+		}
+		ledger.drainPendingDeltas().values().forEach(drainedTotal::addAndGet);
+
+		// assertions
+		assertEquals(0, limitExceeded.get());
+		var totalUsed = 0L;
+		for (var i = 0; i < accounts.size(); i++) {
+			assertEquals(expectedUsed[i].get(), accounts.get(i).getUsedCents());
+			totalUsed += accounts.get(i).getUsedCents();
+		}
+		assertEquals(totalUsed, drainedTotal.get());
+	}
+
+	@Test
+	@DisplayName("Given amount with two decimals, toCents and fromCents should round trip")
+	void givenAmount_toCentsAndFromCents_shouldRoundTrip() {
+		final var amount = new BigDecimal("1234.56");
+
+		// assertions
+		assertEquals(123_456L, CreditLedger.toCents(amount));
+		assertEquals(amount, CreditLedger.fromCents(CreditLedger.toCents(amount)));
+	}
+}
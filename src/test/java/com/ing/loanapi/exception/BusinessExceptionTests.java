@@ -0,0 +1,54 @@
+package com.ing.loanapi.exception;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.ing.loanapi.dto.ErrorDto;
+
+@DisplayName("BusinessException tests")
+public class BusinessExceptionTests {
+
+	@Test
+	@DisplayName("Given no cause, business exception should be created without stack trace and suppressed exceptions")
+	void givenNoCause_businessException_shouldBeStackless() {
+		final var exception = new InsufficientCreditLimitException();
+		exception.addSuppressed(new IllegalStateException());
+
+		// assertions
+		assertEquals(0, exception.getStackTrace().length);
+		assertEquals(0, exception.getSuppressed().length);
+	}
+
+	@Test
+	@DisplayName("Given cause, business exception should keep its stack trace")
+	void givenCause_businessException_shouldKeepStackTrace() {
+		final var exception = new LoanAlreadyPaidException(new IllegalStateException());
+
+		// assertions
+		assertNotEquals(0, exception.getStackTrace().length);
+	}
+
+	@Test
+	@DisplayName("Given exception with fixed message, toErrorDto should return the same body for every instance")
+	void givenFixedMessage_toErrorDto_shouldReturnSharedBody() {
+		final var errorDto = new InsufficientCreditLimitException().toErrorDto();
+
+		// assertions
+		assertSame(errorDto, new InsufficientCreditLimitException().toErrorDto());
+		assertEquals(new ErrorDto(409, "INSUFFICIENT_CREDIT_LIMIT", "Credit limit of the customer is not sufficient to perform this transaction!"), errorDto);
+	}
+
+	@Test
+	@DisplayName("Given exception with formatted message, toErrorDto should report the message of the instance")
+	void givenFormattedMessage_toErrorDto_shouldReportInstanceMessage() {
+		final var exception = new LoanNotFoundException(42L);
+		final var errorDto = exception.toErrorDto();
+
+		// assertions
+		assertEquals(new ErrorDto(404, "LOAN_NOT_FOUND", "Loan with id 42 is not found!"), errorDto);
+	}
+}
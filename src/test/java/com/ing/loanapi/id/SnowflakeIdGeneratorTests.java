@@ -0,0 +1,164 @@
+package com.ing.loanapi.id;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.ing.loanapi.sharding.ShardRouter;
+
+@DisplayName("SnowflakeIdGenerator tests")
+public class SnowflakeIdGeneratorTests {
+
+	private static final long NOW = SnowflakeIdGenerator.EPOCH.toEpochMilli() + 1_000_000L;
+
+	@Test
+	@DisplayName("Given many threads, nextId should hand out unique ids increasing per thread")
+	void givenManyThreads_nextId_shouldHandOutUniqueIds() throws Exception {
+		final var shardRouter = new ShardRouter(3);
+		final var generator = new SnowflakeIdGenerator(shardRouter, 7, System::currentTimeMillis);
+
+		final var threads = 32;
+		final var idsPerThread = 100_000;
+		final var executor = Executors.newFixedThreadPool(threads);
+		final var start = new CountDownLatch(1);
+		final var results = new ArrayList<Future<long[]>>();
+		for (var i = 0; i < threads; i++) {
+			final var shard = i % shardRouter.getShardCount();
+			results.add(executor.submit(() -> {
+				start.await();
+				final var ids = new long[idsPerThread];
+				try (var binding = shardRouter.bind(shard)) {
+					for (var j = 0; j < idsPerThread; j++) {
+						ids[j] = generator.nextId();
+					}
+				}
+				return ids;
+			}));
+		}
+		start.countDown();
+
+		final var allIds = new long[threads * idsPerThread];
+		for (var i = 0; i < threads; i++) {
+			final var ids = results.get(i).get(60, TimeUnit.SECONDS);
+			for (var j = 0; j < idsPerThread; j++) {
+				// assertions
+				assertEquals(i % shardRouter.getShardCount(), shardRouter.shardOfLoan(ids[j]));
+				assertTrue(j == 0 || ids[j] > ids[j - 1]);
+			}
+			System.arraycopy(ids, 0, allIds, i * idsPerThread, idsPerThread);
+		}
+		executor.shutdown();
+
+		Arrays.sort(allIds);
+		for (var i = 1; i < allIds.length; i++) {
+			// assertions
+			assertTrue(allIds[i] > allIds[i - 1], "Duplicate id " + allIds[i]);
+		}
+	}
+
+	@Test
+	@DisplayName("Given sequence of a millisecond used up, nextId should continue from the next millisecond")
+	void givenSequenceUsedUp_nextId_shouldContinueFromNextMillisecond() {
+		final var generator = new SnowflakeIdGenerator(new ShardRouter(1), 1, () -> NOW);
+
+		final var ids = new long[5000];
+		for (var i = 0; i < ids.length; i++) {
+			ids[i] = generator.nextId();
+		}
+
+		// assertions
+		for (var i = 1; i < ids.length; i++) {
+			assertTrue(ids[i] > ids[i - 1]);
+		}
+		assertEquals(1_000_000L, timestamp(ids[0]));
+		assertEquals(1_000_001L, timestamp(ids[ids.length - 1]));
+		assertEquals(1L, nodeId(ids[0]));
+	}
+
+	@Test
+	@DisplayName("Given clock going back, nextId should keep increasing")
+	void givenClockGoingBack_nextId_shouldKeepIncreasing() {
+		final var clock = new AtomicLong(NOW);
+		final var generator = new SnowflakeIdGenerator(new ShardRouter(1), 0, clock::get);
+
+		final var before = generator.nextId();
+		clock.set(NOW - 5_000);
+		final var after = generator.nextId();
+
+		// assertions
+		assertTrue(after > before);
+		assertEquals(1_000_000L, timestamp(after));
+	}
+
+	@Test
+	@DisplayName("Given later millisecond, nextId should hand out a larger id than any of the previous millisecond")
+	void givenLaterMillisecond_nextId_shouldBeTimeOrdered() {
+		final var clock = new AtomicLong(NOW);
+		final var generator = new SnowflakeIdGenerator(new ShardRouter(1), 1023, clock::get);
+
+		final var first = generator.nextId();
+		clock.incrementAndGet();
+		final var second = new SnowflakeIdGenerator(new ShardRouter(1), 0, clock::get).nextId();
+
+		// assertions
+		assertTrue(second > first);
+	}
+
+	@Test
+	@DisplayName("Given id stored before a restart with the clock set back, seed should make nextId continue after it")
+	void givenStoredIdAndClockSetBack_seed_shouldContinueAfterStoredId() {
+		final var clock = new AtomicLong(NOW);
+		final var before = new SnowflakeIdGenerator(new ShardRouter(2), 5, clock::get).nextId(1);
+
+		clock.set(NOW - 5_000);
+		final var restarted = new SnowflakeIdGenerator(new ShardRouter(2), 5, clock::get);
+		restarted.seed(1, before);
+		final var after = restarted.nextId(1);
+
+		// assertions
+		assertTrue(after > before);
+		assertEquals(1_000_001L, timestamp(after));
+		assertEquals(1, new ShardRouter(2).shardOfLoan(after));
+	}
+
+	@Test
+	@DisplayName("Given id older than the ids handed out, seed should change nothing")
+	void givenOlderId_seed_shouldChangeNothing() {
+		final var clock = new AtomicLong(NOW);
+		final var generator = new SnowflakeIdGenerator(new ShardRouter(1), 0, clock::get);
+		final var first = generator.nextId();
+
+		generator.seed(0, 100001L);
+		final var second = generator.nextId();
+
+		// assertions
+		assertEquals(first + 1, second);
+	}
+
+	@Test
+	@DisplayName("Given node id out of range, constructor should throw IllegalArgumentException")
+	void givenNodeIdOutOfRange_constructor_shouldThrowIllegalArgumentException() {
+		// assertions
+		assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(new ShardRouter(1), 1024, () -> NOW));
+		assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(new ShardRouter(1), -1, () -> NOW));
+	}
+
+	private static long timestamp(long id) {
+		return id >>> (SnowflakeIdGenerator.NODE_BITS + SnowflakeIdGenerator.SEQUENCE_BITS);
+	}
+
+	private static long nodeId(long id) {
+		return (id >>> SnowflakeIdGenerator.SEQUENCE_BITS) & SnowflakeIdGenerator.MAX_NODE_ID;
+	}
+}
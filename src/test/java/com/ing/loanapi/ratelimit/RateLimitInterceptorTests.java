@@ -0,0 +1,79 @@
+package com.ing.loanapi.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+
+import com.ing.loanapi.exception.TooManyRequestsException;
+import com.ing.loanapi.properties.RateLimitConfigurationProperties;
+import com.ing.loanapi.properties.RateLimitConfigurationProperties.Global;
+import com.ing.loanapi.properties.RateLimitConfigurationProperties.PerPrincipal;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("RateLimitInterceptor tests")
+public class RateLimitInterceptorTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	@DisplayName("Given principal exceeding its bucket, preHandle should throw TooManyRequestsException without affecting other principals")
+	void givenPrincipalExceedingBucket_preHandle_shouldThrow() throws TooManyRequestsException {
+		final var interceptor = interceptor(2, 10);
+		final var response = new MockHttpServletResponse();
+
+		completed(interceptor, request("100001"));
+		completed(interceptor, request("100001"));
+
+		// assertions
+		assertThrows(TooManyRequestsException.class, () -> interceptor.preHandle(request("100001"), response, null));
+		assertTrue(interceptor.preHandle(request("100002"), response, null));
+		assertEquals(1.0, meterRegistry.counter("rate-limit.rejections", "reason", "principal").count());
+	}
+
+	@Test
+	@DisplayName("Given maximum requests in flight, preHandle should throw TooManyRequestsException until a request completes")
+	void givenMaxRequestsInFlight_preHandle_shouldThrowUntilCompletion() throws TooManyRequestsException {
+		final var interceptor = interceptor(10, 1);
+		final var response = new MockHttpServletResponse();
+
+		final var inFlight = request("100001");
+		interceptor.preHandle(inFlight, response, null);
+
+		// assertions
+		assertEquals(1, interceptor.getRequestsInFlight());
+		assertThrows(TooManyRequestsException.class, () -> interceptor.preHandle(request("100002"), response, null));
+		assertEquals(1.0, meterRegistry.counter("rate-limit.rejections", "reason", "concurrency").count());
+
+		interceptor.afterCompletion(inFlight, response, null, null);
+		assertEquals(0, interceptor.getRequestsInFlight());
+		assertTrue(interceptor.preHandle(request("100002"), response, null));
+	}
+
+	private RateLimitInterceptor interceptor(int capacity, int maxConcurrentRequests) {
+		final var properties = new RateLimitConfigurationProperties(true,
+				new PerPrincipal(capacity, 1, Duration.ofHours(1), 1000),
+				new Global(maxConcurrentRequests));
+		return new RateLimitInterceptor(properties, meterRegistry);
+	}
+
+	private static MockHttpServletRequest request(String username) {
+		final var request = new MockHttpServletRequest("GET", "/loans");
+		request.setUserPrincipal(new TestingAuthenticationToken(username, null));
+		return request;
+	}
+
+	private static void completed(RateLimitInterceptor interceptor, MockHttpServletRequest request) throws TooManyRequestsException {
+		final var response = new MockHttpServletResponse();
+		interceptor.preHandle(request, response, null);
+		interceptor.afterCompletion(request, response, null, null);
+	}
+}
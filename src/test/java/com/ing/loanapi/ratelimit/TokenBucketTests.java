@@ -0,0 +1,90 @@
+package com.ing.loanapi.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("TokenBucket tests")
+public class TokenBucketTests {
+
+	@Test
+	@DisplayName("Given empty bucket, tryConsume should succeed again after refill period")
+	void givenEmptyBucket_tryConsume_shouldSucceedAfterRefill() {
+		final var clock = new AtomicLong();
+		final var bucket = new TokenBucket(2, 1, Duration.ofSeconds(1), clock::get);
+
+		// assertions
+		assertTrue(bucket.tryConsume());
+		assertTrue(bucket.tryConsume());
+		assertFalse(bucket.tryConsume());
+
+		clock.addAndGet(Duration.ofMillis(500).toNanos());
+		assertFalse(bucket.tryConsume());
+
+		clock.addAndGet(Duration.ofMillis(500).toNanos());
+		assertTrue(bucket.tryConsume());
+		assertFalse(bucket.tryConsume());
+	}
+
+	@Test
+	@DisplayName("Given long idle period, tryConsume should not accumulate more than capacity")
+	void givenLongIdlePeriod_tryConsume_shouldNotExceedCapacity() {
+		final var clock = new AtomicLong();
+		final var bucket = new TokenBucket(3, 1, Duration.ofSeconds(1), clock::get);
+
+		clock.addAndGet(Duration.ofHours(1).toNanos());
+
+		var consumed = 0;
+		while (bucket.tryConsume()) {
+			consumed++;
+		}
+
+		// assertions
+		assertEquals(3, consumed);
+	}
+
+	@Test
+	@DisplayName("Given concurrent consumers, tryConsume should hand out exactly the capacity")
+	void givenConcurrentConsumers_tryConsume_shouldHandOutExactlyCapacity() throws Exception {
+		final var capacity = 1_000;
+		final var bucket = new TokenBucket(capacity, 1, Duration.ofDays(1), () -> 0L);
+		final var consumed = new AtomicInteger();
+
+		final var start = new CountDownLatch(1);
+		final var executor = Executors.newFixedThreadPool(8);
+		try {
+			final var futures = new ArrayList<Future<?>>();
+			for (var t = 0; t < 8; t++) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					for (var i = 0; i < capacity; i++) {
+						if (bucket.tryConsume()) {
+							consumed.incrementAndGet();
+						}
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (final var future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		// assertions
+		assertEquals(capacity, consumed.get());
+	}
+}
@@ -0,0 +1,112 @@
+package com.ing.loanapi.replica;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ing.loanapi.TestDatabases;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("ReplicaRoutingDataSource tests")
+public class ReplicaRoutingDataSourceTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private JdbcTemplate replicaJdbcTemplate;
+	private ReplicaLagMonitor replicaLagMonitor;
+	private JdbcTemplate jdbcTemplate;
+	private TransactionTemplate readOnlyTransactionTemplate;
+	private TransactionTemplate transactionTemplate;
+
+	@BeforeEach
+	void setUp() {
+		final var primaryDataSource = database("replica-tests-primary", "primary");
+		final var replicaDataSource = database("replica-tests-replica", "replica");
+		replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+		// stands in for the replication delay the replica database reports, which H2 has no notion of
+		replicaJdbcTemplate.execute("CREATE TABLE REPLICA_STATUS (LAG DOUBLE PRECISION NOT NULL)");
+		replicaJdbcTemplate.update("INSERT INTO REPLICA_STATUS VALUES (0.5)");
+
+		replicaLagMonitor = new ReplicaLagMonitor(replicaDataSource, "SELECT LAG FROM REPLICA_STATUS", Duration.ofSeconds(2), meterRegistry);
+		final var dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+		dataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagMonitor, meterRegistry));
+
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+		readOnlyTransactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+		readOnlyTransactionTemplate.setReadOnly(true);
+	}
+
+	@Test
+	@DisplayName("Given replica within max lag, read-only transactions should use the replica and the others the primary")
+	void givenReplicaWithinMaxLag_transactions_shouldBeRoutedByReadOnlyFlag() {
+		replicaLagMonitor.check();
+
+		// assertions
+		assertTrue(replicaLagMonitor.isReplicaUsable());
+		assertEquals("replica", readOnlyTransactionTemplate.execute(status -> readMarker()));
+		assertEquals("primary", transactionTemplate.execute(status -> readMarker()));
+		assertEquals(0.5, meterRegistry.get("replica.lag").gauge().value());
+		assertEquals(1.0, meterRegistry.counter("datasource.read-only.connections", "target", "replica").count());
+	}
+
+	@Test
+	@DisplayName("Given replica lagging behind max lag, read-only transactions should use the primary")
+	void givenReplicaBeyondMaxLag_readOnlyTransactions_shouldUsePrimary() {
+		replicaLagMonitor.check();
+		replicaJdbcTemplate.update("UPDATE REPLICA_STATUS SET LAG = 10");
+		replicaLagMonitor.check();
+
+		// assertions
+		assertFalse(replicaLagMonitor.isReplicaUsable());
+		assertEquals("primary", readOnlyTransactionTemplate.execute(status -> readMarker()));
+		assertEquals(0.0, meterRegistry.get("replica.usable").gauge().value());
+		assertEquals(1.0, meterRegistry.counter("datasource.read-only.connections", "target", "primary").count());
+	}
+
+	@Test
+	@DisplayName("Given failing lag check, read-only transactions should use the primary")
+	void givenFailingLagCheck_readOnlyTransactions_shouldUsePrimary() {
+		replicaLagMonitor.check();
+		replicaJdbcTemplate.execute("DROP TABLE REPLICA_STATUS");
+		replicaLagMonitor.check();
+
+		// assertions
+		assertFalse(replicaLagMonitor.isReplicaUsable());
+		assertTrue(Double.isNaN(replicaLagMonitor.getLagSeconds()));
+		assertEquals("primary", readOnlyTransactionTemplate.execute(status -> readMarker()));
+	}
+
+	@Test
+	@DisplayName("Given replica not checked yet, read-only transactions should use the primary")
+	void givenUncheckedReplica_readOnlyTransactions_shouldUsePrimary() {
+		// assertions
+		assertFalse(replicaLagMonitor.isReplicaUsable());
+		assertEquals("primary", readOnlyTransactionTemplate.execute(status -> readMarker()));
+	}
+
+	private String readMarker() {
+		return jdbcTemplate.queryForObject("SELECT NAME FROM CUSTOMER WHERE ID = 100001", String.class);
+	}
+
+	/**
+	 * Migrated database telling itself apart by the name of its first customer.
+	 */
+	private static DriverManagerDataSource database(String name, String marker) {
+		final var dataSource = TestDatabases.migrated(name);
+		new JdbcTemplate(dataSource).update("UPDATE CUSTOMER SET NAME = ? WHERE ID = 100001", marker);
+		return dataSource;
+	}
+}
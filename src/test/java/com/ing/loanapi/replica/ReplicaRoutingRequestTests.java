@@ -0,0 +1,75 @@
+package com.ing.loanapi.replica;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.ing.loanapi.dto.command.CreateLoanCommand;
+import com.ing.loanapi.service.LoanService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Routing within a whole request. The replica points to the primary database, so both pools see the same
+ * rows and only their connection counts tell them apart.
+ */
+@SpringBootTest(properties = {"replica.enabled=true", "replica.url=jdbc:h2:mem:loan-api"})
+@AutoConfigureMockMvc
+@DisplayName("Replica routing request tests")
+public class ReplicaRoutingRequestTests {
+
+	@Autowired
+	MockMvc mockMvc;
+
+	@Autowired
+	LoanService loanService;
+
+	@Autowired
+	ReplicaLagMonitor replicaLagMonitor;
+
+	@Autowired
+	MeterRegistry meterRegistry;
+
+	@Test
+	@DisplayName("Given read-only ownership check followed by a payment in one request, the payment should use a primary connection")
+	void givenReadOnlyCheckAndPaymentInOneRequest_transactions_shouldUseDifferentTargets() throws Exception {
+		replicaLagMonitor.check();
+		final var loan = loanService.createLoan(new CreateLoanCommand(100001L, new BigDecimal("10000"), 0.2, (short) 12));
+
+		final var replicaConnections = meterRegistry.counter("datasource.read-only.connections", "target", "replica").count();
+		final var primaryConnections = acquiredConnections("primary");
+
+		mockMvc.perform(post("/loans/{loanId}/payments", loan.id())
+						.header(AUTHORIZATION, basic("100001", "password"))
+						.contentType(APPLICATION_JSON)
+						.content("{\"paymentAmount\": 1000}"))
+				.andExpect(status().isOk());
+
+		// assertions
+		// the ownership check of the interceptor reads from the replica, the payment does not reuse its connection
+		assertTrue(meterRegistry.counter("datasource.read-only.connections", "target", "replica").count() > replicaConnections);
+		assertTrue(acquiredConnections("primary") > primaryConnections);
+	}
+
+	private long acquiredConnections(String pool) {
+		final var timer = meterRegistry.find("hikaricp.connections.acquire").tag("pool", pool).timer();
+		return timer == null ? 0 : timer.count();
+	}
+
+	private static String basic(String username, String password) {
+		return "Basic " + Base64.getEncoder().encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+	}
+}
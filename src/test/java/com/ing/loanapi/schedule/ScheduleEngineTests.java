@@ -0,0 +1,98 @@
+package com.ing.loanapi.schedule;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+@DisplayName("ScheduleEngine tests")
+public class ScheduleEngineTests {
+
+	private final ScheduleEngine scheduleEngine = new ScheduleEngine(List.of(
+			new FlatScheduleCalculator(), new AnnuityScheduleCalculator(), new ReducingBalanceScheduleCalculator()));
+
+	@ParameterizedTest
+	@EnumSource(InterestModel.class)
+	@DisplayName("Given any interest model, calculate should return installments adding up exactly to the total")
+	void givenAnyInterestModel_calculate_shouldReturnInstallmentsAddingUpToTotal(InterestModel interestModel) {
+		final var schedule = scheduleEngine.calculate(interestModel, new BigDecimal("12345.67"), 0.37, 24);
+
+		// assertions
+		assertEquals(24, schedule.numberOfInstallments());
+		assertEquals(schedule.totalCents(), Arrays.stream(schedule.installmentCents()).sum());
+		assertTrue(schedule.totalCents() > 1_234_567L);
+	}
+
+	@Nested
+	@DisplayName("FLAT tests")
+	class FlatTests {
+
+		@Test
+		@DisplayName("Given total not divisible by number of installments, calculate should put the rounding residual on the last installment")
+		void givenIndivisibleTotal_calculate_shouldPutResidualOnLastInstallment() {
+			final var schedule = scheduleEngine.calculate(InterestModel.FLAT, new BigDecimal("1000"), 0.1, 9);
+
+			// assertions
+			assertEquals(new BigDecimal("1100.00"), schedule.totalAmount());
+			assertEquals(new BigDecimal("122.22"), schedule.installmentAmount(0));
+			assertEquals(new BigDecimal("122.24"), schedule.installmentAmount(8));
+		}
+
+		@Test
+		@DisplayName("Given interest with a half cent, calculate should round the total half up")
+		void givenInterestWithHalfCent_calculate_shouldRoundTotalHalfUp() {
+			final var schedule = scheduleEngine.calculate(InterestModel.FLAT, new BigDecimal("123.45"), 0.3, 6);
+
+			// assertions
+			assertEquals(new BigDecimal("160.49"), schedule.totalAmount());
+		}
+	}
+
+	@Nested
+	@DisplayName("ANNUITY tests")
+	class AnnuityTests {
+
+		@Test
+		@DisplayName("Given annual interest rate, calculate should return equal installments with the residual on the last one")
+		void givenAnnualInterestRate_calculate_shouldReturnEqualInstallments() {
+			// 1% per month
+			final var schedule = scheduleEngine.calculate(InterestModel.ANNUITY, new BigDecimal("100000"), 0.12, 12);
+
+			// assertions
+			final var installments = schedule.installmentCents();
+			for (var i = 0; i < installments.length - 1; i++) {
+				assertEquals(888_488L, installments[i]);
+			}
+			assertTrue(Math.abs(installments[11] - 888_488L) <= 12);
+		}
+	}
+
+	@Nested
+	@DisplayName("REDUCING_BALANCE tests")
+	class ReducingBalanceTests {
+
+		@Test
+		@DisplayName("Given annual interest rate, calculate should return equal principal parts plus interest of the remaining balance")
+		void givenAnnualInterestRate_calculate_shouldReturnDecliningInstallments() {
+			// 1% per month
+			final var schedule = scheduleEngine.calculate(InterestModel.REDUCING_BALANCE, new BigDecimal("12000"), 0.12, 12);
+
+			// assertions
+			final var expected = new long[12];
+			for (var i = 0; i < 12; i++) {
+				expected[i] = 100_000L + (12 - i) * 1_000L;
+			}
+			assertArrayEquals(expected, schedule.installmentCents());
+			assertEquals(new BigDecimal("12780.00"), schedule.totalAmount());
+		}
+	}
+}
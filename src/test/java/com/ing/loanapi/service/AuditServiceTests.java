@@ -0,0 +1,82 @@
+package com.ing.loanapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import com.ing.loanapi.audit.AuditBuffer;
+import com.ing.loanapi.audit.AuditEventType;
+import com.ing.loanapi.properties.AuditConfigurationProperties.OverflowPolicy;
+import com.ing.loanapi.repository.AuditEventRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuditService Tests")
+public class AuditServiceTests {
+
+	@Mock
+	private AuditEventRepository auditEventRepository;
+
+	@Test
+	@DisplayName("Given no active transaction, record should buffer the event immediately")
+	void givenNoTransaction_record_shouldBufferImmediately() throws InterruptedException {
+		final var auditBuffer = new AuditBuffer(10, OverflowPolicy.DROP, Duration.ZERO);
+		final var auditService = new AuditService(auditBuffer, auditEventRepository, new SimpleMeterRegistry());
+
+		auditService.record(AuditEventType.CREDIT_LIMIT_USED, 100001L, 1L, null, new BigDecimal("1200"));
+
+		// assertions
+		assertEquals(1, auditBuffer.size());
+		final var record = auditBuffer.poll(Duration.ZERO);
+		assertNotNull(record);
+		assertEquals(AuditEventType.CREDIT_LIMIT_USED, record.type());
+		assertEquals(100001L, record.customerId());
+		assertEquals(1L, record.loanId());
+	}
+
+	@Test
+	@DisplayName("Given active transaction, record should buffer the event only after commit")
+	void givenActiveTransaction_record_shouldBufferAfterCommit() {
+		final var auditBuffer = new AuditBuffer(10, OverflowPolicy.DROP, Duration.ZERO);
+		final var auditService = new AuditService(auditBuffer, auditEventRepository, new SimpleMeterRegistry());
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			auditService.record(AuditEventType.INSTALLMENT_PAID, 100001L, 1L, 2L, new BigDecimal("100"));
+
+			// assertions
+			assertEquals(0, auditBuffer.size());
+
+			TransactionSynchronizationUtils.triggerAfterCommit();
+			assertEquals(1, auditBuffer.size());
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	@DisplayName("Given full buffer with drop policy, record should drop the event and count it")
+	void givenFullBufferWithDropPolicy_record_shouldDropAndCount() {
+		final var meterRegistry = new SimpleMeterRegistry();
+		final var auditBuffer = new AuditBuffer(1, OverflowPolicy.DROP, Duration.ZERO);
+		final var auditService = new AuditService(auditBuffer, auditEventRepository, meterRegistry);
+
+		auditService.record(AuditEventType.CREDIT_LIMIT_USED, 100001L, 1L, null, new BigDecimal("1200"));
+		auditService.record(AuditEventType.CREDIT_LIMIT_RETURNED, 100001L, 1L, null, new BigDecimal("100"));
+
+		// assertions
+		assertEquals(1, auditBuffer.size());
+		assertEquals(1.0, meterRegistry.counter("audit.events.dropped").count());
+	}
+}
@@ -0,0 +1,225 @@
+package com.ing.loanapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import com.ing.loanapi.TestDatabases;
+import com.ing.loanapi.dto.DueInstallmentDto;
+import com.ing.loanapi.exception.InvalidInstallmentQueryException;
+import com.ing.loanapi.properties.CollectionConfigurationProperties;
+import com.ing.loanapi.repository.LoanReadModelRepository;
+import com.ing.loanapi.sharding.ShardRouter;
+import com.ing.loanapi.sharding.ShardRoutingDataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("CollectionService tests")
+public class CollectionServiceTests {
+
+	private static final LocalDate TODAY = LocalDate.of(2025, 6, 15);
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private CollectionService collectionService;
+
+	@BeforeEach
+	void setUp() {
+		final var dataSource = TestDatabases.migrated("collection-service-tests");
+		final var jdbcTemplate = new JdbcTemplate(dataSource);
+		insertLoan(jdbcTemplate, 1, 100001);
+		insertLoan(jdbcTemplate, 2, 100002);
+
+		// installments of both loans share due dates, so pages have to break ties by id
+		insertInstallment(jdbcTemplate, 1, 1, TODAY.minusMonths(1), true);
+		insertInstallment(jdbcTemplate, 2, 1, TODAY.minusDays(5), false);
+		insertInstallment(jdbcTemplate, 3, 2, TODAY.minusDays(5), false);
+		insertInstallment(jdbcTemplate, 4, 1, TODAY.plusDays(5), false);
+		insertInstallment(jdbcTemplate, 5, 2, TODAY.plusDays(5), false);
+		insertInstallment(jdbcTemplate, 6, 2, TODAY.plusDays(6), false);
+		insertInstallment(jdbcTemplate, 7, 1, TODAY.plusMonths(1), false);
+
+		// chunks of a single installment, so every page is read in several transactions
+		final var collectionConfigurationProperties = new CollectionConfigurationProperties(2, 3, 1);
+		collectionService = new CollectionService(
+				new LoanReadModelRepository(new NamedParameterJdbcTemplate(dataSource), collectionConfigurationProperties),
+				collectionConfigurationProperties, new DataSourceTransactionManager(dataSource), meterRegistry, new ShardRouter(1));
+	}
+
+	@Nested
+	@DisplayName("streamDueInstallments Tests")
+	class StreamDueInstallmentsTests {
+
+		@Test
+		@DisplayName("Given pages resumed after their last installment, streamDueInstallments should list every due installment once in order")
+		void givenPages_streamDueInstallments_shouldListEveryInstallmentOnce() throws Exception {
+			final var ids = new ArrayList<Long>();
+			var page = page(null, null);
+			while (!page.isEmpty()) {
+				page.forEach(installment -> ids.add(installment.id()));
+				final var last = page.get(page.size() - 1);
+				page = page(last.dueDate(), last.id());
+			}
+
+			// assertions
+			assertEquals(List.of(2L, 3L, 4L, 5L, 6L), ids);
+			assertEquals(5.0, meterRegistry.counter("collection.installments.streamed").count());
+		}
+
+		@Test
+		@DisplayName("Given due date range, streamDueInstallments should exclude overdue installments before it")
+		void givenDueFrom_streamDueInstallments_shouldExcludeEarlierInstallments() throws Exception {
+			final var query = collectionService.createQuery(false, TODAY, TODAY.plusDays(7), null, null, 3);
+			final var installments = new ArrayList<DueInstallmentDto>();
+
+			collectionService.streamDueInstallments(query, installments::add);
+
+			// assertions
+			assertEquals(List.of(4L, 5L, 6L), installments.stream().map(DueInstallmentDto::id).toList());
+			assertEquals(100002L, installments.get(1).customerId());
+		}
+
+		@Test
+		@DisplayName("Given paid, streamDueInstallments should list paid installments only")
+		void givenPaid_streamDueInstallments_shouldListPaidInstallments() throws Exception {
+			final var query = collectionService.createQuery(true, null, TODAY, null, null, null);
+			final var installments = new ArrayList<DueInstallmentDto>();
+
+			collectionService.streamDueInstallments(query, installments::add);
+
+			// assertions
+			assertEquals(List.of(1L), installments.stream().map(DueInstallmentDto::id).toList());
+		}
+
+		private List<DueInstallmentDto> page(LocalDate afterDueDate, Long afterId) throws InvalidInstallmentQueryException {
+			final var query = collectionService.createQuery(false, null, TODAY.plusDays(7), afterDueDate, afterId, null);
+			final var installments = new ArrayList<DueInstallmentDto>();
+			collectionService.streamDueInstallments(query, installments::add);
+			return installments;
+		}
+	}
+
+	@Nested
+	@DisplayName("createQuery Tests")
+	class CreateQueryTests {
+
+		@Test
+		@DisplayName("Given dueFrom after dueTo, createQuery should throw InvalidInstallmentQueryException")
+		void givenReversedRange_createQuery_shouldThrowInvalidInstallmentQueryException() {
+			// assertions
+			assertThrows(InvalidInstallmentQueryException.class,
+					() -> collectionService.createQuery(false, TODAY, TODAY.minusDays(1), null, null, null));
+		}
+
+		@Test
+		@DisplayName("Given afterDueDate without afterId, createQuery should throw InvalidInstallmentQueryException")
+		void givenIncompleteCursor_createQuery_shouldThrowInvalidInstallmentQueryException() {
+			// assertions
+			assertThrows(InvalidInstallmentQueryException.class,
+					() -> collectionService.createQuery(false, null, TODAY, TODAY, null, null));
+		}
+
+		@Test
+		@DisplayName("Given limit above max page size, createQuery should throw InvalidInstallmentQueryException")
+		void givenLimitAboveMaxPageSize_createQuery_shouldThrowInvalidInstallmentQueryException() {
+			// assertions
+			assertThrows(InvalidInstallmentQueryException.class,
+					() -> collectionService.createQuery(false, null, TODAY, null, null, 4));
+		}
+
+		@Test
+		@DisplayName("Given no limit, createQuery should use default page size")
+		void givenNoLimit_createQuery_shouldUseDefaultPageSize() throws Exception {
+			final var query = collectionService.createQuery(false, null, TODAY, null, null, null);
+
+			// assertions
+			assertEquals(2, query.limit());
+		}
+	}
+
+	@Nested
+	@DisplayName("streamDueInstallments Tests with two shards")
+	class ShardedStreamDueInstallmentsTests {
+
+		private final ShardRouter shardRouter = new ShardRouter(2);
+
+		private ShardRoutingDataSource shardRoutingDataSource;
+		private CollectionService shardedCollectionService;
+
+		@BeforeEach
+		void setUp() {
+			shardRoutingDataSource = new ShardRoutingDataSource(shardRouter, List.of(
+					TestDatabases.migratedPool("collection-service-tests-0", 2),
+					TestDatabases.migratedPool("collection-service-tests-1", 2)));
+
+			// customers and loans with even ids on shard 0, odd ids on shard 1
+			final var shard0 = new JdbcTemplate(shardRoutingDataSource.getShardDataSource(0));
+			insertLoan(shard0, 2, 100002);
+			insertInstallment(shard0, 2, 2, TODAY.minusDays(5), false);
+			insertInstallment(shard0, 4, 2, TODAY.plusDays(5), false);
+			insertInstallment(shard0, 6, 2, TODAY.plusDays(6), false);
+
+			final var shard1 = new JdbcTemplate(shardRoutingDataSource.getShardDataSource(1));
+			insertLoan(shard1, 1, 100001);
+			insertInstallment(shard1, 3, 1, TODAY.minusDays(5), false);
+			insertInstallment(shard1, 5, 1, TODAY.plusDays(5), false);
+			insertInstallment(shard1, 7, 1, TODAY.plusDays(1), false);
+
+			final var collectionConfigurationProperties = new CollectionConfigurationProperties(2, 3, 2);
+			shardedCollectionService = new CollectionService(
+					new LoanReadModelRepository(new NamedParameterJdbcTemplate(shardRoutingDataSource), collectionConfigurationProperties),
+					collectionConfigurationProperties, new DataSourceTransactionManager(shardRoutingDataSource), meterRegistry, shardRouter);
+		}
+
+		@AfterEach
+		void tearDown() {
+			shardRoutingDataSource.close();
+		}
+
+		@Test
+		@DisplayName("Given installments on two shards, streamDueInstallments should merge the pages of the shards in order")
+		void givenTwoShards_streamDueInstallments_shouldMergePagesInOrder() throws Exception {
+			final var ids = new ArrayList<Long>();
+			LocalDate afterDueDate = null;
+			Long afterId = null;
+			while (true) {
+				final var query = shardedCollectionService.createQuery(false, null, TODAY.plusDays(7), afterDueDate, afterId, 3);
+				final var page = new ArrayList<DueInstallmentDto>();
+				shardedCollectionService.streamDueInstallments(query, page::add);
+				if (page.isEmpty()) {
+					break;
+				}
+				page.forEach(installment -> ids.add(installment.id()));
+				afterDueDate = page.get(page.size() - 1).dueDate();
+				afterId = page.get(page.size() - 1).id();
+			}
+
+			// assertions
+			assertEquals(List.of(2L, 3L, 7L, 4L, 5L, 6L), ids);
+			assertEquals(6.0, meterRegistry.counter("collection.installments.streamed").count());
+		}
+
+	}
+
+	private static void insertLoan(JdbcTemplate jdbcTemplate, long id, long customerId) {
+		jdbcTemplate.update("INSERT INTO LOAN (ID, CUSTOMER_ID, LOAN_AMOUNT, NUMBER_OF_INSTALLMENTS, CREATE_DATE) VALUES (?, ?, 12000.00, 12, ?)",
+				id, customerId, TODAY.minusMonths(2));
+	}
+
+	private static void insertInstallment(JdbcTemplate jdbcTemplate, long id, long loanId, LocalDate dueDate, boolean paid) {
+		jdbcTemplate.update("INSERT INTO LOAN_INSTALLMENT (ID, LOAN_ID, AMOUNT, PAID_AMOUNT, DUE_DATE, PAYMENT_DATE, PAID) VALUES (?, ?, 1000.00, ?, ?, ?, ?)",
+				id, loanId, paid ? 1000 : 0, dueDate, paid ? dueDate : null, paid);
+	}
+}
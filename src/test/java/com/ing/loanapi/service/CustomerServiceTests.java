@@ -3,6 +3,7 @@ package com.ing.loanapi.service;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -12,6 +13,7 @@ import static org.mockito.Mockito.when;
 import java.math.BigDecimal;
 import java.util.Optional;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -19,7 +21,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.ing.loanapi.credit.CreditAccount;
+import com.ing.loanapi.credit.CreditDeltaCoalescer;
+import com.ing.loanapi.credit.CreditDeltaResult;
+import com.ing.loanapi.credit.CreditLedger;
 import com.ing.loanapi.dto.CustomerDto;
 import com.ing.loanapi.entity.Customer;
 import com.ing.loanapi.exception.CustomerNotFoundException;
@@ -40,6 +48,12 @@ public class CustomerServiceTests {
 	@Mock
 	CustomerMapper customerMapper;
 
+	@Mock
+	CreditLedger creditLedger;
+
+	@Mock
+	CreditDeltaCoalescer creditDeltaCoalescer;
+
 	@Nested
 	@DisplayName("findCustomerById tests")
 	class FindCustomerByIdTests {
@@ -306,4 +320,189 @@ public class CustomerServiceTests {
 			verify(customerMapper, never()).mapToCustomerDto(any());
 		}
 	}
+
+	@Nested
+	@DisplayName("credit ledger tests")
+	class LedgerTests {
+
+		@Test
+		@DisplayName("Given enabled ledger and sufficient credit limit, useCreditLimit should reserve in ledger without touching customer row")
+		void givenEnabledLedgerAndSufficientLimit_useCreditLimit_shouldReserveInLedger() throws CustomerNotFoundException, InsufficientCreditLimitException {
+			final var customerId = 100001L;
+			final var account = new CreditAccount(customerId, "John", "Doe", 10_000_000L, 2_000_000L);
+
+			when(creditLedger.isEnabled())
+					.thenReturn(true);
+			when(creditLedger.findAccount(customerId))
+					.thenReturn(account);
+
+			final var result = customerService.useCreditLimit(customerId, new BigDecimal("50000"));
+
+			// assertions
+			verify(creditLedger, times(1)).addPendingDelta(customerId, 5_000_000L);
+			verify(customerRepository, never()).findById(any());
+			verify(customerRepository, never()).save(any());
+
+			assertEquals(7_000_000L, account.getUsedCents());
+			assertEquals(new BigDecimal("70000.00"), result.usedCreditLimit());
+		}
+
+		@Test
+		@DisplayName("Given enabled ledger and insufficient credit limit, useCreditLimit should throw InsufficientCreditLimitException")
+		void givenEnabledLedgerAndInsufficientLimit_useCreditLimit_shouldThrow() {
+			final var customerId = 100002L;
+			final var account = new CreditAccount(customerId, "Jane", "Doe", 10_000_000L, 8_000_000L);
+
+			when(creditLedger.isEnabled())
+					.thenReturn(true);
+			when(creditLedger.findAccount(customerId))
+					.thenReturn(account);
+
+			// assertions
+			assertThrows(InsufficientCreditLimitException.class, () -> customerService.useCreditLimit(customerId, new BigDecimal("50000")));
+
+			verify(creditLedger, never()).addPendingDelta(any(), anyLong());
+			assertEquals(8_000_000L, account.getUsedCents());
+		}
+
+		@Test
+		@DisplayName("Given enabled ledger and customer not in ledger, useCreditLimit should load customer into ledger")
+		void givenEnabledLedgerAndCustomerNotInLedger_useCreditLimit_shouldLoadCustomer() throws CustomerNotFoundException, InsufficientCreditLimitException {
+			final var customerId = 100003L;
+
+			final var customer = new Customer();
+			customer.setId(customerId);
+			customer.setName("John");
+			customer.setSurname("Doe");
+			customer.setCreditLimit(new BigDecimal("100000"));
+			customer.setUsedCreditLimit(BigDecimal.ZERO);
+
+			when(creditLedger.isEnabled())
+					.thenReturn(true);
+			when(creditLedger.findAccount(customerId))
+					.thenReturn(null);
+			when(customerRepository.findById(customerId))
+					.thenReturn(Optional.of(customer));
+			when(creditLedger.loadIfAbsent(any()))
+					.thenAnswer(invocation -> invocation.getArgument(0));
+
+			final var result = customerService.useCreditLimit(customerId, new BigDecimal("1000"));
+
+			// assertions
+			verify(creditLedger, times(1)).loadIfAbsent(any());
+			verify(creditLedger, times(1)).addPendingDelta(customerId, 100_000L);
+			verify(customerRepository, never()).save(any());
+
+			assertEquals(new BigDecimal("1000.00"), result.usedCreditLimit());
+		}
+
+		@Test
+		@DisplayName("Given enabled ledger, returnCreditLimit should release in ledger and record negative delta")
+		void givenEnabledLedger_returnCreditLimit_shouldReleaseInLedger() throws CustomerNotFoundException {
+			final var customerId = 100001L;
+			final var account = new CreditAccount(customerId, "John", "Doe", 10_000_000L, 9_000_000L);
+
+			when(creditLedger.isEnabled())
+					.thenReturn(true);
+			when(creditLedger.findAccount(customerId))
+					.thenReturn(account);
+
+			customerService.returnCreditLimit(customerId, new BigDecimal("50000"));
+
+			// assertions
+			verify(creditLedger, times(1)).addPendingDelta(customerId, -5_000_000L);
+			verify(customerRepository, never()).save(any());
+
+			assertEquals(4_000_000L, account.getUsedCents());
+		}
+	}
+
+	@Nested
+	@DisplayName("Coalescing tests")
+	class CoalescingTests {
+
+		@AfterEach
+		void tearDown() {
+			if (TransactionSynchronizationManager.isSynchronizationActive()) {
+				TransactionSynchronizationManager.clearSynchronization();
+			}
+		}
+
+		@Test
+		@DisplayName("Given enabled coalescing, useCreditLimit should apply checked delta without touching customer entity")
+		void givenEnabledCoalescing_useCreditLimit_shouldApplyCheckedDelta() throws CustomerNotFoundException, InsufficientCreditLimitException {
+			final var customerId = 100001L;
+			final var result = new CreditDeltaResult(customerId, "John", "Doe", 10_000_000L, 7_000_000L, 5_000_000L);
+
+			when(creditDeltaCoalescer.isEnabled())
+					.thenReturn(true);
+			when(creditDeltaCoalescer.apply(customerId, 5_000_000L, true))
+					.thenReturn(result);
+
+			final var customerDto = customerService.useCreditLimit(customerId, new BigDecimal("50000"));
+
+			// assertions
+			verify(customerRepository, never()).findById(any());
+			verify(customerRepository, never()).save(any());
+			verify(creditDeltaCoalescer, never()).revert(any());
+
+			assertEquals(new BigDecimal("70000.00"), customerDto.usedCreditLimit());
+			assertEquals(new BigDecimal("100000.00"), customerDto.creditLimit());
+		}
+
+		@Test
+		@DisplayName("Given enabled coalescing and rolled back transaction, useCreditLimit should revert applied delta")
+		void givenEnabledCoalescingAndRollback_useCreditLimit_shouldRevertDelta() throws CustomerNotFoundException, InsufficientCreditLimitException {
+			final var customerId = 100001L;
+			final var result = new CreditDeltaResult(customerId, "John", "Doe", 10_000_000L, 7_000_000L, 5_000_000L);
+
+			when(creditDeltaCoalescer.isEnabled())
+					.thenReturn(true);
+			when(creditDeltaCoalescer.apply(customerId, 5_000_000L, true))
+					.thenReturn(result);
+
+			TransactionSynchronizationManager.initSynchronization();
+			customerService.useCreditLimit(customerId, new BigDecimal("50000"));
+			TransactionSynchronizationManager.getSynchronizations()
+					.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+			// assertions
+			verify(creditDeltaCoalescer, times(1)).revert(same(result));
+		}
+
+		@Test
+		@DisplayName("Given enabled coalescing and rejected delta, useCreditLimit should throw InsufficientCreditLimitException")
+		void givenEnabledCoalescingAndRejectedDelta_useCreditLimit_shouldThrow() throws CustomerNotFoundException, InsufficientCreditLimitException {
+			final var customerId = 100002L;
+
+			when(creditDeltaCoalescer.isEnabled())
+					.thenReturn(true);
+			when(creditDeltaCoalescer.apply(customerId, 5_000_000L, true))
+					.thenThrow(new InsufficientCreditLimitException());
+
+			// assertions
+			assertThrows(InsufficientCreditLimitException.class, () -> customerService.useCreditLimit(customerId, new BigDecimal("50000")));
+
+			verify(creditDeltaCoalescer, never()).revert(any());
+		}
+
+		@Test
+		@DisplayName("Given enabled coalescing, returnCreditLimit should apply unchecked negative delta")
+		void givenEnabledCoalescing_returnCreditLimit_shouldApplyUncheckedNegativeDelta() throws CustomerNotFoundException, InsufficientCreditLimitException {
+			final var customerId = 100001L;
+			final var result = new CreditDeltaResult(customerId, "John", "Doe", 10_000_000L, 4_000_000L, -5_000_000L);
+
+			when(creditDeltaCoalescer.isEnabled())
+					.thenReturn(true);
+			when(creditDeltaCoalescer.apply(customerId, -5_000_000L, false))
+					.thenReturn(result);
+
+			final var customerDto = customerService.returnCreditLimit(customerId, new BigDecimal("50000"));
+
+			// assertions
+			verify(customerRepository, never()).save(any());
+
+			assertEquals(new BigDecimal("40000.00"), customerDto.usedCreditLimit());
+		}
+	}
 }
@@ -0,0 +1,117 @@
+package com.ing.loanapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.ing.loanapi.properties.ArchiveConfigurationProperties;
+import com.ing.loanapi.repository.LoanArchiveRepository;
+import com.ing.loanapi.sharding.ShardRouter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LoanArchivalService tests")
+public class LoanArchivalServiceTests {
+
+	@Mock
+	LoanArchiveRepository loanArchiveRepository;
+
+	@Mock
+	PlatformTransactionManager transactionManager;
+
+	SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@BeforeEach
+	void setUp() {
+		when(transactionManager.getTransaction(any()))
+				.thenReturn(new SimpleTransactionStatus());
+	}
+
+	@Test
+	@DisplayName("Given more archivable loans than a chunk, archivePaidLoans should archive chunks until one is not full")
+	void givenMoreLoansThanChunk_archivePaidLoans_shouldArchiveChunksUntilNotFull() {
+		final var loanArchivalService = loanArchivalService(2, 10);
+		final var cutoffDate = LocalDate.now().minusDays(90);
+
+		when(loanArchiveRepository.findArchivableLoanIds(cutoffDate, 2))
+				.thenReturn(List.of(1L, 2L), List.of(3L));
+		when(loanArchiveRepository.archive(any(), any()))
+				.thenReturn(24, 12);
+		when(loanArchiveRepository.countLoans())
+				.thenReturn(7L);
+		when(loanArchiveRepository.countInstallments())
+				.thenReturn(84L);
+
+		final var result = loanArchivalService.archivePaidLoans();
+
+		// assertions
+		verify(loanArchiveRepository, times(1)).archive(eq(List.of(1L, 2L)), any());
+		verify(loanArchiveRepository, times(1)).archive(eq(List.of(3L)), any());
+		verify(transactionManager, times(2)).commit(any());
+
+		assertEquals(3, result);
+		assertEquals(3.0, meterRegistry.counter("archive.loans.archived").count());
+		assertEquals(36.0, meterRegistry.counter("archive.installments.archived").count());
+		assertEquals(7.0, meterRegistry.get("loans.hot.rows").tag("table", "LOAN").gauge().value());
+		assertEquals(84.0, meterRegistry.get("loans.hot.rows").tag("table", "LOAN_INSTALLMENT").gauge().value());
+	}
+
+	@Test
+	@DisplayName("Given full chunks, archivePaidLoans should stop after max chunks per run")
+	void givenFullChunks_archivePaidLoans_shouldStopAfterMaxChunks() {
+		final var loanArchivalService = loanArchivalService(1, 2);
+
+		when(loanArchiveRepository.findArchivableLoanIds(any(), anyInt()))
+				.thenReturn(List.of(1L), List.of(2L), List.of(3L));
+		when(loanArchiveRepository.archive(any(), any()))
+				.thenReturn(12);
+
+		final var result = loanArchivalService.archivePaidLoans();
+
+		// assertions
+		verify(loanArchiveRepository, times(2)).archive(any(), any());
+
+		assertEquals(2, result);
+	}
+
+	@Test
+	@DisplayName("Given no archivable loans, archivePaidLoans should not archive anything")
+	void givenNoArchivableLoans_archivePaidLoans_shouldNotArchive() {
+		final var loanArchivalService = loanArchivalService(500, 20);
+
+		when(loanArchiveRepository.findArchivableLoanIds(any(), anyInt()))
+				.thenReturn(Collections.emptyList());
+
+		final var result = loanArchivalService.archivePaidLoans();
+
+		// assertions
+		verify(loanArchiveRepository, never()).archive(any(), any());
+
+		assertEquals(0, result);
+	}
+
+	private LoanArchivalService loanArchivalService(int chunkSize, int maxChunksPerRun) {
+		final var properties = new ArchiveConfigurationProperties(true, Duration.ofDays(90), chunkSize, maxChunksPerRun, Duration.ofHours(1));
+		return new LoanArchivalService(loanArchiveRepository, properties, transactionManager, meterRegistry, new ShardRouter(1));
+	}
+}
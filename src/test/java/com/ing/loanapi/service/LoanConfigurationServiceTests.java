@@ -0,0 +1,146 @@
+package com.ing.loanapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.ing.loanapi.properties.LoanConfigurationProperties;
+import com.ing.loanapi.properties.LoanReloadConfigurationProperties;
+import com.ing.loanapi.validation.LoanRuleValidator;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("LoanConfigurationService tests")
+public class LoanConfigurationServiceTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@TempDir
+	Path directory;
+
+	private Path file;
+	private LoanRuleValidator loanRuleValidator;
+	private LoanConfigurationService loanConfigurationService;
+
+	@BeforeEach
+	void setUp() {
+		file = directory.resolve("loan-rules.yml");
+		loanRuleValidator = new LoanRuleValidator(new LoanConfigurationProperties(
+				new LoanConfigurationProperties.InterestRate(0.1, 0.5),
+				new LoanConfigurationProperties.InterestRate(0.1, 0.5),
+				new LoanConfigurationProperties.Installment(Set.of((short) 6, (short) 9, (short) 12, (short) 24)),
+				(short) 3, 0.001, 0.001, new BigDecimal("1000")), meterRegistry);
+		loanConfigurationService = new LoanConfigurationService(loanRuleValidator,
+				new LoanReloadConfigurationProperties(file, Duration.ofSeconds(10)), meterRegistry);
+	}
+
+	@Test
+	@DisplayName("Given modified configuration file, reloadIfModified should apply it once")
+	void givenModifiedFile_reloadIfModified_shouldApplyItOnce() throws Exception {
+		final var initialVersion = loanConfigurationService.getConfiguration().version();
+		Files.writeString(file, """
+				loan:
+				  interest-rate:
+				    min: 0.2
+				    max: 0.3
+				  annual-interest-rate:
+				    min: 0.05
+				    max: 0.25
+				  installment:
+				    values:
+				      - 12
+				      - 36
+				  payment-in-advance-max-months: 2
+				  reward-per-day: 0.002
+				  penalty-per-day: 0.004
+				  min-loan-amount: 2500
+				""");
+
+		// assertions
+		assertTrue(loanConfigurationService.reloadIfModified());
+		assertFalse(loanConfigurationService.reloadIfModified());
+
+		final var rules = loanRuleValidator.getRules();
+		assertEquals(rules.getVersion(), loanConfigurationService.getConfiguration().version());
+		assertNotEquals(initialVersion, rules.getVersion());
+		assertEquals(0.2, rules.getMinInterestRate());
+		assertEquals(0.3, rules.getMaxInterestRate());
+		assertEquals(0.05, rules.getMinAnnualInterestRate());
+		assertEquals(0.25, rules.getMaxAnnualInterestRate());
+		assertEquals(List.of((short) 12, (short) 36), rules.getSortedAllowedNumberOfInstallments());
+		assertEquals((short) 2, rules.getPaymentInAdvanceMaxMonths());
+		assertEquals(0.002, rules.getRewardPerDay());
+		assertEquals(0.004, rules.getPenaltyPerDay());
+		assertEquals(new BigDecimal("2500"), rules.getMinLoanAmount());
+	}
+
+	@Test
+	@DisplayName("Given invalid configuration file, reloadIfModified should keep the rules in effect")
+	void givenInvalidFile_reloadIfModified_shouldKeepRules() throws Exception {
+		final var rules = loanRuleValidator.getRules();
+		Files.writeString(file, """
+				loan:
+				  interest-rate:
+				    min: 0.5
+				    max: 0.1
+				  installment:
+				    values:
+				      - 12
+				  min-loan-amount: 1000
+				""");
+
+		// assertions
+		assertFalse(loanConfigurationService.reloadIfModified());
+		assertSame(rules, loanRuleValidator.getRules());
+		assertEquals(1.0, meterRegistry.counter("loan.configuration.reload.failures").count());
+	}
+
+	@Test
+	@DisplayName("Given configuration file without reward and penalty, reloadIfModified should keep the rules in effect")
+	void givenPartialFile_reloadIfModified_shouldKeepRules() throws Exception {
+		final var rules = loanRuleValidator.getRules();
+		Files.writeString(file, """
+				loan:
+				  interest-rate:
+				    min: 0.2
+				    max: 0.3
+				  annual-interest-rate:
+				    min: 0.05
+				    max: 0.25
+				  installment:
+				    values:
+				      - 12
+				  payment-in-advance-max-months: 2
+				  min-loan-amount: 1000
+				""");
+
+		// assertions
+		assertFalse(loanConfigurationService.reloadIfModified());
+		assertSame(rules, loanRuleValidator.getRules());
+		assertEquals(1.0, meterRegistry.counter("loan.configuration.reload.failures").count());
+	}
+
+	@Test
+	@DisplayName("Given no configuration file, reloadIfModified should keep the rules in effect")
+	void givenNoFile_reloadIfModified_shouldKeepRules() {
+		final var rules = loanRuleValidator.getRules();
+
+		// assertions
+		assertFalse(loanConfigurationService.reloadIfModified());
+		assertSame(rules, loanRuleValidator.getRules());
+	}
+}
@@ -6,6 +6,7 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.mockStatic;
@@ -29,6 +30,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.ing.loanapi.dto.CustomerDto;
@@ -40,6 +42,7 @@ import com.ing.loanapi.dto.command.PayLoanCommand;
 import com.ing.loanapi.entity.Customer;
 import com.ing.loanapi.entity.Loan;
 import com.ing.loanapi.entity.LoanInstallment;
+import com.ing.loanapi.exception.ConcurrentLoanPaymentException;
 import com.ing.loanapi.exception.CustomerNotFoundException;
 import com.ing.loanapi.exception.InsufficientCreditLimitException;
 import com.ing.loanapi.exception.InvalidInterestRateException;
@@ -48,10 +51,21 @@ import com.ing.loanapi.exception.LoanAlreadyPaidException;
 import com.ing.loanapi.exception.LoanAmountTooLowException;
 import com.ing.loanapi.exception.LoanNotFoundException;
 import com.ing.loanapi.mapper.CustomerMapper;
-import com.ing.loanapi.mapper.LoanInstallmentMapper;
 import com.ing.loanapi.mapper.LoanMapper;
 import com.ing.loanapi.properties.LoanConfigurationProperties;
+import com.ing.loanapi.repository.LoanPayoffRepository;
+import com.ing.loanapi.repository.LoanPayoffRepository.LoanState;
+import com.ing.loanapi.repository.LoanPayoffRepository.UnpaidInstallment;
+import com.ing.loanapi.repository.LoanReadModelRepository;
 import com.ing.loanapi.repository.LoanRepository;
+import com.ing.loanapi.schedule.AnnuityScheduleCalculator;
+import com.ing.loanapi.schedule.FlatScheduleCalculator;
+import com.ing.loanapi.schedule.ReducingBalanceScheduleCalculator;
+import com.ing.loanapi.schedule.ScheduleEngine;
+import com.ing.loanapi.sharding.ShardRouter;
+import com.ing.loanapi.validation.LoanRuleValidator;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("LoanService Tests")
@@ -73,10 +87,30 @@ public class LoanServiceTests {
 	private CustomerMapper customerMapper;
 
 	@Mock
-	private LoanInstallmentMapper loanInstallmentMapper;
+	private LoanReadModelRepository loanReadModelRepository;
+
+	@Mock
+	private OutboxService outboxService;
+
+	@Mock
+	private AuditService auditService;
 
 	@Mock
-	private LoanConfigurationProperties loanConfigurationProperties;
+	private LoanPayoffRepository loanPayoffRepository;
+
+	@Spy
+	private LoanRuleValidator loanRuleValidator = new LoanRuleValidator(new LoanConfigurationProperties(
+			new LoanConfigurationProperties.InterestRate(0.1, 0.5),
+			new LoanConfigurationProperties.InterestRate(0.1, 0.5),
+			new LoanConfigurationProperties.Installment(Set.of((short) 6, (short) 9, (short) 12, (short) 24)),
+			(short) 3, 0.001, 0.001, new BigDecimal("1000")), new SimpleMeterRegistry());
+
+	@Spy
+	private ShardRouter shardRouter = new ShardRouter(1);
+
+	@Spy
+	private ScheduleEngine scheduleEngine = new ScheduleEngine(List.of(
+			new FlatScheduleCalculator(), new AnnuityScheduleCalculator(), new ReducingBalanceScheduleCalculator()));
 
 	@Nested
 	@DisplayName("findLoansOfCustomer Tests")
@@ -96,14 +130,14 @@ public class LoanServiceTests {
 
 			when(customerService.findCustomerById(customerId))
 					.thenReturn(customerDto);
-			when(loanRepository.findByCustomerId(customerId))
+			when(loanReadModelRepository.findLoansByCustomerId(customerId))
 					.thenReturn(Collections.emptyList());
 
 			final var result = loanService.findLoansOfCustomer(customerId);
 
 			// assertions
 			verify(customerService, times(1)).findCustomerById(customerId);
-			verify(loanRepository, times(1)).findByCustomerId(customerId);
+			verify(loanReadModelRepository, times(1)).findLoansByCustomerId(customerId);
 
 			assertEquals(Collections.emptyList(), result);
 		}
@@ -123,9 +157,6 @@ public class LoanServiceTests {
 			when(customerService.findCustomerById(customerId))
 					.thenReturn(customerDto);
 
-			final var customer = new Customer();
-			customer.setId(customerId);
-
 			// loan 1
 			final var loan1Id = 1L;
 			final var loan1Amount = new BigDecimal("10000");
@@ -133,14 +164,6 @@ public class LoanServiceTests {
 			final var loan1Paid = false;
 			final var loan1CreationDate = LocalDate.of(2024, 1, 1);
 
-			final var loan1 = new Loan();
-			loan1.setId(1L);
-			loan1.setCustomer(customer);
-			loan1.setLoanAmount(loan1Amount);
-			loan1.setNumberOfInstallments(loan1NumberOfInstallments);
-			loan1.setPaid(loan1Paid);
-			loan1.setCreateDate(loan1CreationDate);
-
 			// loan 2
 			final var loan2Id = 2L;
 			final var loan2Amount = new BigDecimal("20000");
@@ -148,37 +171,59 @@ public class LoanServiceTests {
 			final var loan2Paid = false;
 			final var loan2CreationDate = LocalDate.of(2024, 3, 1);
 
-			final var loan2 = new Loan();
-			loan2.setId(2L);
-			loan2.setCustomer(customer);
-			loan2.setLoanAmount(loan2Amount);
-			loan2.setNumberOfInstallments(loan2NumberOfInstallments);
-			loan2.setPaid(loan2Paid);
-			loan2.setCreateDate(loan2CreationDate);
-
-			when(loanRepository.findByCustomerId(customerId))
-					.thenReturn(List.of(loan1, loan2));
-
 			final var loanDto1 = new LoanDto(
 					loan1Id, customerId, loan1Amount, loan1NumberOfInstallments, loan1Paid, loan1CreationDate);
 			final var loanDto2 = new LoanDto(
 					loan2Id, customerId, loan2Amount, loan2NumberOfInstallments, loan2Paid, loan2CreationDate);
 
-			when(loanMapper.mapToLoanDto(same(loan1)))
-					.thenReturn(loanDto1);
-			when(loanMapper.mapToLoanDto(same(loan2)))
-					.thenReturn(loanDto2);
+			when(loanReadModelRepository.findLoansByCustomerId(customerId))
+					.thenReturn(List.of(loanDto1, loanDto2));
 
 			final var result = loanService.findLoansOfCustomer(customerId);
 
 			// assertions
 			verify(customerService, times(1)).findCustomerById(customerId);
-			verify(loanRepository, times(1)).findByCustomerId(customerId);
-			verify(loanMapper, times(1)).mapToLoanDto(same(loan1));
-			verify(loanMapper, times(1)).mapToLoanDto(same(loan2));
+			verify(loanReadModelRepository, times(1)).findLoansByCustomerId(customerId);
+			verify(loanRepository, never()).findByCustomerId(any());
 
 			assertEquals(List.of(loanDto1, loanDto2), result);
 		}
+
+		@Test
+		@DisplayName("Given non-existent customer, findLoansOfCustomer should throw CustomerNotFoundException")
+		void givenNonExistentCustomer_findLoansOfCustomer_shouldThrow() throws CustomerNotFoundException {
+			final var customerId = 100003L;
+
+			when(customerService.findCustomerById(customerId))
+					.thenThrow(new CustomerNotFoundException(customerId));
+
+			// assertions
+			assertThrows(CustomerNotFoundException.class, () -> loanService.findLoansOfCustomer(customerId));
+
+			verify(loanReadModelRepository, never()).findLoansByCustomerId(any());
+		}
+
+		@Test
+		@DisplayName("Given includeArchived, findLoansOfCustomer should return hot and archived loans")
+		void givenIncludeArchived_findLoansOfCustomer_shouldReturnArchivedLoans() throws CustomerNotFoundException {
+			final var customerId = 100001L;
+			final var customerDto = new CustomerDto(customerId, "John", "Doe", new BigDecimal("100000"), BigDecimal.ZERO);
+
+			final var archivedLoan = new LoanDto(1L, customerId, new BigDecimal("12000"), (short) 12, true, LocalDate.of(2023, 1, 1));
+			final var hotLoan = new LoanDto(2L, customerId, new BigDecimal("6000"), (short) 6, false, LocalDate.of(2024, 1, 1));
+
+			when(customerService.findCustomerById(customerId))
+					.thenReturn(customerDto);
+			when(loanReadModelRepository.findLoansByCustomerIdIncludingArchived(customerId))
+					.thenReturn(List.of(archivedLoan, hotLoan));
+
+			final var result = loanService.findLoansOfCustomer(customerId, true);
+
+			// assertions
+			verify(loanReadModelRepository, never()).findLoansByCustomerId(any());
+
+			assertEquals(List.of(archivedLoan, hotLoan), result);
+		}
 	}
 
 	@Nested
@@ -189,17 +234,6 @@ public class LoanServiceTests {
 		@DisplayName("Given an existing loan, findInstallmentsOfLoan should return the list of installments")
 		public void givenExistingLoan_findInstallmentsOfLoan_shouldReturnListOfInstallments() throws LoanNotFoundException {
 			final var loanId = 1L;
-			final var loanAmount = new BigDecimal("10000");
-			final var numberOfInstallments = (short) 3;
-			final var paid = false;
-			final var createDate = LocalDate.of(2024, 1, 1);
-
-			final var loan = new Loan();
-			loan.setId(loanId);
-			loan.setLoanAmount(loanAmount);
-			loan.setNumberOfInstallments(numberOfInstallments);
-			loan.setPaid(paid);
-			loan.setCreateDate(createDate);
 
 			final var installment1Id = 1L;
 			final var installment1Amount = new BigDecimal("5000");
@@ -218,55 +252,21 @@ public class LoanServiceTests {
 			final var installment3DueDate = LocalDate.of(2024, 4, 1);
 			final var installment3Paid = false;
 
-			final var installment1 = new LoanInstallment();
-			installment1.setId(installment1Id);
-			installment1.setLoan(loan);
-			installment1.setAmount(installment1Amount);
-			installment1.setDueDate(installment1DueDate);
-			installment1.setPaid(installment1Paid);
-			installment1.setPaidAmount(installment1PaidAmount);
-			installment1.setPaymentDate(installment1PaymentDate);
-
-			final var installment2 = new LoanInstallment();
-			installment2.setId(installment2Id);
-			installment2.setLoan(loan);
-			installment2.setAmount(installment2Amount);
-			installment2.setDueDate(installment2DueDate);
-			installment2.setPaid(installment2Paid);
-
-			final var installment3 = new LoanInstallment();
-			installment3.setId(installment3Id);
-			installment3.setLoan(loan);
-			installment3.setAmount(installment3Amount);
-			installment3.setDueDate(installment3DueDate);
-			installment3.setPaid(installment3Paid);
-
-			loan.setInstallments(List.of(installment1, installment2, installment3));
-
-			when(loanRepository.findById(loanId))
-					.thenReturn(Optional.of(loan));
-
 			final var installmentDto1 = new LoanInstallmentDto(
 					installment1Id, loanId, installment1Amount, installment1PaidAmount, installment1DueDate, installment1PaymentDate, installment1Paid);
 			final var installmentDto2 = new LoanInstallmentDto(
-					installment2Id, loanId, installment2Amount, null, installment2DueDate, null, installment2Paid);
+					installment2Id, loanId, installment2Amount, BigDecimal.ZERO, installment2DueDate, null, installment2Paid);
 			final var installmentDto3 = new LoanInstallmentDto(
-					installment3Id, loanId, installment3Amount, null, installment3DueDate, null, installment2Paid);
+					installment3Id, loanId, installment3Amount, BigDecimal.ZERO, installment3DueDate, null, installment3Paid);
 
-			when(loanInstallmentMapper.mapToLoanInstallmentDto(same(installment1)))
-					.thenReturn(installmentDto1);
-			when(loanInstallmentMapper.mapToLoanInstallmentDto(same(installment2)))
-					.thenReturn(installmentDto2);
-			when(loanInstallmentMapper.mapToLoanInstallmentDto(same(installment3)))
-					.thenReturn(installmentDto3);
+			when(loanReadModelRepository.findInstallmentsByLoanId(loanId))
+					.thenReturn(List.of(installmentDto1, installmentDto2, installmentDto3));
 
 			final var result = loanService.findInstallmentsOfLoan(loanId);
 
 			// assertions
-			verify(loanRepository, times(1)).findById(loanId);
-			verify(loanInstallmentMapper, times(1)).mapToLoanInstallmentDto(same(installment1));
-			verify(loanInstallmentMapper, times(1)).mapToLoanInstallmentDto(same(installment2));
-			verify(loanInstallmentMapper, times(1)).mapToLoanInstallmentDto(same(installment3));
+			verify(loanReadModelRepository, times(1)).findInstallmentsByLoanId(loanId);
+			verify(loanRepository, never()).findById(any());
 
 			assertEquals(List.of(installmentDto1, installmentDto2, installmentDto3), result);
 		}
@@ -276,14 +276,31 @@ public class LoanServiceTests {
 		public void givenNonExistentLoan_findInstallmentsOfLoan_shouldThrow() {
 			final var loanId = 3L;
 
-			when(loanRepository.findById(loanId))
-					.thenReturn(Optional.empty());
+			when(loanReadModelRepository.findInstallmentsByLoanId(loanId))
+					.thenReturn(Collections.emptyList());
 
 			// assertions
 			assertThrows(LoanNotFoundException.class, () -> loanService.findInstallmentsOfLoan(loanId));
 
-			verify(loanRepository, times(1)).findById(loanId);
-			verify(loanInstallmentMapper, never()).mapToLoanInstallmentDto(any());
+			verify(loanReadModelRepository, times(1)).findInstallmentsByLoanId(loanId);
+		}
+
+		@Test
+		@DisplayName("Given archived loan, findInstallmentsOfLoan should return archived installments")
+		public void givenArchivedLoan_findInstallmentsOfLoan_shouldReturnArchivedInstallments() throws LoanNotFoundException {
+			final var loanId = 4L;
+			final var installmentDto = new LoanInstallmentDto(
+					10L, loanId, new BigDecimal("5000"), new BigDecimal("5000"), LocalDate.of(2023, 2, 1), LocalDate.of(2023, 2, 1), true);
+
+			when(loanReadModelRepository.findInstallmentsByLoanId(loanId))
+					.thenReturn(Collections.emptyList());
+			when(loanReadModelRepository.findArchivedInstallmentsByLoanId(loanId))
+					.thenReturn(List.of(installmentDto));
+
+			final var result = loanService.findInstallmentsOfLoan(loanId);
+
+			// assertions
+			assertEquals(List.of(installmentDto), result);
 		}
 	}
 
@@ -301,7 +318,7 @@ public class LoanServiceTests {
 			final var numberOfInstallments = (short) 12;
 
 			final var loanDate = LocalDate.now();
-			final var totalPaymentAmount = new BigDecimal("120000.0");
+			final var totalPaymentAmount = new BigDecimal("120000.00");
 
 			final var name = "Jane";
 			final var surname = "Doe";
@@ -318,13 +335,6 @@ public class LoanServiceTests {
 
 			final var loanId = 1L;
 
-			when(loanConfigurationProperties.minLoanAmount())
-					.thenReturn(new BigDecimal("1000"));
-			when(loanConfigurationProperties.interestRate())
-					.thenReturn(new LoanConfigurationProperties.InterestRate(0.1, 0.5));
-			when(loanConfigurationProperties.installment())
-					.thenReturn(new LoanConfigurationProperties.Installment(Set.of((short) 6, (short) 9, (short) 12, (short) 24)));
-
 			when(customerService.useCreditLimit(customerId, totalPaymentAmount))
 					.thenReturn(customerDto);
 			when(loanRepository.save(any(Loan.class)))
@@ -349,6 +359,7 @@ public class LoanServiceTests {
 			verify(customerService, times(1)).useCreditLimit(eq(customerId), eq(totalPaymentAmount));
 			verify(loanRepository, times(1)).save(loanCaptor.capture());
 			verify(loanMapper, times(1)).mapToLoanDto(same(loanCaptor.getValue()));
+			verify(loanReadModelRepository, times(1)).insertLoanSummary(eq(result), eq(totalPaymentAmount), eq(loanDate.withDayOfMonth(1).plusMonths(1)));
 
 			assertEquals(loanId, result.id());
 			assertEquals(customerId, result.customerId());
@@ -356,6 +367,7 @@ public class LoanServiceTests {
 			assertEquals(numberOfInstallments, result.numberOfInstallments());
 			assertEquals(false, result.paid());
 			assertEquals(loanDate, result.createDate());
+			assertEquals(loanRuleValidator.getRules().getVersion(), loanCaptor.getValue().getConfigurationVersion());
 
 			final var totalInstallmentAmount = loanCaptor.getValue().getInstallments()
 					.stream().map(LoanInstallment::getAmount)
@@ -480,13 +492,6 @@ public class LoanServiceTests {
 
 			loan.setInstallments(List.of(installment1, installment2, installment3, installment4, installment5, installment6));
 
-			when(loanConfigurationProperties.paymentInAdvanceMaxMonths())
-					.thenReturn((short) 3);
-			when(loanConfigurationProperties.rewardPerDay())
-					.thenReturn(0.001);
-			when(loanConfigurationProperties.penaltyPerDay())
-					.thenReturn(0.001);
-
 			when(loanRepository.findById(loanId))
 					.thenReturn(Optional.of(loan));
 			when(loanRepository.save(same(loan)))
@@ -503,9 +508,11 @@ public class LoanServiceTests {
 
 			// assertions
 			final var loanCaptor = ArgumentCaptor.forClass(Loan.class);
+			verify(loanPayoffRepository, times(1)).lockLoan(loanId);
 			verify(loanRepository, times(1)).findById(loanId);
 			verify(loanRepository, times(1)).save(loanCaptor.capture());
 			verify(customerService, times(1)).returnCreditLimit(customerId, totalPaidDebt);
+			verify(loanReadModelRepository, times(1)).applyPayment(loanId, 2, totalPaidDebt, installment4DueDate, false);
 
 			final var installments = loan.getInstallments();
 			assertEquals(6, installments.size());
@@ -650,13 +657,6 @@ public class LoanServiceTests {
 
 			loan.setInstallments(List.of(installment1, installment2, installment3, installment4, installment5, installment6));
 
-			when(loanConfigurationProperties.paymentInAdvanceMaxMonths())
-					.thenReturn((short) 3);
-			when(loanConfigurationProperties.rewardPerDay())
-					.thenReturn(0.001);
-			when(loanConfigurationProperties.penaltyPerDay())
-					.thenReturn(0.001);
-
 			when(loanRepository.findById(loanId))
 					.thenReturn(Optional.of(loan));
 			when(loanRepository.save(same(loan)))
@@ -826,13 +826,6 @@ public class LoanServiceTests {
 
 			loan.setInstallments(List.of(installment1, installment2, installment3, installment4, installment5, installment6));
 
-			when(loanConfigurationProperties.paymentInAdvanceMaxMonths())
-					.thenReturn((short) 3);
-			when(loanConfigurationProperties.rewardPerDay())
-					.thenReturn(0.001);
-			when(loanConfigurationProperties.penaltyPerDay())
-					.thenReturn(0.001);
-
 			when(loanRepository.findById(loanId))
 					.thenReturn(Optional.of(loan));
 			when(loanRepository.save(same(loan)))
@@ -1215,5 +1208,136 @@ public class LoanServiceTests {
 			verify(loanRepository, never()).save(any());
 			verify(customerService, never()).returnCreditLimit(any(), any());
 		}
+
+		@Test
+		@DisplayName("Given archived loan, payLoan should throw LoanAlreadyPaidException")
+		void givenArchivedLoan_payLoan_shouldThrow() throws CustomerNotFoundException {
+			final var loanId = 1L;
+
+			when(loanRepository.findById(loanId))
+					.thenReturn(Optional.empty());
+			when(loanReadModelRepository.findArchivedLoanById(loanId))
+					.thenReturn(Optional.of(new LoanDto(loanId, 100001L, new BigDecimal("12000"), (short) 12, true, LocalDate.of(2023, 1, 1))));
+
+			assertThrows(LoanAlreadyPaidException.class, () -> loanService.payLoan(loanId, new PayLoanCommand(new BigDecimal("2500"))));
+
+			// assertions
+			verify(loanRepository, never()).save(any());
+			verify(customerService, never()).returnCreditLimit(any(), any());
+		}
+	}
+
+	@Nested
+	@DisplayName("payoff Tests")
+	class PayoffTests {
+
+		private final Long loanId = 1L;
+		private final Long customerId = 100001L;
+
+		private List<UnpaidInstallment> unpaidInstallments() {
+			final var today = LocalDate.now();
+			return List.of(
+					new UnpaidInstallment(11L, new BigDecimal("5000.00"), today),
+					new UnpaidInstallment(12L, new BigDecimal("5000.00"), today.plusDays(10)));
+		}
+
+		@Test
+		@DisplayName("Given unpaid loan, quotePayoff should return outstanding amount and discounted payoff amount")
+		void givenUnpaidLoan_quotePayoff_shouldReturnDiscountedPayoffAmount() throws LoanNotFoundException, LoanAlreadyPaidException {
+			when(loanPayoffRepository.findLoan(loanId))
+					.thenReturn(Optional.of(new LoanState(loanId, customerId, false)));
+			when(loanPayoffRepository.findUnpaidInstallments(loanId))
+					.thenReturn(unpaidInstallments());
+
+			final var result = loanService.quotePayoff(loanId);
+
+			// assertions
+			assertEquals(loanId, result.loanId());
+			assertEquals(2, result.numberOfInstallments());
+			assertEquals(new BigDecimal("10000.00"), result.outstandingAmount());
+			assertEquals(new BigDecimal("9999.99"), result.payoffAmount());
+			verify(loanPayoffRepository, never()).payInstallments(any(), anyList(), any());
+		}
+
+		@Test
+		@DisplayName("Given non-existent loan, quotePayoff should throw LoanNotFoundException")
+		void givenNonExistentLoan_quotePayoff_shouldThrow() {
+			when(loanPayoffRepository.findLoan(loanId))
+					.thenReturn(Optional.empty());
+
+			// assertions
+			assertThrows(LoanNotFoundException.class, () -> loanService.quotePayoff(loanId));
+		}
+
+		@Test
+		@DisplayName("Given archived loan, quotePayoff and payOff should throw LoanAlreadyPaidException")
+		void givenArchivedLoan_quotePayoffAndPayOff_shouldThrow() throws CustomerNotFoundException {
+			when(loanPayoffRepository.findLoan(loanId))
+					.thenReturn(Optional.empty());
+			when(loanPayoffRepository.lockLoan(loanId))
+					.thenReturn(Optional.empty());
+			when(loanReadModelRepository.findArchivedLoanById(loanId))
+					.thenReturn(Optional.of(new LoanDto(loanId, customerId, new BigDecimal("12000"), (short) 12, true, LocalDate.of(2023, 1, 1))));
+
+			// assertions
+			assertThrows(LoanAlreadyPaidException.class, () -> loanService.quotePayoff(loanId));
+			assertThrows(LoanAlreadyPaidException.class, () -> loanService.payOff(loanId));
+			verify(loanPayoffRepository, never()).payInstallments(any(), anyList(), any());
+			verify(customerService, never()).returnCreditLimit(any(), any());
+		}
+
+		@Test
+		@DisplayName("Given unpaid loan, payOff should pay all installments in bulk and return credit limit once")
+		void givenUnpaidLoan_payOff_shouldPayAllInstallmentsAndReturnCreditOnce() throws LoanNotFoundException, LoanAlreadyPaidException, CustomerNotFoundException {
+			final var paymentDate = LocalDate.now();
+
+			when(loanPayoffRepository.lockLoan(loanId))
+					.thenReturn(Optional.of(new LoanState(loanId, customerId, false)));
+			when(loanPayoffRepository.findUnpaidInstallments(loanId))
+					.thenReturn(unpaidInstallments());
+			when(loanPayoffRepository.payInstallments(eq(loanId), anyList(), eq(paymentDate)))
+					.thenReturn(2);
+
+			final var result = loanService.payOff(loanId);
+
+			// assertions
+			verify(loanPayoffRepository, times(1)).payInstallments(eq(loanId), anyList(), eq(paymentDate));
+			verify(loanPayoffRepository, times(1)).markLoanPaid(loanId);
+			verify(customerService, times(1)).returnCreditLimit(customerId, new BigDecimal("10000.00"));
+			verify(loanReadModelRepository, times(1)).applyPayment(loanId, 2, new BigDecimal("10000.00"), null, true);
+			verify(outboxService, times(2)).append(any());
+			verify(loanRepository, never()).findById(any());
+
+			assertEquals(2, result.numberOfInstallmentsPaid());
+			assertEquals(new BigDecimal("9999.99"), result.totalPaidAmount());
+			assertTrue(result.allInstallmentsOfLoanPaid());
+		}
+
+		@Test
+		@DisplayName("Given installment paid concurrently, payOff should fail without returning credit limit")
+		void givenInstallmentPaidConcurrently_payOff_shouldFail() throws CustomerNotFoundException {
+			when(loanPayoffRepository.lockLoan(loanId))
+					.thenReturn(Optional.of(new LoanState(loanId, customerId, false)));
+			when(loanPayoffRepository.findUnpaidInstallments(loanId))
+					.thenReturn(unpaidInstallments());
+			when(loanPayoffRepository.payInstallments(eq(loanId), anyList(), any()))
+					.thenReturn(1);
+
+			// assertions
+			assertThrows(ConcurrentLoanPaymentException.class, () -> loanService.payOff(loanId));
+			verify(loanPayoffRepository, never()).markLoanPaid(any());
+			verify(customerService, never()).returnCreditLimit(any(), any());
+		}
+
+		@Test
+		@DisplayName("Given paid loan, payOff should throw LoanAlreadyPaidException")
+		void givenPaidLoan_payOff_shouldThrow() {
+			when(loanPayoffRepository.lockLoan(loanId))
+					.thenReturn(Optional.of(new LoanState(loanId, customerId, true)));
+
+			// assertions
+			assertThrows(LoanAlreadyPaidException.class, () -> loanService.payOff(loanId));
+			verify(loanPayoffRepository, never()).findUnpaidInstallments(any());
+		}
 	}
-}
\ No newline at end of file
+}
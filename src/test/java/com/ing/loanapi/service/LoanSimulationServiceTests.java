@@ -0,0 +1,122 @@
+package com.ing.loanapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.ing.loanapi.dto.LoanQuoteDto;
+import com.ing.loanapi.dto.command.SimulateLoanCommand;
+import com.ing.loanapi.exception.BusinessException;
+import com.ing.loanapi.exception.InvalidInterestRateException;
+import com.ing.loanapi.exception.InvalidNumberOfInstallmentsException;
+import com.ing.loanapi.exception.LoanAmountTooLowException;
+import com.ing.loanapi.properties.LoanConfigurationProperties;
+import com.ing.loanapi.properties.SimulationConfigurationProperties;
+import com.ing.loanapi.schedule.AnnuityScheduleCalculator;
+import com.ing.loanapi.schedule.FlatScheduleCalculator;
+import com.ing.loanapi.schedule.InterestModel;
+import com.ing.loanapi.schedule.ReducingBalanceScheduleCalculator;
+import com.ing.loanapi.schedule.ScheduleEngine;
+import com.ing.loanapi.validation.LoanRuleValidator;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("LoanSimulationService tests")
+public class LoanSimulationServiceTests {
+
+	private final LoanConfigurationProperties loanConfigurationProperties = new LoanConfigurationProperties(
+			new LoanConfigurationProperties.InterestRate(0.1, 0.5),
+			new LoanConfigurationProperties.InterestRate(0.1, 0.5),
+			new LoanConfigurationProperties.Installment(Set.of((short) 6, (short) 9, (short) 12, (short) 24)),
+			(short) 3, 0.001, 0.001, new BigDecimal("1000"));
+
+	private final ScheduleEngine scheduleEngine = new ScheduleEngine(List.of(
+			new FlatScheduleCalculator(), new AnnuityScheduleCalculator(), new ReducingBalanceScheduleCalculator()));
+
+	private LoanSimulationService loanSimulationService(int parallelThreshold) {
+		return new LoanSimulationService(scheduleEngine, new LoanRuleValidator(loanConfigurationProperties, new SimpleMeterRegistry()),
+				new SimulationConfigurationProperties(1_000, parallelThreshold), new SimpleMeterRegistry());
+	}
+
+	@Test
+	@DisplayName("Given interest rates and no numbers of installments, simulate should quote every allowed number of installments in order")
+	void givenInterestRatesAndNoInstallments_simulate_shouldQuoteAllAllowedInstallments() throws BusinessException {
+		final var command = new SimulateLoanCommand(new BigDecimal("10000"), List.of(0.3, 0.2), null, null);
+
+		final var result = loanSimulationService(64).simulate(command);
+
+		// assertions
+		assertEquals(InterestModel.FLAT, result.interestModel());
+		assertEquals(8, result.quotes().size());
+		assertEquals(0.2, result.quotes().get(0).interestRate());
+		assertEquals((short) 6, result.quotes().get(0).numberOfInstallments());
+		assertEquals(0.3, result.quotes().get(7).interestRate());
+		assertEquals((short) 24, result.quotes().get(7).numberOfInstallments());
+
+		final var quote = result.quotes().get(0);
+		assertEquals(new BigDecimal("12000.00"), quote.totalPaymentAmount());
+		assertEquals(6, quote.installmentAmounts().size());
+		assertEquals(0, quote.totalPaymentAmount().compareTo(quote.installmentAmounts().stream().reduce(BigDecimal.ZERO, BigDecimal::add)));
+	}
+
+	@Test
+	@DisplayName("Given the same simulation twice, simulate should serve the quotes from the cache")
+	void givenSameSimulationTwice_simulate_shouldServeQuotesFromCache() throws BusinessException {
+		final var service = loanSimulationService(64);
+		final var command = new SimulateLoanCommand(new BigDecimal("10000"), List.of(0.2), List.of((short) 12), InterestModel.ANNUITY);
+
+		final var first = service.simulate(command);
+		final var second = service.simulate(command);
+
+		// assertions
+		assertSame(first.quotes().get(0), second.quotes().get(0));
+	}
+
+	@Test
+	@DisplayName("Given a grid above the parallel threshold, simulate should return the same quotes as sequentially")
+	void givenGridAboveParallelThreshold_simulate_shouldReturnSameQuotes() throws BusinessException {
+		final var rates = List.of(0.1, 0.15, 0.2, 0.25, 0.3, 0.35, 0.4, 0.45, 0.5);
+		final var command = new SimulateLoanCommand(new BigDecimal("25000.55"), rates, null, InterestModel.REDUCING_BALANCE);
+
+		final List<LoanQuoteDto> parallel = loanSimulationService(1).simulate(command).quotes();
+		final List<LoanQuoteDto> sequential = loanSimulationService(Integer.MAX_VALUE).simulate(command).quotes();
+
+		// assertions
+		assertEquals(36, parallel.size());
+		assertEquals(sequential, parallel);
+	}
+
+	@Test
+	@DisplayName("Given interest rate out of range, simulate should throw InvalidInterestRateException")
+	void givenInterestRateOutOfRange_simulate_shouldThrow() {
+		final var command = new SimulateLoanCommand(new BigDecimal("10000"), List.of(0.2, 0.6), null, null);
+
+		// assertions
+		assertThrows(InvalidInterestRateException.class, () -> loanSimulationService(64).simulate(command));
+	}
+
+	@Test
+	@DisplayName("Given not allowed number of installments, simulate should throw InvalidNumberOfInstallmentsException")
+	void givenNotAllowedNumberOfInstallments_simulate_shouldThrow() {
+		final var command = new SimulateLoanCommand(new BigDecimal("10000"), List.of(0.2), List.of((short) 7), null);
+
+		// assertions
+		assertThrows(InvalidNumberOfInstallmentsException.class, () -> loanSimulationService(64).simulate(command));
+	}
+
+	@Test
+	@DisplayName("Given amount lower than minimum, simulate should throw LoanAmountTooLowException")
+	void givenAmountLowerThanMinimum_simulate_shouldThrow() {
+		final var command = new SimulateLoanCommand(new BigDecimal("999.99"), List.of(0.2), null, null);
+
+		// assertions
+		assertThrows(LoanAmountTooLowException.class, () -> loanSimulationService(64).simulate(command));
+	}
+}
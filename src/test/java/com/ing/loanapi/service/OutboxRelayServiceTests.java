@@ -0,0 +1,127 @@
+package com.ing.loanapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.ing.loanapi.entity.OutboxEvent;
+import com.ing.loanapi.outbox.InMemoryOutboxSink;
+import com.ing.loanapi.outbox.OutboxMessage;
+import com.ing.loanapi.outbox.OutboxSink;
+import com.ing.loanapi.properties.OutboxConfigurationProperties;
+import com.ing.loanapi.repository.OutboxEventRepository;
+import com.ing.loanapi.sharding.ShardRouter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OutboxRelayService Tests")
+public class OutboxRelayServiceTests {
+
+	@Mock
+	private OutboxEventRepository outboxEventRepository;
+
+	private final OutboxConfigurationProperties outboxConfigurationProperties = new OutboxConfigurationProperties(
+			new OutboxConfigurationProperties.Relay(10, Duration.ofSeconds(1)),
+			new OutboxConfigurationProperties.Sink(OutboxConfigurationProperties.SinkType.IN_MEMORY, null));
+
+	private SimpleMeterRegistry meterRegistry;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+	}
+
+	@Test
+	@DisplayName("Given unpublished events, relayBatch should publish them in outbox order and mark them as published")
+	void givenUnpublishedEvents_relayBatch_shouldPublishInOrderAndMarkPublished() {
+		final var sink = new InMemoryOutboxSink();
+		final var relayService = new OutboxRelayService(outboxEventRepository, sink, outboxConfigurationProperties, meterRegistry, new ShardRouter(1));
+
+		final var event1 = outboxEvent(1L, 10L, "LOAN_CREATED");
+		final var event2 = outboxEvent(2L, 20L, "LOAN_CREATED");
+		final var event3 = outboxEvent(3L, 10L, "LOAN_INSTALLMENTS_PAID");
+
+		when(outboxEventRepository.findByPublishedFalseOrderByIdAsc(any()))
+				.thenReturn(List.of(event1, event2, event3));
+
+		final var result = relayService.relayBatch();
+
+		// assertions
+		verify(outboxEventRepository, times(1)).markPublished(eq(List.of(1L, 2L, 3L)), any(Instant.class));
+
+		assertEquals(3, result);
+		assertEquals(List.of(1L, 2L, 3L), sink.getMessages().stream().map(OutboxMessage::id).toList());
+		assertEquals(List.of("LOAN_CREATED", "LOAN_INSTALLMENTS_PAID"), sink.getMessages().stream()
+				.filter(message -> message.key().equals(10L))
+				.map(OutboxMessage::type)
+				.toList());
+		assertEquals(3.0, meterRegistry.counter("outbox.events.published").count());
+	}
+
+	@Test
+	@DisplayName("Given failing sink, relayBatch should not mark any event as published")
+	void givenFailingSink_relayBatch_shouldNotMarkPublished() {
+		final OutboxSink sink = messages -> {
+			throw new IllegalStateException("broker unavailable");
+		};
+		final var relayService = new OutboxRelayService(outboxEventRepository, sink, outboxConfigurationProperties, meterRegistry, new ShardRouter(1));
+
+		when(outboxEventRepository.findByPublishedFalseOrderByIdAsc(any()))
+				.thenReturn(List.of(outboxEvent(1L, 10L, "LOAN_CREATED")));
+
+		final var result = relayService.relayBatch();
+
+		// assertions
+		verify(outboxEventRepository, never()).markPublished(anyCollection(), any());
+
+		assertEquals(0, result);
+		assertEquals(1.0, meterRegistry.counter("outbox.relay.failures").count());
+	}
+
+	@Test
+	@DisplayName("Given no unpublished events, relayBatch should not publish anything")
+	void givenNoUnpublishedEvents_relayBatch_shouldNotPublish() {
+		final var sink = new InMemoryOutboxSink();
+		final var relayService = new OutboxRelayService(outboxEventRepository, sink, outboxConfigurationProperties, meterRegistry, new ShardRouter(1));
+
+		when(outboxEventRepository.findByPublishedFalseOrderByIdAsc(any()))
+				.thenReturn(Collections.emptyList());
+
+		final var result = relayService.relayBatch();
+
+		// assertions
+		verify(outboxEventRepository, never()).markPublished(anyCollection(), any());
+
+		assertEquals(0, result);
+		assertTrue(sink.getMessages().isEmpty());
+	}
+
+	private static OutboxEvent outboxEvent(Long id, Long loanId, String type) {
+		final var event = new OutboxEvent();
+		event.setId(id);
+		event.setAggregateId(loanId);
+		event.setEventType(type);
+		event.setPayload("{}");
+		event.setOccurredAt(Instant.now());
+		return event;
+	}
+}
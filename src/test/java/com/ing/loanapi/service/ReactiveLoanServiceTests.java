@@ -0,0 +1,161 @@
+package com.ing.loanapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.ing.loanapi.dto.LoanDto;
+import com.ing.loanapi.dto.LoanInstallmentDto;
+import com.ing.loanapi.exception.CustomerNotFoundException;
+import com.ing.loanapi.exception.LoanNotFoundException;
+import com.ing.loanapi.repository.ReactiveLoanReadModelRepository;
+
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReactiveLoanService tests")
+public class ReactiveLoanServiceTests {
+
+	@InjectMocks
+	ReactiveLoanService reactiveLoanService;
+
+	@Mock
+	ReactiveLoanReadModelRepository reactiveLoanReadModelRepository;
+
+	@Test
+	@DisplayName("Given existing customer, findLoansOfCustomer should stream loans of the customer")
+	void givenExistingCustomer_findLoansOfCustomer_shouldStreamLoans() {
+		final var customerId = 100001L;
+		final var loan = new LoanDto(1L, customerId, new BigDecimal("10000"), (short) 6, false, LocalDate.now());
+
+		when(reactiveLoanReadModelRepository.existsCustomerById(customerId))
+				.thenReturn(Mono.just(true));
+		when(reactiveLoanReadModelRepository.findLoansByCustomerId(customerId))
+				.thenReturn(Flux.just(loan));
+
+		final var result = reactiveLoanService.findLoansOfCustomer(customerId, false)
+				.flatMapMany(loans -> loans)
+				.collectList()
+				.block();
+
+		// assertions
+		assertEquals(List.of(loan), result);
+	}
+
+	@Test
+	@DisplayName("Given includeArchived, findLoansOfCustomer should stream archived loans together with the active ones")
+	void givenIncludeArchived_findLoansOfCustomer_shouldStreamArchivedLoans() {
+		final var customerId = 100001L;
+		final var archivedLoan = new LoanDto(1L, customerId, new BigDecimal("12000"), (short) 12, true, LocalDate.of(2023, 1, 1));
+		final var hotLoan = new LoanDto(2L, customerId, new BigDecimal("6000"), (short) 6, false, LocalDate.now());
+
+		when(reactiveLoanReadModelRepository.existsCustomerById(customerId))
+				.thenReturn(Mono.just(true));
+		when(reactiveLoanReadModelRepository.findLoansByCustomerIdIncludingArchived(customerId))
+				.thenReturn(Flux.just(archivedLoan, hotLoan));
+
+		final var result = reactiveLoanService.findLoansOfCustomer(customerId, true)
+				.flatMapMany(loans -> loans)
+				.collectList()
+				.block();
+
+		// assertions
+		assertEquals(List.of(archivedLoan, hotLoan), result);
+		verify(reactiveLoanReadModelRepository, never()).findLoansByCustomerId(any());
+	}
+
+	@Test
+	@DisplayName("Given non-existent customer, findLoansOfCustomer should fail with CustomerNotFoundException before streaming")
+	void givenNonExistentCustomer_findLoansOfCustomer_shouldFail() {
+		final var customerId = 100004L;
+
+		when(reactiveLoanReadModelRepository.existsCustomerById(customerId))
+				.thenReturn(Mono.just(false));
+
+		final var mono = reactiveLoanService.findLoansOfCustomer(customerId, false);
+
+		// assertions
+		final var exception = assertThrows(RuntimeException.class, mono::block);
+		assertInstanceOf(CustomerNotFoundException.class, Exceptions.unwrap(exception));
+		verify(reactiveLoanReadModelRepository, never()).findLoansByCustomerId(any());
+	}
+
+	@Test
+	@DisplayName("Given existing loan, findInstallmentsOfLoan should stream installments of the loan")
+	void givenExistingLoan_findInstallmentsOfLoan_shouldStreamInstallments() {
+		final var loanId = 1L;
+		final var installment = new LoanInstallmentDto(1L, loanId, new BigDecimal("1000"), BigDecimal.ZERO, LocalDate.now(), null, false);
+
+		when(reactiveLoanReadModelRepository.existsLoanById(loanId))
+				.thenReturn(Mono.just(true));
+		when(reactiveLoanReadModelRepository.findInstallmentsByLoanId(loanId))
+				.thenReturn(Flux.just(installment));
+
+		final var result = reactiveLoanService.findInstallmentsOfLoan(loanId)
+				.flatMapMany(installments -> installments)
+				.collectList()
+				.block();
+
+		// assertions
+		assertEquals(List.of(installment), result);
+	}
+
+	@Test
+	@DisplayName("Given archived loan, findInstallmentsOfLoan should stream installments from the archive")
+	void givenArchivedLoan_findInstallmentsOfLoan_shouldStreamArchivedInstallments() {
+		final var loanId = 3L;
+		final var installment = new LoanInstallmentDto(1L, loanId, new BigDecimal("1000"), new BigDecimal("1000"),
+				LocalDate.of(2023, 2, 1), LocalDate.of(2023, 1, 20), true);
+
+		when(reactiveLoanReadModelRepository.existsLoanById(loanId))
+				.thenReturn(Mono.just(false));
+		when(reactiveLoanReadModelRepository.existsArchivedLoanById(loanId))
+				.thenReturn(Mono.just(true));
+		when(reactiveLoanReadModelRepository.findArchivedInstallmentsByLoanId(loanId))
+				.thenReturn(Flux.just(installment));
+
+		final var result = reactiveLoanService.findInstallmentsOfLoan(loanId)
+				.flatMapMany(installments -> installments)
+				.collectList()
+				.block();
+
+		// assertions
+		assertEquals(List.of(installment), result);
+		verify(reactiveLoanReadModelRepository, never()).findInstallmentsByLoanId(any());
+	}
+
+	@Test
+	@DisplayName("Given non-existent loan, findInstallmentsOfLoan should fail with LoanNotFoundException before streaming")
+	void givenNonExistentLoan_findInstallmentsOfLoan_shouldFail() {
+		final var loanId = 2L;
+
+		when(reactiveLoanReadModelRepository.existsLoanById(loanId))
+				.thenReturn(Mono.just(false));
+		when(reactiveLoanReadModelRepository.existsArchivedLoanById(loanId))
+				.thenReturn(Mono.just(false));
+
+		final var mono = reactiveLoanService.findInstallmentsOfLoan(loanId);
+
+		// assertions
+		final var exception = assertThrows(RuntimeException.class, mono::block);
+		assertInstanceOf(LoanNotFoundException.class, Exceptions.unwrap(exception));
+		verify(reactiveLoanReadModelRepository, never()).findInstallmentsByLoanId(any());
+	}
+}
@@ -0,0 +1,170 @@
+package com.ing.loanapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.ing.loanapi.exception.UserNotFoundException;
+import com.ing.loanapi.properties.AuthenticationConfigurationProperties;
+import com.ing.loanapi.properties.AuthenticationConfigurationProperties.BasicAuthentication.User;
+import com.ing.loanapi.repository.UserAccountRepository;
+import com.ing.loanapi.repository.UserAccountRepository.UserAccount;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserAccountService tests")
+public class UserAccountServiceTests {
+
+	private static final String PASSWORD_HASH = "$2a$04$abcdefghijklmnopqrstuu5Jvb0/4kB6o5i5KAsd/NWm0GqJLgjCC";
+
+	@Mock
+	UserAccountRepository userAccountRepository;
+
+	private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+
+	private UserAccountService userAccountService;
+
+	@BeforeEach
+	void setUp() {
+		final var properties = new AuthenticationConfigurationProperties(null,
+				new AuthenticationConfigurationProperties.Password(4),
+				new AuthenticationConfigurationProperties.UserCache(1000, Duration.ofMinutes(5)),
+				null);
+		userAccountService = new UserAccountService(userAccountRepository, passwordEncoder, properties, new SimpleMeterRegistry());
+	}
+
+	@Test
+	@DisplayName("Given existing user, loadUserByUsername should read the store once and build new user details each time")
+	void givenExistingUser_loadUserByUsername_shouldReadStoreOnce() {
+		when(userAccountRepository.findByUsername("100001"))
+				.thenReturn(Optional.of(new UserAccount("100001", PASSWORD_HASH, 100001L, true, List.of("CUSTOMER"))));
+
+		final var first = userAccountService.loadUserByUsername("100001");
+		// the authentication manager erases the credentials of the user details it authenticated
+		((CredentialsContainer) first).eraseCredentials();
+		final var second = userAccountService.loadUserByUsername("100001");
+
+		// assertions
+		verify(userAccountRepository, times(1)).findByUsername("100001");
+
+		assertEquals("100001", second.getUsername());
+		assertEquals(PASSWORD_HASH, second.getPassword());
+		assertTrue(second.isEnabled());
+		assertEquals(Set.of("ROLE_CUSTOMER"), AuthorityUtils.authorityListToSet(second.getAuthorities()));
+	}
+
+	@Test
+	@DisplayName("Given unknown user, loadUserByUsername should throw without caching the miss")
+	void givenUnknownUser_loadUserByUsername_shouldThrowWithoutCaching() {
+		when(userAccountRepository.findByUsername("unknown"))
+				.thenReturn(Optional.empty());
+
+		// assertions
+		assertThrows(UsernameNotFoundException.class, () -> userAccountService.loadUserByUsername("unknown"));
+		assertThrows(UsernameNotFoundException.class, () -> userAccountService.loadUserByUsername("unknown"));
+		verify(userAccountRepository, times(2)).findByUsername("unknown");
+	}
+
+	@Test
+	@DisplayName("Given disabled user, loadUserByUsername should return disabled user details")
+	void givenDisabledUser_loadUserByUsername_shouldReturnDisabledUser() {
+		when(userAccountRepository.findByUsername("100002"))
+				.thenReturn(Optional.of(new UserAccount("100002", PASSWORD_HASH, 100002L, false, List.of("CUSTOMER"))));
+
+		final var result = userAccountService.loadUserByUsername("100002");
+
+		// assertions
+		assertFalse(result.isEnabled());
+	}
+
+	@Test
+	@DisplayName("Given cached enabled user, disableUser should disable the account and evict it")
+	void givenCachedUser_disableUser_shouldDisableAndEvict() throws UserNotFoundException {
+		when(userAccountRepository.findByUsername("100001"))
+				.thenReturn(Optional.of(new UserAccount("100001", PASSWORD_HASH, 100001L, true, List.of("CUSTOMER"))),
+						Optional.of(new UserAccount("100001", PASSWORD_HASH, 100001L, false, List.of("CUSTOMER"))));
+		when(userAccountRepository.disable("100001"))
+				.thenReturn(true);
+
+		assertTrue(userAccountService.loadUserByUsername("100001").isEnabled());
+		userAccountService.disableUser("100001");
+
+		// assertions
+		assertFalse(userAccountService.loadUserByUsername("100001").isEnabled());
+		verify(userAccountRepository, times(2)).findByUsername("100001");
+	}
+
+	@Test
+	@DisplayName("Given unknown user, disableUser should throw UserNotFoundException")
+	void givenUnknownUser_disableUser_shouldThrow() {
+		when(userAccountRepository.disable("unknown"))
+				.thenReturn(false);
+
+		// assertions
+		assertThrows(UserNotFoundException.class, () -> userAccountService.disableUser("unknown"));
+	}
+
+	@Test
+	@DisplayName("Given upgraded password hash, updatePassword should store it and evict the cached account")
+	void givenUpgradedHash_updatePassword_shouldStoreAndEvict() {
+		final var upgradedHash = "$2a$10$abcdefghijklmnopqrstuu5Jvb0/4kB6o5i5KAsd/NWm0GqJLgjCC";
+		when(userAccountRepository.findByUsername("admin"))
+				.thenReturn(Optional.of(new UserAccount("admin", PASSWORD_HASH, null, true, List.of("ADMIN"))),
+						Optional.of(new UserAccount("admin", upgradedHash, null, true, List.of("ADMIN"))));
+
+		final var user = userAccountService.loadUserByUsername("admin");
+		final var result = userAccountService.updatePassword(user, upgradedHash);
+
+		// assertions
+		verify(userAccountRepository, times(1)).updatePasswordHash("admin", upgradedHash);
+		assertEquals(upgradedHash, result.getPassword());
+		assertEquals(upgradedHash, userAccountService.loadUserByUsername("admin").getPassword());
+		assertEquals(Set.of("ROLE_ADMIN"), AuthorityUtils.authorityListToSet(result.getAuthorities()));
+	}
+
+	@Test
+	@DisplayName("Given configured users, importUsers should create only the missing accounts with hashed passwords")
+	void givenConfiguredUsers_importUsers_shouldCreateMissingAccounts() {
+		when(userAccountRepository.existsByUsername("admin"))
+				.thenReturn(true);
+		when(userAccountRepository.existsByUsername("100001"))
+				.thenReturn(false);
+
+		final var result = userAccountService.importUsers(List.of(
+				new User("admin", "password", new String[] { "ADMIN" }),
+				new User("100001", "password", new String[] { "CUSTOMER" })));
+
+		// assertions
+		final var accountCaptor = ArgumentCaptor.forClass(UserAccount.class);
+		verify(userAccountRepository, times(1)).insert(accountCaptor.capture());
+
+		assertEquals(1, result);
+		final var account = accountCaptor.getValue();
+		assertEquals("100001", account.username());
+		assertEquals(100001L, account.customerId());
+		assertEquals(List.of("CUSTOMER"), account.roles());
+		assertTrue(passwordEncoder.matches("password", account.passwordHash()));
+	}
+}
@@ -0,0 +1,75 @@
+package com.ing.loanapi.sharding;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+@DisplayName("ShardMigrationStrategy tests")
+public class ShardMigrationStrategyTests {
+
+	private final ShardRouter shardRouter = new ShardRouter(2);
+
+	private ShardRoutingDataSource shardRoutingDataSource;
+
+	@BeforeEach
+	void setUp() {
+		shardRoutingDataSource = new ShardRoutingDataSource(shardRouter,
+				List.of(database("shard-migration-tests-0"), database("shard-migration-tests-1")));
+		final var flyway = Flyway.configure()
+				.dataSource(shardRoutingDataSource.getShardDataSource(0))
+				.locations("classpath:db/migration")
+				.load();
+
+		new ShardMigrationStrategy(shardRouter, shardRoutingDataSource).migrate(flyway);
+	}
+
+	@AfterEach
+	void tearDown() {
+		shardRoutingDataSource.close();
+	}
+
+	@Test
+	@DisplayName("Given seeded customers, migrate should keep each of them only on its own shard")
+	void givenSeededCustomers_migrate_shouldKeepThemOnTheirShard() {
+		// assertions
+		assertEquals(List.of(100002L), customerIds(0));
+		assertEquals(List.of(100001L, 100003L), customerIds(1));
+	}
+
+	@Test
+	@DisplayName("Given customer on another shard, migrate should let shard 0 keep a user of the customer")
+	void givenCustomerOnAnotherShard_migrate_shouldAllowItsUserOnShardZero() {
+		final var jdbcTemplate = new JdbcTemplate(shardRoutingDataSource.getShardDataSource(0));
+
+		// assertions
+		assertDoesNotThrow(() -> jdbcTemplate.update(
+				"INSERT INTO USER_ACCOUNT (USERNAME, PASSWORD_HASH, CUSTOMER_ID) VALUES ('100001', 'hash', 100001)"));
+	}
+
+	private List<Long> customerIds(int shard) {
+		return new JdbcTemplate(shardRoutingDataSource.getShardDataSource(shard))
+				.queryForList("SELECT ID FROM CUSTOMER ORDER BY ID", Long.class);
+	}
+
+	/**
+	 * Empty database, dropped when its pool is closed.
+	 */
+	private static HikariDataSource database(String name) {
+		final var dataSource = new HikariDataSource();
+		dataSource.setJdbcUrl("jdbc:h2:mem:" + name);
+		dataSource.setUsername("sa");
+		dataSource.setPoolName(name);
+		dataSource.setMaximumPoolSize(2);
+		return dataSource;
+	}
+}
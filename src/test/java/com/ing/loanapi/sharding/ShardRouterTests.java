@@ -0,0 +1,52 @@
+package com.ing.loanapi.sharding;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ShardRouter tests")
+public class ShardRouterTests {
+
+	private final ShardRouter shardRouter = new ShardRouter(3);
+
+	@Test
+	@DisplayName("Given customer and loan ids, shardRouter should map them to the remainder of the shard count")
+	void givenIds_shardRouter_shouldMapThemToRemainder() {
+		// assertions
+		assertEquals(0, shardRouter.shardOfCustomer(100002L));
+		assertEquals(2, shardRouter.shardOfCustomer(100001L));
+		assertEquals(1, shardRouter.shardOfLoan(7L));
+	}
+
+	@Test
+	@DisplayName("Given nested bindings, closing them should restore the shard bound before")
+	void givenNestedBindings_close_shouldRestorePreviousShard() {
+		try (var outer = shardRouter.bind(2)) {
+			try (var inner = shardRouter.bindLoan(4L)) {
+				// assertions
+				assertEquals(1, shardRouter.getCurrentShard());
+			}
+			assertEquals(2, shardRouter.getCurrentShard());
+		}
+		assertEquals(0, shardRouter.getCurrentShard());
+	}
+
+	@Test
+	@DisplayName("Given shard out of range, bind should throw IllegalArgumentException")
+	void givenUnknownShard_bind_shouldThrowIllegalArgumentException() {
+		// assertions
+		assertThrows(IllegalArgumentException.class, () -> shardRouter.bind(3));
+	}
+
+	@Test
+	@DisplayName("Given last id, firstIdAfter should return the next id of the shard")
+	void givenLastId_firstIdAfter_shouldReturnNextIdOfShard() {
+		// assertions
+		assertEquals(3L, shardRouter.firstIdAfter(0L, 0));
+		assertEquals(1L, shardRouter.firstIdAfter(0L, 1));
+		assertEquals(11L, shardRouter.firstIdAfter(10L, 2));
+		assertEquals(13L, shardRouter.firstIdAfter(10L, 1));
+	}
+}
@@ -0,0 +1,88 @@
+package com.ing.loanapi.sharding;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ing.loanapi.TestDatabases;
+import com.zaxxer.hikari.HikariDataSource;
+
+@DisplayName("ShardRoutingDataSource tests")
+public class ShardRoutingDataSourceTests {
+
+	private final ShardRouter shardRouter = new ShardRouter(2);
+
+	private ShardRoutingDataSource shardRoutingDataSource;
+	private JdbcTemplate jdbcTemplate;
+	private TransactionTemplate transactionTemplate;
+
+	@BeforeEach
+	void setUp() {
+		shardRoutingDataSource = new ShardRoutingDataSource(shardRouter,
+				List.of(database("shard-tests-0", "shard-0"), database("shard-tests-1", "shard-1")));
+		final var dataSource = new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+	}
+
+	@AfterEach
+	void tearDown() {
+		shardRoutingDataSource.close();
+	}
+
+	@Test
+	@DisplayName("Given shard bound inside a transaction, the transaction should use the bound shard")
+	void givenShardBoundInTransaction_transaction_shouldUseBoundShard() {
+		final var marker = transactionTemplate.execute(status -> {
+			try (var binding = shardRouter.bindCustomer(100001L)) {
+				return readMarker();
+			}
+		});
+
+		// assertions
+		assertEquals("shard-1", marker);
+	}
+
+	@Test
+	@DisplayName("Given no bound shard, the transaction should use shard 0")
+	void givenNoBoundShard_transaction_shouldUseShardZero() {
+		// assertions
+		assertEquals("shard-0", transactionTemplate.execute(status -> readMarker()));
+	}
+
+	@Test
+	@DisplayName("Given shard bound after the first statement, the transaction should keep its shard")
+	void givenShardBoundAfterFirstStatement_transaction_shouldKeepItsShard() {
+		final var markers = transactionTemplate.execute(status -> {
+			final var first = readMarker();
+			try (var binding = shardRouter.bind(1)) {
+				return List.of(first, readMarker());
+			}
+		});
+
+		// assertions
+		assertEquals(List.of("shard-0", "shard-0"), markers);
+	}
+
+	private String readMarker() {
+		return jdbcTemplate.queryForObject("SELECT NAME FROM CUSTOMER WHERE ID = 100001", String.class);
+	}
+
+	/**
+	 * Migrated shard telling itself apart by the name of its first customer.
+	 */
+	private static HikariDataSource database(String name, String marker) {
+		final var dataSource = TestDatabases.migratedPool(name, 2);
+		new JdbcTemplate(dataSource).update("UPDATE CUSTOMER SET NAME = ? WHERE ID = 100001", marker);
+		return dataSource;
+	}
+}
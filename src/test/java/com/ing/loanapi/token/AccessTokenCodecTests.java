@@ -0,0 +1,87 @@
+package com.ing.loanapi.token;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.ing.loanapi.token.AccessTokenCodec.AccessToken;
+
+@DisplayName("AccessTokenCodec tests")
+public class AccessTokenCodecTests {
+
+	private static final byte[] SECRET = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+	private static final Instant NOW = Instant.parse("2025-01-01T10:00:00Z");
+
+	private final AccessTokenCodec accessTokenCodec = new AccessTokenCodec(SECRET, Clock.fixed(NOW, ZoneOffset.UTC));
+
+	@Test
+	@DisplayName("Given encoded token, decode should return the same token")
+	void givenEncodedToken_decode_shouldReturnSameToken() {
+		final var token = new AccessToken("100001", List.of("ROLE_CUSTOMER"), NOW.plusSeconds(900));
+
+		final var result = accessTokenCodec.decode(accessTokenCodec.encode(token));
+
+		// assertions
+		assertEquals(token, result.orElseThrow());
+	}
+
+	@Test
+	@DisplayName("Given token without authorities, decode should return it with no authorities")
+	void givenTokenWithoutAuthorities_decode_shouldReturnNoAuthorities() {
+		final var token = new AccessToken("admin", List.of(), NOW.plusSeconds(900));
+
+		final var result = accessTokenCodec.decode(accessTokenCodec.encode(token));
+
+		// assertions
+		assertEquals(token, result.orElseThrow());
+	}
+
+	@Test
+	@DisplayName("Given expired token, decode should reject it")
+	void givenExpiredToken_decode_shouldReject() {
+		final var encoded = accessTokenCodec.encode(new AccessToken("100001", List.of("ROLE_CUSTOMER"), NOW));
+
+		// assertions
+		assertTrue(accessTokenCodec.decode(encoded).isEmpty());
+	}
+
+	@Test
+	@DisplayName("Given token with a changed payload, decode should reject it")
+	void givenTamperedToken_decode_shouldReject() {
+		final var encoded = accessTokenCodec.encode(new AccessToken("100001", List.of("ROLE_CUSTOMER"), NOW.plusSeconds(900)));
+		final var forged = accessTokenCodec.encode(new AccessToken("100001", List.of("ROLE_ADMIN"), NOW.plusSeconds(900)));
+		final var tampered = forged.substring(0, forged.indexOf('.')) + encoded.substring(encoded.indexOf('.'));
+
+		// assertions
+		assertTrue(accessTokenCodec.decode(tampered).isEmpty());
+	}
+
+	@Test
+	@DisplayName("Given token signed with another secret, decode should reject it")
+	void givenTokenOfAnotherSecret_decode_shouldReject() {
+		final var otherCodec = new AccessTokenCodec("fedcba9876543210fedcba9876543210".getBytes(StandardCharsets.US_ASCII),
+				Clock.fixed(NOW, ZoneOffset.UTC));
+		final var encoded = otherCodec.encode(new AccessToken("100001", List.of("ROLE_CUSTOMER"), NOW.plusSeconds(900)));
+
+		// assertions
+		assertTrue(accessTokenCodec.decode(encoded).isEmpty());
+	}
+
+	@Test
+	@DisplayName("Given malformed tokens, decode should reject them")
+	void givenMalformedTokens_decode_shouldReject() {
+		// assertions
+		assertTrue(accessTokenCodec.decode("").isEmpty());
+		assertTrue(accessTokenCodec.decode("no-separator").isEmpty());
+		assertTrue(accessTokenCodec.decode(".signature").isEmpty());
+		assertTrue(accessTokenCodec.decode("payload.not base64!").isEmpty());
+	}
+}
@@ -0,0 +1,198 @@
+package com.ing.loanapi.validation;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.ing.loanapi.dto.command.CreateLoanCommand;
+import com.ing.loanapi.exception.InvalidInterestRateException;
+import com.ing.loanapi.exception.InvalidLoanConfigurationException;
+import com.ing.loanapi.exception.InvalidNumberOfInstallmentsException;
+import com.ing.loanapi.exception.LoanAmountTooLowException;
+import com.ing.loanapi.properties.LoanConfigurationProperties;
+import com.ing.loanapi.schedule.InterestModel;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("LoanRuleValidator tests")
+public class LoanRuleValidatorTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final LoanRuleValidator loanRuleValidator = new LoanRuleValidator(new LoanConfigurationProperties(
+			new LoanConfigurationProperties.InterestRate(0.1, 0.5),
+			new LoanConfigurationProperties.InterestRate(0.02, 0.3),
+			new LoanConfigurationProperties.Installment(Set.of((short) 6, (short) 9, (short) 12, (short) 24, (short) 120)),
+			(short) 3, 0.001, 0.001, new BigDecimal("1000")), meterRegistry);
+
+	@Test
+	@DisplayName("Given configured numbers of installments, isAllowedNumberOfInstallments should accept only them")
+	void givenConfiguredInstallments_isAllowedNumberOfInstallments_shouldAcceptOnlyThem() {
+		// assertions
+		assertTrue(loanRuleValidator.isAllowedNumberOfInstallments(6));
+		assertTrue(loanRuleValidator.isAllowedNumberOfInstallments(24));
+		assertTrue(loanRuleValidator.isAllowedNumberOfInstallments(120));
+		assertFalse(loanRuleValidator.isAllowedNumberOfInstallments(0));
+		assertFalse(loanRuleValidator.isAllowedNumberOfInstallments(7));
+		assertFalse(loanRuleValidator.isAllowedNumberOfInstallments(70));
+		assertFalse(loanRuleValidator.isAllowedNumberOfInstallments(184));
+		assertFalse(loanRuleValidator.isAllowedNumberOfInstallments(-6));
+
+		assertEquals(List.of((short) 6, (short) 9, (short) 12, (short) 24, (short) 120), loanRuleValidator.getAllowedNumberOfInstallments());
+	}
+
+	@Test
+	@DisplayName("Given valid command, validate should accept it without counting rejections")
+	void givenValidCommand_validate_shouldAccept() {
+		final var command = new CreateLoanCommand(100001L, new BigDecimal("1000"), 0.5, (short) 12);
+
+		// assertions
+		assertDoesNotThrow(() -> loanRuleValidator.validate(command));
+		assertEquals(0.0, meterRegistry.get("loan.validation.rejections").counters().stream().mapToDouble(counter -> counter.count()).sum());
+	}
+
+	@Test
+	@DisplayName("Given invalid commands, validate should throw and count the rejection per rule")
+	void givenInvalidCommands_validate_shouldThrowAndCountRejections() {
+		// assertions
+		assertThrows(LoanAmountTooLowException.class,
+				() -> loanRuleValidator.validate(new CreateLoanCommand(100001L, new BigDecimal("999.99"), 0.2, (short) 12)));
+		assertThrows(InvalidNumberOfInstallmentsException.class,
+				() -> loanRuleValidator.validate(new CreateLoanCommand(100001L, new BigDecimal("1000"), 0.2, (short) 7)));
+		assertThrows(InvalidInterestRateException.class,
+				() -> loanRuleValidator.validate(new CreateLoanCommand(100001L, new BigDecimal("1000"), 0.6, (short) 12)));
+		assertThrows(InvalidInterestRateException.class,
+				() -> loanRuleValidator.validate(new CreateLoanCommand(100001L, new BigDecimal("1000"), 0.05, (short) 12)));
+
+		assertEquals(1.0, meterRegistry.counter("loan.validation.rejections", "rule", "amount").count());
+		assertEquals(1.0, meterRegistry.counter("loan.validation.rejections", "rule", "number-of-installments").count());
+		assertEquals(2.0, meterRegistry.counter("loan.validation.rejections", "rule", "interest-rate").count());
+	}
+
+	@Test
+	@DisplayName("Given interest models, validate should check flat rates and annual rates against their own ranges")
+	void givenInterestModels_validate_shouldCheckRateRangeOfModel() {
+		final var amount = new BigDecimal("1000");
+
+		// assertions
+		assertDoesNotThrow(() -> loanRuleValidator.validate(new CreateLoanCommand(100001L, amount, 0.4, (short) 12, InterestModel.FLAT)));
+		assertThrows(InvalidInterestRateException.class,
+				() -> loanRuleValidator.validate(new CreateLoanCommand(100001L, amount, 0.4, (short) 12, InterestModel.ANNUITY)));
+		assertThrows(InvalidInterestRateException.class,
+				() -> loanRuleValidator.validate(new CreateLoanCommand(100001L, amount, 0.4, (short) 12, InterestModel.REDUCING_BALANCE)));
+
+		assertThrows(InvalidInterestRateException.class,
+				() -> loanRuleValidator.validate(new CreateLoanCommand(100001L, amount, 0.05, (short) 12, InterestModel.FLAT)));
+		assertDoesNotThrow(() -> loanRuleValidator.validate(new CreateLoanCommand(100001L, amount, 0.05, (short) 12, InterestModel.ANNUITY)));
+		assertDoesNotThrow(() -> loanRuleValidator.validate(new CreateLoanCommand(100001L, amount, 0.05, (short) 12, InterestModel.REDUCING_BALANCE)));
+	}
+
+	@Test
+	@DisplayName("Given valid configuration, update should swap the rules and change the version")
+	void givenValidConfiguration_update_shouldSwapRules() throws Exception {
+		final var previous = loanRuleValidator.getRules();
+
+		final var updated = loanRuleValidator.update(new LoanConfigurationProperties(
+				new LoanConfigurationProperties.InterestRate(0.2, 0.4),
+				new LoanConfigurationProperties.InterestRate(0.2, 0.4),
+				new LoanConfigurationProperties.Installment(Set.of((short) 12, (short) 36)),
+				(short) 2, 0.002, 0.003, new BigDecimal("5000")));
+
+		// assertions
+		assertSame(updated, loanRuleValidator.getRules());
+		assertNotEquals(previous.getVersion(), updated.getVersion());
+		assertEquals(List.of((short) 12, (short) 36), loanRuleValidator.getAllowedNumberOfInstallments());
+		assertThrows(LoanAmountTooLowException.class,
+				() -> loanRuleValidator.validate(new CreateLoanCommand(100001L, new BigDecimal("1000"), 0.3, (short) 12)));
+		assertSame(updated, loanRuleValidator.validate(new CreateLoanCommand(100001L, new BigDecimal("5000"), 0.3, (short) 36)));
+
+		// rules that were read before the update stay as they were
+		assertTrue(previous.isAllowedNumberOfInstallments(6));
+		assertEquals(1.0, meterRegistry.counter("loan.configuration.updates").count());
+	}
+
+	@Test
+	@DisplayName("Given equal configuration, update should keep the version")
+	void givenEqualConfiguration_update_shouldKeepVersion() throws Exception {
+		final var previous = loanRuleValidator.getRules();
+
+		final var updated = loanRuleValidator.update(new LoanConfigurationProperties(
+				new LoanConfigurationProperties.InterestRate(0.1, 0.5),
+				new LoanConfigurationProperties.InterestRate(0.02, 0.3),
+				new LoanConfigurationProperties.Installment(Set.of((short) 120, (short) 24, (short) 12, (short) 9, (short) 6)),
+				(short) 3, 0.001, 0.001, new BigDecimal("1000.00")));
+
+		// assertions
+		assertEquals(previous.getVersion(), updated.getVersion());
+		assertEquals(0.0, meterRegistry.counter("loan.configuration.updates").count());
+	}
+
+	@Test
+	@DisplayName("Given invalid configuration, update should throw and keep the rules in effect")
+	void givenInvalidConfiguration_update_shouldThrowAndKeepRules() {
+		final var previous = loanRuleValidator.getRules();
+
+		// assertions
+		assertThrows(InvalidLoanConfigurationException.class, () -> loanRuleValidator.update(new LoanConfigurationProperties(
+				new LoanConfigurationProperties.InterestRate(0.5, 0.1),
+				new LoanConfigurationProperties.InterestRate(0.1, 0.5),
+				new LoanConfigurationProperties.Installment(Set.of((short) 12)),
+				(short) 3, 0.001, 0.001, new BigDecimal("1000"))));
+		assertThrows(InvalidLoanConfigurationException.class, () -> loanRuleValidator.update(new LoanConfigurationProperties(
+				new LoanConfigurationProperties.InterestRate(0.1, 0.5),
+				new LoanConfigurationProperties.InterestRate(0.5, 0.1),
+				new LoanConfigurationProperties.Installment(Set.of((short) 12)),
+				(short) 3, 0.001, 0.001, new BigDecimal("1000"))));
+		assertThrows(InvalidLoanConfigurationException.class, () -> loanRuleValidator.update(new LoanConfigurationProperties(
+				new LoanConfigurationProperties.InterestRate(0.1, 0.5),
+				new LoanConfigurationProperties.InterestRate(0.1, 0.5),
+				new LoanConfigurationProperties.Installment(Set.of()),
+				(short) 3, 0.001, 0.001, new BigDecimal("1000"))));
+		assertThrows(InvalidLoanConfigurationException.class, () -> loanRuleValidator.update(new LoanConfigurationProperties(
+				new LoanConfigurationProperties.InterestRate(0.1, 0.5),
+				new LoanConfigurationProperties.InterestRate(0.1, 0.5),
+				new LoanConfigurationProperties.Installment(Set.of((short) 12)),
+				(short) 3, -0.001, 0.001, new BigDecimal("1000"))));
+		assertSame(previous, loanRuleValidator.getRules());
+	}
+
+	@Test
+	@DisplayName("Given partial configuration, update should throw instead of taking the missing values as zero")
+	void givenPartialConfiguration_update_shouldThrowAndKeepRules() {
+		final var previous = loanRuleValidator.getRules();
+
+		// assertions
+		assertThrows(InvalidLoanConfigurationException.class, () -> loanRuleValidator.update(new LoanConfigurationProperties(
+				new LoanConfigurationProperties.InterestRate(0.1, 0.5),
+				null,
+				new LoanConfigurationProperties.Installment(Set.of((short) 12)),
+				(short) 3, 0.001, 0.001, new BigDecimal("1000"))));
+		assertThrows(InvalidLoanConfigurationException.class, () -> loanRuleValidator.update(new LoanConfigurationProperties(
+				new LoanConfigurationProperties.InterestRate(0.1, 0.5),
+				new LoanConfigurationProperties.InterestRate(0.1, 0.5),
+				new LoanConfigurationProperties.Installment(Set.of((short) 12)),
+				null, 0.001, 0.001, new BigDecimal("1000"))));
+		assertThrows(InvalidLoanConfigurationException.class, () -> loanRuleValidator.update(new LoanConfigurationProperties(
+				new LoanConfigurationProperties.InterestRate(0.1, 0.5),
+				new LoanConfigurationProperties.InterestRate(0.1, 0.5),
+				new LoanConfigurationProperties.Installment(Set.of((short) 12)),
+				(short) 3, null, 0.001, new BigDecimal("1000"))));
+		assertThrows(InvalidLoanConfigurationException.class, () -> loanRuleValidator.update(new LoanConfigurationProperties(
+				new LoanConfigurationProperties.InterestRate(0.1, 0.5),
+				new LoanConfigurationProperties.InterestRate(0.1, 0.5),
+				new LoanConfigurationProperties.Installment(Set.of((short) 12)),
+				(short) 3, 0.001, null, new BigDecimal("1000"))));
+		assertSame(previous, loanRuleValidator.getRules());
+	}
+}